@@ -1,6 +1,7 @@
 package com.czertainly.core;
 
 import com.czertainly.core.config.ContextAwarePoolExecutor;
+import com.czertainly.core.security.authz.SecurityResourceFilterMemo;
 import org.slf4j.MDC;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -65,6 +66,7 @@ public class Application extends SpringBootServletInitializer {
 		executor.setMaxPoolSize(POOL_SIZE);
 		executor.setQueueCapacity(QUEUE_SIZE);
 		executor.setThreadNamePrefix("CZERTAINLYCore-");
+		executor.setTaskDecorator(SecurityResourceFilterMemo::decorate);
 		executor.initialize();
 		return new DelegatingSecurityContextAsyncTaskExecutor(executor);
 	}
@@ -0,0 +1,171 @@
+package com.czertainly.core.attribute.engine;
+
+import com.czertainly.api.model.common.attribute.v2.BaseAttribute;
+import com.czertainly.core.attribute.engine.records.AttributeDefinitionKey;
+import com.czertainly.core.attribute.engine.records.AttributeRelationKey;
+import com.czertainly.core.dao.entity.AttributeDefinition;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of attribute definitions indexed by their lookup keys and by resource relations.
+ * Cached content is kept in generations, every change of definitions or relations starts new generation (version)
+ * so entries loaded before the change are never served again. Cached definitions are detached copies and every
+ * read returns its own copy, so callers are free to modify returned definitions.
+ * Transaction that changed definitions bypasses the cache until it completes to see its own uncommitted changes
+ * and not to publish them to other transactions.
+ */
+@Component
+public class AttributeDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttributeDefinitionCache.class);
+    private static final ObjectMapper DEFINITION_OBJECT_MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int MAX_GENERATION_ENTRIES = 10000;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicReference<Generation> generation = new AtomicReference<>(new Generation(0));
+
+    /**
+     * Maximum age of cache generation in seconds. Limits staleness of definitions changed by other instances sharing same database.
+     */
+    @Value("${attributes.definition-cache.max-age:300}")
+    private long maxAgeSeconds;
+
+    /**
+     * Maximum age of cached missing definition in seconds. Definition created by other instance or created
+     * without invalidation of the cache is found again after this time.
+     */
+    @Value("${attributes.definition-cache.missing-max-age:5}")
+    private long missingMaxAgeSeconds;
+
+    public Optional<AttributeDefinition> getDefinition(AttributeDefinitionKey key, Supplier<Optional<AttributeDefinition>> loader) {
+        if (isBypassed()) {
+            return loader.get();
+        }
+
+        Generation current = currentGeneration();
+        CachedDefinition cached = current.definitions.get(key);
+        if (cached == null || cached.isExpiredMiss(missingMaxAgeSeconds)) {
+            cached = new CachedDefinition(loader.get().map(AttributeDefinitionCache::copyOf), System.currentTimeMillis());
+            if (current.hasCapacity()) {
+                current.definitions.put(key, cached);
+            }
+        }
+        return cached.definition().map(AttributeDefinitionCache::copyOf);
+    }
+
+    public List<AttributeDefinition> getRelatedDefinitions(AttributeRelationKey key, Supplier<List<AttributeDefinition>> loader) {
+        if (isBypassed()) {
+            return loader.get();
+        }
+
+        Generation current = currentGeneration();
+        List<AttributeDefinition> cached = current.relatedDefinitions.get(key);
+        if (cached == null) {
+            cached = loader.get().stream().map(AttributeDefinitionCache::copyOf).toList();
+            if (current.hasCapacity()) {
+                current.relatedDefinitions.putIfAbsent(key, cached);
+            }
+        }
+        return cached.stream().map(AttributeDefinitionCache::copyOf).toList();
+    }
+
+    /**
+     * Invalidates all cached definitions. When called inside transaction, cache is invalidated again after transaction completion
+     * and it is bypassed by the calling transaction until then.
+     */
+    public void invalidate() {
+        startNewGeneration();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AttributeDefinitionCache.this);
+                    startNewGeneration();
+                }
+            });
+        }
+    }
+
+    public long getVersion() {
+        return generation.get().version;
+    }
+
+    private boolean isBypassed() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    private Generation currentGeneration() {
+        Generation current = generation.get();
+        if (System.currentTimeMillis() - current.createdAt > maxAgeSeconds * 1000) {
+            Generation next = new Generation(versionSequence.incrementAndGet());
+            return generation.compareAndSet(current, next) ? next : generation.get();
+        }
+        return current;
+    }
+
+    private void startNewGeneration() {
+        Generation next = new Generation(versionSequence.incrementAndGet());
+        generation.set(next);
+        logger.debug("Attribute definition cache invalidated, current version is {}", next.version);
+    }
+
+    private static AttributeDefinition copyOf(AttributeDefinition definition) {
+        AttributeDefinition copy = new AttributeDefinition();
+        copy.setUuid(definition.getUuid());
+        copy.setConnectorUuid(definition.getConnectorUuid());
+        copy.setAttributeUuid(definition.getAttributeUuid());
+        copy.setName(definition.getName());
+        copy.setType(definition.getType());
+        copy.setContentType(definition.getContentType());
+        copy.setLabel(definition.getLabel());
+        copy.setRequired(definition.isRequired());
+        copy.setReadOnly(definition.isReadOnly());
+        copy.setEnabled(definition.isEnabled());
+        copy.setGlobal(definition.isGlobal());
+        copy.setOperation(definition.getOperation());
+        copy.setCreatedAt(definition.getCreatedAt());
+        copy.setUpdatedAt(definition.getUpdatedAt());
+
+        BaseAttribute attribute = definition.getDefinition();
+        copy.setDefinition(attribute == null ? null : DEFINITION_OBJECT_MAPPER.convertValue(attribute, attribute.getClass()));
+        return copy;
+    }
+
+    private record CachedDefinition(Optional<AttributeDefinition> definition, long loadedAt) {
+
+        private boolean isExpiredMiss(long missingMaxAgeSeconds) {
+            return definition.isEmpty() && System.currentTimeMillis() - loadedAt > missingMaxAgeSeconds * 1000;
+        }
+    }
+
+    private static final class Generation {
+        private final long version;
+        private final long createdAt = System.currentTimeMillis();
+        private final Map<AttributeDefinitionKey, CachedDefinition> definitions = new ConcurrentHashMap<>();
+        private final Map<AttributeRelationKey, List<AttributeDefinition>> relatedDefinitions = new ConcurrentHashMap<>();
+
+        private Generation(long version) {
+            this.version = version;
+        }
+
+        private boolean hasCapacity() {
+            return definitions.size() + relatedDefinitions.size() < MAX_GENERATION_ENTRIES;
+        }
+    }
+}
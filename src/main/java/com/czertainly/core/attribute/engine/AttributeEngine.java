@@ -16,6 +16,11 @@ import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent
 import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.search.FilterFieldSource;
 import com.czertainly.api.model.core.search.SearchFieldDataByGroupDto;
+import com.czertainly.core.attribute.engine.records.AttributeContentValues;
+import com.czertainly.core.attribute.engine.records.AttributeDefinitionKey;
+import com.czertainly.core.attribute.engine.records.AttributeRelationKey;
+import com.czertainly.core.attribute.engine.records.MultiObjectAttributeContent;
+import com.czertainly.core.attribute.engine.records.MultiObjectAttributeContentDetail;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContent;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentDetail;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentInfo;
@@ -32,6 +37,7 @@ import com.czertainly.core.model.SearchFieldObject;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.SecurityFilter;
 import com.czertainly.core.security.authz.SecurityResourceFilter;
+import com.czertainly.core.util.AttributeContentHashUtil;
 import com.czertainly.core.util.AuthHelper;
 import com.czertainly.core.util.SearchHelper;
 import com.czertainly.core.util.converter.Sql2PredicateConverter;
@@ -58,6 +64,7 @@ public class AttributeEngine {
     private static final Logger logger = LoggerFactory.getLogger(AttributeEngine.class);
     private static final Pattern UUID_REGEX = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
     private static final ObjectMapper ATTRIBUTES_OBJECT_MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int OBJECTS_BATCH_SIZE = 1000;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -65,6 +72,7 @@ public class AttributeEngine {
     private AttributeRelationRepository attributeRelationRepository;
     private AttributeContentItemRepository attributeContentItemRepository;
     private AttributeContent2ObjectRepository attributeContent2ObjectRepository;
+    private AttributeDefinitionCache attributeDefinitionCache;
 
     private AuthHelper authHelper;
 
@@ -73,6 +81,11 @@ public class AttributeEngine {
         this.authHelper = authHelper;
     }
 
+    @Autowired
+    public void setAttributeDefinitionCache(AttributeDefinitionCache attributeDefinitionCache) {
+        this.attributeDefinitionCache = attributeDefinitionCache;
+    }
+
     @Autowired
     public void setAttributeDefinitionRepository(AttributeDefinitionRepository attributeDefinitionRepository) {
         this.attributeDefinitionRepository = attributeDefinitionRepository;
@@ -133,18 +146,19 @@ public class AttributeEngine {
 
     // TODO: return CustomAttribute instead of generic one
     public List<BaseAttribute> getCustomAttributesByResource(Resource resource, SecurityResourceFilter securityResourceFilter) {
-        List<AttributeRelation> relations = attributeRelationRepository.findByResourceAndAttributeDefinitionTypeAndAttributeDefinitionEnabled(resource, AttributeType.CUSTOM, true);
+        List<AttributeDefinition> definitions = getRelatedDefinitions(resource, AttributeType.CUSTOM, true);
 
         // filter definitions that are not allowed for user
         if (securityResourceFilter.areOnlySpecificObjectsAllowed()) {
-            return relations.stream().filter(r -> securityResourceFilter.getAllowedObjects().contains(r.getAttributeDefinition().getUuid())).map(r -> r.getAttributeDefinition().getDefinition()).toList();
+            return definitions.stream().filter(d -> securityResourceFilter.getAllowedObjects().contains(d.getUuid())).map(AttributeDefinition::getDefinition).toList();
         } else {
-            return relations.stream().filter(r -> !securityResourceFilter.getForbiddenObjects().contains(r.getAttributeDefinition().getUuid())).map(r -> r.getAttributeDefinition().getDefinition()).toList();
+            return definitions.stream().filter(d -> !securityResourceFilter.getForbiddenObjects().contains(d.getUuid())).map(AttributeDefinition::getDefinition).toList();
         }
     }
 
     public DataAttribute getDataAttributeDefinition(UUID connectorUuid, String name) {
-        AttributeDefinition definition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndName(AttributeType.DATA, connectorUuid, name).orElse(null);
+        AttributeDefinition definition = attributeDefinitionCache.getDefinition(AttributeDefinitionKey.byTypeAndConnectorAndName(AttributeType.DATA, connectorUuid, name),
+                () -> attributeDefinitionRepository.findByTypeAndConnectorUuidAndName(AttributeType.DATA, connectorUuid, name)).orElse(null);
         if (definition != null) {
             return (DataAttribute) definition.getDefinition();
         }
@@ -179,7 +193,37 @@ public class AttributeEngine {
     // TODO: make it generic to be used also for DATA attributes and update DTOs accordingly
     public List<MetadataResponseDto> getMappedMetadataContent(ObjectAttributeContentInfo contentInfo) {
         List<ObjectAttributeContentDetail> objectMetadataContents = attributeContent2ObjectRepository.getObjectAttributeContentDetail(AttributeType.META, contentInfo.connectorUuid(), null, contentInfo.objectType(), contentInfo.objectUuid(), contentInfo.sourceObjectType(), contentInfo.sourceObjectUuid());
+        return getMetadataResponses(objectMetadataContents);
+    }
+
+    /**
+     * Load mapped metadata of multiple objects of same type at once
+     *
+     * @param connectorUuid    UUID of connector to filter metadata by, null for all connectors
+     * @param objectType       type of objects
+     * @param objectUuids      UUIDs of objects
+     * @param sourceObjectType type of source object to filter metadata by, null for all sources
+     * @param sourceObjectUuid UUID of source object to filter metadata by, null for all sources
+     * @return mapped metadata for each of requested objects
+     */
+    public Map<UUID, List<MetadataResponseDto>> getObjectsMappedMetadataContent(UUID connectorUuid, Resource objectType, Collection<UUID> objectUuids, Resource sourceObjectType, UUID sourceObjectUuid) {
+        logger.debug("Getting the metadata for {} objects of type {}", objectUuids.size(), objectType.getLabel());
+        Map<UUID, List<ObjectAttributeContentDetail>> objectsMetadataContents = new HashMap<>();
+        for (List<UUID> objectUuidsBatch : partitionObjectUuids(objectUuids)) {
+            List<MultiObjectAttributeContentDetail> metadataContents = attributeContent2ObjectRepository.getObjectsAttributeContentDetail(AttributeType.META, connectorUuid, null, objectType, objectUuidsBatch, sourceObjectType, sourceObjectUuid);
+            for (MultiObjectAttributeContentDetail metadataContent : metadataContents) {
+                objectsMetadataContents.computeIfAbsent(metadataContent.objectUuid(), k -> new ArrayList<>()).add(metadataContent.toObjectAttributeContentDetail());
+            }
+        }
 
+        Map<UUID, List<MetadataResponseDto>> objectsMetadata = new HashMap<>();
+        for (UUID objectUuid : objectUuids) {
+            objectsMetadata.put(objectUuid, getMetadataResponses(objectsMetadataContents.getOrDefault(objectUuid, List.of())));
+        }
+        return objectsMetadata;
+    }
+
+    private List<MetadataResponseDto> getMetadataResponses(List<ObjectAttributeContentDetail> objectMetadataContents) {
         Map<UUID, String> connectorMapping = new HashMap<>();
         Map<UUID, Map<Resource, Map<UUID, ResponseMetadataDto>>> mapping = new HashMap<>();
         for (ObjectAttributeContentDetail objectMetadataContent : objectMetadataContents) {
@@ -240,6 +284,7 @@ public class AttributeEngine {
     }
 
     public void updateCustomAttributeResources(UUID uuid, List<Resource> resources) throws NotFoundException {
+        attributeDefinitionCache.invalidate();
         AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByUuidAndType(uuid, AttributeType.CUSTOM).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, uuid.toString()));
         attributeRelationRepository.deleteAll(attributeRelationRepository.findByAttributeDefinitionUuid(attributeDefinition.getUuid()));
         Set<String> differences = resources.stream().filter(e -> !Resource.getCustomAttributesResources().contains(e)).map(Resource::getCode).collect(Collectors.toSet());
@@ -257,6 +302,7 @@ public class AttributeEngine {
 
     public AttributeDefinition updateCustomAttributeDefinition(CustomAttribute customAttribute, List<Resource> resources) throws AttributeException {
         validateAttributeDefinition(customAttribute, null);
+        attributeDefinitionCache.invalidate();
 
         AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByAttributeUuid(UUID.fromString(customAttribute.getUuid())).orElse(null);
         boolean newCustomAttribute = attributeDefinition == null;
@@ -327,12 +373,13 @@ public class AttributeEngine {
         // load missing data attributes definitions from DB
         for (RequestAttributeDto requestAttributeDto : requestAttributes) {
             if (definitionsMapping.get(requestAttributeDto.getName()) == null) {
-                AttributeDefinition missingDefinition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttributeDto.getUuid()), requestAttributeDto.getName()).orElse(null);
+                AttributeDefinition missingDefinition = findDefinition(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttributeDto.getUuid()), requestAttributeDto.getName()).orElse(null);
                 if (missingDefinition != null) {
                     // update operation - if attribute is retrieved by callback, we do not know its operation
                     if (!Objects.equals(missingDefinition.getOperation(), operation)) {
                         missingDefinition.setOperation(operation);
-                        attributeDefinitionRepository.save(missingDefinition);
+                        attributeDefinitionCache.invalidate();
+                        missingDefinition = attributeDefinitionRepository.save(missingDefinition);
                     }
                     definitionsMapping.put(requestAttributeDto.getName(), missingDefinition);
                 }
@@ -366,12 +413,14 @@ public class AttributeEngine {
         validateAttributeDefinition(dataAttribute, connectorUuid);
 
         // find by connector uuid and name only because attribute uuid could be generated when data attribute was migrated from RequestAttributeDto
-        AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.DATA, connectorUuid, UUID.fromString(dataAttribute.getUuid()), dataAttribute.getName()).orElse(null);
+        AttributeDefinition attributeDefinition = findDefinition(AttributeType.DATA, connectorUuid, UUID.fromString(dataAttribute.getUuid()), dataAttribute.getName()).orElse(null);
+        boolean changed = attributeDefinition == null;
         if (attributeDefinition != null) {
             // update definition when it was migrated from RequestAttributeDto
             if (attributeDefinition.getLabel().isEmpty() && attributeDefinition.getDefinition().getDescription().equals(ATTRIBUTE_DEFINITION_FORCE_UPDATE_LABEL)) {
                 attributeDefinition.setContentType(dataAttribute.getContentType());
                 attributeDefinition.setAttributeUuid(UUID.fromString(dataAttribute.getUuid()));
+                changed = true;
             }
             // check for change of content type
             else if (attributeDefinition.getContentType() != dataAttribute.getContentType()) {
@@ -386,15 +435,25 @@ public class AttributeEngine {
             attributeDefinition.setContentType(dataAttribute.getContentType());
             attributeDefinition.setOperation(operation);
         }
-        attributeDefinition.setLabel(dataAttribute.getProperties().getLabel());
-        attributeDefinition.setRequired(dataAttribute.getProperties().isRequired());
-        attributeDefinition.setReadOnly(dataAttribute.getProperties().isReadOnly());
 
         // we need content only for readonly attribute
-        if (!Boolean.TRUE.equals(attributeDefinition.isReadOnly())) {
+        if (!dataAttribute.getProperties().isReadOnly()) {
             dataAttribute.setContent(null);
         }
+
+        // skip update of unchanged definition to not invalidate definitions cache on every connector call
+        if (!changed
+                && Objects.equals(attributeDefinition.isRequired(), dataAttribute.getProperties().isRequired())
+                && Objects.equals(attributeDefinition.isReadOnly(), dataAttribute.getProperties().isReadOnly())
+                && !isDefinitionChanged(attributeDefinition, dataAttribute.getProperties().getLabel(), dataAttribute)) {
+            return;
+        }
+
+        attributeDefinition.setLabel(dataAttribute.getProperties().getLabel());
+        attributeDefinition.setRequired(dataAttribute.getProperties().isRequired());
+        attributeDefinition.setReadOnly(dataAttribute.getProperties().isReadOnly());
         attributeDefinition.setDefinition(dataAttribute);
+        attributeDefinitionCache.invalidate();
         attributeDefinitionRepository.save(attributeDefinition);
     }
 
@@ -407,11 +466,24 @@ public class AttributeEngine {
 
         AttributeDefinition attributeDefinition = null;
         if (isGlobal) {
-            attributeDefinition = attributeDefinitionRepository.findByTypeAndNameAndGlobal(AttributeType.META, metadataAttribute.getName(), true).orElse(null);
+            attributeDefinition = attributeDefinitionCache.getDefinition(AttributeDefinitionKey.byTypeAndNameGlobal(AttributeType.META, metadataAttribute.getName()),
+                    () -> attributeDefinitionRepository.findByTypeAndNameAndGlobal(AttributeType.META, metadataAttribute.getName(), true)).orElse(null);
+        }
+        if (attributeDefinition == null) {
+            attributeDefinition = findDefinition(AttributeType.META, connectorUuid, UUID.fromString(metadataAttribute.getUuid()), metadataAttribute.getName()).orElse(null);
         }
         if (attributeDefinition == null) {
-            attributeDefinition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.META, connectorUuid, UUID.fromString(metadataAttribute.getUuid()), metadataAttribute.getName()).orElse(null);
+            // definition can be created by concurrent transaction (e.g. parallel processing of discovered certificates),
+            // so its creation is serialized by lock of its name and existence is checked again in database
+            attributeDefinitionRepository.lockDefinitionKey("attribute-definition:" + AttributeType.META + ":" + metadataAttribute.getName());
+            if (isGlobal) {
+                attributeDefinition = attributeDefinitionRepository.findByTypeAndNameAndGlobal(AttributeType.META, metadataAttribute.getName(), true).orElse(null);
+            }
+            if (attributeDefinition == null) {
+                attributeDefinition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.META, connectorUuid, UUID.fromString(metadataAttribute.getUuid()), metadataAttribute.getName()).orElse(null);
+            }
         }
+        boolean newDefinition = attributeDefinition == null;
         if (attributeDefinition != null) {
             // check for change of content type
             if (attributeDefinition.getContentType() != metadataAttribute.getContentType()) {
@@ -427,14 +499,19 @@ public class AttributeEngine {
 //            attributeDefinition.setOperation(operation);
             attributeDefinition.setGlobal(isGlobal);
         }
-        attributeDefinition.setLabel(metadataAttribute.getProperties().getLabel());
 
         // we don't need content in definition
         metadataAttribute.setContent(List.of());
-        attributeDefinition.setDefinition(metadataAttribute);
-        attributeDefinitionRepository.save(attributeDefinition);
 
-        return attributeDefinition;
+        // skip update of unchanged definition to not invalidate definitions cache for every object metadata
+        if (!newDefinition && !isDefinitionChanged(attributeDefinition, metadataAttribute.getProperties().getLabel(), metadataAttribute)) {
+            return attributeDefinition;
+        }
+
+        attributeDefinition.setLabel(metadataAttribute.getProperties().getLabel());
+        attributeDefinition.setDefinition(metadataAttribute);
+        attributeDefinitionCache.invalidate();
+        return attributeDefinitionRepository.save(attributeDefinition);
     }
 
     public void updateMetadataAttributes(List<MetadataAttribute> attributes, ObjectAttributeContentInfo objectAttributeContentInfo) throws AttributeException {
@@ -470,6 +547,71 @@ public class AttributeEngine {
         createObjectAttributeContent(attributeDefinition, objectAttributeContentInfo, contentItems);
     }
 
+    /**
+     * Adds metadata of multiple objects from the same source at once (e.g. certificates created from discovery). Definition of each metadata
+     * attribute is updated once, content items are found or created together for all objects and content of objects is inserted in batch.
+     * Objects are expected to have no metadata content from the same source yet, so assignment of existing content to objects is not checked.
+     *
+     * @param objectsMetadata metadata attributes of objects by info of object the content belongs to
+     * @throws AttributeException when connector UUID is not specified or metadata content is not valid
+     */
+    public void addObjectsMetadataAttributes(Map<ObjectAttributeContentInfo, List<MetadataAttribute>> objectsMetadata) throws AttributeException {
+        Map<String, AttributeDefinition> attributeDefinitions = new HashMap<>();
+        Map<UUID, List<ObjectContentItems>> definitionsContentItems = new LinkedHashMap<>();
+        for (Map.Entry<ObjectAttributeContentInfo, List<MetadataAttribute>> objectMetadata : objectsMetadata.entrySet()) {
+            ObjectAttributeContentInfo objectAttributeContentInfo = objectMetadata.getKey();
+            if (objectAttributeContentInfo.connectorUuid() == null) {
+                throw new AttributeException("Cannot update metadata without specifying connector UUID.");
+            }
+            if (objectMetadata.getValue() == null) {
+                continue;
+            }
+
+            for (MetadataAttribute metadataAttribute : objectMetadata.getValue()) {
+                if (metadataAttribute.getType() != AttributeType.META) {
+                    continue;
+                }
+
+                // definition is updated once for all objects, content is taken before the definition update clears it
+                List<BaseAttributeContent> contentItems = metadataAttribute.getContent();
+                String definitionKey = objectAttributeContentInfo.connectorUuid() + ":" + metadataAttribute.getUuid() + ":" + metadataAttribute.getName();
+                AttributeDefinition attributeDefinition = attributeDefinitions.get(definitionKey);
+                if (attributeDefinition == null) {
+                    attributeDefinition = updateMetadataAttributeDefinition(metadataAttribute, objectAttributeContentInfo.connectorUuid());
+                    attributeDefinitions.put(definitionKey, attributeDefinition);
+                }
+
+                validateAttributeContent(attributeDefinition, contentItems);
+                if (metadataAttribute.getProperties().isOverwrite()) {
+                    deleteObjectAttributeDefinitionContent(attributeDefinition.getUuid(), objectAttributeContentInfo.objectType(), objectAttributeContentInfo.objectUuid());
+                }
+                if (contentItems != null && !contentItems.isEmpty()) {
+                    definitionsContentItems.computeIfAbsent(attributeDefinition.getUuid(), uuid -> new ArrayList<>()).add(new ObjectContentItems(attributeDefinition, objectAttributeContentInfo, contentItems));
+                }
+            }
+        }
+
+        List<AttributeContent2Object> objectContentItems = new ArrayList<>();
+        for (List<ObjectContentItems> definitionContentItems : definitionsContentItems.values()) {
+            List<BaseAttributeContent> allContentItems = new ArrayList<>();
+            definitionContentItems.forEach(objectContent -> allContentItems.addAll(objectContent.contentItems()));
+            List<AttributeContentItem> contentItemEntities = findOrCreateContentItems(definitionContentItems.get(0).attributeDefinition(), allContentItems, new HashSet<>());
+
+            int offset = 0;
+            for (ObjectContentItems objectContent : definitionContentItems) {
+                Set<UUID> assignedContentItemUuids = new HashSet<>();
+                for (int i = 0; i < objectContent.contentItems().size(); i++) {
+                    AttributeContentItem contentItemEntity = contentItemEntities.get(offset + i);
+                    if (assignedContentItemUuids.add(contentItemEntity.getUuid())) {
+                        objectContentItems.add(createObjectContentItem(objectContent.objectAttributeContentInfo(), contentItemEntity, i));
+                    }
+                }
+                offset += objectContent.contentItems().size();
+            }
+        }
+        attributeContent2ObjectRepository.saveAll(objectContentItems);
+    }
+
     public List<DataAttribute> getDefinitionObjectAttributeContent(AttributeType attributeType, UUID connectorUuid, String operation, Resource objectType, UUID objectUuid) {
         logger.debug("Getting the {} attributes for {} with UUID: {}", attributeType.getLabel(), objectType.getLabel(), objectUuid);
         List<ObjectAttributeDefinitionContent> objectDefinitionContents = attributeContent2ObjectRepository.getObjectAttributeDefinitionContent(attributeType, connectorUuid, operation, objectType, objectUuid, null, null);
@@ -498,19 +640,61 @@ public class AttributeEngine {
     }
 
     private List<ResponseAttributeDto> getObjectCustomAttributesContent(Resource objectType, UUID objectUuid, SecurityResourceFilter securityResourceFilter) {
-        List<UUID> allowedAttributes = null;
-        List<UUID> forbiddenAttributes = null;
-        if (securityResourceFilter != null) {
-            if (securityResourceFilter.areOnlySpecificObjectsAllowed()) {
-                allowedAttributes = securityResourceFilter.getAllowedObjects();
-                if (allowedAttributes.isEmpty()) allowedAttributes.add(null);
-            } else if (!securityResourceFilter.getForbiddenObjects().isEmpty()) {
-                forbiddenAttributes = securityResourceFilter.getForbiddenObjects();
+        List<ObjectAttributeContent> objectContents = attributeContent2ObjectRepository.getObjectCustomAttributesContent(AttributeType.CUSTOM, objectType, objectUuid, getAllowedAttributes(securityResourceFilter), getForbiddenAttributes(securityResourceFilter));
+        return getResponseAttributes(objectContents);
+    }
+
+    /**
+     * Load custom attributes content of multiple objects of same type at once
+     *
+     * @param objectType  type of objects
+     * @param objectUuids UUIDs of objects
+     * @return custom attributes content for each of requested objects
+     */
+    public Map<UUID, List<ResponseAttributeDto>> getObjectsCustomAttributesContent(Resource objectType, Collection<UUID> objectUuids) {
+        logger.debug("Getting the custom attributes for {} objects of type {}", objectUuids.size(), objectType.getLabel());
+        SecurityResourceFilter securityResourceFilter = objectUuids.isEmpty() ? null : loadCustomAttributesSecurityResourceFilter();
+        List<UUID> allowedAttributes = getAllowedAttributes(securityResourceFilter);
+        List<UUID> forbiddenAttributes = getForbiddenAttributes(securityResourceFilter);
+
+        Map<UUID, List<ObjectAttributeContent>> objectsContents = new HashMap<>();
+        for (List<UUID> objectUuidsBatch : partitionObjectUuids(objectUuids)) {
+            List<MultiObjectAttributeContent> contents = attributeContent2ObjectRepository.getObjectsCustomAttributesContent(AttributeType.CUSTOM, objectType, objectUuidsBatch, allowedAttributes, forbiddenAttributes);
+            for (MultiObjectAttributeContent content : contents) {
+                objectsContents.computeIfAbsent(content.objectUuid(), k -> new ArrayList<>()).add(content.toObjectAttributeContent());
             }
         }
 
-        List<ObjectAttributeContent> objectContents = attributeContent2ObjectRepository.getObjectCustomAttributesContent(AttributeType.CUSTOM, objectType, objectUuid, allowedAttributes, forbiddenAttributes);
-        return getResponseAttributes(objectContents);
+        Map<UUID, List<ResponseAttributeDto>> objectsAttributes = new HashMap<>();
+        for (UUID objectUuid : objectUuids) {
+            objectsAttributes.put(objectUuid, getResponseAttributes(objectsContents.getOrDefault(objectUuid, List.of())));
+        }
+        return objectsAttributes;
+    }
+
+    private List<UUID> getAllowedAttributes(SecurityResourceFilter securityResourceFilter) {
+        if (securityResourceFilter == null || !securityResourceFilter.areOnlySpecificObjectsAllowed()) {
+            return null;
+        }
+        List<UUID> allowedAttributes = new ArrayList<>(securityResourceFilter.getAllowedObjects());
+        if (allowedAttributes.isEmpty()) allowedAttributes.add(null);
+        return allowedAttributes;
+    }
+
+    private List<UUID> getForbiddenAttributes(SecurityResourceFilter securityResourceFilter) {
+        if (securityResourceFilter == null || securityResourceFilter.areOnlySpecificObjectsAllowed() || securityResourceFilter.getForbiddenObjects().isEmpty()) {
+            return null;
+        }
+        return securityResourceFilter.getForbiddenObjects();
+    }
+
+    private static List<List<UUID>> partitionObjectUuids(Collection<UUID> objectUuids) {
+        List<UUID> uuids = objectUuids.stream().distinct().toList();
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int i = 0; i < uuids.size(); i += OBJECTS_BATCH_SIZE) {
+            batches.add(uuids.subList(i, Math.min(i + OBJECTS_BATCH_SIZE, uuids.size())));
+        }
+        return batches;
     }
 
     public List<ResponseAttributeDto> getObjectDataAttributesContent(UUID connectorUuid, String operation, Resource objectType, UUID objectUuid) {
@@ -529,7 +713,7 @@ public class AttributeEngine {
         List<DataAttribute> dataAttributes = new ArrayList<>();
         String connectorUuidStr = connectorUuid == null ? null : connectorUuid.toString();
         for (RequestAttributeDto requestAttribute : requestAttributes) {
-            AttributeDefinition definition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttribute.getUuid()), requestAttribute.getName())
+            AttributeDefinition definition = findDefinition(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttribute.getUuid()), requestAttribute.getName())
                     .orElseThrow(() -> new AttributeException("Missing data attribute definition", requestAttribute.getUuid() == null ? null : requestAttribute.getUuid(), requestAttribute.getName(), AttributeType.DATA, connectorUuidStr));
 
             validateAttributeContent(definition, requestAttribute.getContent());
@@ -607,7 +791,7 @@ public class AttributeEngine {
         ObjectAttributeContentInfo objectAttributeContentInfo = new ObjectAttributeContentInfo(connectorUuid, objectType, objectUuid);
         deleteOperationObjectAttributesContent(AttributeType.DATA, operation, objectAttributeContentInfo);
         for (RequestAttributeDto requestAttribute : requestAttributes) {
-            AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttribute.getUuid()), requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
+            AttributeDefinition attributeDefinition = findDefinition(AttributeType.DATA, connectorUuid, UUID.fromString(requestAttribute.getUuid()), requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
             createObjectAttributeContent(attributeDefinition, objectAttributeContentInfo, requestAttribute.getContent());
         }
 
@@ -627,12 +811,12 @@ public class AttributeEngine {
             // custom attributes content is automatically replaced
             deleteObjectAttributeContentByType(AttributeType.CUSTOM, objectType, objectUuid);
             for (RequestAttributeDto requestAttribute : requestAttributes) {
-                AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByTypeAndName(AttributeType.CUSTOM, requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
+                AttributeDefinition attributeDefinition = findCustomDefinition(requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
                 createObjectAttributeContent(attributeDefinition, new ObjectAttributeContentInfo(objectType, objectUuid), requestAttribute.getContent());
             }
         } else {
             for (RequestAttributeDto requestAttribute : requestAttributes) {
-                AttributeDefinition attributeDefinition = attributeDefinitionRepository.findByTypeAndName(AttributeType.CUSTOM, requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
+                AttributeDefinition attributeDefinition = findCustomDefinition(requestAttribute.getName()).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, requestAttribute.getName()));
                 if ((securityResourceFilter.areOnlySpecificObjectsAllowed())) {
                     if (!securityResourceFilter.getAllowedObjects().contains(attributeDefinition.getUuid())) {
                         throw new AttributeException(String.format("Updating custom attribute `%s` is not allowed", attributeDefinition.getName()));
@@ -652,11 +836,25 @@ public class AttributeEngine {
     }
 
     public void updateObjectCustomAttributeContent(Resource objectType, UUID objectUuid, UUID definitionUuid, String attributeName, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException {
+        updateObjectsCustomAttributeContent(objectType, List.of(objectUuid), definitionUuid, attributeName, attributeContentItems);
+    }
+
+    /**
+     * Replace content of custom attribute of multiple objects of same type at once.
+     * Content is validated and its items are resolved only once, objects content is deleted and inserted in batches.
+     *
+     * @param objectType            type of objects
+     * @param objectUuids           UUIDs of objects
+     * @param definitionUuid        UUID of custom attribute definition, if null, definition is looked up by name
+     * @param attributeName         name of custom attribute
+     * @param attributeContentItems new content of attribute, null or empty to remove the content
+     */
+    public void updateObjectsCustomAttributeContent(Resource objectType, Collection<UUID> objectUuids, UUID definitionUuid, String attributeName, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException {
         AttributeDefinition attributeDefinition;
         if (definitionUuid != null) {
-            attributeDefinition = attributeDefinitionRepository.findByUuid(definitionUuid).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, definitionUuid.toString()));
+            attributeDefinition = attributeDefinitionCache.getDefinition(AttributeDefinitionKey.byUuid(definitionUuid), () -> attributeDefinitionRepository.findByUuid(definitionUuid)).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, definitionUuid.toString()));
         } else {
-            attributeDefinition = attributeDefinitionRepository.findByTypeAndName(AttributeType.CUSTOM, attributeName).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, attributeName.toString()));
+            attributeDefinition = findCustomDefinition(attributeName).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, attributeName.toString()));
         }
         if (attributeDefinition.getType() != AttributeType.CUSTOM) {
             throw new AttributeException("Cannot update content of attribute. Only custom attributes are allowed to be updated directly.", attributeDefinition.getUuid().toString(), attributeDefinition.getName(), attributeDefinition.getType(), null);
@@ -665,7 +863,9 @@ public class AttributeEngine {
             throw new AttributeException("Cannot update content of disabled attribute.", attributeDefinition.getUuid().toString(), attributeDefinition.getName(), attributeDefinition.getType(), null);
         }
 
-        AttributeRelation relation = attributeRelationRepository.findByResourceAndAttributeDefinitionUuidAndAttributeDefinitionTypeAndAttributeDefinitionEnabled(objectType, attributeDefinition.getUuid(), AttributeType.CUSTOM, true).orElseThrow(() -> new AttributeException("Cannot update content of attribute since it is not associated with resource " + objectType.getLabel(), attributeDefinition.getUuid().toString(), attributeDefinition.getName(), attributeDefinition.getType(), null));
+        if (getRelatedDefinitions(objectType, AttributeType.CUSTOM, true).stream().noneMatch(d -> d.getUuid().equals(attributeDefinition.getUuid()))) {
+            throw new AttributeException("Cannot update content of attribute since it is not associated with resource " + objectType.getLabel(), attributeDefinition.getUuid().toString(), attributeDefinition.getName(), attributeDefinition.getType(), null);
+        }
 
         // filter out updating
         SecurityResourceFilter securityResourceFilter = loadCustomAttributesSecurityResourceFilter();
@@ -681,12 +881,31 @@ public class AttributeEngine {
             }
         }
 
-        // custom attributes content is automatically replaced
-        deleteObjectAttributeDefinitionContent(attributeDefinition.getUuid(), objectType, objectUuid);
+        List<AttributeContentItem> contentItemEntities = List.of();
         if (attributeContentItems != null && !attributeContentItems.isEmpty()) {
             validateAttributeContent(attributeDefinition, attributeContentItems);
-            createObjectAttributeContent(attributeDefinition, new ObjectAttributeContentInfo(objectType, objectUuid), attributeContentItems);
+            contentItemEntities = findOrCreateContentItems(attributeDefinition, attributeContentItems, new HashSet<>()).stream().distinct().toList();
+        }
+
+        // custom attributes content is automatically replaced
+        long deletedCount = 0;
+        for (List<UUID> objectUuidsBatch : partitionObjectUuids(objectUuids)) {
+            deletedCount += attributeContent2ObjectRepository.deleteObjectsAttributeDefinitionContent(objectType, objectUuidsBatch, attributeDefinition.getUuid());
+
+            List<AttributeContent2Object> objectContentItems = new ArrayList<>();
+            for (UUID objectUuid : objectUuidsBatch) {
+                for (int i = 0; i < contentItemEntities.size(); i++) {
+                    AttributeContent2Object objectContentItem = new AttributeContent2Object();
+                    objectContentItem.setObjectUuid(objectUuid);
+                    objectContentItem.setObjectType(objectType);
+                    objectContentItem.setOrder(i);
+                    objectContentItem.setAttributeContentItem(contentItemEntities.get(i));
+                    objectContentItems.add(objectContentItem);
+                }
+            }
+            attributeContent2ObjectRepository.saveAll(objectContentItems);
         }
+        logger.debug("Replaced content of custom attribute {} for {} objects of type {}. Deleted {} attribute content items", attributeDefinition.getName(), objectUuids.size(), objectType.getLabel(), deletedCount);
     }
 
     private void validateAttributeDefinition(BaseAttribute<?> attribute, UUID connectorUuid) throws AttributeException {
@@ -759,20 +978,20 @@ public class AttributeEngine {
             attributes = new ArrayList<>();
         }
 
-        List<AttributeRelation> relations = attributeRelationRepository.findByResourceAndAttributeDefinitionType(resource, AttributeType.CUSTOM);
+        List<AttributeDefinition> definitions = getRelatedDefinitions(resource, AttributeType.CUSTOM, false);
 
         // filter definitions that are not allowed for user
         Map<String, AttributeDefinition> definitionsMapping;
         if (securityResourceFilter != null) {
             if (securityResourceFilter.areOnlySpecificObjectsAllowed()) {
-                definitionsMapping = relations.stream().filter(r -> securityResourceFilter.getAllowedObjects().contains(r.getAttributeDefinition().getUuid())).collect(Collectors.toMap(r -> r.getAttributeDefinition().getName(), AttributeRelation::getAttributeDefinition));
+                definitionsMapping = definitions.stream().filter(d -> securityResourceFilter.getAllowedObjects().contains(d.getUuid())).collect(Collectors.toMap(AttributeDefinition::getName, d -> d));
                 attributes = attributes.stream().filter(a -> securityResourceFilter.getAllowedObjects().contains(UUID.fromString(a.getUuid()))).toList();
             } else {
-                definitionsMapping = relations.stream().filter(r -> !securityResourceFilter.getForbiddenObjects().contains(r.getAttributeDefinition().getUuid())).collect(Collectors.toMap(r -> r.getAttributeDefinition().getName(), AttributeRelation::getAttributeDefinition));
+                definitionsMapping = definitions.stream().filter(d -> !securityResourceFilter.getForbiddenObjects().contains(d.getUuid())).collect(Collectors.toMap(AttributeDefinition::getName, d -> d));
                 attributes = attributes.stream().filter(a -> !securityResourceFilter.getForbiddenObjects().contains(UUID.fromString(a.getUuid()))).toList();
             }
         } else {
-            definitionsMapping = relations.stream().collect(Collectors.toMap(r -> r.getAttributeDefinition().getName(), AttributeRelation::getAttributeDefinition));
+            definitionsMapping = definitions.stream().collect(Collectors.toMap(AttributeDefinition::getName, d -> d));
         }
 
         // no attributes to validate
@@ -803,6 +1022,8 @@ public class AttributeEngine {
     }
 
     public void deleteConnectorAttributeDefinitionsContent(UUID connectorUuid) {
+        attributeDefinitionCache.invalidate();
+
         // delete data attributes with content
         logger.debug("Deleting data attribute definitions for connector with UUID {}", connectorUuid);
         attributeContent2ObjectRepository.deleteByAttributeContentItemAttributeDefinitionTypeAndConnectorUuid(AttributeType.DATA, connectorUuid);
@@ -818,12 +1039,14 @@ public class AttributeEngine {
 
     public void deleteAttributeDefinition(AttributeType attributeType, UUID definitionUuid) throws NotFoundException {
         AttributeDefinition definition = attributeDefinitionRepository.findByUuidAndType(definitionUuid, attributeType).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, definitionUuid.toString()));
+        attributeDefinitionCache.invalidate();
         deleteAllAttributeDefinitionContent(definitionUuid);
         attributeDefinitionRepository.delete(definition);
     }
 
     public void deleteAttributeDefinition(AttributeType attributeType, UUID connectorUuid, UUID attributeUuid, String name) throws NotFoundException {
         AttributeDefinition definition = attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(attributeType, connectorUuid, attributeUuid, name).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, attributeUuid));
+        attributeDefinitionCache.invalidate();
         deleteAllAttributeDefinitionContent(definition.getUuid());
         attributeDefinitionRepository.delete(definition);
     }
@@ -850,39 +1073,84 @@ public class AttributeEngine {
         logger.debug("Creating the attribute content for attribute {} of type {}. Info: {}", attributeDefinition.getName(), attributeDefinition.getType().getLabel(), objectAttributeContentInfo);
 
         validateAttributeContent(attributeDefinition, attributeContentItems);
-        for (int i = 0; i < attributeContentItems.size(); i++) {
-            AttributeContentItem contentItemEntity;
-            BaseAttributeContent<?> attributeContentItem = attributeContentItems.get(i);
-            Optional<AttributeContentItem> contentItemEntityResponse = attributeContentItemRepository.findByJsonAndAttributeDefinitionUuid(attributeContentItem, attributeDefinition.getUuid());
 
-            // check if content item for this attribute definition exists to don't create duplicate items
-            if (contentItemEntityResponse.isPresent()) {
-                contentItemEntity = contentItemEntityResponse.get();
+        Set<UUID> createdContentItemUuids = new HashSet<>();
+        List<AttributeContentItem> contentItemEntities = findOrCreateContentItems(attributeDefinition, attributeContentItems, createdContentItemUuids);
+
+        Set<UUID> assignedContentItemUuids = new HashSet<>();
+        for (int i = 0; i < attributeContentItems.size(); i++) {
+            AttributeContentItem contentItemEntity = contentItemEntities.get(i);
 
-                // check if that content item is not already assigned to same object for meta attribute
-                // TODO: do we need to allow duplicate content items for one attribute definition? Maybe if attribute is list or do this check just for META attributes?
+            // check if that content item is not already assigned to same object for meta attribute
+            // TODO: do we need to allow duplicate content items for one attribute definition? Maybe if attribute is list or do this check just for META attributes?
+            if (!assignedContentItemUuids.add(contentItemEntity.getUuid())) {
+                continue;
+            }
+            if (!createdContentItemUuids.contains(contentItemEntity.getUuid())) {
                 var aco = attributeContent2ObjectRepository.getByConnectorUuidAndAttributeContentItemUuidAndObjectTypeAndObjectUuidAndSourceObjectTypeAndSourceObjectUuid(objectAttributeContentInfo.connectorUuid(), contentItemEntity.getUuid(), objectAttributeContentInfo.objectType(), objectAttributeContentInfo.objectUuid(), objectAttributeContentInfo.sourceObjectType(), objectAttributeContentInfo.sourceObjectUuid());
                 if (!aco.isEmpty()) {
                     continue;
                 }
-            } else {
-                contentItemEntity = new AttributeContentItem();
-                contentItemEntity.setJson(attributeContentItem);
+            }
+
+            attributeContent2ObjectRepository.save(createObjectContentItem(objectAttributeContentInfo, contentItemEntity, i));
+        }
+    }
+
+    private AttributeContent2Object createObjectContentItem(ObjectAttributeContentInfo objectAttributeContentInfo, AttributeContentItem contentItemEntity, int order) {
+        final AttributeContent2Object objectContentItem = new AttributeContent2Object();
+        objectContentItem.setObjectUuid(objectAttributeContentInfo.objectUuid());
+        objectContentItem.setObjectType(objectAttributeContentInfo.objectType());
+        objectContentItem.setConnectorUuid(objectAttributeContentInfo.connectorUuid());
+        objectContentItem.setSourceObjectUuid(objectAttributeContentInfo.sourceObjectUuid());
+        objectContentItem.setSourceObjectType(objectAttributeContentInfo.sourceObjectType());
+        objectContentItem.setSourceObjectName(objectAttributeContentInfo.sourceObjectName());
+        objectContentItem.setOrder(order);
+        objectContentItem.setAttributeContentItem(contentItemEntity);
+        return objectContentItem;
+    }
+
+    /**
+     * Find existing content items of attribute definition by content hash and create missing ones at once to don't create duplicate items.
+     * Missing items are inserted skipping the ones created meanwhile by concurrent transactions and loaded again,
+     * so concurrent creation of same content reuses single item instead of failing on unique content hash index.
+     *
+     * @param attributeDefinition     attribute definition of content items
+     * @param attributeContentItems   content items
+     * @param createdContentItemUuids set to collect UUIDs of newly created content items
+     * @return content item entities in order of content items
+     */
+    private List<AttributeContentItem> findOrCreateContentItems(AttributeDefinition attributeDefinition, List<BaseAttributeContent> attributeContentItems, Set<UUID> createdContentItemUuids) {
+        List<String> contentHashes = attributeContentItems.stream().map(AttributeContentHashUtil::getContentHash).toList();
+        Map<String, AttributeContentItem> contentItemEntities = new HashMap<>();
+        for (AttributeContentItem contentItemEntity : attributeContentItemRepository.findByAttributeDefinitionUuidAndHashIn(attributeDefinition.getUuid(), new HashSet<>(contentHashes))) {
+            contentItemEntities.put(contentItemEntity.getHash(), contentItemEntity);
+        }
+
+        Map<String, AttributeContentItem> newContentItemEntities = new HashMap<>();
+        for (int i = 0; i < attributeContentItems.size(); i++) {
+            if (!contentItemEntities.containsKey(contentHashes.get(i)) && !newContentItemEntities.containsKey(contentHashes.get(i))) {
+                AttributeContentItem contentItemEntity = new AttributeContentItem();
+                contentItemEntity.setUuid(UUID.randomUUID());
+                contentItemEntity.setJson(attributeContentItems.get(i));
+                contentItemEntity.setValues(AttributeContentValues.fromContent(attributeDefinition.getContentType(), attributeContentItems.get(i)));
                 contentItemEntity.setAttributeDefinitionUuid(attributeDefinition.getUuid());
-                contentItemEntity = attributeContentItemRepository.save(contentItemEntity);
+                newContentItemEntities.put(contentHashes.get(i), contentItemEntity);
             }
+        }
 
-            final AttributeContent2Object objectContentItem = new AttributeContent2Object();
-            objectContentItem.setObjectUuid(objectAttributeContentInfo.objectUuid());
-            objectContentItem.setObjectType(objectAttributeContentInfo.objectType());
-            objectContentItem.setConnectorUuid(objectAttributeContentInfo.connectorUuid());
-            objectContentItem.setSourceObjectUuid(objectAttributeContentInfo.sourceObjectUuid());
-            objectContentItem.setSourceObjectType(objectAttributeContentInfo.sourceObjectType());
-            objectContentItem.setSourceObjectName(objectAttributeContentInfo.sourceObjectName());
-            objectContentItem.setOrder(i);
-            objectContentItem.setAttributeContentItem(contentItemEntity);
-            attributeContent2ObjectRepository.save(objectContentItem);
+        if (!newContentItemEntities.isEmpty()) {
+            attributeContentItemRepository.insertIfAbsent(new ArrayList<>(newContentItemEntities.values()));
+            for (AttributeContentItem contentItemEntity : attributeContentItemRepository.findByAttributeDefinitionUuidAndHashIn(attributeDefinition.getUuid(), newContentItemEntities.keySet())) {
+                contentItemEntities.put(contentItemEntity.getHash(), contentItemEntity);
+                // item could be created by concurrent transaction, then it has different UUID than the one inserted by this transaction
+                if (contentItemEntity.getUuid().equals(newContentItemEntities.get(contentItemEntity.getHash()).getUuid())) {
+                    createdContentItemUuids.add(contentItemEntity.getUuid());
+                }
+            }
         }
+
+        return contentHashes.stream().map(contentItemEntities::get).toList();
     }
 
     private List<ValidationError> validateAttributesContent(Map<String, AttributeDefinition> definitionsMapping, List<RequestAttributeDto> attributes) {
@@ -963,6 +1231,32 @@ public class AttributeEngine {
         logger.debug("Deleted {} attribute content items for {} with UUID {} for attribute {}", deletedCount, objectType.getLabel(), objectUuid, definitionUuid);
     }
 
+    private Optional<AttributeDefinition> findDefinition(AttributeType attributeType, UUID connectorUuid, UUID attributeUuid, String name) {
+        return attributeDefinitionCache.getDefinition(AttributeDefinitionKey.byTypeAndConnectorAndAttributeUuidAndName(attributeType, connectorUuid, attributeUuid, name),
+                () -> attributeDefinitionRepository.findByTypeAndConnectorUuidAndAttributeUuidAndName(attributeType, connectorUuid, attributeUuid, name));
+    }
+
+    private Optional<AttributeDefinition> findCustomDefinition(String name) {
+        return attributeDefinitionCache.getDefinition(AttributeDefinitionKey.byTypeAndName(AttributeType.CUSTOM, name),
+                () -> attributeDefinitionRepository.findByTypeAndName(AttributeType.CUSTOM, name));
+    }
+
+    private List<AttributeDefinition> getRelatedDefinitions(Resource resource, AttributeType attributeType, boolean enabledOnly) {
+        return attributeDefinitionCache.getRelatedDefinitions(new AttributeRelationKey(resource, attributeType, enabledOnly),
+                () -> (enabledOnly
+                        ? attributeRelationRepository.findByResourceAndAttributeDefinitionTypeAndAttributeDefinitionEnabled(resource, attributeType, true)
+                        : attributeRelationRepository.findByResourceAndAttributeDefinitionType(resource, attributeType))
+                        .stream().map(AttributeRelation::getAttributeDefinition).toList());
+    }
+
+    private boolean isDefinitionChanged(AttributeDefinition attributeDefinition, String label, BaseAttribute<?> attribute) {
+        return !Objects.equals(attributeDefinition.getLabel(), label)
+                || !ATTRIBUTES_OBJECT_MAPPER.valueToTree(attributeDefinition.getDefinition()).equals(ATTRIBUTES_OBJECT_MAPPER.valueToTree(attribute));
+    }
+
+    private record ObjectContentItems(AttributeDefinition attributeDefinition, ObjectAttributeContentInfo objectAttributeContentInfo, List<BaseAttributeContent> contentItems) {
+    }
+
     private SecurityResourceFilter loadCustomAttributesSecurityResourceFilter() {
         // if user is anonymous or protocol user, allow all custom attribute content for sake of system processes and protocol operations
         boolean loadAllContent = false;
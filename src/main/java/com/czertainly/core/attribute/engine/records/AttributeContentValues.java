@@ -0,0 +1,78 @@
+package com.czertainly.core.attribute.engine.records;
+
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Typed projection of the filtered value of attribute content item (data or reference according to content type).
+ * Text value is the same as extracted from content JSON, typed values are set only for content types they apply to.
+ * Time values are projected to timestamp of epoch day.
+ */
+public record AttributeContentValues(
+        String textValue,
+        BigDecimal numericValue,
+        LocalDateTime timestampValue,
+        Boolean booleanValue
+) {
+    // same serialization of content as used by Hibernate when storing JSON columns
+    private static final ObjectMapper CONTENT_OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    public static AttributeContentValues fromContent(AttributeContentType contentType, BaseAttributeContent<?> content) {
+        return fromJsonNode(contentType, CONTENT_OBJECT_MAPPER.valueToTree(content));
+    }
+
+    public static AttributeContentValues fromJson(AttributeContentType contentType, String json) {
+        try {
+            return fromJsonNode(contentType, CONTENT_OBJECT_MAPPER.readTree(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot parse attribute content JSON: " + e.getMessage(), e);
+        }
+    }
+
+    public static LocalDateTime toTimestamp(AttributeContentType contentType, LocalDate date, LocalTime time, LocalDateTime dateTime) {
+        return switch (contentType) {
+            case DATE -> date == null ? null : date.atStartOfDay();
+            case TIME -> time == null ? null : LocalDate.EPOCH.atTime(time);
+            case DATETIME -> dateTime;
+            default -> null;
+        };
+    }
+
+    private static AttributeContentValues fromJsonNode(AttributeContentType contentType, JsonNode contentNode) {
+        JsonNode valueNode = contentNode == null ? null : contentNode.get(contentType.isFilterByData() ? "data" : "reference");
+        if (valueNode == null || valueNode.isNull()) {
+            return new AttributeContentValues(null, null, null, null);
+        }
+
+        String textValue = valueNode.isValueNode() ? valueNode.asText() : valueNode.toString();
+        BigDecimal numericValue = null;
+        LocalDateTime timestampValue = null;
+        Boolean booleanValue = null;
+        try {
+            switch (contentType) {
+                case INTEGER, FLOAT -> numericValue = new BigDecimal(textValue);
+                case BOOLEAN -> booleanValue = Boolean.parseBoolean(textValue);
+                case DATE -> timestampValue = toTimestamp(contentType, LocalDate.parse(textValue), null, null);
+                case TIME -> timestampValue = toTimestamp(contentType, null, LocalTime.parse(textValue), null);
+                case DATETIME -> timestampValue = LocalDateTime.parse(textValue, DateTimeFormatter.ISO_DATE_TIME);
+                default -> {
+                    // only text value is projected
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            // value that cannot be parsed is searchable only as text
+        }
+
+        return new AttributeContentValues(textValue, numericValue, timestampValue, booleanValue);
+    }
+}
@@ -0,0 +1,42 @@
+package com.czertainly.core.attribute.engine.records;
+
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+
+import java.util.UUID;
+
+public record AttributeDefinitionKey(
+        Lookup lookup,
+        AttributeType type,
+        UUID uuid,
+        UUID connectorUuid,
+        UUID attributeUuid,
+        String name
+) {
+    public enum Lookup {
+        BY_UUID,
+        TYPE_NAME,
+        TYPE_NAME_GLOBAL,
+        TYPE_CONNECTOR_NAME,
+        TYPE_CONNECTOR_ATTRIBUTE_UUID_NAME
+    }
+
+    public static AttributeDefinitionKey byUuid(UUID uuid) {
+        return new AttributeDefinitionKey(Lookup.BY_UUID, null, uuid, null, null, null);
+    }
+
+    public static AttributeDefinitionKey byTypeAndName(AttributeType type, String name) {
+        return new AttributeDefinitionKey(Lookup.TYPE_NAME, type, null, null, null, name);
+    }
+
+    public static AttributeDefinitionKey byTypeAndNameGlobal(AttributeType type, String name) {
+        return new AttributeDefinitionKey(Lookup.TYPE_NAME_GLOBAL, type, null, null, null, name);
+    }
+
+    public static AttributeDefinitionKey byTypeAndConnectorAndName(AttributeType type, UUID connectorUuid, String name) {
+        return new AttributeDefinitionKey(Lookup.TYPE_CONNECTOR_NAME, type, null, connectorUuid, null, name);
+    }
+
+    public static AttributeDefinitionKey byTypeAndConnectorAndAttributeUuidAndName(AttributeType type, UUID connectorUuid, UUID attributeUuid, String name) {
+        return new AttributeDefinitionKey(Lookup.TYPE_CONNECTOR_ATTRIBUTE_UUID_NAME, type, null, connectorUuid, attributeUuid, name);
+    }
+}
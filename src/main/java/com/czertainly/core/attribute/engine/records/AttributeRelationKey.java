@@ -0,0 +1,11 @@
+package com.czertainly.core.attribute.engine.records;
+
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.core.auth.Resource;
+
+public record AttributeRelationKey(
+        Resource resource,
+        AttributeType type,
+        boolean enabledOnly
+) {
+}
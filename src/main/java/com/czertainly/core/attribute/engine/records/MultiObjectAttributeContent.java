@@ -0,0 +1,22 @@
+package com.czertainly.core.attribute.engine.records;
+
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
+
+import java.util.UUID;
+
+public record MultiObjectAttributeContent(
+    UUID objectUuid,
+    UUID uuid,
+    String name,
+    String label,
+    AttributeType type,
+    AttributeContentType contentType,
+    BaseAttributeContent<?> contentItem
+)
+{
+    public ObjectAttributeContent toObjectAttributeContent() {
+        return new ObjectAttributeContent(uuid, name, label, type, contentType, contentItem);
+    }
+}
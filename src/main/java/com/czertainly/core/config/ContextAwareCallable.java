@@ -1,5 +1,7 @@
 package com.czertainly.core.config;
 
+import com.czertainly.core.messaging.model.MessageLane;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 
@@ -8,10 +10,17 @@ import java.util.concurrent.Callable;
 public class ContextAwareCallable<T> implements Callable<T> {
     private Callable<T> task;
     private RequestAttributes context;
+    private MessageLane lane;
 
     public ContextAwareCallable(Callable<T> task, RequestAttributes context) {
+        this(task, context, MessageLaneContext.explicitLane());
+    }
+
+    public ContextAwareCallable(Callable<T> task, RequestAttributes context, MessageLane lane) {
         this.task = task;
         this.context = copy(context);
+        // async tasks produce bulk messages even with copied request attributes, unless the lane was set explicitly
+        this.lane = lane != null ? lane : MessageLane.BULK;
     }
 
     private RequestAttributes copy(RequestAttributes requestAttributes) {
@@ -25,9 +34,11 @@ public class ContextAwareCallable<T> implements Callable<T> {
             RequestContextHolder.setRequestAttributes(context);
         }
 
+        MessageLane previousLane = MessageLaneContext.enter(lane);
         try {
             return task.call();
         } finally {
+            MessageLaneContext.restore(previousLane);
             RequestContextHolder.resetRequestAttributes();
         }
     }
@@ -0,0 +1,50 @@
+package com.czertainly.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors of discovery processing. Number of threads and queued tasks is bounded, tasks over the limit are rejected
+ * and their submitter decides whether to retry them later, unless the executor runs them in thread of the submitter.
+ */
+@Configuration
+public class DiscoveryExecutorConfig {
+
+    public static final String INGESTION_EXECUTOR = "discoveryIngestionExecutor";
+    public static final String TRIGGERS_EXECUTOR = "discoveryTriggersExecutor";
+
+    /**
+     * Executor ingesting certificates of discoveries finished in discovery providers, so threads polling progress
+     * of discoveries are not blocked by ingestion
+     */
+    @Bean(INGESTION_EXECUTOR)
+    public ThreadPoolTaskExecutor discoveryIngestionExecutor(@Value("${discovery.ingestion.threads:2}") int threads,
+                                                             @Value("${discovery.ingestion.pending-discoveries:100}") int pendingDiscoveries) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(threads, 1));
+        executor.setMaxPoolSize(Math.max(threads, 1));
+        executor.setQueueCapacity(Math.max(pendingDiscoveries, 0));
+        executor.setThreadNamePrefix("discovery-finishing-");
+        return executor;
+    }
+
+    /**
+     * Executor evaluating triggers of partitions of newly discovered certificates, shared by all discoveries.
+     * Partitions over the limit of queued partitions are processed in thread of the discovery.
+     */
+    @Bean(TRIGGERS_EXECUTOR)
+    public ThreadPoolTaskExecutor discoveryTriggersExecutor(@Value("${discovery.triggers.parallelism:4}") int parallelism,
+                                                            @Value("${discovery.triggers.pending-partitions:1000}") int pendingPartitions) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(parallelism, 1));
+        executor.setMaxPoolSize(Math.max(parallelism, 1));
+        executor.setQueueCapacity(Math.max(pendingPartitions, 0));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("discovery-triggers-");
+        return executor;
+    }
+}
@@ -0,0 +1,97 @@
+package com.czertainly.core.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates web clients for internal platform services (OPA, authentication service) with dedicated connection pool.
+ * Pool and transport of each client is configured by properties with prefix {@code <service>.client.}:
+ * <ul>
+ *     <li>{@code max-connections} - maximum number of pooled connections</li>
+ *     <li>{@code pending-acquire-timeout} - maximum time in milliseconds to wait for connection from exhausted pool</li>
+ *     <li>{@code connect-timeout} - connect timeout in milliseconds</li>
+ *     <li>{@code response-timeout} - response timeout in milliseconds</li>
+ *     <li>{@code max-idle-time} - time in seconds the idle connection is kept alive in the pool</li>
+ *     <li>{@code max-life-time} - maximum time in seconds the connection is reused</li>
+ *     <li>{@code http2} - use HTTP/2 (h2c for plain HTTP)</li>
+ *     <li>{@code unix-socket-path} - path of Unix domain socket used instead of TCP connection (e.g. sidecar OPA)</li>
+ * </ul>
+ * Connection pool and HTTP client latency metrics are recorded by Micrometer and exported with other application metrics.
+ * Each service has single connection pool shared by all its clients, pools are disposed when the application context is closed.
+ */
+@Component
+public class PooledWebClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledWebClientFactory.class);
+
+    private final Environment environment;
+
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    public PooledWebClientFactory(Environment environment) {
+        this.environment = environment;
+    }
+
+    public WebClient.Builder createWebClientBuilder(String serviceName, String baseUrl) {
+        String prefix = serviceName + ".client.";
+
+        HttpClient httpClient = HttpClient.create(getConnectionProvider(serviceName))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, environment.getProperty(prefix + "connect-timeout", Integer.class, 2000))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofMillis(environment.getProperty(prefix + "response-timeout", Long.class, 10000L)))
+                .metrics(true, Function.identity());
+
+        if (Boolean.TRUE.equals(environment.getProperty(prefix + "http2", Boolean.class, false))) {
+            httpClient = httpClient.protocol(StringUtils.startsWithIgnoreCase(baseUrl, "https") ? HttpProtocol.H2 : HttpProtocol.H2C);
+        }
+
+        String unixSocketPath = environment.getProperty(prefix + "unix-socket-path");
+        if (StringUtils.isNotBlank(unixSocketPath)) {
+            logger.info("Client of service {} connects through Unix domain socket {}", serviceName, unixSocketPath);
+            httpClient = httpClient.remoteAddress(() -> new DomainSocketAddress(unixSocketPath));
+        }
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    ConnectionProvider getConnectionProvider(String serviceName) {
+        return connectionProviders.computeIfAbsent(serviceName, this::createConnectionProvider);
+    }
+
+    private ConnectionProvider createConnectionProvider(String serviceName) {
+        String prefix = serviceName + ".client.";
+        return ConnectionProvider.builder(serviceName)
+                .maxConnections(environment.getProperty(prefix + "max-connections", Integer.class, 100))
+                .pendingAcquireTimeout(Duration.ofMillis(environment.getProperty(prefix + "pending-acquire-timeout", Long.class, 5000L)))
+                .maxIdleTime(Duration.ofSeconds(environment.getProperty(prefix + "max-idle-time", Long.class, 30L)))
+                .maxLifeTime(Duration.ofSeconds(environment.getProperty(prefix + "max-life-time", Long.class, 300L)))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+        connectionProviders.clear();
+    }
+}
@@ -1,6 +1,8 @@
 package com.czertainly.core.dao.entity;
 
 import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
+import com.czertainly.core.attribute.engine.records.AttributeContentValues;
+import com.czertainly.core.util.AttributeContentHashUtil;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -10,13 +12,15 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "attribute_content_item")
+@Table(name = "attribute_content_item", uniqueConstraints = {@UniqueConstraint(name = "attribute_content_item_definition_hash_uindex", columnNames = {"attribute_definition_uuid", "hash"})})
 public class AttributeContentItem extends UniquelyIdentified {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +34,21 @@ public class AttributeContentItem extends UniquelyIdentified {
     @JdbcTypeCode(SqlTypes.JSON)
     private BaseAttributeContent<?> json;
 
+    @Column(name = "hash", nullable = false)
+    private String hash;
+
+    @Column(name = "text_value")
+    private String textValue;
+
+    @Column(name = "numeric_value")
+    private BigDecimal numericValue;
+
+    @Column(name = "timestamp_value")
+    private LocalDateTime timestampValue;
+
+    @Column(name = "boolean_value")
+    private Boolean booleanValue;
+
     @JsonBackReference
     @OneToMany(mappedBy = "attributeContentItem", fetch = FetchType.LAZY)
     private List<AttributeContent2Object> objects;
@@ -39,12 +58,25 @@ public class AttributeContentItem extends UniquelyIdentified {
         this.attributeDefinitionUuid = attributeDefinition.getUuid();
     }
 
+    public void setJson(BaseAttributeContent<?> json) {
+        this.json = json;
+        this.hash = AttributeContentHashUtil.getContentHash(json);
+    }
+
+    public void setValues(AttributeContentValues values) {
+        this.textValue = values.textValue();
+        this.numericValue = values.numericValue();
+        this.timestampValue = values.timestampValue();
+        this.booleanValue = values.booleanValue();
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
                 .append("uuid", uuid)
                 .append("attributeDefinitionUuid", attributeDefinitionUuid)
                 .append("json", json)
+                .append("hash", hash)
                 .toString();
     }
 }
@@ -51,6 +51,9 @@ public class DiscoveryHistory extends UniquelyIdentifiedAndAudited implements Se
     @Column(name = "connector_name")
     private String connectorName;
 
+    @Column(name = "source_key")
+    private String sourceKey;
+
     @JsonBackReference
     @OneToMany(mappedBy = "discovery", fetch = FetchType.LAZY)
     private Set<DiscoveryCertificate> certificate = new HashSet<>();
@@ -151,6 +154,14 @@ public class DiscoveryHistory extends UniquelyIdentifiedAndAudited implements Se
 		this.connectorName = connectorName;
 	}
 
+    public String getSourceKey() {
+        return sourceKey;
+    }
+
+    public void setSourceKey(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
     public String getDiscoveryConnectorReference() {
         return discoveryConnectorReference;
     }
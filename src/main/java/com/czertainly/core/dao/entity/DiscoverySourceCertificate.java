@@ -0,0 +1,41 @@
+package com.czertainly.core.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Certificate seen by discoveries of the same source (same connector, kind and attributes of discovery).
+ * Used by incremental discovery to skip processing of certificates that did not change since the last run.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "discovery_source_certificate", uniqueConstraints = {@UniqueConstraint(name = "discovery_source_certificate_source_key_fingerprint_uindex", columnNames = {"source_key", "fingerprint"})})
+public class DiscoverySourceCertificate extends UniquelyIdentified {
+
+    @Column(name = "source_key", nullable = false)
+    private String sourceKey;
+
+    @Column(name = "fingerprint", nullable = false)
+    private String fingerprint;
+
+    @Column(name = "meta_hash")
+    private String metaHash;
+
+    @Column(name = "first_seen_at", nullable = false)
+    private OffsetDateTime firstSeenAt;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private OffsetDateTime lastSeenAt;
+
+    @Column(name = "last_discovery_uuid", nullable = false)
+    private UUID lastDiscoveryUuid;
+
+}
@@ -3,6 +3,8 @@ package com.czertainly.core.dao.repository;
 import com.czertainly.api.model.common.attribute.v2.AttributeType;
 import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
 import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.attribute.engine.records.MultiObjectAttributeContent;
+import com.czertainly.core.attribute.engine.records.MultiObjectAttributeContentDetail;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContent;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentDetail;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeDefinitionContent;
@@ -33,6 +35,19 @@ public interface AttributeContent2ObjectRepository extends SecurityFilterReposit
             """)
     List<ObjectAttributeContent> getObjectCustomAttributesContent(AttributeType attributeType, Resource objectType, UUID objectUuid, List<UUID> allowedDefinitionUuids, List<UUID> forbiddenDefinitionUuids);
 
+    @Query("""
+            SELECT new com.czertainly.core.attribute.engine.records.MultiObjectAttributeContent(
+                aco.objectUuid, ad.attributeUuid, ad.name, ad.label, ad.type, ad.contentType, aci.json)
+                FROM AttributeContent2Object aco
+                JOIN AttributeContentItem aci ON aci.uuid = aco.attributeContentItemUuid
+                JOIN AttributeDefinition ad ON ad.uuid = aci.attributeDefinitionUuid
+                WHERE ad.type = ?1 AND ad.enabled = true AND aco.objectType = ?2 AND aco.objectUuid IN (?3)
+                    AND (COALESCE(?4) IS NULL OR aci.attributeDefinitionUuid IN (?4))
+                    AND (COALESCE(?5) IS NULL OR aci.attributeDefinitionUuid NOT IN (?5))
+                ORDER BY aco.objectUuid, aci.attributeDefinitionUuid, aco.order
+            """)
+    List<MultiObjectAttributeContent> getObjectsCustomAttributesContent(AttributeType attributeType, Resource objectType, List<UUID> objectUuids, List<UUID> allowedDefinitionUuids, List<UUID> forbiddenDefinitionUuids);
+
     @Query("""
             SELECT new com.czertainly.core.attribute.engine.records.ObjectAttributeContent(
                 ad.attributeUuid, ad.name, ad.label, ad.type, ad.contentType, aci.json)
@@ -95,6 +110,20 @@ public interface AttributeContent2ObjectRepository extends SecurityFilterReposit
             """)
     List<ObjectAttributeContentDetail> getObjectAttributeContentDetail(AttributeType attributeType, UUID connectorUuid, String operation, Resource objectType, UUID objectUuid, Resource sourceObjectType, UUID sourceObjectUuid);
 
+    @Query("""
+            SELECT new com.czertainly.core.attribute.engine.records.MultiObjectAttributeContentDetail(
+                aco.objectUuid, ad.attributeUuid, ad.name, ad.label, ad.type, ad.contentType, aci.json, aco.connectorUuid, c.name, aco.sourceObjectType, aco.sourceObjectUuid, aco.sourceObjectName)
+                FROM AttributeContent2Object aco
+                LEFT JOIN Connector c ON c.uuid = aco.connectorUuid
+                JOIN AttributeContentItem aci ON aci.uuid = aco.attributeContentItemUuid
+                JOIN AttributeDefinition ad ON ad.uuid = aci.attributeDefinitionUuid
+                WHERE ad.type = ?1 AND (CAST(?2 AS java.util.UUID) IS NULL OR aco.connectorUuid = ?2) AND (?3 IS NULL OR ad.operation = ?3)
+                    AND aco.objectType = ?4 AND aco.objectUuid IN (?5)
+                    AND (?6 IS NULL OR aco.sourceObjectType = ?6) AND (CAST(?7 AS java.util.UUID) IS NULL OR aco.sourceObjectUuid = ?7)
+                ORDER BY aco.objectUuid, aci.attributeDefinitionUuid, aco.order
+            """)
+    List<MultiObjectAttributeContentDetail> getObjectsAttributeContentDetail(AttributeType attributeType, UUID connectorUuid, String operation, Resource objectType, List<UUID> objectUuids, Resource sourceObjectType, UUID sourceObjectUuid);
+
     @Query("""
             SELECT new com.czertainly.core.attribute.engine.records.ObjectAttributeDefinitionContent(
                 ad.attributeUuid, ad.definition, aci.json)
@@ -112,6 +141,14 @@ public interface AttributeContent2ObjectRepository extends SecurityFilterReposit
     @Query("UPDATE AttributeContent2Object aco SET aco.connectorUuid = NULL WHERE aco.connectorUuid = ?1")
     void removeConnectorByConnectorUuid(UUID connectorUuid);
 
+    @Modifying
+    @Query("""
+            DELETE FROM AttributeContent2Object aco
+                WHERE aco.objectType = ?1 AND aco.objectUuid IN (?2)
+                    AND aco.attributeContentItemUuid IN (SELECT aci.uuid FROM AttributeContentItem aci WHERE aci.attributeDefinitionUuid = ?3)
+            """)
+    int deleteObjectsAttributeDefinitionContent(Resource objectType, List<UUID> objectUuids, UUID definitionUuid);
+
     long deleteByObjectTypeAndObjectUuid(Resource objectType, UUID objectUuid);
     long deleteByAttributeContentItemAttributeDefinitionTypeAndConnectorUuid(AttributeType attributeType, UUID connectorUuid);
     long deleteByAttributeContentItemAttributeDefinitionTypeAndObjectTypeAndObjectUuid(AttributeType attributeType, Resource objectType, UUID objectUuid);
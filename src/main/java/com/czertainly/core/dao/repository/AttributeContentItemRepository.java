@@ -1,18 +1,19 @@
 package com.czertainly.core.dao.repository;
 
 import com.czertainly.api.model.common.attribute.v2.AttributeType;
-import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
 import com.czertainly.core.dao.entity.AttributeContentItem;
+import com.czertainly.core.dao.repository.custom.CustomAttributeContentItemRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AttributeContentItemRepository extends JpaRepository<AttributeContentItem, String> {
+public interface AttributeContentItemRepository extends JpaRepository<AttributeContentItem, String>, CustomAttributeContentItemRepository {
 
-    Optional<AttributeContentItem> findByJsonAndAttributeDefinitionUuid(BaseAttributeContent<?> attributeContent, UUID definitionUuid);
+    List<AttributeContentItem> findByAttributeDefinitionUuidAndHashIn(UUID definitionUuid, Collection<String> hashes);
 
     long deleteByAttributeDefinitionUuid(UUID definitionUuid);
     long deleteByAttributeDefinitionTypeAndAttributeDefinitionConnectorUuid(AttributeType attributeType, UUID connectorUuid);
@@ -7,6 +7,7 @@ import com.czertainly.core.dao.entity.AttributeDefinition;
 import com.czertainly.core.model.SearchFieldObject;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -38,6 +39,15 @@ public interface AttributeDefinitionRepository extends SecurityFilterRepository<
 
     long deleteByTypeAndConnectorUuid(AttributeType attributeType, UUID connectorUuid);
 
+    /**
+     * Acquires transaction level lock of the key, so definitions with the same key are not created by concurrent transactions
+     *
+     * @param key key of locked definitions
+     * @return number of acquired locks
+     */
+    @Query(value = "SELECT COUNT(*) FROM pg_advisory_xact_lock(hashtext(:key))", nativeQuery = true)
+    long lockDefinitionKey(@Param("key") String key);
+
     @Query("""
             SELECT DISTINCT new com.czertainly.core.model.SearchFieldObject(
                 ad.name, ad.contentType, ad.type, ad.label, ad.definition)
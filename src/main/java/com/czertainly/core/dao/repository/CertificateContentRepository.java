@@ -4,12 +4,14 @@ import com.czertainly.core.dao.entity.CertificateContent;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CertificateContentRepository extends SecurityFilterRepository<CertificateContent, Long> {
 
     CertificateContent findByFingerprint(String thumbprint);
+    List<CertificateContent> findByFingerprintIn(Collection<String> fingerprints);
     CertificateContent findByContent(String content);
 
     @Query("SELECT c FROM CertificateContent c " +
@@ -5,6 +5,7 @@ import com.czertainly.core.dao.entity.Certificate;
 import com.czertainly.core.dao.entity.CertificateContent;
 import com.czertainly.core.dao.entity.RaProfile;
 import com.czertainly.core.dao.repository.custom.CustomCertificateRepository;
+import com.czertainly.core.model.CertificateContentReference;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
@@ -13,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,6 +36,9 @@ public interface CertificateRepository extends SecurityFilterRepository<Certific
 
     boolean existsByFingerprint(String fingerprint);
 
+    @Query("SELECT new com.czertainly.core.model.CertificateContentReference(c.fingerprint, c.certificateContentId) FROM Certificate c WHERE c.fingerprint IN :fingerprints")
+    List<CertificateContentReference> findContentReferencesByFingerprintIn(@Param("fingerprints") Collection<String> fingerprints);
+
     List<Certificate> findByRaProfile(RaProfile raProfile);
 
     List<Certificate> findByKeyUuid(UUID keyUuid);
@@ -6,6 +6,7 @@ import com.czertainly.core.dao.entity.DiscoveryHistory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +26,6 @@ public interface DiscoveryCertificateRepository extends SecurityFilterRepository
 	List<DiscoveryCertificate> findByCertificateContent(CertificateContent certificateContent);
 
     List<DiscoveryCertificate> findByDiscoveryUuid(UUID uuid);
+
+    List<DiscoveryCertificate> findByDiscoveryAndCertificateContentFingerprintIn(DiscoveryHistory history, Collection<String> fingerprints);
 }
@@ -0,0 +1,27 @@
+package com.czertainly.core.dao.repository;
+
+import com.czertainly.core.dao.entity.DiscoverySourceCertificate;
+import com.czertainly.core.dao.repository.custom.CustomDiscoverySourceCertificateRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DiscoverySourceCertificateRepository extends SecurityFilterRepository<DiscoverySourceCertificate, UUID>, CustomDiscoverySourceCertificateRepository {
+
+    List<DiscoverySourceCertificate> findBySourceKeyAndFingerprintIn(String sourceKey, Collection<String> fingerprints);
+
+    /**
+     * Records certificates of the source as seen again by the discovery without loading them
+     */
+    @Modifying
+    @Query("UPDATE DiscoverySourceCertificate dsc SET dsc.lastSeenAt = :lastSeenAt, dsc.lastDiscoveryUuid = :discoveryUuid WHERE dsc.sourceKey = :sourceKey AND dsc.fingerprint IN :fingerprints")
+    int updateLastSeen(@Param("sourceKey") String sourceKey, @Param("fingerprints") Collection<String> fingerprints, @Param("lastSeenAt") OffsetDateTime lastSeenAt, @Param("discoveryUuid") UUID discoveryUuid);
+
+}
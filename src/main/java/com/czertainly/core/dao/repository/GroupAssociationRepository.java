@@ -8,12 +8,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface GroupAssociationRepository extends JpaRepository<GroupAssociation, UUID> {
     List<GroupAssociation> findByResourceAndObjectUuid(Resource resource, UUID objectUuid);
+    List<GroupAssociation> findByResourceAndObjectUuidIn(Resource resource, Collection<UUID> objectUuids);
     boolean existsByResourceAndObjectUuidAndGroupUuid(Resource resource, UUID objectUuid, UUID groupUuid);
     long deleteByGroupUuid(UUID groupUuid);
     long deleteByResourceAndObjectUuid(Resource resource, UUID objectUuid);
@@ -0,0 +1,25 @@
+package com.czertainly.core.dao.repository;
+
+import com.czertainly.core.dao.entity.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends SecurityFilterRepository<OutboxMessage, UUID> {
+
+    /**
+     * Loads and locks messages due for publishing, messages locked by relay of other instance are skipped
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")})
+    List<OutboxMessage> findByNextAttemptAtLessThanEqualOrderByCreatedAtAsc(OffsetDateTime nextAttemptAt, Pageable pageable);
+
+}
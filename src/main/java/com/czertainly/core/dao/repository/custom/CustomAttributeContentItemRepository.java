@@ -0,0 +1,17 @@
+package com.czertainly.core.dao.repository.custom;
+
+import com.czertainly.core.dao.entity.AttributeContentItem;
+
+import java.util.List;
+
+public interface CustomAttributeContentItemRepository {
+
+    /**
+     * Inserts content items that do not exist yet. Items with same attribute definition and content hash as existing ones
+     * (including items inserted concurrently by other transactions) are skipped instead of failing on unique index.
+     *
+     * @param contentItems content items to insert, UUIDs of items are generated when not set
+     * @return number of inserted content items
+     */
+    int insertIfAbsent(List<AttributeContentItem> contentItems);
+}
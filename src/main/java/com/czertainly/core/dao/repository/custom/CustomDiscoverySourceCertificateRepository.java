@@ -0,0 +1,18 @@
+package com.czertainly.core.dao.repository.custom;
+
+import com.czertainly.core.dao.entity.DiscoverySourceCertificate;
+
+import java.util.List;
+
+public interface CustomDiscoverySourceCertificateRepository {
+
+    /**
+     * Inserts certificates of discovery sources. Certificate with the same source key and fingerprint as existing one
+     * (including certificate inserted concurrently by other discovery of the same source) updates metadata hash,
+     * last seen timestamp and last discovery of the existing certificate instead of failing on unique index.
+     *
+     * @param sourceCertificates certificates of sources with distinct source key and fingerprint, UUIDs are generated when not set
+     * @return number of inserted or updated certificates
+     */
+    int upsert(List<DiscoverySourceCertificate> sourceCertificates);
+}
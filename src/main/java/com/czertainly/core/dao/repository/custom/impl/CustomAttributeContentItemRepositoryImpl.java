@@ -0,0 +1,69 @@
+package com.czertainly.core.dao.repository.custom.impl;
+
+import com.czertainly.core.dao.entity.AttributeContentItem;
+import com.czertainly.core.dao.repository.custom.CustomAttributeContentItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.UUID;
+
+public class CustomAttributeContentItemRepositoryImpl implements CustomAttributeContentItemRepository {
+
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    // same serialization of content as used by Hibernate when storing JSON columns
+    private static final ObjectMapper CONTENT_OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIfAbsent(List<AttributeContentItem> contentItems) {
+        int inserted = 0;
+        for (int i = 0; i < contentItems.size(); i += INSERT_BATCH_SIZE) {
+            inserted += insertBatch(contentItems.subList(i, Math.min(i + INSERT_BATCH_SIZE, contentItems.size())));
+        }
+        return inserted;
+    }
+
+    private int insertBatch(List<AttributeContentItem> contentItems) {
+        StringBuilder sql = new StringBuilder("INSERT INTO {h-schema}attribute_content_item (uuid, attribute_definition_uuid, json, hash, text_value, numeric_value, timestamp_value, boolean_value) VALUES ");
+        for (int i = 0; i < contentItems.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(String.format("(:uuid%1$d, :definitionUuid%1$d, CAST(:json%1$d AS jsonb), :hash%1$d, :textValue%1$d, :numericValue%1$d, :timestampValue%1$d, :booleanValue%1$d)", i));
+        }
+        sql.append(" ON CONFLICT (attribute_definition_uuid, hash) DO NOTHING");
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        for (int i = 0; i < contentItems.size(); i++) {
+            AttributeContentItem contentItem = contentItems.get(i);
+            if (contentItem.getUuid() == null) {
+                contentItem.setUuid(UUID.randomUUID());
+            }
+            query.setParameter("uuid" + i, contentItem.getUuid(), StandardBasicTypes.UUID);
+            query.setParameter("definitionUuid" + i, contentItem.getAttributeDefinitionUuid(), StandardBasicTypes.UUID);
+            query.setParameter("json" + i, toJson(contentItem), StandardBasicTypes.STRING);
+            query.setParameter("hash" + i, contentItem.getHash(), StandardBasicTypes.STRING);
+            query.setParameter("textValue" + i, contentItem.getTextValue(), StandardBasicTypes.STRING);
+            query.setParameter("numericValue" + i, contentItem.getNumericValue(), StandardBasicTypes.BIG_DECIMAL);
+            query.setParameter("timestampValue" + i, contentItem.getTimestampValue(), StandardBasicTypes.LOCAL_DATE_TIME);
+            query.setParameter("booleanValue" + i, contentItem.getBooleanValue(), StandardBasicTypes.BOOLEAN);
+        }
+        return query.executeUpdate();
+    }
+
+    private static String toJson(AttributeContentItem contentItem) {
+        try {
+            return CONTENT_OBJECT_MAPPER.writeValueAsString(contentItem.getJson());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize attribute content: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.czertainly.core.dao.repository.custom.impl;
+
+import com.czertainly.core.dao.entity.DiscoverySourceCertificate;
+import com.czertainly.core.dao.repository.custom.CustomDiscoverySourceCertificateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.UUID;
+
+public class CustomDiscoverySourceCertificateRepositoryImpl implements CustomDiscoverySourceCertificateRepository {
+
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int upsert(List<DiscoverySourceCertificate> sourceCertificates) {
+        int upserted = 0;
+        for (int i = 0; i < sourceCertificates.size(); i += INSERT_BATCH_SIZE) {
+            upserted += upsertBatch(sourceCertificates.subList(i, Math.min(i + INSERT_BATCH_SIZE, sourceCertificates.size())));
+        }
+        return upserted;
+    }
+
+    private int upsertBatch(List<DiscoverySourceCertificate> sourceCertificates) {
+        StringBuilder sql = new StringBuilder("INSERT INTO {h-schema}discovery_source_certificate (uuid, source_key, fingerprint, meta_hash, first_seen_at, last_seen_at, last_discovery_uuid) VALUES ");
+        for (int i = 0; i < sourceCertificates.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(String.format("(:uuid%1$d, :sourceKey%1$d, :fingerprint%1$d, :metaHash%1$d, :firstSeenAt%1$d, :lastSeenAt%1$d, :lastDiscoveryUuid%1$d)", i));
+        }
+        sql.append(" ON CONFLICT (source_key, fingerprint) DO UPDATE SET meta_hash = EXCLUDED.meta_hash, last_seen_at = EXCLUDED.last_seen_at, last_discovery_uuid = EXCLUDED.last_discovery_uuid");
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        for (int i = 0; i < sourceCertificates.size(); i++) {
+            DiscoverySourceCertificate sourceCertificate = sourceCertificates.get(i);
+            if (sourceCertificate.getUuid() == null) {
+                sourceCertificate.setUuid(UUID.randomUUID());
+            }
+            query.setParameter("uuid" + i, sourceCertificate.getUuid(), StandardBasicTypes.UUID);
+            query.setParameter("sourceKey" + i, sourceCertificate.getSourceKey(), StandardBasicTypes.STRING);
+            query.setParameter("fingerprint" + i, sourceCertificate.getFingerprint(), StandardBasicTypes.STRING);
+            query.setParameter("metaHash" + i, sourceCertificate.getMetaHash(), StandardBasicTypes.STRING);
+            query.setParameter("firstSeenAt" + i, sourceCertificate.getFirstSeenAt(), StandardBasicTypes.OFFSET_DATE_TIME);
+            query.setParameter("lastSeenAt" + i, sourceCertificate.getLastSeenAt(), StandardBasicTypes.OFFSET_DATE_TIME);
+            query.setParameter("lastDiscoveryUuid" + i, sourceCertificate.getLastDiscoveryUuid(), StandardBasicTypes.UUID);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,236 @@
+package com.czertainly.core.evaluator;
+
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.core.search.FilterConditionOperator;
+import com.czertainly.api.model.core.search.FilterFieldSource;
+import com.czertainly.api.model.core.search.FilterFieldType;
+import com.czertainly.core.dao.entity.workflows.ConditionItem;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Cache of condition items compiled by rule evaluators and of property accessors of evaluated objects.
+ * Condition items are compiled once into predicates with resolved field type, operator and parsed condition value,
+ * compiled item is reused only while its definition is unchanged and evicted when its condition is updated or deleted.
+ * Properties of objects are read and written by method handles resolved once per class and property path.
+ */
+@Component
+public class CompiledRuleCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledRuleCache.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Map<UUID, CompiledConditionItem> conditionItems = new ConcurrentHashMap<>();
+    private final Map<PropertyKey, Optional<PropertyGetter>> propertyGetters = new ConcurrentHashMap<>();
+    private final Map<PropertyKey, Optional<PropertySetter>> propertySetters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns compiled condition item if it was compiled with the same definition as the item has
+     *
+     * @param conditionItem condition item
+     * @return compiled condition item or null if not compiled yet or item is not stored in database
+     */
+    CompiledConditionItem getConditionItem(ConditionItem conditionItem) {
+        if (conditionItem.getUuid() == null) {
+            return null;
+        }
+        CompiledConditionItem compiledConditionItem = conditionItems.get(conditionItem.getUuid());
+        return compiledConditionItem != null && compiledConditionItem.matches(conditionItem) ? compiledConditionItem : null;
+    }
+
+    void putConditionItem(ConditionItem conditionItem, CompiledConditionItem compiledConditionItem) {
+        if (conditionItem.getUuid() != null) {
+            conditionItems.put(conditionItem.getUuid(), compiledConditionItem);
+        }
+    }
+
+    /**
+     * Evicts compiled condition items, called when condition of the items is updated or deleted
+     *
+     * @param items condition items to evict
+     */
+    public void evictConditionItems(Collection<ConditionItem> items) {
+        if (items == null) {
+            return;
+        }
+        for (ConditionItem item : items) {
+            if (item.getUuid() != null) {
+                conditionItems.remove(item.getUuid());
+            }
+        }
+    }
+
+    /**
+     * Returns getter of nested property of objects of given class. When the parent of last property in the path
+     * is a collection, getter returns the collection and the last property is read from its items.
+     * Getter returns null when some property in the path is null.
+     *
+     * @param type class of the object
+     * @param path property path, nested properties separated by dot
+     * @return getter of the property or empty if the property cannot be resolved from declared types of the class
+     */
+    Optional<PropertyGetter> getPropertyGetter(Class<?> type, String path) {
+        return propertyGetters.computeIfAbsent(new PropertyKey(type, path), key -> compileGetter(key.type(), key.path()));
+    }
+
+    /**
+     * Returns setter of nested property of objects of given class
+     *
+     * @param type class of the object
+     * @param path property path, nested properties separated by dot
+     * @return setter of the property or empty if the property cannot be resolved from declared types of the class
+     */
+    Optional<PropertySetter> getPropertySetter(Class<?> type, String path) {
+        return propertySetters.computeIfAbsent(new PropertyKey(type, path), key -> compileSetter(key.type(), key.path()));
+    }
+
+    private Optional<PropertyGetter> compileGetter(Class<?> type, String path) {
+        String[] properties = path.split("\\.");
+        List<MethodHandle> getters = new ArrayList<>(properties.length);
+        Class<?> propertyType = type;
+        for (int i = 0; i < properties.length; i++) {
+            Method readMethod = findPropertyMethod(propertyType, properties[i], true);
+            if (readMethod == null) {
+                // last property of collection items is read from each item by evaluator
+                if (i > 0 && i == properties.length - 1 && Collection.class.isAssignableFrom(propertyType)) {
+                    break;
+                }
+                logger.debug("Property {} of {} cannot be resolved, it is accessed by reflection", path, type.getName());
+                return Optional.empty();
+            }
+            MethodHandle getter = unreflect(readMethod, GETTER_TYPE);
+            if (getter == null) {
+                return Optional.empty();
+            }
+            getters.add(getter);
+            propertyType = readMethod.getReturnType();
+        }
+
+        MethodHandle[] chain = getters.toArray(new MethodHandle[0]);
+        return Optional.of(object -> invokeGetters(chain, chain.length, object));
+    }
+
+    private Optional<PropertySetter> compileSetter(Class<?> type, String path) {
+        String[] properties = path.split("\\.");
+        MethodHandle[] getters = new MethodHandle[properties.length - 1];
+        Class<?> propertyType = type;
+        for (int i = 0; i < getters.length; i++) {
+            Method readMethod = findPropertyMethod(propertyType, properties[i], true);
+            getters[i] = readMethod == null ? null : unreflect(readMethod, GETTER_TYPE);
+            if (getters[i] == null) {
+                return Optional.empty();
+            }
+            propertyType = readMethod.getReturnType();
+        }
+        Method writeMethod = findPropertyMethod(propertyType, properties[properties.length - 1], false);
+        MethodHandle setter = writeMethod == null ? null : unreflect(writeMethod, SETTER_TYPE);
+        if (setter == null) {
+            logger.debug("Property {} of {} cannot be resolved, it is set by reflection", path, type.getName());
+            return Optional.empty();
+        }
+
+        return Optional.of((object, value) -> {
+            Object target = invokeGetters(getters, getters.length, object);
+            if (target == null) {
+                throw new IllegalArgumentException("Null property value for '" + path + "' on " + type.getName());
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        });
+    }
+
+    private static Object invokeGetters(MethodHandle[] getters, int count, Object object) throws InvocationTargetException {
+        Object value = object;
+        try {
+            for (int i = 0; i < count && value != null; i++) {
+                value = (Object) getters[i].invokeExact(value);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+        return value;
+    }
+
+    private static Method findPropertyMethod(Class<?> type, String property, boolean read) {
+        for (PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getName().equals(property)) {
+                return read ? descriptor.getReadMethod() : descriptor.getWriteMethod();
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    interface PropertyGetter {
+        Object get(Object object) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface PropertySetter {
+        void set(Object object, Object value) throws Exception;
+    }
+
+    private record PropertyKey(Class<?> type, String path) {
+    }
+
+    /**
+     * Condition item compiled by rule evaluator
+     *
+     * @param fieldSource         field source of compiled item
+     * @param fieldIdentifier     field identifier of compiled item
+     * @param operator            operator of compiled item
+     * @param value               condition value of compiled item
+     * @param propertyPath        path of property of evaluated object, for property condition
+     * @param propertyPredicate   predicate on value of the property with resolved operator and parsed condition value, for property condition
+     * @param metaName            name of metadata attribute, for metadata condition with valid field identifier
+     * @param metaContentType     content type of metadata attribute, for metadata condition with valid field identifier
+     * @param attributePredicates predicates on attribute content values by field type of attribute content, compiled on first use
+     */
+    record CompiledConditionItem(FilterFieldSource fieldSource, String fieldIdentifier, FilterConditionOperator operator, Object value,
+                                 String propertyPath, Predicate<Object> propertyPredicate,
+                                 String metaName, AttributeContentType metaContentType,
+                                 Map<FilterFieldType, Predicate<Object>> attributePredicates) {
+
+        boolean matches(ConditionItem conditionItem) {
+            return fieldSource == conditionItem.getFieldSource()
+                    && operator == conditionItem.getOperator()
+                    && Objects.equals(fieldIdentifier, conditionItem.getFieldIdentifier())
+                    && Objects.equals(value, conditionItem.getValue());
+        }
+    }
+}
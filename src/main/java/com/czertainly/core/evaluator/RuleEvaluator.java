@@ -34,7 +34,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 @Component
 @Transactional
@@ -42,9 +44,11 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(RuleEvaluator.class);
     private static final String DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern(DATETIME_FORMAT);
 
     private AttributeEngine attributeEngine;
     private TriggerService triggerService;
+    private CompiledRuleCache compiledRuleCache;
 
     @Autowired
     public void setTriggerService(TriggerService triggerService) {
@@ -56,6 +60,11 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
         this.attributeEngine = attributeEngine;
     }
 
+    @Autowired
+    public void setCompiledRuleCache(CompiledRuleCache compiledRuleCache) {
+        this.compiledRuleCache = compiledRuleCache;
+    }
+
     @Override
     public boolean evaluateRules(List<Rule> rules, T object, TriggerHistory triggerHistory) throws RuleException {
         // Rule evaluated is check if any rule has been evaluated, no rules will be evaluated if all rules in the list have incompatible resource
@@ -103,46 +112,31 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
 
     @Override
     public Boolean evaluateConditionItem(ConditionItem conditionItem, T object, Resource resource) throws RuleException {
-        FilterFieldSource fieldSource = conditionItem.getFieldSource();
-        String fieldIdentifier = conditionItem.getFieldIdentifier();
-        FilterConditionOperator operator = conditionItem.getOperator();
-        Object conditionValue = conditionItem.getValue();
+        CompiledRuleCache.CompiledConditionItem compiledItem = compileConditionItem(conditionItem);
+        FilterFieldSource fieldSource = compiledItem.fieldSource();
+        String fieldIdentifier = compiledItem.fieldIdentifier();
 
         // First, check where from to get object value based on Field Source
         if (fieldSource == FilterFieldSource.PROPERTY) {
             Object objectValue;
-            SearchableFields field;
-            try {
-                field = Enum.valueOf(SearchableFields.class, fieldIdentifier);
-            } catch (IllegalArgumentException e) {
-                throw new RuleException("Field identifier '" + fieldIdentifier + "' is not supported.");
-            }
             // Get value of property from the object
             try {
-                objectValue = getPropertyValue(object, field.getCode(), false);
-            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw new RuleException("Cannot get property " + fieldIdentifier + " from resource " + resource + ".");
-            }
-            // Determine field type from field identifier using Searchable field enum
-            SearchFieldNameEnum propertyEnum;
-            try {
-                propertyEnum = SearchFieldNameEnum.getEnumBySearchableFields(field);
+                objectValue = getPropertyValue(object, compiledItem.propertyPath());
+            } catch (RuntimeException e) {
+                throw e;
             } catch (Exception e) {
-                throw new RuleException("Field identifier '" + fieldIdentifier + "' is not supported.");
-            }
-            if (propertyEnum == null) {
-                throw new RuleException("Unknown property field identifier: " + fieldIdentifier);
+                throw new RuleException("Cannot get property " + fieldIdentifier + " from resource " + resource + ".");
             }
 
-            FilterFieldType fieldType = propertyEnum.getFieldTypeEnum().getFieldType();
-            // Apply comparing function on value in object and value in condition, based on operator and field type, return whether the condition is satisfied
+            // Apply compiled predicate on value in object, return whether the condition is satisfied
             try {
                 if (!(objectValue instanceof Collection<?> objectValues)) {
-                    return fieldTypeToOperatorActionMap.get(fieldType).get(operator).apply(objectValue, conditionValue);
+                    return compiledItem.propertyPredicate().test(objectValue);
                 }
+                String itemProperty = compiledItem.propertyPath().substring(compiledItem.propertyPath().lastIndexOf(".") + 1);
                 for (Object item : objectValues) {
-                    Object o = getPropertyValue(item, field.getCode(), true);
-                    if (!fieldTypeToOperatorActionMap.get(fieldType).get(operator).apply(o, conditionValue)) {
+                    Object o = getPropertyValue(item, itemProperty);
+                    if (!compiledItem.propertyPredicate().test(o)) {
                         return false;
                     }
                 }
@@ -153,12 +147,7 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
         }
 
         // Check for UUID in the object, if there is no UUID, it means that the object is not yet in database and therefore won't have any attributes linked to it
-        UUID objectUuid;
-        try {
-            objectUuid = (UUID) PropertyUtils.getProperty(object, "uuid");
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new RuleException("Cannot get uuid from resource " + resource + ".");
-        }
+        UUID objectUuid = getObjectUuid(object, resource);
 
         if (objectUuid != null) {
             if (fieldSource == FilterFieldSource.CUSTOM) {
@@ -167,22 +156,19 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
                 ResponseAttributeDto attributeToCompare = responseAttributeDtos.stream().filter(rad -> Objects.equals(rad.getName(), fieldIdentifier)).findFirst().orElse(null);
                 if (attributeToCompare == null) return false;
                 // Evaluate condition on each attribute content of the attribute, if at least teh condition is evaluated as satisfied at least once, the condition is satisfied for the object
-                return evaluateConditionOnAttribute(attributeToCompare, conditionValue, operator);
+                return evaluateConditionOnAttribute(attributeToCompare, compiledItem);
             }
 
             if (fieldSource == FilterFieldSource.META) {
                 // If the Field Source is Meta Attribute, we expect Field Identifier to be formatted as follows 'name|contentType', since there can be multiple Meta Attributes with the same name, the Content Type must be specified
-                String[] split = fieldIdentifier.split("\\|");
-                if (split.length < 2) throw new RuleException("Field identifier is not in correct format.");
-                AttributeContentType fieldAttributeContentType = AttributeContentType.valueOf(split[1]);
-                String fieldIdentifierName = split[0];
+                if (compiledItem.metaName() == null) throw new RuleException("Field identifier is not in correct format.");
                 // From all Metadata of the object, find those with matching Name and Content Type and evaluate condition on these, return true for the first satisfying attribute, otherwise continue wit next
                 List<MetadataResponseDto> metadata = attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(resource, objectUuid));
                 for (List<ResponseMetadataDto> responseMetadataDtos : metadata.stream().map(MetadataResponseDto::getItems).toList()) {
                     for (ResponseAttributeDto responseAttributeDto : responseMetadataDtos) {
-                        if (Objects.equals(responseAttributeDto.getName(), fieldIdentifierName) & fieldAttributeContentType == responseAttributeDto.getContentType()) {
+                        if (Objects.equals(responseAttributeDto.getName(), compiledItem.metaName()) & compiledItem.metaContentType() == responseAttributeDto.getContentType()) {
                             // Evaluate condition on each attribute content of the attribute, if at least one condition is evaluated as satisfied at least once, the condition is satisfied for the object
-                            if (evaluateConditionOnAttribute(responseAttributeDto, conditionValue, operator))
+                            if (evaluateConditionOnAttribute(responseAttributeDto, compiledItem))
                                 return true;
                         }
                     }
@@ -195,6 +181,62 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
         return false;
     }
 
+    /**
+     * Compiles condition item once for all evaluated objects, field type and operator of property condition are resolved
+     * and condition value is parsed at compile time. Compiled items are cached until condition of the item changes.
+     */
+    private CompiledRuleCache.CompiledConditionItem compileConditionItem(ConditionItem conditionItem) throws RuleException {
+        CompiledRuleCache.CompiledConditionItem compiledItem = compiledRuleCache.getConditionItem(conditionItem);
+        if (compiledItem != null) {
+            return compiledItem;
+        }
+
+        FilterFieldSource fieldSource = conditionItem.getFieldSource();
+        String fieldIdentifier = conditionItem.getFieldIdentifier();
+        FilterConditionOperator operator = conditionItem.getOperator();
+        Object conditionValue = conditionItem.getValue();
+
+        String propertyPath = null;
+        Predicate<Object> propertyPredicate = null;
+        String metaName = null;
+        AttributeContentType metaContentType = null;
+        if (fieldSource == FilterFieldSource.PROPERTY) {
+            SearchableFields field;
+            try {
+                field = Enum.valueOf(SearchableFields.class, fieldIdentifier);
+            } catch (IllegalArgumentException e) {
+                throw new RuleException("Field identifier '" + fieldIdentifier + "' is not supported.");
+            }
+            // Determine field type from field identifier using Searchable field enum
+            SearchFieldNameEnum propertyEnum;
+            try {
+                propertyEnum = SearchFieldNameEnum.getEnumBySearchableFields(field);
+            } catch (Exception e) {
+                throw new RuleException("Field identifier '" + fieldIdentifier + "' is not supported.");
+            }
+            if (propertyEnum == null) {
+                throw new RuleException("Unknown property field identifier: " + fieldIdentifier);
+            }
+            propertyPath = field.getCode();
+            propertyPredicate = compilePredicate(propertyEnum.getFieldTypeEnum().getFieldType(), operator, conditionValue);
+        } else if (fieldSource == FilterFieldSource.META) {
+            String[] split = fieldIdentifier.split("\\|");
+            if (split.length >= 2) {
+                try {
+                    metaContentType = AttributeContentType.valueOf(split[1]);
+                    metaName = split[0];
+                } catch (IllegalArgumentException e) {
+                    logger.debug("Unknown content type in metadata field identifier {}", fieldIdentifier);
+                }
+            }
+        }
+
+        compiledItem = new CompiledRuleCache.CompiledConditionItem(fieldSource, fieldIdentifier, operator, conditionValue,
+                propertyPath, propertyPredicate, metaName, metaContentType, new ConcurrentHashMap<>());
+        compiledRuleCache.putConditionItem(conditionItem, compiledItem);
+        return compiledItem;
+    }
+
     @Override
     public void performActions(Trigger trigger, T object, TriggerHistory triggerHistory) throws RuleException {
         Class resourceClass = ResourceToClass.getClassByResource(trigger.getResource());
@@ -239,21 +281,21 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
             }
             if (!propertyEnum.isSettable())
                 throw new RuleException("Setting property '" + fieldIdentifier + "' is not supported.");
+            String propertyPath = propertyEnum.getFieldProperty().getCode();
             try {
-                PropertyUtils.setProperty(object, propertyEnum.getFieldProperty().getCode(), actionData);
-            } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException e) {
+                Optional<CompiledRuleCache.PropertySetter> setter = compiledRuleCache.getPropertySetter(object.getClass(), propertyPath);
+                if (setter.isPresent()) {
+                    setter.get().set(object, actionData);
+                } else {
+                    PropertyUtils.setProperty(object, propertyPath, actionData);
+                }
+            } catch (Exception e) {
                 throw new RuleException(e.getMessage());
             }
         }
         // Set a custom attribute for the object
         if (fieldSource == FilterFieldSource.CUSTOM) {
-            UUID objectUuid;
-            try {
-                objectUuid = (UUID) PropertyUtils.getProperty(object, "uuid");
-            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw new RuleException("Cannot get uuid from resource " + resource + ".");
-            }
+            UUID objectUuid = getObjectUuid(object, resource);
 
             if (objectUuid == null)
                 throw new RuleException("Cannot set custom attributes for an object not in database.");
@@ -263,6 +305,25 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
         }
     }
 
+    private UUID getObjectUuid(Object object, Resource resource) throws RuleException {
+        try {
+            return (UUID) getPropertyValue(object, "uuid");
+        } catch (Exception e) {
+            throw new RuleException("Cannot get uuid from resource " + resource + ".");
+        }
+    }
+
+    /**
+     * Gets value of property by compiled getter of object class, properties not resolvable from declared types are read by reflection
+     */
+    private Object getPropertyValue(Object object, String propertyPath) throws Exception {
+        Optional<CompiledRuleCache.PropertyGetter> getter = compiledRuleCache.getPropertyGetter(object.getClass(), propertyPath);
+        if (getter.isPresent()) {
+            return getter.get().get(object);
+        }
+        return getPropertyValue(object, propertyPath, false);
+    }
+
     private Object getPropertyValue(Object object, String fieldIdentifier, boolean alreadyNested) throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
         final int indexOfDot = fieldIdentifier.lastIndexOf(".");
         boolean isNested = indexOfDot != -1;
@@ -346,10 +407,10 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
 
         datetimeOperatorFunctionMap = new HashMap<>();
         datetimeOperatorFunctionMap.putAll(commonOperatorFunctionMap);
-        datetimeOperatorFunctionMap.put(FilterConditionOperator.GREATER, (o, c) -> ((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isAfter(LocalDateTime.parse(c.toString(), DateTimeFormatter.ofPattern(DATETIME_FORMAT))));
-        datetimeOperatorFunctionMap.put(FilterConditionOperator.GREATER_OR_EQUAL, (o, c) -> !(((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isBefore(LocalDateTime.parse(c.toString(), DateTimeFormatter.ofPattern(DATETIME_FORMAT)))));
-        datetimeOperatorFunctionMap.put(FilterConditionOperator.LESSER, (o, c) -> ((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isBefore(LocalDateTime.parse(c.toString(), DateTimeFormatter.ofPattern(DATETIME_FORMAT))));
-        datetimeOperatorFunctionMap.put(FilterConditionOperator.LESSER_OR_EQUAL, (o, c) -> !(((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isAfter(LocalDateTime.parse(c.toString(), DateTimeFormatter.ofPattern(DATETIME_FORMAT)))));
+        datetimeOperatorFunctionMap.put(FilterConditionOperator.GREATER, (o, c) -> ((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isAfter(LocalDateTime.parse(c.toString(), DATETIME_FORMATTER)));
+        datetimeOperatorFunctionMap.put(FilterConditionOperator.GREATER_OR_EQUAL, (o, c) -> !(((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isBefore(LocalDateTime.parse(c.toString(), DATETIME_FORMATTER))));
+        datetimeOperatorFunctionMap.put(FilterConditionOperator.LESSER, (o, c) -> ((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isBefore(LocalDateTime.parse(c.toString(), DATETIME_FORMATTER)));
+        datetimeOperatorFunctionMap.put(FilterConditionOperator.LESSER_OR_EQUAL, (o, c) -> !(((Date) o).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().isAfter(LocalDateTime.parse(c.toString(), DATETIME_FORMATTER))));
         fieldTypeToOperatorActionMap.put(FilterFieldType.DATETIME, datetimeOperatorFunctionMap);
 
         fieldTypeToOperatorActionMap.put(FilterFieldType.LIST, commonOperatorFunctionMap);
@@ -361,12 +422,81 @@ public class RuleEvaluator<T> implements IRuleEvaluator<T> {
         return Float.compare(objectNumber.floatValue(), conditionNumber.floatValue());
     }
 
-    private boolean evaluateConditionOnAttribute(ResponseAttributeDto attributeDto, Object conditionValue, FilterConditionOperator operator) throws RuleException {
+    /**
+     * Compiles predicate on object value for field type and operator. Condition value of ordering operators on numbers, dates and datetimes
+     * is converted once, errors of invalid operator or condition value are thrown on evaluation, same as with not compiled operator function.
+     */
+    private static Predicate<Object> compilePredicate(FilterFieldType fieldType, FilterConditionOperator operator, Object conditionValue) {
+        Map<FilterConditionOperator, BiFunction<Object, Object, Boolean>> operatorFunctionMap = fieldType == null ? null : fieldTypeToOperatorActionMap.get(fieldType);
+        BiFunction<Object, Object, Boolean> operatorFunction = operatorFunctionMap == null ? null : operatorFunctionMap.get(operator);
+        if (operatorFunction == null) {
+            return o -> {
+                throw new IllegalArgumentException("Operator " + operator + " is not supported for field type " + fieldType);
+            };
+        }
+
+        try {
+            switch (fieldType) {
+                case NUMBER -> {
+                    float conditionNumber = ((Number) conditionValue).floatValue();
+                    switch (operator) {
+                        case GREATER -> { return o -> Float.compare(((Number) o).floatValue(), conditionNumber) > 0; }
+                        case GREATER_OR_EQUAL -> { return o -> Float.compare(((Number) o).floatValue(), conditionNumber) >= 0; }
+                        case LESSER -> { return o -> Float.compare(((Number) o).floatValue(), conditionNumber) < 0; }
+                        case LESSER_OR_EQUAL -> { return o -> Float.compare(((Number) o).floatValue(), conditionNumber) <= 0; }
+                        default -> { }
+                    }
+                }
+                case DATE -> {
+                    LocalDate conditionDate = LocalDate.parse(conditionValue.toString());
+                    switch (operator) {
+                        case GREATER -> { return o -> toLocalDate(o).isAfter(conditionDate); }
+                        case GREATER_OR_EQUAL -> { return o -> !toLocalDate(o).isBefore(conditionDate); }
+                        case LESSER -> { return o -> toLocalDate(o).isBefore(conditionDate); }
+                        case LESSER_OR_EQUAL -> { return o -> !toLocalDate(o).isAfter(conditionDate); }
+                        default -> { }
+                    }
+                }
+                case DATETIME -> {
+                    LocalDateTime conditionDateTime = LocalDateTime.parse(conditionValue.toString(), DATETIME_FORMATTER);
+                    switch (operator) {
+                        case GREATER -> { return o -> toLocalDateTime(o).isAfter(conditionDateTime); }
+                        case GREATER_OR_EQUAL -> { return o -> !toLocalDateTime(o).isBefore(conditionDateTime); }
+                        case LESSER -> { return o -> toLocalDateTime(o).isBefore(conditionDateTime); }
+                        case LESSER_OR_EQUAL -> { return o -> !toLocalDateTime(o).isAfter(conditionDateTime); }
+                        default -> { }
+                    }
+                }
+                default -> { }
+            }
+        } catch (RuntimeException e) {
+            // condition value is not valid for ordering operator, fail on evaluation
+            return o -> {
+                throw e;
+            };
+        }
+        return o -> operatorFunction.apply(o, conditionValue);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private boolean evaluateConditionOnAttribute(ResponseAttributeDto attributeDto, CompiledRuleCache.CompiledConditionItem compiledItem) throws RuleException {
         AttributeContentType contentType = attributeDto.getContentType();
+        FilterFieldType fieldType = contentTypeToFieldType(contentType);
+        if (fieldType == null) {
+            throw new RuleException("Invalid condition.");
+        }
+        Predicate<Object> predicate = compiledItem.attributePredicates().computeIfAbsent(fieldType, type -> compilePredicate(type, compiledItem.operator(), compiledItem.value()));
         for (BaseAttributeContent attributeContent : attributeDto.getContent()) {
             Object attributeValue = contentType.isFilterByData() ? attributeContent.getData() : attributeContent.getReference();
             try {
-                if (fieldTypeToOperatorActionMap.get(contentTypeToFieldType(contentType)).get(operator).apply(attributeValue, conditionValue))
+                if (predicate.test(attributeValue))
                     return true;
             } catch (Exception e) {
                 throw new RuleException("Invalid condition.");
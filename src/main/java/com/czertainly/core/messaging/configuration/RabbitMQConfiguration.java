@@ -1,22 +1,104 @@
 package com.czertainly.core.messaging.configuration;
 
+import com.czertainly.core.messaging.producers.MessagingTransport;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+/**
+ * Messaging queues and listener container factories. Each queue is consumed by listener container of its own factory
+ * configured by properties with prefix {@code messaging.<queue>.}:
+ * <ul>
+ *     <li>{@code concurrency} - number of concurrent consumers started with the container</li>
+ *     <li>{@code max-concurrency} - maximum number of concurrent consumers started on demand</li>
+ *     <li>{@code prefetch} - number of unacknowledged messages delivered to each consumer</li>
+ *     <li>{@code batch-size} - number of messages acknowledged together (size of consumed batch for batch listeners)</li>
+ * </ul>
+ * Actions and notifications have separate queues of interactive and bulk lanes, bulk lanes are configured by properties
+ * with prefix {@code messaging.actions-bulk.} and {@code messaging.notifications-bulk.}.
+ * When local messaging transport is used, listener containers are not started and the same properties configure
+ * consumers of local queues.
+ */
 @Configuration
 public class RabbitMQConfiguration {
 
+    private Environment environment;
+    private SimpleRabbitListenerContainerFactoryConfigurer configurer;
+    private ConnectionFactory connectionFactory;
+    private RabbitMQMetrics rabbitMQMetrics;
+
+    @Autowired
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Autowired
+    public void setConfigurer(SimpleRabbitListenerContainerFactoryConfigurer configurer) {
+        this.configurer = configurer;
+    }
+
+    @Autowired
+    public void setConnectionFactory(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Autowired
+    public void setRabbitMQMetrics(RabbitMQMetrics rabbitMQMetrics) {
+        this.rabbitMQMetrics = rabbitMQMetrics;
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * Container factory of batch consumer of events queue. Consumer receives up to {@code batch-size} messages or waits
+     * for {@code receive-timeout} milliseconds and whole batch is acknowledged after it is processed by listener.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory eventsContainerFactory() {
+        return createBatchContainerFactory(RabbitMQConstants.QUEUE_EVENTS_NAME, "messaging.events.", 500, 1000L);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificationsContainerFactory() {
+        return createContainerFactory(RabbitMQConstants.QUEUE_NOTIFICATIONS_NAME, "messaging.notifications.", 1, 250, 1);
+    }
+
+    /**
+     * Container factory of batch consumer of bulk notifications queue, notifications of the batch are coalesced into digests
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificationsBulkContainerFactory() {
+        return createBatchContainerFactory(RabbitMQConstants.QUEUE_NOTIFICATIONS_BULK_NAME, "messaging.notifications-bulk.", 100, 5000L);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory schedulerContainerFactory() {
+        return createContainerFactory(RabbitMQConstants.QUEUE_SCHEDULER_NAME, "messaging.scheduler.", 10, 250, 1);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory actionsContainerFactory() {
+        return createContainerFactory(RabbitMQConstants.QUEUE_ACTIONS_NAME, "messaging.actions.", 1, 250, 1);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory actionsBulkContainerFactory() {
+        return createContainerFactory(RabbitMQConstants.QUEUE_ACTIONS_BULK_NAME, "messaging.actions-bulk.", 1, 250, 1);
+    }
+
     @Bean
     public DirectExchange czertainlyExchange() {
         return new DirectExchange(RabbitMQConstants.EXCHANGE_NAME);
@@ -32,6 +114,11 @@ public class RabbitMQConfiguration {
         return new Queue(RabbitMQConstants.QUEUE_NOTIFICATIONS_NAME, true);
     }
 
+    @Bean
+    public Queue queueNotificationsBulk() {
+        return new Queue(RabbitMQConstants.QUEUE_NOTIFICATIONS_BULK_NAME, true);
+    }
+
     @Bean
     public Queue queueScheduler() {
         return new Queue(RabbitMQConstants.QUEUE_SCHEDULER_NAME, true);
@@ -42,6 +129,11 @@ public class RabbitMQConfiguration {
         return new Queue(RabbitMQConstants.QUEUE_ACTIONS_NAME, true);
     }
 
+    @Bean
+    public Queue queueActionsBulk() {
+        return new Queue(RabbitMQConstants.QUEUE_ACTIONS_BULK_NAME, true);
+    }
+
     @Bean
     public Binding eventQueueBinding() {
         return BindingBuilder.bind(queueEvents()).to(czertainlyExchange()).with(RabbitMQConstants.EVENT_ROUTING_KEY);
@@ -52,6 +144,11 @@ public class RabbitMQConfiguration {
         return BindingBuilder.bind(queueNotifications()).to(czertainlyExchange()).with(RabbitMQConstants.NOTIFICATION_ROUTING_KEY);
     }
 
+    @Bean
+    public Binding notificationBulkQueueBinding() {
+        return BindingBuilder.bind(queueNotificationsBulk()).to(czertainlyExchange()).with(RabbitMQConstants.NOTIFICATION_BULK_ROUTING_KEY);
+    }
+
     @Bean
     public Binding schedulerQueueBinding() {
         return BindingBuilder.bind(queueScheduler()).to(czertainlyExchange()).with(RabbitMQConstants.SCHEDULER_ROUTING_KEY);
@@ -62,5 +159,40 @@ public class RabbitMQConfiguration {
         return BindingBuilder.bind(queueActions()).to(czertainlyExchange()).with(RabbitMQConstants.ACTION_ROUTING_KEY);
     }
 
+    @Bean
+    public Binding actionBulkQueueBinding() {
+        return BindingBuilder.bind(queueActionsBulk()).to(czertainlyExchange()).with(RabbitMQConstants.ACTION_BULK_ROUTING_KEY);
+    }
+
+    private SimpleRabbitListenerContainerFactory createBatchContainerFactory(String queueName, String propertyPrefix, int defaultBatchSize, long defaultReceiveTimeout) {
+        int batchSize = environment.getProperty(propertyPrefix + "batch-size", Integer.class, defaultBatchSize);
+        SimpleRabbitListenerContainerFactory factory = createContainerFactory(queueName, propertyPrefix, 1, batchSize, batchSize);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setDeBatchingEnabled(true);
+        factory.setReceiveTimeout(environment.getProperty(propertyPrefix + "receive-timeout", Long.class, defaultReceiveTimeout));
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory createContainerFactory(String queueName, String propertyPrefix, int defaultConcurrency, int defaultPrefetch, int defaultBatchSize) {
+        int concurrency = Math.max(environment.getProperty(propertyPrefix + "concurrency", Integer.class, defaultConcurrency), 1);
+        int maxConcurrency = Math.max(environment.getProperty(propertyPrefix + "max-concurrency", Integer.class, concurrency), concurrency);
+        int batchSize = Math.max(environment.getProperty(propertyPrefix + "batch-size", Integer.class, defaultBatchSize), 1);
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        // prefetch lower than batch size would stall consumer waiting for unacknowledged messages
+        factory.setPrefetchCount(Math.max(environment.getProperty(propertyPrefix + "prefetch", Integer.class, defaultPrefetch), batchSize));
+        factory.setBatchSize(batchSize);
+        factory.setAdviceChain(rabbitMQMetrics.createListenerInterceptor(queueName));
+        // messages are delivered to listeners by local transport without broker
+        if ("local".equals(environment.getProperty(MessagingTransport.TRANSPORT_PROPERTY))) {
+            factory.setAutoStartup(false);
+        }
+        return factory;
+    }
 
 }
@@ -6,18 +6,26 @@ public class RabbitMQConstants {
 
     public static final String QUEUE_NOTIFICATIONS_NAME = "core.notifications";
 
+    public static final String QUEUE_NOTIFICATIONS_BULK_NAME = "core.notifications.bulk";
+
     public static final String QUEUE_SCHEDULER_NAME = "core.scheduler";
 
     public static final String QUEUE_ACTIONS_NAME = "core.actions";
 
+    public static final String QUEUE_ACTIONS_BULK_NAME = "core.actions.bulk";
+
     public static final String EXCHANGE_NAME = "czertainly";
 
     public static final String EVENT_ROUTING_KEY = "core";
 
     public static final String NOTIFICATION_ROUTING_KEY = "notification";
 
+    public static final String NOTIFICATION_BULK_ROUTING_KEY = "notification.bulk";
+
     public static final String SCHEDULER_ROUTING_KEY = "scheduler";
 
     public static final String ACTION_ROUTING_KEY = "action";
 
+    public static final String ACTION_BULK_ROUTING_KEY = "action.bulk";
+
 }
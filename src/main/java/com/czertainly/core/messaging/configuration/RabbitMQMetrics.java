@@ -0,0 +1,152 @@
+package com.czertainly.core.messaging.configuration;
+
+import com.czertainly.core.messaging.producers.MessagingTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumer side metrics of messaging queues:
+ * <ul>
+ *     <li>{@code messaging.listener.processing} - processing time of messages (or batch of messages) by listener</li>
+ *     <li>{@code messaging.listener.in-flight} - number of messages being processed by listeners</li>
+ *     <li>{@code messaging.listener.redeliveries} - number of redelivered messages received by listeners</li>
+ *     <li>{@code messaging.queue.depth} and {@code messaging.queue.consumers} - number of ready messages and consumers of the queue polled from the broker</li>
+ * </ul>
+ * All metrics are tagged by the queue name. With local messaging transport, queue depth and consumers are updated
+ * by the transport.
+ */
+@Component
+public class RabbitMQMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RabbitMQMetrics.class);
+
+    private static final String METRIC_PROCESSING = "messaging.listener.processing";
+    private static final String METRIC_IN_FLIGHT = "messaging.listener.in-flight";
+    private static final String METRIC_REDELIVERIES = "messaging.listener.redeliveries";
+    private static final String METRIC_QUEUE_DEPTH = "messaging.queue.depth";
+    private static final String METRIC_QUEUE_CONSUMERS = "messaging.queue.consumers";
+    private static final String TAG_QUEUE = "queue";
+
+    private MeterRegistry meterRegistry;
+    private AmqpAdmin amqpAdmin;
+    private boolean localTransport;
+
+    private final Map<String, QueueState> queues = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Autowired(required = false)
+    public void setAmqpAdmin(AmqpAdmin amqpAdmin) {
+        this.amqpAdmin = amqpAdmin;
+    }
+
+    @Value("${" + MessagingTransport.TRANSPORT_PROPERTY + ":rabbitmq}")
+    public void setTransport(String transport) {
+        this.localTransport = "local".equals(transport);
+    }
+
+    /**
+     * Creates advice of listener container recording processing time, in-flight and redelivered messages of the queue
+     *
+     * @param queueName name of the queue consumed by listener container
+     * @return advice to be added to advice chain of listener container
+     */
+    public MethodInterceptor createListenerInterceptor(String queueName) {
+        QueueState queueState = getQueueState(queueName);
+        Timer processingTimer = meterRegistry == null ? null : Timer.builder(METRIC_PROCESSING).tag(TAG_QUEUE, queueName).description("Processing time of messages by listener").register(meterRegistry);
+        Counter redeliveriesCounter = meterRegistry == null ? null : Counter.builder(METRIC_REDELIVERIES).tag(TAG_QUEUE, queueName).description("Number of redelivered messages").register(meterRegistry);
+
+        return invocation -> {
+            // listener is invoked with channel and single message or list of messages of batch
+            Object data = invocation.getArguments().length > 1 ? invocation.getArguments()[1] : null;
+            List<?> messages = data instanceof List<?> list ? list : List.of(data == null ? new Object() : data);
+            if (redeliveriesCounter != null) {
+                long redelivered = messages.stream().filter(m -> m instanceof Message message && Boolean.TRUE.equals(message.getMessageProperties().isRedelivered())).count();
+                if (redelivered > 0) {
+                    redeliveriesCounter.increment(redelivered);
+                }
+            }
+
+            queueState.inFlight().addAndGet(messages.size());
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                queueState.inFlight().addAndGet(-messages.size());
+                if (processingTimer != null) {
+                    processingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+
+    @Scheduled(initialDelayString = "${messaging.metrics.queue-depth-interval:30}", fixedDelayString = "${messaging.metrics.queue-depth-interval:30}", timeUnit = TimeUnit.SECONDS)
+    public void pollQueueDepths() {
+        if (amqpAdmin == null || meterRegistry == null || localTransport) {
+            return;
+        }
+
+        for (Map.Entry<String, QueueState> queue : queues.entrySet()) {
+            try {
+                QueueInformation queueInformation = amqpAdmin.getQueueInfo(queue.getKey());
+                if (queueInformation != null) {
+                    queue.getValue().depth().set(queueInformation.getMessageCount());
+                    queue.getValue().consumers().set(queueInformation.getConsumerCount());
+                }
+            } catch (AmqpException e) {
+                logger.debug("Unable to obtain information about queue {}: {}", queue.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Updates number of ready messages and consumers of the queue not polled from the broker
+     *
+     * @param queueName name of the queue
+     * @param depth     number of messages ready in the queue
+     * @param consumers number of consumers of the queue
+     */
+    public void updateQueueDepth(String queueName, long depth, long consumers) {
+        QueueState queueState = getQueueState(queueName);
+        queueState.depth().set(depth);
+        queueState.consumers().set(consumers);
+    }
+
+    private QueueState getQueueState(String queueName) {
+        return queues.computeIfAbsent(queueName, name -> {
+            QueueState queueState = new QueueState(new AtomicInteger(), new AtomicLong(), new AtomicLong());
+            if (meterRegistry != null) {
+                Gauge.builder(METRIC_IN_FLIGHT, queueState.inFlight(), AtomicInteger::get).tag(TAG_QUEUE, name).description("Number of messages being processed by listeners").register(meterRegistry);
+                Gauge.builder(METRIC_QUEUE_DEPTH, queueState.depth(), AtomicLong::get).tag(TAG_QUEUE, name).description("Number of messages ready in the queue").register(meterRegistry);
+                Gauge.builder(METRIC_QUEUE_CONSUMERS, queueState.consumers(), AtomicLong::get).tag(TAG_QUEUE, name).description("Number of consumers of the queue").register(meterRegistry);
+            }
+            return queueState;
+        });
+    }
+
+    private record QueueState(AtomicInteger inFlight, AtomicLong depth, AtomicLong consumers) {
+    }
+}
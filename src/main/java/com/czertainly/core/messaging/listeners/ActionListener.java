@@ -11,7 +11,9 @@ import com.czertainly.core.dao.entity.ApprovalProfileVersion;
 import com.czertainly.core.dao.repository.ApprovalProfileRelationRepository;
 import com.czertainly.core.messaging.configuration.RabbitMQConstants;
 import com.czertainly.core.messaging.model.ActionMessage;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationRecipient;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.service.ApprovalService;
 import com.czertainly.core.service.v2.ClientOperationService;
@@ -46,8 +48,19 @@ public class ActionListener {
 
     private AuthHelper authHelper;
 
-    @RabbitListener(queues = RabbitMQConstants.QUEUE_ACTIONS_NAME, messageConverter = "jsonMessageConverter")
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_ACTIONS_NAME, containerFactory = "actionsContainerFactory")
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_ACTIONS_BULK_NAME, containerFactory = "actionsBulkContainerFactory")
     public void processMessage(final ActionMessage actionMessage) throws MessageHandlingException {
+        // messages produced while processing the action follow lane of the action
+        MessageLane previousLane = MessageLaneContext.enter(actionMessage.getLane());
+        try {
+            processActionMessage(actionMessage);
+        } finally {
+            MessageLaneContext.restore(previousLane);
+        }
+    }
+
+    private void processActionMessage(final ActionMessage actionMessage) throws MessageHandlingException {
         boolean hasApproval = actionMessage.getApprovalUuid() != null;
         boolean isApproved = hasApproval && actionMessage.getApprovalStatus().equals(ApprovalStatusEnum.APPROVED);
 
@@ -3,9 +3,11 @@ package com.czertainly.core.messaging.listeners;
 import com.czertainly.api.exception.AttributeException;
 import com.czertainly.api.exception.NotFoundException;
 import com.czertainly.api.exception.RuleException;
+import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.certificate.CertificateEvent;
 import com.czertainly.api.model.core.certificate.CertificateEventStatus;
 import com.czertainly.api.model.core.other.ResourceEvent;
+import com.czertainly.core.dao.entity.CertificateEventHistory;
 import com.czertainly.core.messaging.configuration.RabbitMQConstants;
 import com.czertainly.core.messaging.model.EventMessage;
 import com.czertainly.core.service.CertificateEventHistoryService;
@@ -15,15 +17,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Component
-@Transactional
 public class EventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(EventListener.class);
@@ -46,7 +50,48 @@ public class EventListener {
         this.certificateEventHistoryService = certificateEventHistoryService;
     }
 
-    @RabbitListener(queues = RabbitMQConstants.QUEUE_EVENTS_NAME, messageConverter = "jsonMessageConverter")
+    /**
+     * Processes batch of event messages. Certificate events are stored in event history together using JDBC batch inserts
+     * in short transaction of their own, so the batch is acknowledged only after its events were stored. Other events are handled
+     * one by one after that, each in its own transaction and security context, and their failure is only logged,
+     * so it does not cause rejection (and loss) of certificate events of the same batch.
+     *
+     * @param eventMessages batch of event messages
+     */
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_EVENTS_NAME, containerFactory = "eventsContainerFactory")
+    public void processMessages(List<EventMessage> eventMessages) {
+        List<CertificateEventHistory> certificateEventHistories = new ArrayList<>();
+        List<EventMessage> otherEventMessages = new ArrayList<>();
+        for (EventMessage eventMessage : eventMessages) {
+            if (eventMessage.getResource() == Resource.CERTIFICATE) {
+                try {
+                    certificateEventHistories.add(certificateEventHistoryService.getEventHistory(eventMessage.getResourceUUID(), CertificateEvent.findByCode(eventMessage.getEventName()), CertificateEventStatus.valueOf(eventMessage.getEventStatus()), eventMessage.getEventMessage(), eventMessage.getEventDetail()));
+                } catch (Exception e) {
+                    // invalid event should not cause rejection of whole batch
+                    logger.warn("Unable to process certificate event message {}: {}", eventMessage, e.getMessage());
+                }
+            } else {
+                otherEventMessages.add(eventMessage);
+            }
+        }
+
+        if (!certificateEventHistories.isEmpty()) {
+            certificateEventHistoryService.saveAllInBatch(certificateEventHistories);
+        }
+
+        for (EventMessage eventMessage : otherEventMessages) {
+            SecurityContext originalContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(SecurityContextHolder.createEmptyContext());
+            try {
+                processMessage(eventMessage);
+            } catch (Exception e) {
+                logger.error("Unable to process event message {}: {}", eventMessage, e.getMessage(), e);
+            } finally {
+                SecurityContextHolder.setContext(originalContext);
+            }
+        }
+    }
+
     public void processMessage(EventMessage eventMessage) throws NotFoundException, CertificateException, NoSuchAlgorithmException, RuleException, AttributeException {
         switch (eventMessage.getResource()) {
             case CERTIFICATE -> certificateEventHistoryService.addEventHistory(eventMessage.getResourceUUID(), CertificateEvent.findByCode(eventMessage.getEventName()), CertificateEventStatus.valueOf(eventMessage.getEventStatus()), eventMessage.getEventMessage(), eventMessage.getEventDetail());
@@ -0,0 +1,152 @@
+package com.czertainly.core.messaging.listeners;
+
+import com.czertainly.api.model.client.attribute.ResponseAttributeDto;
+import com.czertainly.api.model.common.attribute.v2.DataAttribute;
+import com.czertainly.api.model.connector.notification.NotificationType;
+import com.czertainly.core.enums.RecipientTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of data needed to dispatch notifications: notifications mapping settings, mapping attributes
+ * of notification instance connectors and resolved recipients (name, email and custom attributes of users, roles and groups).
+ * Entries expire after configured TTL and whole cache is invalidated on changes of notification settings and instances,
+ * groups, users and roles done through this instance. Value loaded concurrently with invalidation is not cached.
+ */
+@Component
+public class NotificationDispatchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatchCache.class);
+
+    private static final String NOTIFICATIONS_MAPPING_KEY = "notificationsMapping";
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, CachedValue> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public NotificationDispatchCache(@Value("${notifications.cache.ttl:60}") long ttlSeconds, @Value("${notifications.cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public <E extends Exception> Map<NotificationType, String> getNotificationsMapping(Loader<Map<NotificationType, String>, E> loader) throws E {
+        return get(NOTIFICATIONS_MAPPING_KEY, loader);
+    }
+
+    public <E extends Exception> List<DataAttribute> getMappingAttributes(String connectorUuid, String kind, Loader<List<DataAttribute>, E> loader) throws E {
+        return get("mappingAttributes:" + connectorUuid + ":" + kind, loader);
+    }
+
+    public <E extends Exception> Recipient getRecipient(RecipientTypeEnum recipientType, UUID recipientUuid, Loader<Recipient, E> loader) throws E {
+        return get(getRecipientKey(recipientType, recipientUuid), loader);
+    }
+
+    private static String getRecipientKey(RecipientTypeEnum recipientType, UUID recipientUuid) {
+        return "recipient:" + recipientType + ":" + recipientUuid;
+    }
+
+    public boolean containsRecipient(RecipientTypeEnum recipientType, UUID recipientUuid) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return false;
+        }
+        CachedValue cached = entries.get(getRecipientKey(recipientType, recipientUuid));
+        return cached != null && cached.expiresAt() > System.currentTimeMillis();
+    }
+
+    /**
+     * Invalidates all cached values. When called inside transaction, cache is invalidated again after transaction completion,
+     * so values loaded by listeners before the change is committed are not kept.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NotificationDispatchCache.this);
+                    clear();
+                }
+            });
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        logger.debug("Notification dispatch cache invalidated.");
+    }
+
+    private <T, E extends Exception> T get(String key, Loader<T, E> loader) throws E {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return loader.load();
+        }
+
+        CachedValue cached = entries.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.value();
+            return value;
+        }
+
+        long loadGeneration = generation.get();
+        T value = loader.load();
+        if (value != null) {
+            store(key, new CachedValue(value, System.currentTimeMillis() + ttlMillis), loadGeneration);
+        }
+        return value;
+    }
+
+    private void store(String key, CachedValue cached, long loadGeneration) {
+        if (!entries.containsKey(key) && entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(key, cached);
+        // invalidated while storing, value could be loaded before the change
+        if (generation.get() != loadGeneration) {
+            entries.remove(key, cached);
+        }
+    }
+
+    /**
+     * Resolved notification recipient
+     *
+     * @param name             name of the recipient
+     * @param email            email of the recipient, can be empty
+     * @param customAttributes custom attributes of the recipient used to fill mapping attributes
+     */
+    public record Recipient(String name, String email, List<ResponseAttributeDto> customAttributes) {
+    }
+
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+
+    private record CachedValue(Object value, long expiresAt) {
+    }
+}
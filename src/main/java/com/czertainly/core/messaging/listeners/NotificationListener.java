@@ -15,7 +15,6 @@ import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.auth.RoleDetailDto;
 import com.czertainly.api.model.core.auth.UserDetailDto;
 import com.czertainly.api.model.core.connector.ConnectorDto;
-import com.czertainly.api.model.core.settings.NotificationSettingsDto;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.dao.entity.Group;
 import com.czertainly.core.dao.entity.NotificationInstanceMappedAttributes;
@@ -24,6 +23,8 @@ import com.czertainly.core.dao.repository.GroupRepository;
 import com.czertainly.core.dao.repository.NotificationInstanceReferenceRepository;
 import com.czertainly.core.enums.RecipientTypeEnum;
 import com.czertainly.core.messaging.configuration.RabbitMQConstants;
+import com.czertainly.core.messaging.model.MessageLane;
+import com.czertainly.core.messaging.model.NotificationDataDigest;
 import com.czertainly.core.messaging.model.NotificationMessage;
 import com.czertainly.core.messaging.model.NotificationRecipient;
 import com.czertainly.core.security.authn.client.RoleManagementApiClient;
@@ -31,14 +32,21 @@ import com.czertainly.core.security.authn.client.UserManagementApiClient;
 import com.czertainly.core.service.NotificationService;
 import com.czertainly.core.service.SettingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Component
 @Transactional
@@ -46,6 +54,8 @@ public class NotificationListener {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationListener.class);
 
+    private static final int DIGEST_MAX_LISTED_NOTIFICATIONS = 100;
+
     private ObjectMapper mapper = new ObjectMapper();
 
     private NotificationService notificationService;
@@ -64,6 +74,10 @@ public class NotificationListener {
 
     private GroupRepository groupRepository;
 
+    private NotificationDispatchCache notificationDispatchCache;
+
+    private ExecutorService recipientsExecutor;
+
     @Autowired
     public void setNotificationService(NotificationService notificationService) {
         this.notificationService = notificationService;
@@ -104,7 +118,33 @@ public class NotificationListener {
         this.groupRepository = groupRepository;
     }
 
-    @RabbitListener(queues = RabbitMQConstants.QUEUE_NOTIFICATIONS_NAME, messageConverter = "jsonMessageConverter")
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
+    /**
+     * Sets maximum number of recipients of one notification resolved in parallel
+     */
+    @Value("${notifications.recipients.parallelism:4}")
+    public void setRecipientsParallelism(int recipientsParallelism) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(recipientsParallelism, 1), runnable -> {
+            Thread thread = new Thread(runnable, "notification-recipients");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // recipients are resolved in security context of the listener
+        this.recipientsExecutor = new DelegatingSecurityContextExecutorService(executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recipientsExecutor != null) {
+            recipientsExecutor.shutdown();
+        }
+    }
+
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_NOTIFICATIONS_NAME, containerFactory = "notificationsContainerFactory")
     public void processMessage(NotificationMessage notificationMessage) {
         logger.debug("Received notification message: {}", notificationMessage);
 
@@ -114,10 +154,52 @@ public class NotificationListener {
             return;
         }
 
+        dispatchNotification(notificationMessage);
+    }
+
+    /**
+     * Processes batch of notifications of bulk lane. Notifications of the same type for the same recipients are coalesced
+     * into one digest notification, so bulk operations do not send notification through connector for each affected object.
+     * Digest is sent through notification instance mapped to type of coalesced notifications as text notification.
+     * Batch is collected until it reaches {@code batch-size} or no notification arrives within {@code receive-timeout}
+     * milliseconds (properties with prefix {@code messaging.notifications-bulk.}).
+     *
+     * @param notificationMessages batch of notification messages
+     */
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_NOTIFICATIONS_BULK_NAME, containerFactory = "notificationsBulkContainerFactory")
+    public void processMessages(List<NotificationMessage> notificationMessages) {
+        Map<String, List<NotificationMessage>> coalescedMessages = new LinkedHashMap<>();
+        for (NotificationMessage notificationMessage : notificationMessages) {
+            if (notificationMessage.getData() == null) {
+                processMessage(notificationMessage);
+            } else {
+                coalescedMessages.computeIfAbsent(getDigestKey(notificationMessage), key -> new ArrayList<>()).add(notificationMessage);
+            }
+        }
+
+        for (List<NotificationMessage> messages : coalescedMessages.values()) {
+            if (messages.size() == 1) {
+                processMessage(messages.get(0));
+                continue;
+            }
+
+            NotificationMessage digestMessage;
+            try {
+                digestMessage = createDigestMessage(messages);
+            } catch (Exception e) {
+                logger.warn("Unable to create digest of {} notifications of type {}, notifications are sent separately: {}", messages.size(), messages.get(0).getType(), e.getMessage());
+                messages.forEach(this::processMessage);
+                continue;
+            }
+            logger.debug("Sending digest of {} notifications of type {}", messages.size(), digestMessage.getType());
+            dispatchNotification(digestMessage);
+        }
+    }
+
+    private void dispatchNotification(NotificationMessage notificationMessage) {
         // check settings and send external notifications
         String notificationInstanceUUID;
-        NotificationSettingsDto notificationSettingsDto = settingService.getNotificationSettings();
-        Map<NotificationType, String> notificationTypeStringMap = notificationSettingsDto.getNotificationsMapping();
+        Map<NotificationType, String> notificationTypeStringMap = notificationDispatchCache.getNotificationsMapping(() -> settingService.getNotificationSettings().getNotificationsMapping());
         if (notificationTypeStringMap != null && (notificationInstanceUUID = notificationTypeStringMap.get(notificationMessage.getType())) != null) {
             logger.debug("Sending notification message externally. Notification instance UUID: {}", notificationInstanceUUID);
             try {
@@ -144,6 +226,51 @@ public class NotificationListener {
         logger.debug("Notification message handled");
     }
 
+    private static String getDigestKey(NotificationMessage notificationMessage) {
+        return notificationMessage.getType() + "|" + notificationMessage.getRecipients().stream()
+                .map(recipient -> recipient.getRecipientType() + ":" + recipient.getRecipientUuid())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    NotificationMessage createDigestMessage(List<NotificationMessage> notificationMessages) throws ValidationException {
+        NotificationMessage firstMessage = notificationMessages.get(0);
+        int listedCount = Math.min(notificationMessages.size(), DIGEST_MAX_LISTED_NOTIFICATIONS);
+        List<NotificationDataDigest.Item> items = new ArrayList<>(listedCount);
+        for (NotificationMessage notificationMessage : notificationMessages.subList(0, listedCount)) {
+            items.add(new NotificationDataDigest.Item(notificationMessage.getResource(), notificationMessage.getResourceUUID(),
+                    getNotificationMessageAndDetail(notificationMessage)[0], notificationMessage.getData()));
+        }
+
+        int notListedCount = notificationMessages.size() - listedCount;
+        String text = String.format("%d notifications of type %s", notificationMessages.size(), firstMessage.getType());
+        if (notListedCount > 0) {
+            text += String.format(", %d of them not listed", notListedCount);
+        }
+
+        // digest keeps type of coalesced notifications, resource and its UUID only when they are shared by all of them
+        Resource resource = notificationMessages.stream().allMatch(m -> m.getResource() == firstMessage.getResource()) ? firstMessage.getResource() : null;
+        UUID resourceUuid = resource != null && notificationMessages.stream().allMatch(m -> Objects.equals(m.getResourceUUID(), firstMessage.getResourceUUID())) ? firstMessage.getResourceUUID() : null;
+        NotificationMessage digestMessage = new NotificationMessage(firstMessage.getType(), resource, resourceUuid, firstMessage.getRecipients(),
+                new NotificationDataDigest(firstMessage.getType(), text, notificationMessages.size(), notListedCount, items));
+        digestMessage.setLane(MessageLane.BULK);
+        return digestMessage;
+    }
+
+    private static String getDigestDetail(NotificationDataDigest digest) {
+        StringBuilder detail = new StringBuilder();
+        for (NotificationDataDigest.Item item : digest.getItems()) {
+            detail.append(item.getText());
+            if (item.getResourceUuid() != null) {
+                detail.append(String.format(" (%s %s)", item.getResource() != null ? item.getResource().getLabel() : "object", item.getResourceUuid()));
+            }
+            detail.append('\n');
+        }
+        if (digest.getNotListedCount() > 0) {
+            detail.append(String.format("%d more notifications are not listed", digest.getNotListedCount()));
+        }
+        return detail.toString().strip();
+    }
 
     private void sendExternalNotifications(UUID notificationInstanceUUID, NotificationMessage notificationMessage) throws ConnectorException, ValidationException {
         NotificationInstanceReference notificationInstanceReference = notificationInstanceReferenceRepository.findByUuid(notificationInstanceUUID).orElseThrow(() -> new NotFoundException(NotificationInstanceReference.class, notificationInstanceUUID));
@@ -151,114 +278,82 @@ public class NotificationListener {
         List<DataAttribute> mappingAttributes;
         ConnectorDto connector = notificationInstanceReference.getConnector().mapToDto();
         try {
-            mappingAttributes = notificationInstanceApiClient.listMappingAttributes(connector, notificationInstanceReference.getKind());
+            mappingAttributes = notificationDispatchCache.getMappingAttributes(connector.getUuid(), notificationInstanceReference.getKind(), () -> notificationInstanceApiClient.listMappingAttributes(connector, notificationInstanceReference.getKind()));
         } catch (ConnectorException e) {
             logger.error("Cannot retrieve mapping attributes from connector: {}", e.getMessage());
             throw e;
         }
 
-        List<NotificationRecipientDto> recipientsDto = new ArrayList<>();
-        for (NotificationRecipient recipient : notificationMessage.getRecipients()) {
-            logger.debug("Processing recipient {} of type {}.", recipient.getRecipientUuid(), recipient.getRecipientType());
-            NotificationRecipientDto recipientDto = null;
-            List<ResponseAttributeDto> recipientCustomAttributes = List.of();
-
-            if (recipient.getRecipientType().equals(RecipientTypeEnum.USER)) {
-                UUID recipientUuid = recipient.getRecipientUuid();
-                try {
-                    UserDetailDto userDetailDto = userManagementApiClient.getUserDetail(recipientUuid.toString());
-                    recipientDto = new NotificationRecipientDto();
-                    recipientDto.setEmail(userDetailDto.getEmail());
-                    recipientDto.setName(userDetailDto.getUsername());
+        // custom attributes of recipients that are not cached are loaded at once, recipients are then resolved in parallel
+        // since each of them requires call of auth service
+        Map<UUID, List<ResponseAttributeDto>> recipientsCustomAttributes = loadRecipientsCustomAttributes(notificationMessage.getRecipients());
+        List<CompletableFuture<NotificationDispatchCache.Recipient>> resolvedRecipients = notificationMessage.getRecipients().stream()
+                .map(recipient -> CompletableFuture.supplyAsync(() -> resolveRecipient(recipient, recipientsCustomAttributes), recipientsExecutor))
+                .toList();
 
-                    recipientCustomAttributes = attributeEngine.getObjectCustomAttributesContent(Resource.USER, recipientUuid);
-                } catch (Exception e) {
-                    logger.warn("User with UUID {} was not found, notification was not sent for this user.", recipientUuid);
-                }
+        List<NotificationRecipientDto> recipientsDto = new ArrayList<>();
+        for (int i = 0; i < resolvedRecipients.size(); i++) {
+            NotificationRecipient recipient = notificationMessage.getRecipients().get(i);
+            NotificationDispatchCache.Recipient resolvedRecipient = resolvedRecipients.get(i).join();
+            if (resolvedRecipient == null) {
+                continue;
             }
-            if (recipient.getRecipientType().equals(RecipientTypeEnum.ROLE)) {
-                UUID roleUuid = recipient.getRecipientUuid();
-                try {
-                    RoleDetailDto roleDetailDto = roleManagementApiClient.getRoleDetail(roleUuid.toString());
-                    String email = roleDetailDto.getEmail();
-                    if (email == null || email.isBlank()) {
-                        logger.warn("Role with UUID {} does not have specified email, notification was not sent for this role.", roleUuid);
-                    } else {
-                        recipientDto = new NotificationRecipientDto();
-                        recipientDto.setEmail(email);
-                        recipientDto.setName(roleDetailDto.getName());
-                    }
 
-                    recipientCustomAttributes = attributeEngine.getObjectCustomAttributesContent(Resource.ROLE, roleUuid);
-                } catch (Exception e) {
-                    logger.warn("Role with UUID {} was not found, notification was not sent for this role.", roleUuid);
-                }
-            }
-            if (recipient.getRecipientType().equals(RecipientTypeEnum.GROUP)) {
-                UUID groupUuid = recipient.getRecipientUuid();
-                Optional<Group> group = groupRepository.findByUuid(groupUuid);
-                if (group.isPresent()) {
-                    String email = group.get().getEmail();
-                    if (email == null || email.isBlank()) {
-                        logger.warn("Group with UUID {} does not have specified email, notification was not sent for this group.", groupUuid);
-                    } else {
-                        recipientDto = new NotificationRecipientDto();
-                        recipientDto.setName(group.get().getName());
-                        recipientDto.setEmail(email);
-                    }
+            NotificationRecipientDto recipientDto = new NotificationRecipientDto();
+            recipientDto.setName(resolvedRecipient.name());
+            recipientDto.setEmail(resolvedRecipient.email());
+            List<ResponseAttributeDto> recipientCustomAttributes = resolvedRecipient.customAttributes();
+
+            logger.debug("Setting mapped attributes for recipient {} of type {}.", recipientDto.getName(), recipient.getRecipientType());
 
-                    recipientCustomAttributes = attributeEngine.getObjectCustomAttributesContent(Resource.GROUP, groupUuid);
-                } else {
-                    logger.warn("Group with UUID {} was not found, notification was not sent for this group.", groupUuid);
+            // prepare mapped attributes
+            List<RequestAttributeDto> mappedAttributes = new ArrayList<>();
+            HashMap<String, ResponseAttributeDto> mappedContent = new HashMap<>();
+            for (NotificationInstanceMappedAttributes mappedAttribute : notificationInstanceReference.getMappedAttributes()) {
+                Optional<ResponseAttributeDto> recipientCustomAttribute = recipientCustomAttributes.stream().filter(c -> c.getUuid().equals(mappedAttribute.getAttributeDefinitionUuid().toString())).findFirst();
+                if (recipientCustomAttribute.isPresent()) {
+                    mappedContent.put(mappedAttribute.getMappingAttributeUuid().toString(), recipientCustomAttribute.get());
                 }
             }
 
-            if (recipientDto != null) {
-                logger.debug("Setting mapped attributes for recipient {} of type {}.", recipientDto.getName(), recipient.getRecipientType());
+            for (DataAttribute mappingAttribute : mappingAttributes) {
+                ResponseAttributeDto recipientCustomAttribute = mappedContent.get(mappingAttribute.getUuid());
 
-                // prepare mapped attributes
-                List<RequestAttributeDto> mappedAttributes = new ArrayList<>();
-                HashMap<String, ResponseAttributeDto> mappedContent = new HashMap<>();
-                for (NotificationInstanceMappedAttributes mappedAttribute : notificationInstanceReference.getMappedAttributes()) {
-                    Optional<ResponseAttributeDto> recipientCustomAttribute = recipientCustomAttributes.stream().filter(c -> c.getUuid().equals(mappedAttribute.getAttributeDefinitionUuid().toString())).findFirst();
-                    if (recipientCustomAttribute.isPresent()) {
-                        mappedContent.put(mappedAttribute.getMappingAttributeUuid().toString(), recipientCustomAttribute.get());
+                if (recipientCustomAttribute == null) {
+                    if (mappingAttribute.getProperties().isRequired()) {
+                        throw new ValidationException(String.format("Missing mapping attribute %s with UUID %s in recipient custom attributes.", mappingAttribute.getName(), mappingAttribute.getUuid()));
                     }
+                    continue;
                 }
 
-                for (DataAttribute mappingAttribute : mappingAttributes) {
-                    ResponseAttributeDto recipientCustomAttribute = mappedContent.get(mappingAttribute.getUuid());
-
-                    if (recipientCustomAttribute == null) {
-                        if (mappingAttribute.getProperties().isRequired()) {
-                            throw new ValidationException(String.format("Missing mapping attribute %s with UUID %s in recipient custom attributes.", mappingAttribute.getName(), mappingAttribute.getUuid()));
-                        }
-                        continue;
-                    }
-
-                    if (!mappingAttribute.getContentType().equals(recipientCustomAttribute.getContentType())) {
-                        throw new ValidationException(String.format("Mapped custom attribute %s with UUID %s has different content type (%s) as mapping attribute %s with UUID %s (%s).",
-                                recipientCustomAttribute.getName(), recipientCustomAttribute.getUuid(), recipientCustomAttribute.getContentType().getLabel(),
-                                mappingAttribute.getName(), mappingAttribute.getUuid(), mappingAttribute.getContentType().getLabel()));
-                    }
-
-                    RequestAttributeDto requestAttributeDto = new RequestAttributeDto();
-                    requestAttributeDto.setUuid(mappingAttribute.getUuid());
-                    requestAttributeDto.setName(mappingAttribute.getName());
-                    requestAttributeDto.setContentType(mappingAttribute.getContentType());
-                    requestAttributeDto.setContent(recipientCustomAttribute.getContent());
-                    mappedAttributes.add(requestAttributeDto);
+                if (!mappingAttribute.getContentType().equals(recipientCustomAttribute.getContentType())) {
+                    throw new ValidationException(String.format("Mapped custom attribute %s with UUID %s has different content type (%s) as mapping attribute %s with UUID %s (%s).",
+                            recipientCustomAttribute.getName(), recipientCustomAttribute.getUuid(), recipientCustomAttribute.getContentType().getLabel(),
+                            mappingAttribute.getName(), mappingAttribute.getUuid(), mappingAttribute.getContentType().getLabel()));
                 }
-                recipientDto.setMappedAttributes(mappedAttributes);
-                recipientsDto.add(recipientDto);
+
+                RequestAttributeDto requestAttributeDto = new RequestAttributeDto();
+                requestAttributeDto.setUuid(mappingAttribute.getUuid());
+                requestAttributeDto.setName(mappingAttribute.getName());
+                requestAttributeDto.setContentType(mappingAttribute.getContentType());
+                requestAttributeDto.setContent(recipientCustomAttribute.getContent());
+                mappedAttributes.add(requestAttributeDto);
             }
+            recipientDto.setMappedAttributes(mappedAttributes);
+            recipientsDto.add(recipientDto);
         }
 
         if (!recipientsDto.isEmpty()) {
             NotificationProviderNotifyRequestDto notificationProviderNotifyRequestDto = new NotificationProviderNotifyRequestDto();
-            notificationProviderNotifyRequestDto.setNotificationData(notificationMessage.getData());
+            if (notificationMessage.getData() instanceof NotificationDataDigest digest) {
+                // data of notification type are bound to its data class, so digest is sent to connector as text notification
+                notificationProviderNotifyRequestDto.setNotificationData(new NotificationDataText(digest.getText(), getDigestDetail(digest)));
+                notificationProviderNotifyRequestDto.setEventType(NotificationType.OTHER);
+            } else {
+                notificationProviderNotifyRequestDto.setNotificationData(notificationMessage.getData());
+                notificationProviderNotifyRequestDto.setEventType(notificationMessage.getType());
+            }
             notificationProviderNotifyRequestDto.setResource(notificationMessage.getResource());
-            notificationProviderNotifyRequestDto.setEventType(notificationMessage.getType());
             notificationProviderNotifyRequestDto.setRecipients(recipientsDto);
 
             try {
@@ -272,6 +367,84 @@ public class NotificationListener {
         }
     }
 
+    private Map<UUID, List<ResponseAttributeDto>> loadRecipientsCustomAttributes(List<NotificationRecipient> recipients) {
+        Map<RecipientTypeEnum, List<UUID>> uncachedRecipients = new EnumMap<>(RecipientTypeEnum.class);
+        for (NotificationRecipient recipient : recipients) {
+            if (!notificationDispatchCache.containsRecipient(recipient.getRecipientType(), recipient.getRecipientUuid())) {
+                uncachedRecipients.computeIfAbsent(recipient.getRecipientType(), k -> new ArrayList<>()).add(recipient.getRecipientUuid());
+            }
+        }
+
+        Map<UUID, List<ResponseAttributeDto>> recipientsCustomAttributes = new HashMap<>();
+        for (Map.Entry<RecipientTypeEnum, List<UUID>> entry : uncachedRecipients.entrySet()) {
+            Resource resource = switch (entry.getKey()) {
+                case USER -> Resource.USER;
+                case ROLE -> Resource.ROLE;
+                case GROUP -> Resource.GROUP;
+            };
+            recipientsCustomAttributes.putAll(attributeEngine.getObjectsCustomAttributesContent(resource, entry.getValue()));
+        }
+        return recipientsCustomAttributes;
+    }
+
+    private List<ResponseAttributeDto> getRecipientCustomAttributes(Map<UUID, List<ResponseAttributeDto>> recipientsCustomAttributes, Resource resource, UUID recipientUuid) {
+        List<ResponseAttributeDto> customAttributes = recipientsCustomAttributes.get(recipientUuid);
+        return customAttributes != null ? customAttributes : attributeEngine.getObjectCustomAttributesContent(resource, recipientUuid);
+    }
+
+    private NotificationDispatchCache.Recipient resolveRecipient(NotificationRecipient recipient, Map<UUID, List<ResponseAttributeDto>> recipientsCustomAttributes) {
+        logger.debug("Processing recipient {} of type {}.", recipient.getRecipientUuid(), recipient.getRecipientType());
+        UUID recipientUuid = recipient.getRecipientUuid();
+        switch (recipient.getRecipientType()) {
+            case USER -> {
+                try {
+                    return notificationDispatchCache.getRecipient(RecipientTypeEnum.USER, recipientUuid, () -> {
+                        UserDetailDto userDetailDto = userManagementApiClient.getUserDetail(recipientUuid.toString());
+                        return new NotificationDispatchCache.Recipient(userDetailDto.getUsername(), userDetailDto.getEmail(), getRecipientCustomAttributes(recipientsCustomAttributes, Resource.USER, recipientUuid));
+                    });
+                } catch (Exception e) {
+                    logger.warn("User with UUID {} was not found, notification was not sent for this user.", recipientUuid);
+                    return null;
+                }
+            }
+            case ROLE -> {
+                NotificationDispatchCache.Recipient resolvedRecipient;
+                try {
+                    resolvedRecipient = notificationDispatchCache.getRecipient(RecipientTypeEnum.ROLE, recipientUuid, () -> {
+                        RoleDetailDto roleDetailDto = roleManagementApiClient.getRoleDetail(recipientUuid.toString());
+                        return new NotificationDispatchCache.Recipient(roleDetailDto.getName(), roleDetailDto.getEmail(), getRecipientCustomAttributes(recipientsCustomAttributes, Resource.ROLE, recipientUuid));
+                    });
+                } catch (Exception e) {
+                    logger.warn("Role with UUID {} was not found, notification was not sent for this role.", recipientUuid);
+                    return null;
+                }
+                if (resolvedRecipient.email() == null || resolvedRecipient.email().isBlank()) {
+                    logger.warn("Role with UUID {} does not have specified email, notification was not sent for this role.", recipientUuid);
+                    return null;
+                }
+                return resolvedRecipient;
+            }
+            case GROUP -> {
+                NotificationDispatchCache.Recipient resolvedRecipient = notificationDispatchCache.getRecipient(RecipientTypeEnum.GROUP, recipientUuid, () -> {
+                    Optional<Group> group = groupRepository.findByUuid(recipientUuid);
+                    return group.map(value -> new NotificationDispatchCache.Recipient(value.getName(), value.getEmail(), getRecipientCustomAttributes(recipientsCustomAttributes, Resource.GROUP, recipientUuid))).orElse(null);
+                });
+                if (resolvedRecipient == null) {
+                    logger.warn("Group with UUID {} was not found, notification was not sent for this group.", recipientUuid);
+                    return null;
+                }
+                if (resolvedRecipient.email() == null || resolvedRecipient.email().isBlank()) {
+                    logger.warn("Group with UUID {} does not have specified email, notification was not sent for this group.", recipientUuid);
+                    return null;
+                }
+                return resolvedRecipient;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
     private void sendInternalNotifications(NotificationMessage notificationMessage) throws ValidationException {
         String[] messageAndDetail = getNotificationMessageAndDetail(notificationMessage);
 
@@ -303,6 +476,12 @@ public class NotificationListener {
 
     private String[] getNotificationMessageAndDetail(NotificationMessage notificationMessage) throws ValidationException {
         String[] result = new String[2];
+        if (notificationMessage.getData() instanceof NotificationDataDigest digest) {
+            result[0] = digest.getText();
+            result[1] = getDigestDetail(digest);
+            return result;
+        }
+
         NotificationType type = notificationMessage.getType();
         Object notificationData = mapper.convertValue(notificationMessage.getData(), notificationMessage.getType().getNotificationData());
 
@@ -32,7 +32,7 @@ public class SchedulerListener {
 
     private static final Logger logger = LoggerFactory.getLogger(SchedulerListener.class);
 
-    @RabbitListener(queues = RabbitMQConstants.QUEUE_SCHEDULER_NAME, messageConverter = "jsonMessageConverter", concurrency = "10")
+    @RabbitListener(queues = RabbitMQConstants.QUEUE_SCHEDULER_NAME, containerFactory = "schedulerContainerFactory")
     public void processMessage(SchedulerJobExecutionMessage schedulerMessage) {
         logger.info("Received scheduler message: {}", schedulerMessage);
 
@@ -0,0 +1,122 @@
+package com.czertainly.core.messaging.local;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * File journal of messages of one local queue. Message is written to its own file before it is enqueued and the file
+ * is removed after the message is processed, so messages not processed before shutdown or crash are delivered again
+ * after restart. Files are named by increasing sequence number to keep order of messages. File contains type of message
+ * on the first line followed by message converted to JSON, the same way as it would be sent to the broker.
+ */
+final class LocalMessageJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMessageJournal.class);
+
+    private static final String FILE_SUFFIX = ".msg";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String CORRUPTED_FILE_SUFFIX = ".corrupted";
+
+    private final Path directory;
+    private final MessageConverter messageConverter;
+    private final AtomicLong sequence = new AtomicLong();
+
+    LocalMessageJournal(Path directory, MessageConverter messageConverter) throws IOException {
+        this.directory = directory;
+        this.messageConverter = messageConverter;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TEMPORARY_FILE_SUFFIX)) {
+                    // message was not completely written, it was not enqueued
+                    Files.deleteIfExists(file);
+                } else if (fileName.endsWith(FILE_SUFFIX)) {
+                    sequence.accumulateAndGet(Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length())), Math::max);
+                }
+            }
+        }
+    }
+
+    String append(Object message) throws IOException {
+        Message amqpMessage = messageConverter.toMessage(message, new MessageProperties());
+        Object typeId = amqpMessage.getMessageProperties().getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+
+        String id = String.format("%019d", sequence.incrementAndGet());
+        Path temporaryFile = directory.resolve(id + TEMPORARY_FILE_SUFFIX);
+        try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+            outputStream.write(((typeId == null ? "" : typeId.toString()) + "\n").getBytes(StandardCharsets.UTF_8));
+            outputStream.write(amqpMessage.getBody());
+        }
+        Files.move(temporaryFile, directory.resolve(id + FILE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    void remove(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + FILE_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Unable to remove journaled message {} from {}: {}", id, directory, e.getMessage());
+        }
+    }
+
+    List<JournaledMessage> load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> directoryFiles = Files.list(directory)) {
+            files = directoryFiles.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).sorted().toList();
+        }
+
+        List<JournaledMessage> messages = new ArrayList<>();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            try {
+                byte[] content = Files.readAllBytes(file);
+                int separator = indexOfNewLine(content);
+                if (separator < 0) {
+                    throw new IOException("Missing type of message");
+                }
+
+                MessageProperties messageProperties = new MessageProperties();
+                messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+                messageProperties.setContentEncoding(StandardCharsets.UTF_8.name());
+                messageProperties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, new String(content, 0, separator, StandardCharsets.UTF_8));
+                Object message = messageConverter.fromMessage(new Message(Arrays.copyOfRange(content, separator + 1, content.length), messageProperties));
+                messages.add(new JournaledMessage(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()), message));
+            } catch (IOException | MessageConversionException e) {
+                logger.error("Unable to load journaled message {}, it is kept as corrupted: {}", file, e.getMessage());
+                Files.move(file, file.resolveSibling(fileName + CORRUPTED_FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return messages;
+    }
+
+    private static int indexOfNewLine(byte[] content) {
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    record JournaledMessage(String id, Object message) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.czertainly.core.messaging.local;
+
+import com.czertainly.core.messaging.configuration.RabbitMQMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory queue consumed by fixed number of workers. Each worker takes up to {@code batchSize} messages,
+ * waiting at most {@code receiveTimeoutMillis} for the batch to fill, and passes them to the listener. Messages whose
+ * processing failed are not redelivered, the same as rejected messages of broker queues. When journal is configured,
+ * messages are journaled before they are enqueued and journaled messages are enqueued again on start.
+ */
+final class LocalMessageQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMessageQueue.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+
+    private final String name;
+    private final int consumers;
+    private final int batchSize;
+    private final long receiveTimeoutMillis;
+    private final Listener listener;
+    private final LocalMessageJournal journal;
+    private final RabbitMQMetrics metrics;
+
+    private final BlockingQueue<LocalMessage> messages;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    LocalMessageQueue(String name, int capacity, int consumers, int batchSize, long receiveTimeoutMillis, Listener listener, LocalMessageJournal journal, RabbitMQMetrics metrics) {
+        this.name = name;
+        this.consumers = Math.max(consumers, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.receiveTimeoutMillis = receiveTimeoutMillis;
+        this.listener = listener;
+        this.journal = journal;
+        this.metrics = metrics;
+        this.messages = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int size() {
+        return messages.size();
+    }
+
+    synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        running = true;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(consumers, runnable -> {
+            Thread thread = new Thread(runnable, "local-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < consumers; i++) {
+            executor.execute(this::consume);
+        }
+
+        if (journal != null) {
+            List<LocalMessageJournal.JournaledMessage> journaledMessages = journal.load();
+            if (!journaledMessages.isEmpty()) {
+                logger.info("Delivering {} journaled messages of local queue {}", journaledMessages.size(), name);
+            }
+            try {
+                for (LocalMessageJournal.JournaledMessage journaledMessage : journaledMessages) {
+                    messages.put(new LocalMessage(journaledMessage.id(), journaledMessage.message()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        updateMetrics();
+    }
+
+    synchronized void stop(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!messages.isEmpty()) {
+            logger.warn("Local queue {} stopped with {} unprocessed messages{}", name, messages.size(), journal == null ? ", messages were dropped" : ", they will be delivered after restart");
+        }
+    }
+
+    void enqueue(Object message, long timeoutMillis) {
+        String journalId = null;
+        if (journal != null) {
+            try {
+                journalId = journal.append(message);
+            } catch (IOException e) {
+                logger.warn("Unable to journal message of local queue {}, message is enqueued without journal: {}", name, e.getMessage());
+            }
+        }
+
+        try {
+            if (!messages.offer(new LocalMessage(journalId, message), timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.error("Local queue {} is full, message {}: {}", name, journalId == null ? "was dropped" : "will be delivered after restart", message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Enqueuing of message to local queue {} was interrupted, message {}: {}", name, journalId == null ? "was dropped" : "will be delivered after restart", message);
+        }
+        updateMetrics();
+    }
+
+    private void consume() {
+        List<LocalMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LocalMessage message = messages.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    continue;
+                }
+                batch.add(message);
+
+                long deadline = System.currentTimeMillis() + receiveTimeoutMillis;
+                while (batch.size() < batchSize) {
+                    message = messages.poll(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        break;
+                    }
+                    batch.add(message);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            updateMetrics();
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<LocalMessage> batch) {
+        try {
+            listener.process(batch.stream().map(LocalMessage::payload).toList());
+        } catch (Exception e) {
+            logger.error("Processing of {} messages of local queue {} failed: {}", batch.size(), name, e.getMessage(), e);
+        } finally {
+            // listeners authenticate themselves, authentication must not leak to next messages
+            SecurityContextHolder.clearContext();
+            if (journal != null) {
+                batch.stream().filter(message -> message.journalId() != null).forEach(message -> journal.remove(message.journalId()));
+            }
+        }
+    }
+
+    private void updateMetrics() {
+        if (metrics != null) {
+            metrics.updateQueueDepth(name, messages.size(), running ? consumers : 0);
+        }
+    }
+
+    @FunctionalInterface
+    interface Listener {
+        void process(List<Object> messages) throws Exception;
+    }
+
+    private record LocalMessage(String journalId, Object payload) {
+    }
+}
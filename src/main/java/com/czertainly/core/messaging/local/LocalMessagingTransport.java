@@ -0,0 +1,176 @@
+package com.czertainly.core.messaging.local;
+
+import com.czertainly.core.messaging.configuration.RabbitMQConstants;
+import com.czertainly.core.messaging.configuration.RabbitMQMetrics;
+import com.czertainly.core.messaging.listeners.ActionListener;
+import com.czertainly.core.messaging.listeners.EventListener;
+import com.czertainly.core.messaging.listeners.NotificationListener;
+import com.czertainly.core.messaging.model.ActionMessage;
+import com.czertainly.core.messaging.model.EventMessage;
+import com.czertainly.core.messaging.model.NotificationMessage;
+import com.czertainly.core.messaging.producers.MessagingTransport;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Messaging transport delivering messages to listeners in the same JVM, intended for single node deployments without
+ * RabbitMQ. Each queue is bounded in-memory queue consumed by its own workers, number of workers and batch size
+ * are configured by the same {@code messaging.<queue>.} properties as listener containers. Transport is configured
+ * by properties with prefix {@code messaging.local.}:
+ * <ul>
+ *     <li>{@code queue-capacity} - maximum number of messages waiting in each queue</li>
+ *     <li>{@code enqueue-timeout} - time in milliseconds the producer waits when queue is full before the message is dropped</li>
+ *     <li>{@code journal-directory} - directory of journal of unprocessed messages, messages are not durable when empty</li>
+ * </ul>
+ * Scheduler queue is not available, since scheduled jobs are triggered by scheduler service through the broker.
+ */
+@Component
+@ConditionalOnProperty(name = MessagingTransport.TRANSPORT_PROPERTY, havingValue = "local")
+public class LocalMessagingTransport implements MessagingTransport, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMessagingTransport.class);
+
+    private static final long STOP_TIMEOUT_MILLIS = 10000;
+
+    private final int queueCapacity;
+    private final long enqueueTimeoutMillis;
+    private final String journalDirectory;
+
+    private final Map<String, LocalMessageQueue> queues = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private Environment environment;
+    private MessageConverter messageConverter;
+    private RabbitMQMetrics rabbitMQMetrics;
+    private ObjectProvider<EventListener> eventListener;
+    private ObjectProvider<NotificationListener> notificationListener;
+    private ObjectProvider<ActionListener> actionListener;
+
+    public LocalMessagingTransport(@Value("${messaging.local.queue-capacity:10000}") int queueCapacity, @Value("${messaging.local.enqueue-timeout:30000}") long enqueueTimeoutMillis,
+                                   @Value("${messaging.local.journal-directory:}") String journalDirectory) {
+        this.queueCapacity = queueCapacity;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.journalDirectory = journalDirectory;
+    }
+
+    @Autowired
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Autowired
+    public void setMessageConverter(@Qualifier("jsonMessageConverter") MessageConverter messageConverter) {
+        this.messageConverter = messageConverter;
+    }
+
+    @Autowired
+    public void setRabbitMQMetrics(RabbitMQMetrics rabbitMQMetrics) {
+        this.rabbitMQMetrics = rabbitMQMetrics;
+    }
+
+    // listeners are obtained when the first message is processed, they depend on services producing messages
+    @Autowired
+    public void setEventListener(ObjectProvider<EventListener> eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    @Autowired
+    public void setNotificationListener(ObjectProvider<NotificationListener> notificationListener) {
+        this.notificationListener = notificationListener;
+    }
+
+    @Autowired
+    public void setActionListener(ObjectProvider<ActionListener> actionListener) {
+        this.actionListener = actionListener;
+    }
+
+    @PostConstruct
+    public void createQueues() throws IOException {
+        createQueue(RabbitMQConstants.EVENT_ROUTING_KEY, RabbitMQConstants.QUEUE_EVENTS_NAME, "messaging.events.", 1, true, 500, 1000L,
+                messages -> eventListener.getObject().processMessages(messages.stream().map(EventMessage.class::cast).toList()));
+        createQueue(RabbitMQConstants.NOTIFICATION_ROUTING_KEY, RabbitMQConstants.QUEUE_NOTIFICATIONS_NAME, "messaging.notifications.", 1, false, 1, 0,
+                messages -> notificationListener.getObject().processMessage((NotificationMessage) messages.get(0)));
+        createQueue(RabbitMQConstants.NOTIFICATION_BULK_ROUTING_KEY, RabbitMQConstants.QUEUE_NOTIFICATIONS_BULK_NAME, "messaging.notifications-bulk.", 1, true, 100, 5000L,
+                messages -> notificationListener.getObject().processMessages(messages.stream().map(NotificationMessage.class::cast).toList()));
+        createQueue(RabbitMQConstants.ACTION_ROUTING_KEY, RabbitMQConstants.QUEUE_ACTIONS_NAME, "messaging.actions.", 1, false, 1, 0,
+                messages -> actionListener.getObject().processMessage((ActionMessage) messages.get(0)));
+        createQueue(RabbitMQConstants.ACTION_BULK_ROUTING_KEY, RabbitMQConstants.QUEUE_ACTIONS_BULK_NAME, "messaging.actions-bulk.", 1, false, 1, 0,
+                messages -> actionListener.getObject().processMessage((ActionMessage) messages.get(0)));
+        logger.info("Local messaging transport created with queues {}{}", queues.values().stream().map(LocalMessageQueue::getName).sorted().toList(),
+                StringUtils.isBlank(journalDirectory) ? " without journal" : " journaled in " + journalDirectory);
+    }
+
+    @Override
+    public void publish(String exchange, String routingKey, Object message) {
+        LocalMessageQueue queue = queues.get(routingKey);
+        if (queue == null) {
+            logger.warn("There is no local queue for routing key {}, message was dropped: {}", routingKey, message);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.enqueue(message, enqueueTimeoutMillis);
+                }
+            });
+        } else {
+            queue.enqueue(message, enqueueTimeoutMillis);
+        }
+    }
+
+    @Override
+    public void start() {
+        for (LocalMessageQueue queue : queues.values()) {
+            try {
+                queue.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start local queue " + queue.getName(), e);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        queues.values().forEach(queue -> queue.stop(STOP_TIMEOUT_MILLIS));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void createQueue(String routingKey, String queueName, String propertyPrefix, int defaultConcurrency, boolean batchListener, int defaultBatchSize, long defaultReceiveTimeout,
+                             LocalMessageQueue.Listener listener) throws IOException {
+        int concurrency = Math.max(environment.getProperty(propertyPrefix + "concurrency", Integer.class, defaultConcurrency), 1);
+        int consumers = Math.max(environment.getProperty(propertyPrefix + "max-concurrency", Integer.class, concurrency), concurrency);
+        // batch size of other listeners is number of messages acknowledged together, there is no acknowledgement of local messages
+        int batchSize = batchListener ? environment.getProperty(propertyPrefix + "batch-size", Integer.class, defaultBatchSize) : 1;
+        long receiveTimeoutMillis = batchListener ? environment.getProperty(propertyPrefix + "receive-timeout", Long.class, defaultReceiveTimeout) : 0;
+
+        LocalMessageJournal journal = StringUtils.isBlank(journalDirectory) ? null : new LocalMessageJournal(Path.of(journalDirectory, queueName), messageConverter);
+        queues.put(routingKey, new LocalMessageQueue(queueName, queueCapacity, consumers, batchSize, receiveTimeoutMillis, listener, journal, rabbitMQMetrics));
+    }
+}
@@ -27,4 +27,6 @@ public class ActionMessage {
 
     private ApprovalStatusEnum approvalStatus;
 
+    private MessageLane lane;
+
 }
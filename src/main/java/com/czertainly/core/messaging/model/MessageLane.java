@@ -0,0 +1,19 @@
+package com.czertainly.core.messaging.model;
+
+/**
+ * Processing lane of action and notification messages. Each lane has its own queue consumed by dedicated listeners,
+ * so interactive operations are not delayed by messages of bulk operations.
+ */
+public enum MessageLane {
+
+    /**
+     * Messages produced while handling requests of users and clients
+     */
+    INTERACTIVE,
+
+    /**
+     * Messages produced by bulk operations, scheduled jobs, discoveries and other background processing
+     */
+    BULK
+
+}
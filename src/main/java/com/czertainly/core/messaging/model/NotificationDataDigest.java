@@ -0,0 +1,47 @@
+package com.czertainly.core.messaging.model;
+
+import com.czertainly.api.model.connector.notification.NotificationType;
+import com.czertainly.api.model.core.auth.Resource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data of digest notification coalescing notifications of the same type for the same recipients.
+ * Digest lists notifications up to the limit with resources affected by them, the rest is only counted.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@ToString
+public class NotificationDataDigest {
+
+    private NotificationType type;
+
+    private String text;
+
+    private int count;
+
+    private int notListedCount;
+
+    private List<Item> items;
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @ToString
+    public static class Item {
+
+        private Resource resource;
+
+        private UUID resourceUuid;
+
+        private String text;
+
+        private Object data;
+    }
+}
@@ -5,6 +5,7 @@ import com.czertainly.api.model.core.auth.Resource;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.util.List;
@@ -25,6 +26,9 @@ public class NotificationMessage {
 
     private List<NotificationRecipient> recipients;
 
+    @Setter
+    private MessageLane lane;
+
     public NotificationMessage(NotificationType type, Resource resource, UUID resourceUUID, List<NotificationRecipient> recipients, Object data) {
         this.type = type;
         this.resource = resource;
@@ -35,6 +39,6 @@ public class NotificationMessage {
 
     @Override
     public String toString() {
-        return String.format("NotificationMessage (%s, %s, %s, %s, %s)", type, resource, resourceUUID, recipients, data);
+        return String.format("NotificationMessage (%s, %s, %s, %s, %s, %s)", type, resource, resourceUUID, recipients, data, lane);
     }
 }
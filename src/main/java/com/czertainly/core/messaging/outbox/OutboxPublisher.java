@@ -0,0 +1,84 @@
+package com.czertainly.core.messaging.outbox;
+
+import com.czertainly.core.dao.entity.OutboxMessage;
+import com.czertainly.core.dao.repository.OutboxMessageRepository;
+import com.czertainly.core.messaging.producers.MessagingTransport;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+/**
+ * Publishes messages through the transactional outbox. Message is stored in the current transaction (or in its own
+ * transaction when there is none) and it is published by {@link OutboxRelay} after commit, so messages of rolled back
+ * transactions are never sent and callers do not wait for the broker. When outbox is disabled, messages are sent directly.
+ */
+@Component
+@ConditionalOnProperty(name = MessagingTransport.TRANSPORT_PROPERTY, havingValue = "rabbitmq", matchIfMissing = true)
+public class OutboxPublisher implements MessagingTransport {
+
+    private final boolean enabled;
+
+    private OutboxMessageRepository outboxMessageRepository;
+    private OutboxRelay outboxRelay;
+    private RabbitTemplate rabbitTemplate;
+    private MessageConverter messageConverter;
+
+    public OutboxPublisher(@Value("${messaging.outbox.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Autowired
+    public void setOutboxMessageRepository(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    @Autowired
+    public void setOutboxRelay(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    @Autowired
+    public void setRabbitTemplate(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Autowired
+    public void setMessageConverter(@Qualifier("jsonMessageConverter") MessageConverter messageConverter) {
+        this.messageConverter = messageConverter;
+    }
+
+    @Override
+    public void publish(String exchange, String routingKey, Object message) {
+        if (!enabled) {
+            rabbitTemplate.convertAndSend(exchange, routingKey, message);
+            return;
+        }
+
+        // message is converted now, so it is sent in the same form as it would be sent directly
+        Message amqpMessage = messageConverter.toMessage(message, new MessageProperties());
+        Object typeId = amqpMessage.getMessageProperties().getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setExchange(exchange);
+        outboxMessage.setRoutingKey(routingKey);
+        outboxMessage.setContentType(amqpMessage.getMessageProperties().getContentType());
+        outboxMessage.setTypeId(typeId == null ? null : typeId.toString());
+        outboxMessage.setPayload(new String(amqpMessage.getBody(), StandardCharsets.UTF_8));
+        outboxMessage.setCreatedAt(now);
+        outboxMessage.setNextAttemptAt(now);
+        outboxMessageRepository.save(outboxMessage);
+
+        outboxRelay.publishAfterCommit();
+    }
+}
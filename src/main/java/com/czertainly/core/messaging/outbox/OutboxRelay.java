@@ -0,0 +1,214 @@
+package com.czertainly.core.messaging.outbox;
+
+import com.czertainly.core.dao.entity.OutboxMessage;
+import com.czertainly.core.dao.repository.OutboxMessageRepository;
+import com.czertainly.core.messaging.producers.MessagingTransport;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relays messages from the transactional outbox to the broker. Relay is started after commit of transaction that
+ * stored messages and periodically for messages whose publishing failed. Messages are published in batches and
+ * when publisher confirms are enabled, the batch waits for confirms of all its messages. Confirmed messages are removed
+ * from the outbox, failed ones are retried with exponential backoff. Messages are locked while being published,
+ * so relays of multiple instances do not publish the same message.
+ */
+@Component
+@ConditionalOnProperty(name = MessagingTransport.TRANSPORT_PROPERTY, havingValue = "rabbitmq", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final long maxRetryDelaySeconds;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean publishRequested = new AtomicBoolean();
+
+    private OutboxMessageRepository outboxMessageRepository;
+    private RabbitTemplate rabbitTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    public OutboxRelay(@Value("${messaging.outbox.enabled:true}") boolean enabled, @Value("${messaging.outbox.batch-size:100}") int batchSize,
+                       @Value("${messaging.outbox.confirm-timeout:5000}") long confirmTimeoutMillis, @Value("${messaging.outbox.max-retry-delay:300}") long maxRetryDelaySeconds) {
+        this.enabled = enabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.maxRetryDelaySeconds = maxRetryDelaySeconds;
+    }
+
+    @Autowired
+    public void setOutboxMessageRepository(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    @Autowired
+    public void setRabbitTemplate(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Requests publishing of pending messages after commit of current transaction or immediately if there is none
+     */
+    public void publishAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestPublish();
+                }
+            });
+        } else {
+            requestPublish();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${messaging.outbox.relay-interval:5000}", fixedDelayString = "${messaging.outbox.relay-interval:5000}")
+    public void relayPendingMessages() {
+        requestPublish();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void requestPublish() {
+        // requests are coalesced, single run publishes all pending messages
+        if (enabled && publishRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                publishRequested.set(false);
+                publishPendingMessages();
+            });
+        }
+    }
+
+    void publishPendingMessages() {
+        try {
+            Integer processed;
+            do {
+                processed = transactionTemplate.execute(status -> publishBatch());
+            } while (processed != null && processed >= batchSize);
+        } catch (Exception e) {
+            logger.warn("Unable to relay messages from outbox: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OutboxMessage> messages = outboxMessageRepository.findByNextAttemptAtLessThanEqualOrderByCreatedAtAsc(now, PageRequest.of(0, batchSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        boolean publisherConfirms = connectionFactory != null && connectionFactory.isPublisherConfirms();
+        Map<OutboxMessage, CorrelationData> sentMessages = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            CorrelationData correlationData = new CorrelationData(message.getUuid().toString());
+            try {
+                rabbitTemplate.send(message.getExchange(), message.getRoutingKey(), toAmqpMessage(message), correlationData);
+                sentMessages.put(message, correlationData);
+            } catch (AmqpException e) {
+                scheduleRetry(message, now, e.getMessage());
+            }
+        }
+
+        List<OutboxMessage> publishedMessages = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + confirmTimeoutMillis;
+        for (Map.Entry<OutboxMessage, CorrelationData> sentMessage : sentMessages.entrySet()) {
+            if (!publisherConfirms) {
+                publishedMessages.add(sentMessage.getKey());
+                continue;
+            }
+            try {
+                CorrelationData.Confirm confirm = sentMessage.getValue().getFuture().get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                if (confirm.isAck()) {
+                    publishedMessages.add(sentMessage.getKey());
+                } else {
+                    scheduleRetry(sentMessage.getKey(), now, "Message was not acknowledged by broker: " + confirm.getReason());
+                }
+            } catch (TimeoutException e) {
+                scheduleRetry(sentMessage.getKey(), now, "Message was not confirmed by broker in time");
+            } catch (ExecutionException e) {
+                scheduleRetry(sentMessage.getKey(), now, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduleRetry(sentMessage.getKey(), now, "Relay was interrupted");
+            }
+        }
+
+        outboxMessageRepository.deleteAllInBatch(publishedMessages);
+        if (publishedMessages.size() < messages.size()) {
+            logger.warn("Published {} of {} messages from outbox, remaining messages will be retried", publishedMessages.size(), messages.size());
+        } else {
+            logger.debug("Published {} messages from outbox", publishedMessages.size());
+        }
+        return messages.size();
+    }
+
+    private void scheduleRetry(OutboxMessage message, OffsetDateTime now, String error) {
+        int attempts = message.getAttempts() + 1;
+        long retryDelaySeconds = Math.min(1L << Math.min(attempts, 30), maxRetryDelaySeconds);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(now.plusSeconds(retryDelaySeconds));
+        message.setLastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+        logger.debug("Publishing of outbox message {} failed (attempt {}), next attempt in {} seconds: {}", message.getUuid(), attempts, retryDelaySeconds, error);
+    }
+
+    private static Message toAmqpMessage(OutboxMessage outboxMessage) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(outboxMessage.getContentType());
+        messageProperties.setContentEncoding(StandardCharsets.UTF_8.name());
+        messageProperties.setMessageId(outboxMessage.getUuid().toString());
+        if (outboxMessage.getTypeId() != null) {
+            messageProperties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getTypeId());
+        }
+        return new Message(outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8), messageProperties);
+    }
+}
@@ -2,22 +2,26 @@ package com.czertainly.core.messaging.producers;
 
 import com.czertainly.core.messaging.configuration.RabbitMQConstants;
 import com.czertainly.core.messaging.model.ActionMessage;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.czertainly.core.messaging.model.MessageLane;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ActionProducer {
 
-    private RabbitTemplate rabbitTemplate;
+    private MessagingTransport messagingTransport;
 
     @Autowired
-    public void setRabbitTemplate(final RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public void setMessagingTransport(final MessagingTransport messagingTransport) {
+        this.messagingTransport = messagingTransport;
     }
 
     public void produceMessage(final ActionMessage actionMessage) {
-        rabbitTemplate.convertAndSend(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.ACTION_ROUTING_KEY, actionMessage);
+        if (actionMessage.getLane() == null) {
+            actionMessage.setLane(MessageLaneContext.current());
+        }
+        String routingKey = actionMessage.getLane() == MessageLane.BULK ? RabbitMQConstants.ACTION_BULK_ROUTING_KEY : RabbitMQConstants.ACTION_ROUTING_KEY;
+        messagingTransport.publish(RabbitMQConstants.EXCHANGE_NAME, routingKey, actionMessage);
     }
 
 }
@@ -0,0 +1,95 @@
+package com.czertainly.core.messaging.producers;
+
+import com.czertainly.core.messaging.model.MessageLane;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Lane of messages produced by the current thread. The lane is set explicitly by producers of the messages,
+ * discovery, scheduled jobs and bulk operations produce their messages in the bulk lane, single user operations
+ * and listener processing interactive message in the interactive lane. Async tasks inherit the lane explicitly
+ * set when they were submitted, otherwise their messages are bulk.
+ * When the lane is not set, messages produced while handling HTTP request are interactive and others are bulk.
+ */
+public final class MessageLaneContext {
+
+    private static final ThreadLocal<MessageLane> currentLane = new ThreadLocal<>();
+
+    private MessageLaneContext() {
+
+    }
+
+    public static MessageLane current() {
+        MessageLane lane = currentLane.get();
+        if (lane != null) {
+            return lane;
+        }
+        return RequestContextHolder.getRequestAttributes() != null ? MessageLane.INTERACTIVE : MessageLane.BULK;
+    }
+
+    /**
+     * Returns lane set explicitly for the current thread
+     *
+     * @return lane of messages or null if the lane is not set
+     */
+    public static MessageLane explicitLane() {
+        return currentLane.get();
+    }
+
+    /**
+     * Sets lane of messages produced by the current thread
+     *
+     * @param lane lane of messages, lane is resolved from the current thread when null
+     * @return previous lane to be restored by {@link #restore(MessageLane)}
+     */
+    public static MessageLane enter(MessageLane lane) {
+        MessageLane previousLane = currentLane.get();
+        currentLane.set(lane);
+        return previousLane;
+    }
+
+    public static void restore(MessageLane previousLane) {
+        if (previousLane == null) {
+            currentLane.remove();
+        } else {
+            currentLane.set(previousLane);
+        }
+    }
+
+    /**
+     * Runs the task with lane of messages produced by the task and restores the previous lane afterwards
+     *
+     * @param lane lane of messages produced by the task
+     * @param task task to run
+     */
+    public static <E extends Exception> void runAs(MessageLane lane, LaneTask<E> task) throws E {
+        MessageLane previousLane = enter(lane);
+        try {
+            task.run();
+        } finally {
+            restore(previousLane);
+        }
+    }
+
+    /**
+     * Calls the task with lane of messages produced by the task and restores the previous lane afterwards
+     *
+     * @param lane lane of messages produced by the task
+     * @param task task to call
+     * @return result of the task
+     */
+    public static <T> T callAs(MessageLane lane, Callable<T> task) throws Exception {
+        MessageLane previousLane = enter(lane);
+        try {
+            return task.call();
+        } finally {
+            restore(previousLane);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LaneTask<E extends Exception> {
+        void run() throws E;
+    }
+}
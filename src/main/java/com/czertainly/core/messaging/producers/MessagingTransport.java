@@ -0,0 +1,17 @@
+package com.czertainly.core.messaging.producers;
+
+/**
+ * Transport of messages produced by Core to its listeners. Message is published to exchange with routing key and it is
+ * delivered to listener of the queue bound with that routing key. Transport is selected by property {@code messaging.transport}:
+ * <ul>
+ *     <li>{@code rabbitmq} (default) - messages are published to RabbitMQ through the transactional outbox</li>
+ *     <li>{@code local} - messages are delivered to listeners in the same JVM without broker</li>
+ * </ul>
+ * In both cases message produced within transaction is delivered only after the transaction is committed.
+ */
+public interface MessagingTransport {
+
+    String TRANSPORT_PROPERTY = "messaging.transport";
+
+    void publish(String exchange, String routingKey, Object message);
+}
@@ -10,6 +10,7 @@ import com.czertainly.api.model.core.auth.UserProfileDto;
 import com.czertainly.api.model.core.certificate.CertificateDto;
 import com.czertainly.api.model.core.certificate.CertificateValidationStatus;
 import com.czertainly.core.messaging.configuration.RabbitMQConstants;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationMessage;
 import com.czertainly.core.messaging.model.NotificationRecipient;
 import com.czertainly.core.model.auth.ResourceAction;
@@ -17,7 +18,6 @@ import com.czertainly.core.security.authn.client.UserManagementApiClient;
 import com.czertainly.core.util.AuthHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -29,13 +29,13 @@ public class NotificationProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationProducer.class);
 
-    private RabbitTemplate rabbitTemplate;
+    private MessagingTransport messagingTransport;
 
     private UserManagementApiClient userManagementApiClient;
 
     @Autowired
-    public void setRabbitTemplate(final RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public void setMessagingTransport(final MessagingTransport messagingTransport) {
+        this.messagingTransport = messagingTransport;
     }
 
     @Autowired
@@ -47,7 +47,11 @@ public class NotificationProducer {
         if (notificationMessage.getRecipients() == null || notificationMessage.getRecipients().isEmpty()) {
             logger.warn("Recipients for notification {} is empty. Message: {}", notificationMessage.getType(), notificationMessage);
         } else {
-            rabbitTemplate.convertAndSend(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.NOTIFICATION_ROUTING_KEY, notificationMessage);
+            if (notificationMessage.getLane() == null) {
+                notificationMessage.setLane(MessageLaneContext.current());
+            }
+            String routingKey = notificationMessage.getLane() == MessageLane.BULK ? RabbitMQConstants.NOTIFICATION_BULK_ROUTING_KEY : RabbitMQConstants.NOTIFICATION_ROUTING_KEY;
+            messagingTransport.publish(RabbitMQConstants.EXCHANGE_NAME, routingKey, notificationMessage);
         }
     }
 
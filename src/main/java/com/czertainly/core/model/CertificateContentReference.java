@@ -0,0 +1,10 @@
+package com.czertainly.core.model;
+
+/**
+ * Reference of inventory certificate to its content, resolved by fingerprint without loading the content
+ *
+ * @param fingerprint          fingerprint of the certificate
+ * @param certificateContentId ID of the certificate content
+ */
+public record CertificateContentReference(String fingerprint, Long certificateContentId) {
+}
@@ -0,0 +1,130 @@
+package com.czertainly.core.security.authn;
+
+import com.czertainly.core.model.auth.AuthenticationRequestDto;
+import com.czertainly.core.security.authn.client.AuthenticationInfo;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of authentication results of the authentication service.
+ * Results are indexed by SHA-256 digest of presented credentials (client certificate, token, system username and user UUID),
+ * so credentials themselves are never kept in memory of the cache. Entries expire after configured TTL and whole cache
+ * is invalidated on every change of users, roles or permissions done through this instance.
+ * Result loaded concurrently with invalidation is not cached.
+ */
+@Component
+public class AuthenticationCache {
+
+    protected final Log logger = LogFactory.getLog(this.getClass());
+
+    private static final char CREDENTIALS_SEPARATOR = '\u0000';
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, CachedAuthentication> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthenticationCache(@Value("${auth.cache.ttl:60}") long ttlSeconds, @Value("${auth.cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public AuthenticationInfo getAuthenticationInfo(AuthenticationRequestDto credentials, Supplier<AuthenticationInfo> authenticator) {
+        if (ttlMillis <= 0 || maxSize <= 0 || credentials == null) {
+            return authenticator.get();
+        }
+
+        String key = getCredentialsKey(credentials);
+        CachedAuthentication cached = entries.get(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            logger.trace("Authentication result found in cache.");
+            return cached.authenticationInfo();
+        }
+
+        long loadGeneration = generation.get();
+        AuthenticationInfo authenticationInfo = authenticator.get();
+        store(key, new CachedAuthentication(authenticationInfo, System.currentTimeMillis() + ttlMillis), loadGeneration);
+
+        return authenticationInfo;
+    }
+
+    /**
+     * Loads authentication result and replaces the cached one, used to keep frequently used principals
+     * in the cache without waiting for authentication on expiration
+     */
+    public void refreshAuthenticationInfo(AuthenticationRequestDto credentials, Supplier<AuthenticationInfo> authenticator) {
+        if (ttlMillis <= 0 || maxSize <= 0 || credentials == null) {
+            return;
+        }
+
+        long loadGeneration = generation.get();
+        AuthenticationInfo authenticationInfo = authenticator.get();
+        store(getCredentialsKey(credentials), new CachedAuthentication(authenticationInfo, System.currentTimeMillis() + ttlMillis), loadGeneration);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+        logger.debug("Authentication cache invalidated.");
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void store(String key, CachedAuthentication cached, long loadGeneration) {
+        if (cached.authenticationInfo() == null) {
+            return;
+        }
+        if (!entries.containsKey(key) && entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= maxSize) {
+                logger.trace("Authentication cache is full, result is not cached.");
+                return;
+            }
+        }
+
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(key, cached);
+        // invalidated while storing, result could be loaded before the change
+        if (generation.get() != loadGeneration) {
+            entries.remove(key, cached);
+        }
+    }
+
+    private static String getCredentialsKey(AuthenticationRequestDto credentials) {
+        StringBuilder builder = new StringBuilder();
+        for (String credential : new String[]{credentials.getCertificateContent(), credentials.getAuthenticationToken(), credentials.getSystemUsername(), credentials.getUserUuid()}) {
+            // distinguish missing credential from the empty one
+            builder.append(credential == null ? "-" : "+" + credential).append(CREDENTIALS_SEPARATOR);
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(AuthenticationInfo authenticationInfo, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
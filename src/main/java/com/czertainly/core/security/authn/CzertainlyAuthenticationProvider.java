@@ -1,5 +1,6 @@
 package com.czertainly.core.security.authn;
 
+import com.czertainly.core.model.auth.AuthenticationRequestDto;
 import com.czertainly.core.security.authn.client.AuthenticationInfo;
 import com.czertainly.core.security.authn.client.CzertainlyAuthenticationClient;
 import org.apache.commons.logging.Log;
@@ -20,16 +21,19 @@ public class CzertainlyAuthenticationProvider implements AuthenticationProvider
     protected final Log logger = LogFactory.getLog(this.getClass());
 
     private final CzertainlyAuthenticationClient authClient;
+    private final AuthenticationCache authenticationCache;
 
-    public CzertainlyAuthenticationProvider(@Autowired CzertainlyAuthenticationClient authClient) {
+    public CzertainlyAuthenticationProvider(@Autowired CzertainlyAuthenticationClient authClient, @Autowired AuthenticationCache authenticationCache) {
         this.authClient = authClient;
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         CzertainlyAuthenticationRequest authRequest = (CzertainlyAuthenticationRequest) authentication;
         logger.trace("Going to authenticate users against the Czertainly Authentication Service.");
-        AuthenticationInfo authInfo = authClient.authenticate(authRequest.getHeaders());
+        AuthenticationRequestDto authPayload = authClient.getAuthPayload(authRequest.getHeaders());
+        AuthenticationInfo authInfo = authenticationCache.getAuthenticationInfo(authPayload, () -> authClient.authenticate(authPayload));
 
         if(authInfo.isAnonymous()) {
             logger.trace(String.format("User not identified, using anonymous."));
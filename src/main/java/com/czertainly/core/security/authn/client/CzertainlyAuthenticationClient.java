@@ -1,5 +1,6 @@
 package com.czertainly.core.security.authn.client;
 
+import com.czertainly.core.config.PooledWebClientFactory;
 import com.czertainly.core.model.auth.AuthenticationRequestDto;
 import com.czertainly.core.security.authn.CzertainlyAuthenticationException;
 import com.czertainly.core.security.authn.client.dto.AuthenticationResponseDto;
@@ -17,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
@@ -40,26 +42,40 @@ public class CzertainlyAuthenticationClient extends CzertainlyBaseAuthentication
     @Value("${auth.token.header-name}")
     private String authTokenHeaderName;
 
+    private volatile WebClient pooledClient;
+
     public CzertainlyAuthenticationClient(@Autowired ObjectMapper objectMapper, @Value("${auth-service.base-url}") String customAuthServiceBaseUrl) {
 
         this.objectMapper = objectMapper;
         this.customAuthServiceBaseUrl = customAuthServiceBaseUrl;
     }
 
+    @Autowired(required = false)
+    public void setWebClientFactory(PooledWebClientFactory webClientFactory) {
+        // pooled client is built once when the bean is created, not lazily by concurrent requests
+        this.pooledClient = webClientFactory.createWebClientBuilder("auth-service", customAuthServiceBaseUrl)
+                .filter(ExchangeFilterFunction.ofResponseProcessor(getHttpExceptionHandler()))
+                .build();
+    }
+
     public AuthenticationInfo authenticate(HttpHeaders headers) throws AuthenticationException {
+        logger.trace(
+                String.format(
+                        "Calling authentication service with the following headers [%s].",
+                        headers.entrySet().stream()
+                                .map(e -> String.format("%s='%s'", e.getKey(), String.join(", ", e.getValue())))
+                                .collect(Collectors.joining(","))
+                )
+        );
+        return authenticate(getAuthPayload(headers));
+    }
+
+    public AuthenticationInfo authenticate(AuthenticationRequestDto authPayload) throws AuthenticationException {
         try {
-            logger.trace(
-                    String.format(
-                            "Calling authentication service with the following headers [%s].",
-                            headers.entrySet().stream()
-                                    .map(e -> String.format("%s='%s'", e.getKey(), String.join(", ", e.getValue())))
-                                    .collect(Collectors.joining(","))
-                    )
-            );
-            WebClient.RequestHeadersSpec<?> request = getClient(customAuthServiceBaseUrl)
+            WebClient.RequestHeadersSpec<?> request = getAuthenticationClient()
                     .post()
                     .uri("/auth")
-                    .body(Mono.just(getAuthPayload(headers)), AuthenticationRequestDto.class)
+                    .body(Mono.just(authPayload), AuthenticationRequestDto.class)
                     .accept(MediaType.APPLICATION_JSON);
 
             AuthenticationResponseDto response = request
@@ -76,7 +92,12 @@ public class CzertainlyAuthenticationClient extends CzertainlyBaseAuthentication
         }
     }
 
-    private AuthenticationRequestDto getAuthPayload(HttpHeaders headers) {
+    private WebClient getAuthenticationClient() {
+        WebClient client = pooledClient;
+        return client != null ? client : getClient(customAuthServiceBaseUrl);
+    }
+
+    public AuthenticationRequestDto getAuthPayload(HttpHeaders headers) {
         AuthenticationRequestDto requestDto = new AuthenticationRequestDto();
         final List<String> certificateHeaderNameList = headers.get(certificateHeaderName);
         if( certificateHeaderNameList != null) {
@@ -46,11 +46,14 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
     private final GroupAssociationRepository groupAssociationRepository;
     private final OwnerAssociationRepository ownerAssociationRepository;
 
-    public ExternalMethodAuthorizationVoter(@Autowired OpaClient opaClient, @Autowired ObjectMapper om, @Autowired GroupAssociationRepository groupAssociationRepository, @Autowired OwnerAssociationRepository ownerAssociationRepository) {
+    private final LocalPermissionEvaluator localPermissionEvaluator;
+
+    public ExternalMethodAuthorizationVoter(@Autowired OpaClient opaClient, @Autowired ObjectMapper om, @Autowired GroupAssociationRepository groupAssociationRepository, @Autowired OwnerAssociationRepository ownerAssociationRepository, @Autowired LocalPermissionEvaluator localPermissionEvaluator) {
         this.opaClient = opaClient;
         this.om = om;
         this.groupAssociationRepository = groupAssociationRepository;
         this.ownerAssociationRepository = ownerAssociationRepository;
+        this.localPermissionEvaluator = localPermissionEvaluator;
     }
 
     @Override
@@ -60,7 +63,7 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
 
     @Override
     protected int voteInternal(CzertainlyAuthenticationToken auth, MethodInvocation methodInvocation, List<ExternalAuthorizationConfigAttribute> attributes) {
-        int result = this.vote(auth.getPrincipal().getRawData(), methodInvocation, attributes);
+        int result = this.vote(auth.getPrincipal().getUserUuid(), auth.getPrincipal().getRawData(), methodInvocation, attributes);
         if (result == ACCESS_DENIED) {
             return voteGroupOwnerAssociations(auth.getPrincipal(), methodInvocation, attributes);
         }
@@ -70,7 +73,7 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
     @Override
     protected int voteInternal(AnonymousAuthenticationToken authenticationToken, MethodInvocation methodInvocation, List<ExternalAuthorizationConfigAttribute> attributes) {
         try {
-            return this.vote(om.writeValueAsString(new AnonymousPrincipal(authenticationToken.getName())), methodInvocation, attributes);
+            return this.vote(null, om.writeValueAsString(new AnonymousPrincipal(authenticationToken.getName())), methodInvocation, attributes);
         } catch (JsonProcessingException e) {
             logger.error("An error occurred during voting. Access will be denied.", e);
             return ACCESS_DENIED;
@@ -122,20 +125,26 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
             properties.put(NAME_PROP_NAME, Resource.GROUP.getCode());
             properties.put(ACTION_PROP_NAME, ResourceAction.MEMBERS.getCode());
 
-            for (SecuredUUID objectUuid : objectUUIDs) {
-                // load groups associations
-                List<String> groupUuids = groupAssociationRepository.findByResourceAndObjectUuid(resource, objectUuid.getValue()).stream().map(g -> g.getGroupUuid().toString()).toList();
-                if (groupUuids.isEmpty()) {
-                    return ACCESS_DENIED;
-                }
-                OpaRequestedResource opaRequest = new OpaRequestedResource(properties);
-                opaRequest.setObjectUUIDs(groupUuids);
+            // objects without UUID cannot have groups assigned
+            if (objectUUIDs.stream().anyMatch(u -> u.getValue() == null)) {
+                return ACCESS_DENIED;
+            }
 
-                OpaResourceAccessResult result = this.checkAccess(principal.getRawData(), opaRequest);
-                if (!result.isAuthorized()) {
-                    logger.trace(String.format("Access to the method '%s' object has been denied by missing group member permissions.", methodInvocation.getMethod().getName()));
-                    return ACCESS_DENIED;
-                }
+            // load groups associations of all objects at once, every object needs to have some group assigned
+            Set<UUID> objectUuids = objectUUIDs.stream().map(SecuredUUID::getValue).collect(Collectors.toSet());
+            List<GroupAssociation> groupAssociations = groupAssociationRepository.findByResourceAndObjectUuidIn(resource, objectUuids);
+            if (groupAssociations.stream().map(GroupAssociation::getObjectUuid).distinct().count() != objectUuids.size()) {
+                return ACCESS_DENIED;
+            }
+
+            // member permissions are required for all groups of all objects, so they are evaluated in single request
+            OpaRequestedResource opaRequest = new OpaRequestedResource(properties);
+            opaRequest.setObjectUUIDs(groupAssociations.stream().map(g -> g.getGroupUuid().toString()).distinct().toList());
+
+            OpaResourceAccessResult result = this.checkAccess(principal.getUserUuid(), principal.getRawData(), opaRequest);
+            if (!result.isAuthorized()) {
+                logger.trace(String.format("Access to the method '%s' object has been denied by missing group member permissions.", methodInvocation.getMethod().getName()));
+                return ACCESS_DENIED;
             }
 
             logger.trace(String.format("Access to the method '%s' object has been granted by group member permissions.", methodInvocation.getMethod().getName()));
@@ -145,7 +154,7 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
         return ACCESS_DENIED;
     }
 
-    private int vote(String principal, MethodInvocation methodInvocation, List<ExternalAuthorizationConfigAttribute> attributes) {
+    private int vote(String userUuid, String principal, MethodInvocation methodInvocation, List<ExternalAuthorizationConfigAttribute> attributes) {
         try {
             Map<String, String> properties = attributes
                     .stream()
@@ -154,7 +163,7 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
 
             Optional<ParentUUIDGetter> parentUUIDGetter = getParentUUIDGetter(attributes);
             if (!Resource.NONE.getCode().equals(properties.get(PARENT_NAME_PROP_NAME))) {
-                int result = voteResource(principal, methodInvocation, properties, parentUUIDGetter, true);
+                int result = voteResource(userUuid, principal, methodInvocation, properties, parentUUIDGetter, true);
                 if (result == ACCESS_DENIED) {
                     setDeniedResource(properties.get(PARENT_NAME_PROP_NAME));
                     setDeniedResourceAction(properties.get(PARENT_ACTION_PROP_NAME));
@@ -162,14 +171,14 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
                 }
             }
 
-            return voteResource(principal, methodInvocation, properties, parentUUIDGetter, false);
+            return voteResource(userUuid, principal, methodInvocation, properties, parentUUIDGetter, false);
         } catch (Exception e) {
             logger.error(String.format("Unable verify access to the method '%s'. Voting to deny access.", methodInvocation.getMethod().getName()), e);
             return ACCESS_DENIED;
         }
     }
 
-    private int voteResource(String principal, MethodInvocation methodInvocation, Map<String, String> properties, Optional<ParentUUIDGetter> parentUUIDGetter, boolean parentResource) {
+    private int voteResource(String userUuid, String principal, MethodInvocation methodInvocation, Map<String, String> properties, Optional<ParentUUIDGetter> parentUUIDGetter, boolean parentResource) {
         Map<String, String> voteProperties = properties;
 
         if (parentResource) {
@@ -208,7 +217,7 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
             resource.setObjectUUIDs(uuids);
         }
 
-        OpaResourceAccessResult result = this.checkAccess(principal, resource);
+        OpaResourceAccessResult result = this.checkAccess(userUuid, principal, resource);
         if (result.isAuthorized()) {
             logger.trace(
                     String.format(
@@ -231,6 +240,14 @@ public class ExternalMethodAuthorizationVoter extends AbstractExternalAuthorizat
         return true;
     }
 
+    private OpaResourceAccessResult checkAccess(String userUuid, String principal, OpaRequestedResource resource) {
+        if (localPermissionEvaluator.isGranted(userUuid, resource)) {
+            logger.trace("Access has been granted by local snapshot of user permissions.");
+            return new OpaResourceAccessResult(true, List.of());
+        }
+        return checkAccess(principal, resource);
+    }
+
     protected OpaResourceAccessResult checkAccess(String principal, OpaRequestedResource resource) {
         try {
             return this.opaClient.checkResourceAccess(OpaPolicy.METHOD.policyName, resource, principal, new OpaRequestDetails(null));
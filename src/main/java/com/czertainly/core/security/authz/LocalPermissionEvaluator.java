@@ -0,0 +1,160 @@
+package com.czertainly.core.security.authz;
+
+import com.czertainly.api.model.core.auth.ObjectPermissionsDto;
+import com.czertainly.api.model.core.auth.ResourcePermissionsDto;
+import com.czertainly.api.model.core.auth.SubjectPermissionsDto;
+import com.czertainly.core.security.authn.client.UserManagementApiClient;
+import com.czertainly.core.security.authz.opa.dto.OpaRequestedResource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-process evaluator of method authorization decisions using snapshot of user permissions
+ * loaded from the authentication service. Snapshot is compiled to lookup maps of allowed resource actions
+ * and objects allow and deny lists and it is refreshed after TTL or on changes of permissions.
+ * Evaluator only grants access in unambiguous cases (resource action allowed and objects not denied or objects
+ * explicitly allowed), all other requests (denies, parent objects, policies it cannot express) are left to OPA.
+ */
+@Component
+public class LocalPermissionEvaluator {
+
+    protected final Log logger = LogFactory.getLog(this.getClass());
+
+    private static final String NAME_PROP_NAME = "name";
+    private static final String ACTION_PROP_NAME = "action";
+
+    private final UserManagementApiClient userManagementApiClient;
+
+    private final boolean enabled;
+    private final long snapshotTtlMillis;
+
+    private final Map<String, PermissionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public LocalPermissionEvaluator(@Autowired UserManagementApiClient userManagementApiClient, @Value("${auth.local-evaluator.enabled:false}") boolean enabled, @Value("${auth.local-evaluator.snapshot-ttl:60}") long snapshotTtlSeconds) {
+        this.userManagementApiClient = userManagementApiClient;
+        this.enabled = enabled;
+        this.snapshotTtlMillis = snapshotTtlSeconds * 1000;
+    }
+
+    /**
+     * Evaluates if access to requested resource is granted by permissions of the user
+     *
+     * @param userUuid UUID of the user
+     * @param resource requested resource with its properties and object UUIDs
+     * @return true if access is granted, false if access cannot be granted locally and decision is up to OPA
+     */
+    public boolean isGranted(String userUuid, OpaRequestedResource resource) {
+        if (!enabled || userUuid == null || resource.getProperties() == null || resource.getParentObjectUUIDs() != null) {
+            return false;
+        }
+
+        PermissionSnapshot snapshot = getSnapshot(userUuid);
+        return snapshot != null && snapshot.isGranted(resource.getProperties().get(NAME_PROP_NAME), resource.getProperties().get(ACTION_PROP_NAME), resource.getObjectUUIDs());
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshots.clear();
+        logger.debug("Local permission snapshots invalidated.");
+    }
+
+    private PermissionSnapshot getSnapshot(String userUuid) {
+        PermissionSnapshot snapshot = snapshots.get(userUuid);
+        if (snapshot != null && snapshot.expiresAt() > System.currentTimeMillis()) {
+            return snapshot;
+        }
+
+        long loadGeneration = generation.get();
+        try {
+            snapshot = PermissionSnapshot.compile(userManagementApiClient.getPermissions(userUuid), System.currentTimeMillis() + snapshotTtlMillis);
+        } catch (Exception e) {
+            logger.debug(String.format("Unable to load permissions of user %s, authorization is left to OPA: %s", userUuid, e.getMessage()));
+            return null;
+        }
+
+        if (generation.get() == loadGeneration) {
+            snapshots.put(userUuid, snapshot);
+            // invalidated while storing, snapshot could be loaded before the change
+            if (generation.get() != loadGeneration) {
+                snapshots.remove(userUuid, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    record PermissionSnapshot(boolean allowAllResources, Map<String, ResourcePermissions> resources, long expiresAt) {
+
+        static PermissionSnapshot compile(SubjectPermissionsDto permissions, long expiresAt) {
+            Map<String, ResourcePermissions> resources = new HashMap<>();
+            if (permissions.getResources() != null) {
+                for (ResourcePermissionsDto resourcePermissions : permissions.getResources()) {
+                    Map<String, Set<String>> objectsAllow = new HashMap<>();
+                    Map<String, Set<String>> objectsDeny = new HashMap<>();
+                    if (resourcePermissions.getObjects() != null) {
+                        for (ObjectPermissionsDto objectPermissions : resourcePermissions.getObjects()) {
+                            if (objectPermissions.getAllow() != null && !objectPermissions.getAllow().isEmpty()) {
+                                objectsAllow.put(objectPermissions.getUuid(), Set.copyOf(objectPermissions.getAllow()));
+                            }
+                            if (objectPermissions.getDeny() != null && !objectPermissions.getDeny().isEmpty()) {
+                                objectsDeny.put(objectPermissions.getUuid(), Set.copyOf(objectPermissions.getDeny()));
+                            }
+                        }
+                    }
+                    resources.put(resourcePermissions.getName(), new ResourcePermissions(
+                            Boolean.TRUE.equals(resourcePermissions.getAllowAllActions()),
+                            resourcePermissions.getActions() == null ? Set.of() : Set.copyOf(resourcePermissions.getActions()),
+                            objectsAllow,
+                            objectsDeny));
+                }
+            }
+            return new PermissionSnapshot(Boolean.TRUE.equals(permissions.getAllowAllResources()), resources, expiresAt);
+        }
+
+        boolean isGranted(String resourceName, String action, List<String> objectUuids) {
+            if (resourceName == null || action == null) {
+                return false;
+            }
+
+            ResourcePermissions resourcePermissions = resources.get(resourceName);
+            boolean actionAllowed = allowAllResources || (resourcePermissions != null && resourcePermissions.isActionAllowed(action));
+            if (objectUuids == null || objectUuids.isEmpty()) {
+                return actionAllowed && (resourcePermissions == null || resourcePermissions.objectsDeny().isEmpty());
+            }
+
+            for (String objectUuid : objectUuids) {
+                if (resourcePermissions != null && resourcePermissions.isObjectActionDenied(objectUuid, action)) {
+                    return false;
+                }
+                if (!actionAllowed && (resourcePermissions == null || !resourcePermissions.isObjectActionAllowed(objectUuid, action))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record ResourcePermissions(boolean allowAllActions, Set<String> actions, Map<String, Set<String>> objectsAllow, Map<String, Set<String>> objectsDeny) {
+
+        boolean isActionAllowed(String action) {
+            return allowAllActions || actions.contains(action);
+        }
+
+        boolean isObjectActionAllowed(String objectUuid, String action) {
+            Set<String> allow = objectsAllow.get(objectUuid);
+            return allow != null && allow.contains(action);
+        }
+
+        boolean isObjectActionDenied(String objectUuid, String action) {
+            Set<String> deny = objectsDeny.get(objectUuid);
+            return deny != null && deny.contains(action);
+        }
+    }
+}
@@ -103,13 +103,19 @@ public class ObjectFilterAspect {
         voteProperties.remove("parentName");
         voteProperties.remove("parentAction");
 
-        OpaObjectAccessResult result = obtainObjectAccess(auth, voteProperties);
+        Map<String, String> objectAccessProperties = voteProperties;
+        return SecurityResourceFilterMemo.resolve(auth.getPrincipal().getUserUuid(), Resource.findByCode(voteProperties.get("name")), ResourceAction.findByCode(voteProperties.get("action")),
+                () -> obtainResourceFilter(auth, objectAccessProperties));
+    }
+
+    private SecurityResourceFilter obtainResourceFilter(CzertainlyAuthenticationToken auth, Map<String, String> properties) {
+        OpaObjectAccessResult result = obtainObjectAccess(auth, properties);
 
         logger.trace(String.format("User has the following object access rights. %s", result.toString()));
 
         SecurityResourceFilter resourceFilter = SecurityResourceFilter.create();
-        resourceFilter.setResource(Resource.findByCode(voteProperties.get("name")));
-        resourceFilter.setResourceAction(ResourceAction.findByCode(voteProperties.get("action")));
+        resourceFilter.setResource(Resource.findByCode(properties.get("name")));
+        resourceFilter.setResourceAction(ResourceAction.findByCode(properties.get("action")));
         resourceFilter.addAllowedObjects(result.getAllowedObjects());
         resourceFilter.addDeniedObjects(result.getForbiddenObjects());
         resourceFilter.setAreOnlySpecificObjectsAllowed(!result.isActionAllowedForGroupOfObjects());
@@ -0,0 +1,94 @@
+package com.czertainly.core.security.authz;
+
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.model.auth.ResourceAction;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memo of security resource filters resolved within one HTTP request or one async task, so object access
+ * of the same user to the same resource and action is obtained from OPA only once (e.g. filter of main entity
+ * resolved by {@link ObjectFilterAspect} and filters of related resources loaded by services).
+ * Filters are stored in attributes of the current request, async tasks use their own memo scope opened
+ * by {@link #decorate(Runnable)}. Outside of request or task scope (messaging listeners, scheduled jobs)
+ * filters are always resolved.
+ */
+public final class SecurityResourceFilterMemo {
+
+    private static final String ATTRIBUTE_NAME = SecurityResourceFilterMemo.class.getName();
+
+    private static final ThreadLocal<Map<String, SecurityResourceFilter>> taskScope = new ThreadLocal<>();
+
+    private SecurityResourceFilterMemo() {
+
+    }
+
+    public static SecurityResourceFilter resolve(String userUuid, Resource resource, ResourceAction resourceAction, Supplier<SecurityResourceFilter> resolver) {
+        Map<String, SecurityResourceFilter> filters = userUuid == null ? null : getScopeFilters();
+        if (filters == null) {
+            return resolver.get();
+        }
+
+        String key = userUuid + ":" + resource.getCode() + ":" + resourceAction.getCode();
+        SecurityResourceFilter filter = filters.get(key);
+        if (filter == null) {
+            filter = resolver.get();
+            filters.put(key, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Wraps async task to resolve its security resource filters in own memo scope
+     *
+     * @param runnable task to be wrapped
+     * @return task with memo scope
+     */
+    public static Runnable decorate(Runnable runnable) {
+        return () -> {
+            Map<String, SecurityResourceFilter> previousScope = taskScope.get();
+            taskScope.set(new ConcurrentHashMap<>());
+            try {
+                runnable.run();
+            } finally {
+                if (previousScope == null) {
+                    taskScope.remove();
+                } else {
+                    taskScope.set(previousScope);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, SecurityResourceFilter> getScopeFilters() {
+        Map<String, SecurityResourceFilter> filters = taskScope.get();
+        if (filters != null) {
+            return filters;
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        try {
+            // request attributes are shared with async tasks submitted within the request
+            synchronized (requestAttributes) {
+                filters = (Map<String, SecurityResourceFilter>) requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+                if (filters == null) {
+                    filters = new ConcurrentHashMap<>();
+                    requestAttributes.setAttribute(ATTRIBUTE_NAME, filters, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+            return filters;
+        } catch (IllegalStateException e) {
+            // request has already completed
+            return null;
+        }
+    }
+}
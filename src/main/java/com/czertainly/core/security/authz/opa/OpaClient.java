@@ -1,5 +1,6 @@
 package com.czertainly.core.security.authz.opa;
 
+import com.czertainly.core.config.PooledWebClientFactory;
 import com.czertainly.core.security.authz.opa.dto.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
@@ -20,15 +21,25 @@ public class OpaClient {
 
     protected final Log logger = LogFactory.getLog(this.getClass());
 
-    private WebClient client;
+    private volatile WebClient client;
 
     ObjectMapper om;
 
     private final String opaBaseUrl;
 
-    public OpaClient(@Autowired ObjectMapper om, @Value("${opa.base-url}") String opaBaseUrl) {
+    private final OpaDecisionCache decisionCache;
+
+    public OpaClient(@Autowired ObjectMapper om, @Value("${opa.base-url}") String opaBaseUrl, @Autowired OpaDecisionCache decisionCache) {
         this.om = om;
         this.opaBaseUrl = opaBaseUrl;
+        this.decisionCache = decisionCache;
+        this.client = WebClient.builder().baseUrl(opaBaseUrl).build();
+    }
+
+    @Autowired(required = false)
+    public void setWebClientFactory(PooledWebClientFactory webClientFactory) {
+        // pooled client is built once when the bean is created, not lazily by concurrent requests
+        this.client = webClientFactory.createWebClientBuilder("opa", opaBaseUrl).build();
     }
 
     public OpaResourceAccessResult checkResourceAccess(String policyName, OpaRequestedResource resource, String principal, OpaRequestDetails details) throws AccessDeniedException {
@@ -53,27 +64,28 @@ public class OpaClient {
             ParameterizedTypeReference<OpaResultWrapper<T>> typeReference = ParameterizedTypeReference.forType(type);
             String body = om.writeValueAsString(new OpaRequestWrapper<>(new OpaInput(resource, principal, details)));
 
-            OpaResultWrapper<T> wrapper = getClient()
-                    .post()
-                    .uri("/v1/data/" + policyName)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(body)
-                    .retrieve()
-                    .bodyToMono(typeReference)
-                    .block();
-
-            if (wrapper == null) throw new RuntimeException("Empty response received from OPA.");
-            return wrapper.getResult();
+            return decisionCache.getDecision(policyName, type.getActualTypeArguments()[0], body, () -> evaluatePolicy(policyName, body, typeReference));
         } catch (Exception e) {
             throw new AccessDeniedException("An error occurred when calling OPA.", e);
         }
     }
 
+    private <T> T evaluatePolicy(String policyName, String body, ParameterizedTypeReference<OpaResultWrapper<T>> typeReference) {
+        OpaResultWrapper<T> wrapper = getClient()
+                .post()
+                .uri("/v1/data/" + policyName)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .block();
+
+        if (wrapper == null) throw new RuntimeException("Empty response received from OPA.");
+        return wrapper.getResult();
+    }
+
     public WebClient getClient() {
-        if (client == null) {
-            client = WebClient.builder().baseUrl(opaBaseUrl).build();
-        }
         return client;
     }
 
@@ -0,0 +1,140 @@
+package com.czertainly.core.security.authz.opa;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of OPA policy decisions with short TTL.
+ * Decisions are indexed by SHA-256 digest of policy name and serialized OPA input, which contains the principal
+ * with its roles, requested resource, action, object UUIDs and request details, so only identical requests share
+ * the decision. Whole cache is invalidated on changes of role permissions done through this instance.
+ * Decision loaded concurrently with invalidation is not cached. Hits and misses are exposed as metrics.
+ */
+@Component
+public class OpaDecisionCache {
+
+    protected final Log logger = LogFactory.getLog(this.getClass());
+
+    private static final String METRIC_REQUESTS = "opa.decision.cache.requests";
+    private static final String METRIC_SIZE = "opa.decision.cache.size";
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, CachedDecision> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OpaDecisionCache(@Value("${opa.cache.ttl:10}") long ttlSeconds, @Value("${opa.cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_REQUESTS, hits, AtomicLong::get).tag("result", "hit").description("Number of OPA decisions served from cache").register(meterRegistry);
+        FunctionCounter.builder(METRIC_REQUESTS, misses, AtomicLong::get).tag("result", "miss").description("Number of OPA decisions evaluated by OPA").register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, entries, Map::size).description("Number of cached OPA decisions").register(meterRegistry);
+    }
+
+    public <T> T getDecision(String policyName, Type resultType, String input, Supplier<T> evaluator) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return evaluator.get();
+        }
+
+        String key = getDecisionKey(policyName, resultType, input);
+        CachedDecision cached = entries.get(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            hits.incrementAndGet();
+            @SuppressWarnings("unchecked")
+            T decision = (T) cached.decision();
+            return decision;
+        }
+
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        T decision = evaluator.get();
+        store(key, new CachedDecision(decision, System.currentTimeMillis() + ttlMillis), loadGeneration);
+
+        return decision;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+        logger.debug("OPA decision cache invalidated.");
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0 : (double) hits.get() / requests;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void store(String key, CachedDecision cached, long loadGeneration) {
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= maxSize) {
+                logger.trace("OPA decision cache is full, decision is not cached.");
+                return;
+            }
+        }
+
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(key, cached);
+        // invalidated while storing, decision could be evaluated before the change
+        if (generation.get() != loadGeneration) {
+            entries.remove(key, cached);
+        }
+    }
+
+    private static String getDecisionKey(String policyName, Type resultType, String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(policyName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(resultType.getTypeName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
+    private record CachedDecision(Object decision, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
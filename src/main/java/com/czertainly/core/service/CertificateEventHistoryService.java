@@ -17,8 +17,15 @@ import java.util.UUID;
 public interface CertificateEventHistoryService {
     List<CertificateEventHistoryDto> getCertificateEventHistory(UUID uuid) throws NotFoundException;
     CertificateEventHistory getEventHistory(CertificateEvent event, CertificateEventStatus status, String message, String additionalInformation, Certificate certificate);
+    CertificateEventHistory getEventHistory(UUID certificateUuid, CertificateEvent event, CertificateEventStatus status, String message, String additionalInformation);
     void asyncSaveAllInBatch(List<CertificateEventHistory> certificateEventHistories);
 
+    /**
+     * Method to save certificate events in the current transaction using JDBC batch inserts.
+     * @param certificateEventHistories Certificate events to be saved
+     */
+    void saveAllInBatch(List<CertificateEventHistory> certificateEventHistories);
+
     /**
      * Method to add event into the Certificate history.
      * @param certificateUuid UUID of certificate that should record the event
@@ -6,6 +6,7 @@ import com.czertainly.api.model.client.certificate.*;
 import com.czertainly.api.model.client.dashboard.StatisticsDto;
 import com.czertainly.api.model.common.attribute.v2.BaseAttribute;
 import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
 import com.czertainly.api.model.core.certificate.*;
 import com.czertainly.api.model.core.enums.CertificateRequestFormat;
 import com.czertainly.api.model.core.location.LocationDto;
@@ -163,6 +164,17 @@ public interface CertificateService extends ResourceExtensionService  {
          */
     void bulkUpdateCertificateObjects(SecurityFilter filter, MultipleCertificateObjectUpdateDto request) throws NotFoundException;
 
+    /**
+     * Method to replace content of custom attribute of multiple certificates at once
+     *
+     * @param filter                Security filter
+     * @param certificateUuids      UUIDs of certificates to update, when empty, certificates are selected by search filters
+     * @param filters               Search filters selecting certificates to update
+     * @param attributeUuid         UUID of the custom attribute
+     * @param attributeContentItems Content of the attribute, null or empty to remove the content
+     */
+    void bulkUpdateCertificatesCustomAttributeContent(SecurityFilter filter, List<String> certificateUuids, List<SearchFilterRequestDto> filters, UUID attributeUuid, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException;
+
     /**
      * Function to update status of certificates by scheduled event
      *
@@ -27,6 +27,13 @@ public interface PermissionEvaluator {
      */
     void certificate(SecuredUUID uuid) throws NotFoundException;
 
+    /**
+     * Function to evaluate the permission to update the Certificate
+     * @param uuid UUID of the certificate
+     * @throws NotFoundException when the certificate with the requested UUID is not found
+     */
+    void certificateUpdate(SecuredUUID uuid) throws NotFoundException;
+
     /**
      * Function to evaluate the permission for the Authority Instance
      * @param uuid UUID of the authority instance
@@ -48,6 +48,21 @@ public interface ResourceService {
             List<BaseAttributeContent> request
     ) throws NotFoundException, AttributeException;
 
+    /**
+     * Update the attribute content for multiple objects of the resource at once
+     * @param resourceName Name of the resource
+     * @param objectUuids UUIDs of the Objects
+     * @param attributeUuid UUID of the custom attribute
+     * @param request Attribute content to be set to all objects, null or empty to remove the content
+     * @throws NotFoundException When the attribute or any of the objects is not found
+     */
+    void updateAttributeContentForObjects(
+            Resource resourceName,
+            List<SecuredUUID> objectUuids,
+            UUID attributeUuid,
+            List<BaseAttributeContent> request
+    ) throws NotFoundException, AttributeException;
+
 
     /**
      * Method to retrieve filter fields that can be used for creating rule conditions and actions
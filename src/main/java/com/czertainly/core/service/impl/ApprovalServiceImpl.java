@@ -21,9 +21,11 @@ import com.czertainly.core.dao.repository.ApprovalRecipientRepository;
 import com.czertainly.core.dao.repository.ApprovalRepository;
 import com.czertainly.core.dao.repository.ApprovalStepRepository;
 import com.czertainly.core.messaging.model.ActionMessage;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationRecipient;
 import com.czertainly.core.messaging.producers.ActionProducer;
 import com.czertainly.core.messaging.producers.EventProducer;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
@@ -320,7 +322,9 @@ public class ApprovalServiceImpl implements ApprovalService {
         actionMessage.setResourceUuid(approval.getObjectUuid());
         actionMessage.setResource(approval.getResource());
         actionMessage.setResourceAction(approval.getAction());
-        actionProducer.produceMessage(actionMessage);
+        // expired approvals are closed in bulk, approvals closed by decision of user keep lane of the current operation
+        MessageLane lane = approvalStatus == ApprovalStatusEnum.EXPIRED ? MessageLane.BULK : Objects.requireNonNullElse(MessageLaneContext.explicitLane(), MessageLane.INTERACTIVE);
+        MessageLaneContext.runAs(lane, () -> actionProducer.produceMessage(actionMessage));
 
         // send event of approval closed
         // TODO: produce only for certificates for now until refactoring and uniting of event history for all resources
@@ -330,9 +334,9 @@ public class ApprovalServiceImpl implements ApprovalService {
         }
 
         // send notification of closing approval
-        notificationProducer.produceNotificationApprovalClosed(approval.getResource(), approval.getObjectUuid(),
+        MessageLaneContext.runAs(lane, () -> notificationProducer.produceNotificationApprovalClosed(approval.getResource(), approval.getObjectUuid(),
                 NotificationRecipient.buildUserNotificationRecipient(approval.getCreatorUuid()),
-                approvalDto, approval.getCreatorUuid().toString());
+                approvalDto, approval.getCreatorUuid().toString()));
         logger.info(String.format("Notification that the approval was closed with status %s was sent. Approval UUID: %s", approvalStatus, approval.getUuid()));
     }
 
@@ -22,6 +22,7 @@ import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType
 import com.czertainly.api.model.common.attribute.v2.properties.CustomAttributeProperties;
 import com.czertainly.api.model.common.attribute.v2.properties.MetadataAttributeProperties;
 import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.attribute.engine.AttributeDefinitionCache;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.dao.entity.AttributeDefinition;
 import com.czertainly.core.dao.entity.Group;
@@ -49,6 +50,7 @@ public class AttributeServiceImpl implements AttributeService {
     private static final Logger logger = LoggerFactory.getLogger(AttributeServiceImpl.class);
 
     private AttributeEngine attributeEngine;
+    private AttributeDefinitionCache attributeDefinitionCache;
     private AttributeDefinitionRepository attributeDefinitionRepository;
 
     @Autowired
@@ -56,6 +58,11 @@ public class AttributeServiceImpl implements AttributeService {
         this.attributeEngine = attributeEngine;
     }
 
+    @Autowired
+    public void setAttributeDefinitionCache(AttributeDefinitionCache attributeDefinitionCache) {
+        this.attributeDefinitionCache = attributeDefinitionCache;
+    }
+
     @Autowired
     public void setAttributeDefinitionRepository(AttributeDefinitionRepository attributeDefinitionRepository) {
         this.attributeDefinitionRepository = attributeDefinitionRepository;
@@ -225,6 +232,7 @@ public class AttributeServiceImpl implements AttributeService {
         logger.debug("{} custom attribute with UUID: {}", enable ? "Enabling" : "Disabling", uuid);
         AttributeDefinition definition = attributeDefinitionRepository.findByUuidAndType(uuid, AttributeType.CUSTOM).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, uuid.toString()));
         definition.setEnabled(enable);
+        attributeDefinitionCache.invalidate();
         attributeDefinitionRepository.save(definition);
     }
 
@@ -271,6 +279,7 @@ public class AttributeServiceImpl implements AttributeService {
     public GlobalMetadataDefinitionDetailDto promoteConnectorMetadata(UUID uuid, UUID connectorUUid) throws NotFoundException {
         AttributeDefinition definition = attributeDefinitionRepository.findByConnectorUuidAndAttributeUuid(connectorUUid, uuid).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, uuid.toString()));
         definition.setGlobal(true);
+        attributeDefinitionCache.invalidate();
         attributeDefinitionRepository.save(definition);
         return getGlobalMetadata(definition.getUuid());
     }
@@ -280,6 +289,7 @@ public class AttributeServiceImpl implements AttributeService {
     public void demoteConnectorMetadata(UUID uuid) throws NotFoundException {
         AttributeDefinition definition = attributeDefinitionRepository.findByUuidAndTypeAndGlobalTrue(uuid, AttributeType.META).orElseThrow(() -> new NotFoundException(AttributeDefinition.class, uuid.toString()));
         definition.setGlobal(false);
+        attributeDefinitionCache.invalidate();
         attributeDefinitionRepository.save(definition);
     }
 
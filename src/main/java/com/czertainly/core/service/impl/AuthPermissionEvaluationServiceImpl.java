@@ -25,6 +25,10 @@ public class AuthPermissionEvaluationServiceImpl implements PermissionEvaluator
     @ExternalAuthorization(resource = Resource.CERTIFICATE, action = ResourceAction.DETAIL)
     public void certificate(SecuredUUID uuid) throws NotFoundException { }
 
+    @Override
+    @ExternalAuthorization(resource = Resource.CERTIFICATE, action = ResourceAction.UPDATE)
+    public void certificateUpdate(SecuredUUID uuid) throws NotFoundException { }
+
     @Override
     @ExternalAuthorization(resource = Resource.AUTHORITY, action = ResourceAction.DETAIL)
     public void authorityInstance(SecuredUUID uuid) throws NotFoundException { }
@@ -46,13 +46,18 @@ public class CertificateEventHistoryServiceImpl implements CertificateEventHisto
 
     @Override
     public void addEventHistory(UUID certificateUuid, CertificateEvent event, CertificateEventStatus status, String message, String additionalInformation) {
+        certificateEventHistoryRepository.save(getEventHistory(certificateUuid, event, status, message, additionalInformation));
+    }
+
+    @Override
+    public CertificateEventHistory getEventHistory(UUID certificateUuid, CertificateEvent event, CertificateEventStatus status, String message, String additionalInformation) {
         CertificateEventHistory history = new CertificateEventHistory();
         history.setEvent(event);
         history.setCertificateUuid(certificateUuid);
         history.setStatus(status);
         history.setAdditionalInformation(additionalInformation);
         history.setMessage(message);
-        certificateEventHistoryRepository.save(history);
+        return history;
     }
 
     @Override
@@ -75,6 +80,11 @@ public class CertificateEventHistoryServiceImpl implements CertificateEventHisto
     @Override
     @Async("threadPoolTaskExecutor")
     public void asyncSaveAllInBatch(List<CertificateEventHistory> certificateEventHistories) {
+        saveAllInBatch(certificateEventHistories);
+    }
+
+    @Override
+    public void saveAllInBatch(List<CertificateEventHistory> certificateEventHistories) {
         certificateEventHistoryRepository.saveAll(certificateEventHistories);
         logger.info("Inserted {} record into the database", certificateEventHistories.size());
     }
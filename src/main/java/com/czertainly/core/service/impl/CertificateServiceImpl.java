@@ -11,6 +11,7 @@ import com.czertainly.api.model.common.attribute.v2.AttributeType;
 import com.czertainly.api.model.common.attribute.v2.BaseAttribute;
 import com.czertainly.api.model.common.attribute.v2.DataAttribute;
 import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
 import com.czertainly.api.model.connector.v2.CertificateIdentificationRequestDto;
 import com.czertainly.api.model.connector.v2.CertificateIdentificationResponseDto;
 import com.czertainly.api.model.core.audit.ObjectType;
@@ -34,8 +35,10 @@ import com.czertainly.core.comparator.SearchFieldDataComparator;
 import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.dao.repository.*;
 import com.czertainly.core.enums.SearchFieldNameEnum;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationRecipient;
 import com.czertainly.core.messaging.producers.EventProducer;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.model.request.CertificateRequest;
@@ -375,6 +378,30 @@ public class CertificateServiceImpl implements CertificateService {
         }
     }
 
+    @Override
+    @AuditLogged(originator = ObjectType.FE, affected = ObjectType.CERTIFICATE, operation = OperationType.CHANGE)
+    @ExternalAuthorization(resource = Resource.CERTIFICATE, action = ResourceAction.UPDATE, parentResource = Resource.RA_PROFILE, parentAction = ResourceAction.DETAIL)
+    public void bulkUpdateCertificatesCustomAttributeContent(SecurityFilter filter, List<String> certificateUuids, List<SearchFilterRequestDto> filters, UUID attributeUuid, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException {
+        setupSecurityFilter(filter);
+        List<UUID> uuids = new ArrayList<>();
+        if (filters == null || filters.isEmpty() || (certificateUuids != null && !certificateUuids.isEmpty())) {
+            if (certificateUuids != null) {
+                for (String certificateUuidString : certificateUuids) {
+                    SecuredUUID certificateUuid = SecuredUUID.fromString(certificateUuidString);
+                    permissionEvaluator.certificateUpdate(certificateUuid);
+                    uuids.add(certificateUuid.getValue());
+                }
+            }
+        } else {
+            final List<UUID> objectUUIDs = attributeEngine.getResourceObjectUuidsByFilters(Resource.CERTIFICATE, filter, filters);
+            final BiFunction<Root<Certificate>, CriteriaBuilder, Predicate> additionalWhereClause = (root, cb) -> Sql2PredicateConverter.mapSearchFilter2Predicates(filters, cb, root, objectUUIDs);
+            uuids = certificateRepository.findUsingSecurityFilter(filter, List.of(), additionalWhereClause).stream().map(Certificate::getUuid).toList();
+        }
+
+        logger.info("Bulk updating custom attribute {} content of {} certificates", attributeUuid, uuids.size());
+        attributeEngine.updateObjectsCustomAttributeContent(Resource.CERTIFICATE, uuids, attributeUuid, null, attributeContentItems);
+    }
+
     @Override
     @AuditLogged(originator = ObjectType.FE, affected = ObjectType.CERTIFICATE, operation = OperationType.DELETE)
     @Async("threadPoolTaskExecutor")
@@ -396,7 +423,8 @@ public class CertificateServiceImpl implements CertificateService {
                     if (loggedUserUuid == null) {
                         loggedUserUuid = UUID.fromString(AuthHelper.getUserIdentification().getUuid());
                     }
-                    notificationProducer.produceNotificationText(Resource.CERTIFICATE, certificateUuid, NotificationRecipient.buildUserNotificationRecipient(loggedUserUuid), "Unable to delete the certificate " + certificateUuid, e.getMessage());
+                    UUID recipientUuid = loggedUserUuid;
+                    MessageLaneContext.runAs(MessageLane.BULK, () -> notificationProducer.produceNotificationText(Resource.CERTIFICATE, certificateUuid, NotificationRecipient.buildUserNotificationRecipient(recipientUuid), "Unable to delete the certificate " + certificateUuid, e.getMessage()));
                 }
             }
             logger.debug("Bulk deleted {} of {} certificates.", deletedCount, request.getUuids().size());
@@ -6,6 +6,7 @@ import com.czertainly.api.model.client.attribute.RequestAttributeDto;
 import com.czertainly.api.model.client.certificate.SearchRequestDto;
 import com.czertainly.api.model.client.cryptography.CryptographicKeyResponseDto;
 import com.czertainly.api.model.client.cryptography.key.*;
+import com.czertainly.api.model.client.metadata.MetadataResponseDto;
 import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.common.attribute.v2.BaseAttribute;
 import com.czertainly.api.model.common.enums.cryptography.KeyAlgorithm;
@@ -245,7 +246,8 @@ public class CryptographicKeyServiceImpl implements CryptographicKeyService {
 
         dto.setAttributes(attributeEngine.getObjectDataAttributesContent(key.getTokenInstanceReference().getConnectorUuid(), null, Resource.CRYPTOGRAPHIC_KEY, key.getUuid()));
         dto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.CRYPTOGRAPHIC_KEY, key.getUuid()));
-        dto.getItems().forEach(k -> k.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CRYPTOGRAPHIC_KEY, UUID.fromString(k.getUuid())))));
+        Map<UUID, List<MetadataResponseDto>> itemsMetadata = attributeEngine.getObjectsMappedMetadataContent(null, Resource.CRYPTOGRAPHIC_KEY, dto.getItems().stream().map(k -> UUID.fromString(k.getUuid())).toList(), null, null);
+        dto.getItems().forEach(k -> k.setMetadata(itemsMetadata.get(UUID.fromString(k.getUuid()))));
         logger.debug("Key details with attributes {}", dto);
         return dto;
     }
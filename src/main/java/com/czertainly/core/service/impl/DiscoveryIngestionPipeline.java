@@ -0,0 +1,347 @@
+package com.czertainly.core.service.impl;
+
+import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
+import com.czertainly.core.dao.entity.Certificate;
+import com.czertainly.core.util.AttributeContentHashUtil;
+import com.czertainly.core.util.CertificateUtil;
+import com.czertainly.core.util.X509ObjectToString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming ingestion of certificates discovered by discovery provider. Pages of discovered certificates are fetched
+ * from the connector by fetcher thread, parsed by parser threads and persisted page by page on the calling thread.
+ * Parser threads also prepare certificate properties, PEM content and metadata hash, so persister only resolves existing data
+ * and stores the page. Stages are connected by bounded queues, so fetching is slowed down when parsing or persisting falls behind
+ * and only limited number of pages is held in memory at any time.
+ * The same certificate can be discovered more times (e.g. at more endpoints) with different metadata. Metadata of occurrences
+ * in the same page are merged into the first occurrence by parser, occurrence in later page with not yet ingested metadata
+ * is passed to persister as additional occurrence to merge its metadata into the already persisted certificate.
+ * Only fingerprints and metadata hashes of already ingested certificates are kept for deduplication.
+ */
+class DiscoveryIngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryIngestionPipeline.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    // end markers of stages, compared by identity
+    private static final List<DiscoveryProviderCertificateDataDto> END_OF_PAGES = new ArrayList<>();
+    private static final List<ParsedCertificate> END_OF_CHUNKS = new ArrayList<>();
+
+    private final String discoveryName;
+    private final int pageSize;
+    private final int parallelism;
+
+    private final BlockingQueue<List<DiscoveryProviderCertificateDataDto>> pages;
+    private final BlockingQueue<List<ParsedCertificate>> chunks;
+    // metadata hashes of ingested occurrences by fingerprint of certificate, accessed only by persisting thread
+    private final Map<String, Set<String>> ingestedMetaHashes = new HashMap<>();
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final AtomicReference<DiscoveryProviderDto> lastResponse = new AtomicReference<>();
+    private final AtomicReference<String> message = new AtomicReference<>();
+    private final AtomicInteger remainingParsers;
+
+    private final AtomicLong fetched = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+
+    DiscoveryIngestionPipeline(String discoveryName, int pageSize, int queueCapacity, int parallelism) {
+        this.discoveryName = discoveryName;
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(parallelism, 1);
+        this.pages = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.chunks = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.remainingParsers = new AtomicInteger(this.parallelism);
+    }
+
+    /**
+     * Runs the pipeline until all certificates discovered by provider are persisted
+     *
+     * @param completedResponse response of provider with completed discovery
+     * @param fetcher           fetches page of discovered certificates from provider
+     * @param persister         persists chunk of parsed and deduplicated certificates and merges metadata of additional occurrences, called on the calling thread
+     * @return result of ingestion
+     * @throws InterruptedException when calling thread is interrupted
+     * @throws Exception            when fetching or persisting of certificates failed
+     */
+    Result run(DiscoveryProviderDto completedResponse, PageFetcher fetcher, ChunkPersister persister) throws Exception {
+        lastResponse.set(completedResponse);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism + 1, runnable -> {
+            Thread thread = new Thread(runnable, "discovery-ingestion-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            executor.execute(() -> runStage(() -> fetchPages(fetcher)));
+            for (int i = 0; i < parallelism; i++) {
+                executor.execute(() -> runStage(this::parsePages));
+            }
+            persistChunks(persister);
+        } finally {
+            cancelled.set(true);
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(lastResponse.get(), message.get(), fetched.get(), duplicates.get(), invalid.get(), persisted.get());
+        logger.info("Ingestion of discovery {} finished: fetched={}, duplicates={}, invalid={}, persisted={}",
+                discoveryName, result.fetched(), result.duplicates(), result.invalid(), result.persisted());
+        return result;
+    }
+
+    private void persistChunks(ChunkPersister persister) throws Exception {
+        while (true) {
+            List<ParsedCertificate> chunk = chunks.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            if (chunk == END_OF_CHUNKS) {
+                return;
+            }
+            if (chunk != null && !chunk.isEmpty()) {
+                persisted.addAndGet(persister.persist(deduplicate(chunk)));
+                logger.debug("Ingestion of discovery {} in progress: fetched={}, duplicates={}, invalid={}, persisted={}",
+                        discoveryName, fetched.get(), duplicates.get(), invalid.get(), persisted.get());
+            }
+        }
+    }
+
+    private void fetchPages(PageFetcher fetcher) throws Exception {
+        int pageNumber = 1;
+        while (!cancelled.get() && fetched.get() < lastResponse.get().getTotalCertificatesDiscovered()) {
+            DiscoveryProviderDto response = fetcher.fetch(pageNumber++);
+            lastResponse.set(response);
+
+            List<DiscoveryProviderCertificateDataDto> certificateData = response.getCertificateData();
+            if (certificateData.isEmpty()) {
+                message.set(String.format("Retrieved only %d certificates but provider discovered %d " +
+                        "certificates in total.", fetched.get(), response.getTotalCertificatesDiscovered()));
+                break;
+            }
+            if (certificateData.size() > pageSize) {
+                logger.error("Too many content in response. Maximum processable is {}.", pageSize);
+                throw new IllegalStateException("Too many content in response to process. Maximum processable is " + pageSize);
+            }
+
+            fetched.addAndGet(certificateData.size());
+            put(pages, certificateData);
+        }
+
+        // end markers are not sent on failure, persister is stopped by the failure
+        for (int i = 0; i < parallelism; i++) {
+            put(pages, END_OF_PAGES);
+        }
+    }
+
+    private void parsePages() throws InterruptedException {
+        try {
+            while (!cancelled.get()) {
+                List<DiscoveryProviderCertificateDataDto> page = pages.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (page == END_OF_PAGES) {
+                    return;
+                }
+                if (page != null) {
+                    put(chunks, parsePage(page));
+                }
+            }
+        } finally {
+            if (remainingParsers.decrementAndGet() == 0) {
+                put(chunks, END_OF_CHUNKS);
+            }
+        }
+    }
+
+    private List<ParsedCertificate> parsePage(List<DiscoveryProviderCertificateDataDto> page) {
+        Map<String, ParsedCertificate> chunk = new LinkedHashMap<>();
+        for (DiscoveryProviderCertificateDataDto certificateData : page) {
+            try {
+                X509Certificate certificate = CertificateUtil.parseCertificate(certificateData.getBase64Content());
+                String fingerprint = CertificateUtil.getThumbprint(certificate.getEncoded());
+                ParsedCertificate firstOccurrence = chunk.get(fingerprint);
+                if (firstOccurrence != null) {
+                    duplicates.incrementAndGet();
+                    if (certificateData.getMeta() != null) {
+                        chunk.put(fingerprint, firstOccurrence.withMeta(mergeMeta(firstOccurrence.meta(), certificateData.getMeta())));
+                    }
+                    continue;
+                }
+
+                Certificate modal = new Certificate();
+                CertificateUtil.prepareIssuedCertificate(modal, certificate);
+                modal.setFingerprint(fingerprint);
+                String content = CertificateUtil.normalizeCertificateContent(X509ObjectToString.toPem(certificate));
+                chunk.put(fingerprint, new ParsedCertificate(fingerprint, modal, content, null, null, false).withMeta(certificateData.getMeta()));
+            } catch (Exception e) {
+                invalid.incrementAndGet();
+                logger.warn("Unable to parse certificate discovered by discovery {}: {}", discoveryName, e.getMessage());
+            }
+        }
+        return new ArrayList<>(chunk.values());
+    }
+
+    /**
+     * Removes certificates already ingested from previous chunks. Certificate with metadata not ingested yet is kept
+     * as additional occurrence, so its metadata are merged into the persisted certificate.
+     */
+    private List<ParsedCertificate> deduplicate(List<ParsedCertificate> chunk) {
+        List<ParsedCertificate> certificates = new ArrayList<>(chunk.size());
+        for (ParsedCertificate certificate : chunk) {
+            Set<String> metaHashes = ingestedMetaHashes.get(certificate.fingerprint());
+            if (metaHashes == null) {
+                ingestedMetaHashes.put(certificate.fingerprint(), Collections.singleton(certificate.metaHash()));
+                certificates.add(certificate);
+                continue;
+            }
+
+            duplicates.incrementAndGet();
+            if (certificate.meta() != null && !metaHashes.contains(certificate.metaHash())) {
+                Set<String> mergedMetaHashes = new HashSet<>(metaHashes);
+                mergedMetaHashes.add(certificate.metaHash());
+                ingestedMetaHashes.put(certificate.fingerprint(), mergedMetaHashes);
+                certificates.add(certificate.asAdditionalOccurrence());
+            }
+        }
+        return certificates;
+    }
+
+    /**
+     * Merges metadata of two occurrences of the same certificate. Content of metadata attributes with the same UUID and name
+     * is merged without duplicate content items, other attributes are added.
+     *
+     * @param meta      metadata of the first occurrence, attributes are updated with merged content
+     * @param otherMeta metadata of other occurrence
+     * @return merged metadata
+     */
+    static List<MetadataAttribute> mergeMeta(List<MetadataAttribute> meta, List<MetadataAttribute> otherMeta) {
+        if (meta == null || otherMeta == null) {
+            return meta == null ? otherMeta : meta;
+        }
+
+        List<MetadataAttribute> mergedMeta = new ArrayList<>(meta);
+        for (MetadataAttribute attribute : otherMeta) {
+            MetadataAttribute mergedAttribute = mergedMeta.stream()
+                    .filter(a -> Objects.equals(a.getUuid(), attribute.getUuid()) && Objects.equals(a.getName(), attribute.getName()))
+                    .findFirst().orElse(null);
+            if (mergedAttribute == null) {
+                mergedMeta.add(attribute);
+                continue;
+            }
+            if (attribute.getContent() == null) {
+                continue;
+            }
+
+            List<BaseAttributeContent> content = mergedAttribute.getContent() == null ? new ArrayList<>() : new ArrayList<>(mergedAttribute.getContent());
+            Set<String> contentHashes = new HashSet<>();
+            content.forEach(item -> contentHashes.add(AttributeContentHashUtil.getObjectHash(item)));
+            for (BaseAttributeContent item : attribute.getContent()) {
+                if (contentHashes.add(AttributeContentHashUtil.getObjectHash(item))) {
+                    content.add(item);
+                }
+            }
+            mergedAttribute.setContent(content);
+        }
+        return mergedMeta;
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        // wait for free space in the queue unless pipeline is cancelled, so stages do not block forever on failure
+        while (!cancelled.get()) {
+            if (queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void runStage(Stage stage) {
+        try {
+            stage.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!cancelled.get()) {
+                failure.compareAndSet(null, e);
+            }
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * Certificate parsed from data discovered by provider
+     *
+     * @param fingerprint SHA-256 fingerprint of the certificate
+     * @param modal       not persisted certificate entity with properties of the certificate
+     * @param content     normalized PEM content of the certificate
+     * @param meta        metadata of the certificate provided by discovery provider, merged from all its occurrences in the page
+     * @param metaHash    hash of the metadata used to detect change of certificate seen by previous discovery of the same source
+     * @param additionalOccurrence whether the certificate was already persisted and only its metadata should be merged
+     */
+    record ParsedCertificate(String fingerprint, Certificate modal, String content, List<MetadataAttribute> meta, String metaHash,
+                             boolean additionalOccurrence) {
+
+        ParsedCertificate withMeta(List<MetadataAttribute> meta) {
+            String metaHash = meta == null ? null : AttributeContentHashUtil.getObjectHash(meta);
+            return new ParsedCertificate(fingerprint, modal, content, meta, metaHash, additionalOccurrence);
+        }
+
+        ParsedCertificate asAdditionalOccurrence() {
+            return new ParsedCertificate(fingerprint, modal, content, meta, metaHash, true);
+        }
+    }
+
+    /**
+     * Result of ingestion
+     *
+     * @param lastResponse response of provider with last fetched page
+     * @param message      message about incomplete retrieval of certificates, null when all certificates were retrieved
+     * @param fetched      number of certificates fetched from provider
+     * @param duplicates   number of fetched certificates with already ingested fingerprint, their metadata are merged
+     * @param invalid      number of fetched certificates that could not be parsed
+     * @param persisted    number of persisted certificates
+     */
+    record Result(DiscoveryProviderDto lastResponse, String message, long fetched, long duplicates, long invalid, long persisted) {
+    }
+
+    @FunctionalInterface
+    interface PageFetcher {
+        DiscoveryProviderDto fetch(int pageNumber) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface ChunkPersister {
+        int persist(List<ParsedCertificate> certificates) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,161 @@
+package com.czertainly.core.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls progress of discoveries running in discovery providers without holding a thread while the discovery waits.
+ * Each poll is scheduled on shared scheduled executor with adaptive backoff: delay is reset to initial delay when provider
+ * reported progress since the last poll and doubled up to maximum delay otherwise. Number of discoveries of one connector
+ * polled or ingested at the same time is limited, polls over the limit are postponed. Discovery handed off for ingestion
+ * holds permit of its connector until the ingestion is completed.
+ */
+class DiscoveryPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryPoller.class);
+
+    private final ScheduledExecutorService executor;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxConcurrencyPerConnector;
+
+    private final Map<UUID, Semaphore> connectorPermits = new ConcurrentHashMap<>();
+    private final Set<UUID> polledDiscoveries = ConcurrentHashMap.newKeySet();
+
+    DiscoveryPoller(int threads, long initialDelayMillis, long maxDelayMillis, int maxConcurrencyPerConnector) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "discovery-poller-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.initialDelayMillis = Math.max(initialDelayMillis, 1);
+        this.maxDelayMillis = Math.max(maxDelayMillis, this.initialDelayMillis);
+        this.maxConcurrencyPerConnector = Math.max(maxConcurrencyPerConnector, 1);
+    }
+
+    /**
+     * Starts polling of discovery after commit of current transaction or immediately if there is none
+     *
+     * @param discoveryUuid UUID of the discovery
+     * @param connectorUuid UUID of the connector running the discovery
+     * @param poll          checks progress of the discovery and finishes it when completed by provider
+     */
+    void schedule(UUID discoveryUuid, UUID connectorUuid, Callable<PollResult> poll) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(discoveryUuid, connectorUuid, poll);
+                }
+            });
+        } else {
+            start(discoveryUuid, connectorUuid, poll);
+        }
+    }
+
+    boolean isPolled(UUID discoveryUuid) {
+        return polledDiscoveries.contains(discoveryUuid);
+    }
+
+    /**
+     * Releases permit of the connector held by discovery since its poll returned {@link PollResult#INGESTING}
+     *
+     * @param discoveryUuid UUID of the discovery
+     * @param connectorUuid UUID of the connector running the discovery
+     */
+    void ingestionCompleted(UUID discoveryUuid, UUID connectorUuid) {
+        polledDiscoveries.remove(discoveryUuid);
+        connectorPermits.get(connectorUuid).release();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    long nextDelay(long delayMillis, PollResult result) {
+        return result == PollResult.PROGRESSED ? initialDelayMillis : Math.min(delayMillis * 2, maxDelayMillis);
+    }
+
+    private void start(UUID discoveryUuid, UUID connectorUuid, Callable<PollResult> poll) {
+        if (polledDiscoveries.add(discoveryUuid)) {
+            schedulePoll(discoveryUuid, connectorUuid, poll, initialDelayMillis, initialDelayMillis);
+        }
+    }
+
+    private void schedulePoll(UUID discoveryUuid, UUID connectorUuid, Callable<PollResult> poll, long scheduleDelayMillis, long backoffDelayMillis) {
+        try {
+            executor.schedule(() -> runPoll(discoveryUuid, connectorUuid, poll, backoffDelayMillis), scheduleDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            polledDiscoveries.remove(discoveryUuid);
+            logger.warn("Polling of discovery {} was not scheduled: {}", discoveryUuid, e.getMessage());
+        }
+    }
+
+    private void runPoll(UUID discoveryUuid, UUID connectorUuid, Callable<PollResult> poll, long delayMillis) {
+        Semaphore permits = connectorPermits.computeIfAbsent(connectorUuid, uuid -> new Semaphore(maxConcurrencyPerConnector));
+        if (!permits.tryAcquire()) {
+            // connector is busy with other discoveries, try again soon without extending the backoff
+            logger.debug("Polling of discovery {} postponed, connector {} is busy", discoveryUuid, connectorUuid);
+            schedulePoll(discoveryUuid, connectorUuid, poll, initialDelayMillis, delayMillis);
+            return;
+        }
+
+        PollResult result = PollResult.FINISHED;
+        try {
+            result = poll.call();
+        } catch (Exception e) {
+            logger.error("Polling of discovery {} failed: {}", discoveryUuid, e.getMessage());
+        } finally {
+            // permit of discovery handed off for ingestion is released when the ingestion is completed
+            if (result != PollResult.INGESTING) {
+                permits.release();
+            }
+        }
+
+        if (result == PollResult.INGESTING) {
+            return;
+        }
+        if (result == PollResult.FINISHED) {
+            polledDiscoveries.remove(discoveryUuid);
+            return;
+        }
+        long nextDelayMillis = nextDelay(delayMillis, result);
+        logger.debug("Next poll of discovery {} in {} ms", discoveryUuid, nextDelayMillis);
+        schedulePoll(discoveryUuid, connectorUuid, poll, nextDelayMillis, nextDelayMillis);
+    }
+
+    enum PollResult {
+        /**
+         * Discovery is in progress and provider discovered more certificates since the last poll
+         */
+        PROGRESSED,
+        /**
+         * Discovery is in progress without change since the last poll
+         */
+        WAITING,
+        /**
+         * Discovery was completed by provider and handed off for ingestion, it is not polled anymore and keeps permit
+         * of its connector until {@link #ingestionCompleted(UUID, UUID)} is called
+         */
+        INGESTING,
+        /**
+         * Discovery was finished, failed or deleted and is not polled anymore
+         */
+        FINISHED
+    }
+}
@@ -2,6 +2,7 @@ package com.czertainly.core.service.impl;
 
 import com.czertainly.api.clients.DiscoveryApiClient;
 import com.czertainly.api.exception.*;
+import com.czertainly.api.model.client.attribute.RequestAttributeDto;
 import com.czertainly.api.model.client.certificate.DiscoveryResponseDto;
 import com.czertainly.api.model.client.certificate.SearchRequestDto;
 import com.czertainly.api.model.client.discovery.DiscoveryCertificateResponseDto;
@@ -12,7 +13,6 @@ import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.common.attribute.v2.AttributeType;
 import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
 import com.czertainly.api.model.connector.discovery.DiscoveryDataRequestDto;
-import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryRequestDto;
 import com.czertainly.api.model.core.audit.ObjectType;
@@ -20,6 +20,7 @@ import com.czertainly.api.model.core.audit.OperationType;
 import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.certificate.CertificateEvent;
 import com.czertainly.api.model.core.certificate.CertificateEventStatus;
+import com.czertainly.api.model.core.connector.ConnectorDto;
 import com.czertainly.api.model.core.connector.FunctionGroupCode;
 import com.czertainly.api.model.core.discovery.DiscoveryStatus;
 import com.czertainly.api.model.core.other.ResourceEvent;
@@ -30,6 +31,7 @@ import com.czertainly.core.aop.AuditLogged;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentInfo;
 import com.czertainly.core.comparator.SearchFieldDataComparator;
+import com.czertainly.core.config.DiscoveryExecutorConfig;
 import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.dao.entity.workflows.Trigger;
 import com.czertainly.core.dao.entity.workflows.TriggerAssociation;
@@ -38,8 +40,10 @@ import com.czertainly.core.dao.repository.*;
 import com.czertainly.core.dao.repository.workflows.TriggerAssociationRepository;
 import com.czertainly.core.enums.SearchFieldNameEnum;
 import com.czertainly.core.evaluator.CertificateRuleEvaluator;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationRecipient;
 import com.czertainly.core.messaging.producers.EventProducer;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
@@ -49,22 +53,46 @@ import com.czertainly.core.service.*;
 import com.czertainly.core.tasks.DiscoveryCertificateTask;
 import com.czertainly.core.util.*;
 import com.czertainly.core.util.converter.Sql2PredicateConverter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.cert.X509Certificate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 
 @Service
@@ -73,7 +101,6 @@ public class DiscoveryServiceImpl implements DiscoveryService {
 
     private static final Logger logger = LoggerFactory.getLogger(DiscoveryServiceImpl.class);
     private static final Integer MAXIMUM_CERTIFICATES_PER_PAGE = 100;
-    private static final Integer SLEEP_TIME = 5 * 1000; // Seconds * Milliseconds - Retry of discovery for every 5 Seconds
     private static final Long MAXIMUM_WAIT_TIME = (long) (6 * 60 * 60); // Hours * Minutes * Seconds
     @Autowired
     private DiscoveryRepository discoveryRepository;
@@ -94,7 +121,11 @@ public class DiscoveryServiceImpl implements DiscoveryService {
     @Autowired
     private CertificateContentRepository certificateContentRepository;
     @Autowired
+    private DiscoverySourceCertificateRepository discoverySourceCertificateRepository;
+    @Autowired
     private NotificationProducer notificationProducer;
+    @PersistenceContext
+    private EntityManager entityManager;
     private EventProducer eventProducer;
     private AttributeEngine attributeEngine;
 
@@ -104,6 +135,57 @@ public class DiscoveryServiceImpl implements DiscoveryService {
 
     private DiscoveryCertificateTask discoveryCertificateTask;
 
+    private TransactionTemplate pageTransactionTemplate;
+
+    @Value("${discovery.ingestion.queue-capacity:4}")
+    private int ingestionQueueCapacity;
+    @Value("${discovery.ingestion.parallelism:2}")
+    private int ingestionParallelism;
+    @Value("${discovery.incremental.enabled:true}")
+    private boolean incrementalDiscovery;
+
+    @Value("${discovery.polling.threads:4}")
+    private int pollingThreads;
+    @Value("${discovery.polling.initial-delay:1000}")
+    private long pollingInitialDelay;
+    @Value("${discovery.polling.max-delay:60000}")
+    private long pollingMaxDelay;
+    @Value("${discovery.polling.max-concurrency-per-connector:2}")
+    private int pollingMaxConcurrencyPerConnector;
+
+    @Value("${discovery.triggers.partition-size:100}")
+    private int triggersPartitionSize;
+
+    private DiscoveryPoller discoveryPoller;
+    private TaskExecutor discoveryIngestionExecutor;
+    private AsyncTaskExecutor discoveryTriggersExecutor;
+
+    @PostConstruct
+    public void createDiscoveryPoller() {
+        discoveryPoller = new DiscoveryPoller(pollingThreads, pollingInitialDelay, pollingMaxDelay, pollingMaxConcurrencyPerConnector);
+    }
+
+    @PreDestroy
+    public void shutdownDiscoveryPoller() {
+        discoveryPoller.shutdown();
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.pageTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Autowired
+    public void setDiscoveryIngestionExecutor(@Qualifier(DiscoveryExecutorConfig.INGESTION_EXECUTOR) TaskExecutor discoveryIngestionExecutor) {
+        this.discoveryIngestionExecutor = discoveryIngestionExecutor;
+    }
+
+    @Autowired
+    public void setDiscoveryTriggersExecutor(@Qualifier(DiscoveryExecutorConfig.TRIGGERS_EXECUTOR) AsyncTaskExecutor discoveryTriggersExecutor) {
+        this.discoveryTriggersExecutor = discoveryTriggersExecutor;
+    }
+
     @Autowired
     public void setTriggerService(TriggerService triggerService) {
         this.triggerService = triggerService;
@@ -322,12 +404,24 @@ public class DiscoveryServiceImpl implements DiscoveryService {
     @Override
     @ExternalAuthorization(resource = Resource.DISCOVERY, action = ResourceAction.CREATE)
     public DiscoveryHistoryDetailDto runDiscovery(UUID discoveryUuid) {
+        // messages produced by discovery are processed in bulk lane
+        MessageLane previousLane = MessageLaneContext.enter(MessageLane.BULK);
+        try {
+            return discover(discoveryUuid);
+        } finally {
+            MessageLaneContext.restore(previousLane);
+        }
+    }
+
+    private DiscoveryHistoryDetailDto discover(UUID discoveryUuid) {
         UUID loggedUserUuid = UUID.fromString(AuthHelper.getUserIdentification().getUuid());
 
         // reload discovery modal with all association since it could be in separate transaction/session due to async
         DiscoveryHistory discovery = discoveryRepository.findWithTriggersByUuid(discoveryUuid);
 
         logger.info("Starting discovery: name={}, uuid={}", discovery.getName(), discovery.getUuid());
+        ConnectorDto connectorDto;
+        DiscoveryProviderDto response;
         try {
             DiscoveryRequestDto dtoRequest = new DiscoveryRequestDto();
             dtoRequest.setName(discovery.getName());
@@ -340,10 +434,15 @@ public class DiscoveryServiceImpl implements DiscoveryService {
             // Load complete credential data
             var dataAttributes = attributeEngine.getDefinitionObjectAttributeContent(
                     AttributeType.DATA, connector.getUuid(), null, Resource.DISCOVERY, discovery.getUuid());
+            if (incrementalDiscovery) {
+                // source is identified before credentials are loaded, so the key does not contain secrets
+                discovery.setSourceKey(getSourceKey(connector.getUuid(), discovery.getKind(), AttributeDefinitionUtils.getClientAttributes(dataAttributes)));
+            }
             credentialService.loadFullCredentialData(dataAttributes);
             dtoRequest.setAttributes(AttributeDefinitionUtils.getClientAttributes(dataAttributes));
 
-            DiscoveryProviderDto response = discoveryApiClient.discoverCertificates(connector.mapToDto(), dtoRequest);
+            connectorDto = connector.mapToDto();
+            response = discoveryApiClient.discoverCertificates(connectorDto, dtoRequest);
 
             logger.debug("Discovery response: name={}, uuid={}, status={}, total={}",
                     discovery.getName(), discovery.getUuid(), response.getStatus(), response.getTotalCertificatesDiscovered());
@@ -351,94 +450,144 @@ public class DiscoveryServiceImpl implements DiscoveryService {
             discovery.setDiscoveryConnectorReference(response.getUuid());
             discoveryRepository.save(discovery);
 
-            DiscoveryDataRequestDto getRequest = new DiscoveryDataRequestDto();
-            getRequest.setName(response.getName());
-            getRequest.setKind(discovery.getKind());
-            getRequest.setPageNumber(1);
-            getRequest.setItemsPerPage(MAXIMUM_CERTIFICATES_PER_PAGE);
-
-            boolean waitForCompletion = checkForCompletion(response);
-            boolean isReachedMaxTime = false;
-            int oldCertificateCount = 0;
-            while (waitForCompletion) {
+            if (checkForCompletion(response)) {
                 if (discovery.getDiscoveryConnectorReference() == null) {
                     discovery.setStatus(DiscoveryStatus.FAILED);
                     discovery.setMessage("Discovery does not have associated connector");
                     discoveryRepository.save(discovery);
                     return discovery.mapToDto();
                 }
-                logger.debug("Waiting {}ms for discovery to be completed: name={}, uuid={}",
-                        SLEEP_TIME, discovery.getName(), discovery.getUuid());
-                Thread.sleep(SLEEP_TIME);
+                schedulePolling(discovery, connectorDto, response, loggedUserUuid);
+                return discovery.mapToDto();
+            }
+        } catch (Exception e) {
+            failDiscovery(discovery, e.getMessage(), loggedUserUuid);
+            return discovery.mapToDto();
+        }
 
-                response = discoveryApiClient.getDiscoveryData(connector.mapToDto(), getRequest, response.getUuid());
+        finishDiscovery(discovery, connectorDto, response, loggedUserUuid);
+        return discovery.mapToDto();
+    }
 
-                logger.debug("Discovery response: name={}, uuid={}, status={}, total={}",
-                        discovery.getName(), discovery.getUuid(), response.getStatus(), response.getTotalCertificatesDiscovered());
+    /**
+     * Polls discovery running in the provider until it is completed. Discovery does not hold any thread while waiting
+     * for the next poll, total number of certificates discovered by provider is updated with each poll.
+     * Completed discovery is handed off to ingestion executor, when the executor is busy, ingestion is postponed to the next poll.
+     * Ingestion holds permit of the connector taken by the poll, so number of discoveries of one connector polled or ingested
+     * at the same time stays limited.
+     */
+    private void schedulePolling(DiscoveryHistory discovery, ConnectorDto connectorDto, DiscoveryProviderDto response, UUID loggedUserUuid) {
+        UUID discoveryUuid = discovery.getUuid();
+        UUID connectorUuid = discovery.getConnectorUuid();
+        String discoveryName = discovery.getName();
+        String kind = discovery.getKind();
+        long startTime = discovery.getStartTime().getTime();
+        AtomicInteger lastTotal = new AtomicInteger(response.getTotalCertificatesDiscovered());
+        AtomicBoolean isReachedMaxTime = new AtomicBoolean();
+
+        Callable<DiscoveryPoller.PollResult> poll = () -> {
+            DiscoveryProviderDto progress;
+            try {
+                DiscoveryDataRequestDto getRequest = new DiscoveryDataRequestDto();
+                getRequest.setName(response.getName());
+                getRequest.setKind(kind);
+                getRequest.setPageNumber(1);
+                getRequest.setItemsPerPage(MAXIMUM_CERTIFICATES_PER_PAGE);
+                progress = discoveryApiClient.getDiscoveryData(connectorDto, getRequest, response.getUuid());
+            } catch (Exception e) {
+                pageTransactionTemplate.executeWithoutResult(status -> discoveryRepository.findById(discoveryUuid)
+                        .ifPresent(current -> failDiscovery(current, e.getMessage(), loggedUserUuid)));
+                return DiscoveryPoller.PollResult.FINISHED;
+            }
 
-                if ((discovery.getStartTime().getTime() - new Date().getTime()) / 1000 > MAXIMUM_WAIT_TIME
-                        && !isReachedMaxTime && oldCertificateCount == response.getTotalCertificatesDiscovered()) {
-                    isReachedMaxTime = true;
-                    discovery.setStatus(DiscoveryStatus.WARNING);
-                    discovery.setMessage(
-                            "Discovery " + discovery.getName() + " exceeded maximum time of "
+            logger.debug("Discovery response: name={}, uuid={}, status={}, total={}",
+                    discoveryName, discoveryUuid, progress.getStatus(), progress.getTotalCertificatesDiscovered());
+
+            boolean completed = !checkForCompletion(progress);
+            boolean progressed = lastTotal.getAndSet(progress.getTotalCertificatesDiscovered()) != progress.getTotalCertificatesDiscovered();
+            if (completed) {
+                // certificates are ingested by ingestion executor, poller thread only checks status of discoveries
+                try {
+                    discoveryIngestionExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+                        try {
+                            MessageLaneContext.runAs(MessageLane.BULK, () -> pageTransactionTemplate.executeWithoutResult(status -> {
+                                DiscoveryHistory current = discoveryRepository.findWithTriggersByUuid(discoveryUuid);
+                                if (current == null) {
+                                    logger.info("Discovery {} was deleted before its certificates were ingested", discoveryUuid);
+                                    return;
+                                }
+                                finishDiscovery(current, connectorDto, progress, loggedUserUuid);
+                            }));
+                        } finally {
+                            discoveryPoller.ingestionCompleted(discoveryUuid, connectorUuid);
+                        }
+                    }));
+                } catch (TaskRejectedException e) {
+                    logger.warn("Ingestion of certificates of discovery {} postponed, ingestion executor is busy: {}", discoveryName, e.getMessage());
+                    return DiscoveryPoller.PollResult.WAITING;
+                }
+                return DiscoveryPoller.PollResult.INGESTING;
+            }
+
+            Boolean polled = pageTransactionTemplate.execute(status -> {
+                DiscoveryHistory current = discoveryRepository.findWithTriggersByUuid(discoveryUuid);
+                if (current == null) {
+                    logger.info("Discovery {} was deleted while in progress, polling is stopped", discoveryUuid);
+                    return false;
+                }
+
+                current.setTotalCertificatesDiscovered(progress.getTotalCertificatesDiscovered());
+                if ((System.currentTimeMillis() - startTime) / 1000 > MAXIMUM_WAIT_TIME && !progressed && !isReachedMaxTime.getAndSet(true)) {
+                    current.setStatus(DiscoveryStatus.WARNING);
+                    current.setMessage(
+                            "Discovery " + current.getName() + " exceeded maximum time of "
                                     + MAXIMUM_WAIT_TIME / (60 * 60) + " hours. There are no changes in number " +
                                     "of certificates discovered. Please abort the discovery if the provider " +
                                     "is stuck in state " + DiscoveryStatus.IN_PROGRESS.getLabel());
-                    discoveryRepository.save(discovery);
                 }
+                discoveryRepository.save(current);
+                return true;
+            });
 
-                oldCertificateCount = response.getTotalCertificatesDiscovered();
-                waitForCompletion = checkForCompletion(response);
+            if (!Boolean.TRUE.equals(polled)) {
+                return DiscoveryPoller.PollResult.FINISHED;
             }
+            return progressed ? DiscoveryPoller.PollResult.PROGRESSED : DiscoveryPoller.PollResult.WAITING;
+        };
 
-            int currentPage = 1;
-            int currentTotal = 0;
-            Set<DiscoveryProviderCertificateDataDto> certificatesDiscovered = new HashSet<>();
-            while (currentTotal < response.getTotalCertificatesDiscovered()) {
-                getRequest.setPageNumber(currentPage);
-                getRequest.setItemsPerPage(MAXIMUM_CERTIFICATES_PER_PAGE);
-                response = discoveryApiClient.getDiscoveryData(connector.mapToDto(), getRequest, response.getUuid());
+        // polls run with authentication of user who started the discovery, context is copied as the caller may clear it
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
 
-                if (response.getCertificateData().isEmpty()) {
-                    discovery.setMessage(String.format("Retrieved only %d certificates but provider discovered %d " +
-                            "certificates in total.", currentTotal, response.getTotalCertificatesDiscovered()));
-                    break;
-                }
-                if (response.getCertificateData().size() > MAXIMUM_CERTIFICATES_PER_PAGE) {
-                    updateDiscovery(discovery, response, DiscoveryStatus.FAILED);
-                    logger.error("Too many content in response. Maximum processable is {}.", MAXIMUM_CERTIFICATES_PER_PAGE);
-                    throw new InterruptedException(
-                            "Too many content in response to process. Maximum processable is " + MAXIMUM_CERTIFICATES_PER_PAGE);
-                }
-                certificatesDiscovered.addAll(response.getCertificateData());
+        logger.debug("Discovery is in progress in the provider, polling is scheduled: name={}, uuid={}", discoveryName, discoveryUuid);
+        discoveryPoller.schedule(discoveryUuid, connectorUuid, DelegatingSecurityContextCallable.create(() -> MessageLaneContext.callAs(MessageLane.BULK, poll), securityContext));
+    }
 
-                ++currentPage;
-                currentTotal += response.getCertificateData().size();
+    private void finishDiscovery(DiscoveryHistory discovery, ConnectorDto connectorDto, DiscoveryProviderDto completedResponse, UUID loggedUserUuid) {
+        try {
+            DiscoveryIngestionPipeline.Result ingestionResult = ingestCertificates(discovery, connectorDto, completedResponse);
+            if (ingestionResult.message() != null) {
+                discovery.setMessage(ingestionResult.message());
             }
 
-            updateDiscovery(discovery, response, DiscoveryStatus.PROCESSING);
-            updateCertificates(certificatesDiscovered, discovery);
+            updateDiscovery(discovery, ingestionResult.lastResponse(), DiscoveryStatus.PROCESSING);
 
             eventProducer.produceDiscoveryFinishedEventMessage(discovery.getUuid(), loggedUserUuid, ResourceEvent.DISCOVERY_FINISHED);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            discovery.setStatus(DiscoveryStatus.FAILED);
-            discovery.setMessage(e.getMessage());
-            discoveryRepository.save(discovery);
-            logger.error(e.getMessage());
+            failDiscovery(discovery, e.getMessage(), loggedUserUuid);
         } catch (Exception e) {
-            discovery.setStatus(DiscoveryStatus.FAILED);
-            discovery.setMessage(e.getMessage());
-            discoveryRepository.save(discovery);
-            logger.error(e.getMessage());
+            failDiscovery(discovery, e.getMessage(), loggedUserUuid);
         }
+    }
 
-        if (discovery.getStatus() != DiscoveryStatus.PROCESSING) {
-            notificationProducer.produceNotificationText(Resource.DISCOVERY, discovery.getUuid(), NotificationRecipient.buildUserNotificationRecipient(loggedUserUuid), String.format("Discovery %s has finished with status %s", discovery.getName(), discovery.getStatus()), discovery.getMessage());
-        }
+    private void failDiscovery(DiscoveryHistory discovery, String message, UUID loggedUserUuid) {
+        discovery.setStatus(DiscoveryStatus.FAILED);
+        discovery.setMessage(message);
+        discoveryRepository.save(discovery);
+        logger.error(message);
 
-        return discovery.mapToDto();
+        notificationProducer.produceNotificationText(Resource.DISCOVERY, discovery.getUuid(), NotificationRecipient.buildUserNotificationRecipient(loggedUserUuid), String.format("Discovery %s has finished with status %s", discovery.getName(), discovery.getStatus()), discovery.getMessage());
     }
 
     private void updateDiscovery(DiscoveryHistory modal, DiscoveryProviderDto response, DiscoveryStatus status) throws AttributeException {
@@ -449,42 +598,214 @@ public class DiscoveryServiceImpl implements DiscoveryService {
         discoveryRepository.save(modal);
     }
 
+    /**
+     * Key of discovery source, discoveries of the same connector and kind with the same attributes discover the same source
+     */
+    private String getSourceKey(UUID connectorUuid, String kind, List<RequestAttributeDto> attributes) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("connectorUuid", connectorUuid.toString());
+        source.put("kind", kind);
+        source.put("attributes", attributes);
+        return AttributeContentHashUtil.getObjectHash(source);
+    }
+
     private boolean checkForCompletion(DiscoveryProviderDto response) {
         return response.getStatus() == DiscoveryStatus.IN_PROGRESS;
     }
 
-    private void updateCertificates(Set<DiscoveryProviderCertificateDataDto> certificatesDiscovered,
-                                    DiscoveryHistory modal) {
-        if (certificatesDiscovered.isEmpty()) {
+    /**
+     * Fetches, parses and persists certificates discovered by provider page by page. When the discovery is already committed,
+     * each page is committed in its own transaction, so discovered certificates are available while ingestion is in progress.
+     * Otherwise (e.g. discovery created and run in the same transaction by scheduled job) pages are flushed in current transaction
+     * and entities of each page are detached, so persistence context of the caller does not grow with size of the discovery.
+     * Certificates of incremental discovery not changed since the last discovery of the same source are only marked as seen.
+     */
+    private DiscoveryIngestionPipeline.Result ingestCertificates(DiscoveryHistory discovery, ConnectorDto connectorDto, DiscoveryProviderDto completedResponse) throws Exception {
+        UUID discoveryUuid = discovery.getUuid();
+        String sourceKey = discovery.getSourceKey();
+        OffsetDateTime seenAt = OffsetDateTime.now();
+        AtomicLong unchanged = new AtomicLong();
+        boolean commitPages = Boolean.TRUE.equals(pageTransactionTemplate.execute(status -> discoveryRepository.existsById(discoveryUuid)));
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline(discovery.getName(), MAXIMUM_CERTIFICATES_PER_PAGE, ingestionQueueCapacity, ingestionParallelism);
+
+        DiscoveryIngestionPipeline.Result result = pipeline.run(completedResponse, pageNumber -> {
+            DiscoveryDataRequestDto getRequest = new DiscoveryDataRequestDto();
+            getRequest.setName(completedResponse.getName());
+            getRequest.setKind(discovery.getKind());
+            getRequest.setPageNumber(pageNumber);
+            getRequest.setItemsPerPage(MAXIMUM_CERTIFICATES_PER_PAGE);
+            return discoveryApiClient.getDiscoveryData(connectorDto, getRequest, completedResponse.getUuid());
+        }, certificates -> {
+            List<Object> pageEntities = new ArrayList<>();
+            if (!commitPages) {
+                int created = updateCertificates(certificates, discoveryRepository.getReferenceById(discoveryUuid), sourceKey, seenAt, unchanged, pageEntities);
+                entityManager.flush();
+                pageEntities.forEach(entityManager::detach);
+                return created;
+            }
+            Integer created = pageTransactionTemplate.execute(status -> updateCertificates(certificates, discoveryRepository.getReferenceById(discoveryUuid), sourceKey, seenAt, unchanged, pageEntities));
+            return created == null ? 0 : created;
+        });
+
+        if (result.fetched() == 0) {
             logger.warn("No certificates were given by the provider for the discovery");
-            return;
         }
+        if (unchanged.get() > 0) {
+            logger.info("Discovery {} skipped processing of {} certificates not changed since previous discovery of the same source", discovery.getName(), unchanged.get());
+            discovery.setMessage(String.format("%d certificates were not changed since previous discovery of the same source and were not processed again.", unchanged.get()));
+        }
+        return result;
+    }
 
-        for (DiscoveryProviderCertificateDataDto certificate : certificatesDiscovered) {
-            try {
-                X509Certificate x509Cert = CertificateUtil.parseCertificate(certificate.getBase64Content());
-                boolean existingCertificate = certificateRepository.existsByFingerprint(CertificateUtil.getThumbprint(x509Cert.getEncoded()));
-                Certificate entry = certificateService.createCertificateEntity(x509Cert);
-                createDiscoveryCertificate(entry, modal, !existingCertificate, certificate.getMeta());
-            } catch (Exception e) {
-                logger.error(e.getMessage());
-                logger.error("Unable to create certificate for {}", modal);
+    /**
+     * Stores page of discovered certificates. Existing certificates and contents are resolved by fingerprints of whole page
+     * and new certificate contents and discovery certificates are inserted in JDBC batches.
+     * When source of the discovery is tracked, certificates already in inventory that were seen by previous discovery of the same source
+     * with the same metadata are marked as seen again by bulk update and stored as not newly discovered with reference to content
+     * of the inventory certificate, without resolving the content. Certificates seen before with changed metadata are stored
+     * as newly discovered, so triggers are evaluated for them again. Entities loaded or persisted for the page are added to page entities.
+     */
+    private int updateCertificates(List<DiscoveryIngestionPipeline.ParsedCertificate> chunk, DiscoveryHistory modal, String sourceKey, OffsetDateTime seenAt, AtomicLong unchanged, List<Object> pageEntities) {
+        List<DiscoveryIngestionPipeline.ParsedCertificate> certificates = new ArrayList<>(chunk.size());
+        Map<String, DiscoveryIngestionPipeline.ParsedCertificate> additionalOccurrences = new HashMap<>();
+        for (DiscoveryIngestionPipeline.ParsedCertificate certificate : chunk) {
+            if (certificate.additionalOccurrence()) {
+                additionalOccurrences.put(certificate.fingerprint(), certificate);
+            } else {
+                certificates.add(certificate);
             }
         }
+        if (!additionalOccurrences.isEmpty()) {
+            mergeAdditionalOccurrences(additionalOccurrences, modal, sourceKey, pageEntities);
+        }
+
+        Set<String> fingerprints = new HashSet<>();
+        certificates.forEach(certificate -> fingerprints.add(certificate.fingerprint()));
+        Map<String, Long> existingCertificates = new HashMap<>();
+        certificateRepository.findContentReferencesByFingerprintIn(fingerprints)
+                .forEach(reference -> existingCertificates.putIfAbsent(reference.fingerprint(), reference.certificateContentId()));
+
+        Map<String, DiscoverySourceCertificate> sourceCertificates = new HashMap<>();
+        if (sourceKey != null) {
+            discoverySourceCertificateRepository.findBySourceKeyAndFingerprintIn(sourceKey, fingerprints).forEach(sourceCertificate -> sourceCertificates.putIfAbsent(sourceCertificate.getFingerprint(), sourceCertificate));
+            pageEntities.addAll(sourceCertificates.values());
+        }
+
+        List<DiscoveryIngestionPipeline.ParsedCertificate> changedCertificates = new ArrayList<>(certificates.size());
+        List<DiscoveryIngestionPipeline.ParsedCertificate> unchangedCertificates = new ArrayList<>();
+        List<String> unchangedFingerprints = new ArrayList<>();
+        List<DiscoverySourceCertificate> newSourceCertificates = new ArrayList<>();
+        Set<String> changedFingerprints = new HashSet<>();
+        for (DiscoveryIngestionPipeline.ParsedCertificate certificate : certificates) {
+            DiscoverySourceCertificate sourceCertificate = sourceCertificates.get(certificate.fingerprint());
+            boolean inInventory = existingCertificates.containsKey(certificate.fingerprint());
+            if (sourceCertificate != null && inInventory && existingCertificates.get(certificate.fingerprint()) != null && Objects.equals(sourceCertificate.getMetaHash(), certificate.metaHash())) {
+                unchangedCertificates.add(certificate);
+                unchangedFingerprints.add(certificate.fingerprint());
+                continue;
+            }
+
+            changedCertificates.add(certificate);
+            if (sourceKey == null) {
+                continue;
+            }
+            if (sourceCertificate == null) {
+                sourceCertificate = new DiscoverySourceCertificate();
+                sourceCertificate.setSourceKey(sourceKey);
+                sourceCertificate.setFingerprint(certificate.fingerprint());
+                sourceCertificate.setFirstSeenAt(seenAt);
+                newSourceCertificates.add(sourceCertificate);
+            } else if (inInventory) {
+                changedFingerprints.add(certificate.fingerprint());
+            }
+            // loaded source certificates are updated on flush
+            sourceCertificate.setMetaHash(certificate.metaHash());
+            sourceCertificate.setLastSeenAt(seenAt);
+            sourceCertificate.setLastDiscoveryUuid(modal.getUuid());
+        }
+        // source certificates first seen concurrently by other discovery of the same source are updated instead of duplicated
+        discoverySourceCertificateRepository.upsert(newSourceCertificates);
+        List<DiscoveryCertificate> discoveryCertificates = new ArrayList<>(certificates.size());
+        if (!unchangedFingerprints.isEmpty()) {
+            discoverySourceCertificateRepository.updateLastSeen(sourceKey, unchangedFingerprints, seenAt, modal.getUuid());
+            unchanged.addAndGet(unchangedFingerprints.size());
+            // unchanged certificates stay in results of the discovery, their content is referenced without loading it
+            for (DiscoveryIngestionPipeline.ParsedCertificate certificate : unchangedCertificates) {
+                CertificateContent certificateContent = certificateContentRepository.getReferenceById(existingCertificates.get(certificate.fingerprint()));
+                pageEntities.add(certificateContent);
+                discoveryCertificates.add(createDiscoveryCertificate(certificate.modal(), certificateContent, modal, false, certificate.meta()));
+            }
+        }
+        if (changedCertificates.isEmpty()) {
+            discoveryCertificateRepository.saveAll(discoveryCertificates);
+            pageEntities.addAll(discoveryCertificates);
+            return discoveryCertificates.size();
+        }
+
+        Map<String, CertificateContent> certificateContents = new HashMap<>();
+        certificateContentRepository.findByFingerprintIn(changedCertificates.stream().map(DiscoveryIngestionPipeline.ParsedCertificate::fingerprint).toList())
+                .forEach(content -> certificateContents.putIfAbsent(content.getFingerprint(), content));
+
+        List<CertificateContent> newCertificateContents = new ArrayList<>();
+        for (DiscoveryIngestionPipeline.ParsedCertificate certificate : changedCertificates) {
+            if (!certificateContents.containsKey(certificate.fingerprint())) {
+                CertificateContent certificateContent = new CertificateContent();
+                certificateContent.setContent(certificate.content());
+                certificateContent.setFingerprint(certificate.fingerprint());
+                certificateContents.put(certificate.fingerprint(), certificateContent);
+                newCertificateContents.add(certificateContent);
+            }
+        }
+        certificateContentRepository.saveAll(newCertificateContents);
+
+        for (DiscoveryIngestionPipeline.ParsedCertificate certificate : changedCertificates) {
+            boolean newlyDiscovered = !existingCertificates.containsKey(certificate.fingerprint()) || changedFingerprints.contains(certificate.fingerprint());
+            discoveryCertificates.add(createDiscoveryCertificate(certificate.modal(), certificateContents.get(certificate.fingerprint()), modal,
+                    newlyDiscovered, certificate.meta()));
+        }
+        discoveryCertificateRepository.saveAll(discoveryCertificates);
+        pageEntities.addAll(certificateContents.values());
+        pageEntities.addAll(discoveryCertificates);
+        return discoveryCertificates.size();
     }
 
-    private void createDiscoveryCertificate(Certificate entry, DiscoveryHistory modal, boolean newlyDiscovered, List<MetadataAttribute> meta) {
+    /**
+     * Merges metadata of certificates discovered again by the discovery into their discovery certificates persisted with previous pages.
+     * Metadata hash of the tracked source is updated to the merged metadata.
+     */
+    private void mergeAdditionalOccurrences(Map<String, DiscoveryIngestionPipeline.ParsedCertificate> occurrences, DiscoveryHistory modal, String sourceKey, List<Object> pageEntities) {
+        Map<String, String> mergedMetaHashes = new HashMap<>();
+        List<DiscoveryCertificate> discoveryCertificates = discoveryCertificateRepository.findByDiscoveryAndCertificateContentFingerprintIn(modal, occurrences.keySet());
+        for (DiscoveryCertificate discoveryCertificate : discoveryCertificates) {
+            String fingerprint = discoveryCertificate.getCertificateContent().getFingerprint();
+            List<MetadataAttribute> mergedMeta = DiscoveryIngestionPipeline.mergeMeta(discoveryCertificate.getMeta(), occurrences.get(fingerprint).meta());
+            discoveryCertificate.setMeta(mergedMeta);
+            mergedMetaHashes.put(fingerprint, AttributeContentHashUtil.getObjectHash(mergedMeta));
+            pageEntities.add(discoveryCertificate.getCertificateContent());
+        }
+        discoveryCertificateRepository.saveAll(discoveryCertificates);
+        pageEntities.addAll(discoveryCertificates);
+
+        if (sourceKey != null && !mergedMetaHashes.isEmpty()) {
+            // loaded source certificates are updated on flush
+            List<DiscoverySourceCertificate> sourceCertificates = discoverySourceCertificateRepository.findBySourceKeyAndFingerprintIn(sourceKey, mergedMetaHashes.keySet());
+            sourceCertificates.forEach(sourceCertificate -> sourceCertificate.setMetaHash(mergedMetaHashes.get(sourceCertificate.getFingerprint())));
+            pageEntities.addAll(sourceCertificates);
+        }
+    }
+
+    private DiscoveryCertificate createDiscoveryCertificate(Certificate entry, CertificateContent certificateContent, DiscoveryHistory modal, boolean newlyDiscovered, List<MetadataAttribute> meta) {
         DiscoveryCertificate discoveryCertificate = new DiscoveryCertificate();
         discoveryCertificate.setCommonName(entry.getCommonName());
         discoveryCertificate.setSerialNumber(entry.getSerialNumber());
         discoveryCertificate.setIssuerCommonName(entry.getIssuerCommonName());
         discoveryCertificate.setNotAfter(entry.getNotAfter());
         discoveryCertificate.setNotBefore(entry.getNotBefore());
-        discoveryCertificate.setCertificateContent(entry.getCertificateContent());
+        discoveryCertificate.setCertificateContent(certificateContent);
         discoveryCertificate.setDiscovery(modal);
         discoveryCertificate.setNewlyDiscovered(newlyDiscovered);
         discoveryCertificate.setMeta(meta);
-        discoveryCertificateRepository.save(discoveryCertificate);
+        return discoveryCertificate;
     }
 
     @Override
@@ -523,43 +844,146 @@ public class DiscoveryServiceImpl implements DiscoveryService {
 
     @Override
     public void evaluateDiscoveryTriggers(UUID discoveryUuid, UUID userUuid) throws RuleException {
-        // Get newly discovered certificates
+        MessageLaneContext.runAs(MessageLane.BULK, () -> evaluateTriggers(discoveryUuid, userUuid));
+    }
+
+    private void evaluateTriggers(UUID discoveryUuid, UUID userUuid) throws RuleException {
         DiscoveryHistory discovery = discoveryRepository.findWithTriggersByUuid(discoveryUuid);
-        List<DiscoveryCertificate> discoveredCertificates = discoveryCertificateRepository.findByDiscoveryAndNewlyDiscovered(discovery, true, Pageable.unpaged());
         // Get triggers for the discovery, separately for triggers with ignore action, the rest of triggers are in given order
         List<TriggerAssociation> triggerAssociations = triggerAssociationRepository.findAllByResourceAndObjectUuidOrderByTriggerOrderAsc(Resource.DISCOVERY, discoveryUuid);
-        List<Trigger> orderedTriggers = new ArrayList<>();
-        List<Trigger> ignoreTriggers = new ArrayList<>();
+        List<UUID> orderedTriggerUuids = new ArrayList<>();
+        List<UUID> ignoreTriggerUuids = new ArrayList<>();
         for (TriggerAssociation triggerAssociation : triggerAssociations) {
+            if (triggerAssociation.getTriggerOrder() == -1) {
+                ignoreTriggerUuids.add(triggerAssociation.getTriggerUuid());
+            } else {
+                orderedTriggerUuids.add(triggerAssociation.getTriggerUuid());
+            }
+        }
+
+        // Newly discovered certificates are split to partitions processed in parallel, each partition in its own transaction
+        long newlyDiscovered = discoveryCertificateRepository.countByDiscoveryAndNewlyDiscovered(discovery, true);
+        int partitionSize = Math.max(triggersPartitionSize, 1);
+        int partitions = (int) ((newlyDiscovered + partitionSize - 1) / partitionSize);
+        logger.debug("Evaluating triggers of discovery {} for {} newly discovered certificates in {} partitions", discovery.getName(), newlyDiscovered, partitions);
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            Pageable partition = PageRequest.of(i, partitionSize, Sort.by("uuid"));
+            Callable<Integer> task = () -> MessageLaneContext.callAs(MessageLane.BULK, () -> processPartition(discoveryUuid, partition, ignoreTriggerUuids, orderedTriggerUuids));
+            results.add(discoveryTriggersExecutor.submit(DelegatingSecurityContextCallable.create(task, securityContext)));
+        }
+
+        int processed = 0;
+        int failedPartitions = 0;
+        String failureMessage = null;
+        for (int i = 0; i < results.size(); i++) {
             try {
-                Trigger trigger = triggerService.getTriggerEntity(String.valueOf(triggerAssociation.getTriggerUuid()));
-                if (triggerAssociation.getTriggerOrder() == -1) {
-                    ignoreTriggers.add(trigger);
-                } else {
-                    orderedTriggers.add(trigger);
-                }
-            } catch (NotFoundException e) {
-                logger.error(e.getMessage());
+                processed += results.get(i).get();
+            } catch (ExecutionException e) {
+                ++failedPartitions;
+                failureMessage = e.getCause().getMessage();
+                logger.error("Couldn't process partition {} of certificates discovered by discovery {}. Error: {}", i, discovery.getName(), failureMessage);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedPartitions += results.size() - i;
+                failureMessage = "Evaluation of triggers was interrupted";
+                logger.error("Evaluation of triggers of discovery {} was interrupted", discovery.getName());
+                results.subList(i, results.size()).forEach(result -> result.cancel(true));
+                break;
             }
         }
+        logger.debug("Triggers of discovery {} evaluated, {} of {} newly discovered certificates processed", discovery.getName(), processed, newlyDiscovered);
+
+        if (failedPartitions > 0) {
+            String message = String.format("Triggers of %d of %d partitions of newly discovered certificates could not be processed: %s", failedPartitions, partitions, failureMessage);
+            discovery.setStatus(DiscoveryStatus.WARNING);
+            discovery.setMessage(discovery.getMessage() == null || discovery.getMessage().isEmpty() ? message : discovery.getMessage() + " " + message);
+        } else {
+            discovery.setStatus(DiscoveryStatus.COMPLETED);
+        }
+        discoveryRepository.save(discovery);
+
+        notificationProducer.produceNotificationText(Resource.DISCOVERY, discovery.getUuid(), NotificationRecipient.buildUserNotificationRecipient(userUuid), String.format("Discovery %s has finished with status %s", discovery.getName(), discovery.getStatus()), discovery.getMessage());
+    }
+
+    private Integer processPartition(UUID discoveryUuid, Pageable partition, List<UUID> ignoreTriggerUuids, List<UUID> orderedTriggerUuids) {
+        try {
+            return pageTransactionTemplate.execute(status -> processDiscoveredCertificates(discoveryUuid, partition, ignoreTriggerUuids, orderedTriggerUuids));
+        } catch (DataIntegrityViolationException | TransientDataAccessException e) {
+            // partitions processed in parallel can conflict on shared data (e.g. certificate or metadata created by other partition),
+            // transaction of partition is rolled back, so the partition is processed once more in new transaction
+            logger.warn("Processing of partition {} of discovered certificates conflicted with concurrent transaction, partition is retried. Error: {}", partition.getPageNumber(), e.getMessage());
+            return pageTransactionTemplate.execute(status -> processDiscoveredCertificates(discoveryUuid, partition, ignoreTriggerUuids, orderedTriggerUuids));
+        }
+    }
+
+    private int processDiscoveredCertificates(UUID discoveryUuid, Pageable partition, List<UUID> ignoreTriggerUuids, List<UUID> orderedTriggerUuids) {
+        // entities are loaded in the transaction of partition to not share them between threads
+        DiscoveryHistory discovery = discoveryRepository.findWithTriggersByUuid(discoveryUuid);
+        List<Trigger> ignoreTriggers = loadTriggers(ignoreTriggerUuids);
+        List<Trigger> orderedTriggers = loadTriggers(orderedTriggerUuids);
+
+        Map<String, Object> additionalInfo = new HashMap<>();
+        additionalInfo.put("Discovery Name", discovery.getName());
+        additionalInfo.put("Discovery UUID", discovery.getUuid());
+        additionalInfo.put("Discovery Connector Name", discovery.getConnectorName());
+        additionalInfo.put("Discovery Kind", discovery.getKind());
+        String eventMessage = "Discovered from Connector: " + discovery.getConnectorName() + " via discovery: " + discovery.getName();
+        String eventAdditionalInfo = MetaDefinitions.serialize(additionalInfo);
 
         // For each discovered certificate and for each found trigger, check if it satisfies rules defined by the trigger and perform actions accordingly
-        for (DiscoveryCertificate discoveryCertificate : discoveredCertificates) {
+        Map<ObjectAttributeContentInfo, List<MetadataAttribute>> certificatesMetadata = new LinkedHashMap<>();
+        List<CertificateEventHistory> eventHistories = new ArrayList<>();
+        for (DiscoveryCertificate discoveryCertificate : discoveryCertificateRepository.findByDiscoveryAndNewlyDiscovered(discovery, true, partition)) {
             try {
-                processDiscoveredCertificate(discovery, discoveryCertificate, ignoreTriggers, orderedTriggers);
+                Certificate entry = processDiscoveredCertificate(discovery, discoveryCertificate, ignoreTriggers, orderedTriggers);
+                if (entry != null) {
+                    certificatesMetadata.put(new ObjectAttributeContentInfo(discovery.getConnectorUuid(), Resource.CERTIFICATE, entry.getUuid(), Resource.DISCOVERY, discovery.getUuid(), discovery.getName()), discoveryCertificate.getMeta());
+                    eventHistories.add(certificateEventHistoryService.getEventHistory(entry.getUuid(), CertificateEvent.DISCOVERY, CertificateEventStatus.SUCCESS, eventMessage, eventAdditionalInfo));
+                }
+            } catch (DataIntegrityViolationException | TransientDataAccessException e) {
+                // transaction of partition cannot continue after failed database operation
+                throw e;
             } catch (Exception e) {
                 logger.warn("Couldn't process discovered certificate {}. Error: {}", discoveryCertificate, e.getMessage());
             }
         }
 
-        discovery.setStatus(DiscoveryStatus.COMPLETED);
-        discoveryRepository.save(discovery);
+        // Set metadata attributes and create certificate event history entries of the whole partition at once
+        try {
+            attributeEngine.addObjectsMetadataAttributes(certificatesMetadata);
+        } catch (AttributeException e) {
+            logger.error("Could not update metadata for certificates discovered by discovery {}: {}", discovery.getName(), e.getMessage());
+        }
+        certificateEventHistoryService.saveAllInBatch(eventHistories);
 
-        notificationProducer.produceNotificationText(Resource.DISCOVERY, discovery.getUuid(), NotificationRecipient.buildUserNotificationRecipient(userUuid), String.format("Discovery %s has finished with status %s", discovery.getName(), discovery.getStatus()), discovery.getMessage());
+        return eventHistories.size();
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processDiscoveredCertificate(DiscoveryHistory discovery, DiscoveryCertificate discoveryCertificate, List<Trigger> ignoreTriggers, List<Trigger> orderedTriggers) throws RuleException {
+    private List<Trigger> loadTriggers(List<UUID> triggerUuids) {
+        List<Trigger> triggers = new ArrayList<>();
+        for (UUID triggerUuid : triggerUuids) {
+            try {
+                triggers.add(triggerService.getTriggerEntity(String.valueOf(triggerUuid)));
+            } catch (NotFoundException e) {
+                logger.error(e.getMessage());
+            }
+        }
+        return triggers;
+    }
+
+    /**
+     * Evaluates triggers of discovery for discovered certificate and stores the certificate if not ignored by triggers.
+     * Metadata and event history of the certificate are stored by caller for whole partition. Certificate is not validated,
+     * it has no status validation timestamp yet and is validated by scheduled certificates status update.
+     *
+     * @return stored certificate or null if certificate was ignored or could not be parsed
+     */
+    private Certificate processDiscoveredCertificate(DiscoveryHistory discovery, DiscoveryCertificate discoveryCertificate, List<Trigger> ignoreTriggers, List<Trigger> orderedTriggers) throws RuleException {
         // Get X509 from discovered certificate and create certificate entity, do not save in database yet
         Certificate entry;
         X509Certificate x509Cert;
@@ -568,7 +992,7 @@ public class DiscoveryServiceImpl implements DiscoveryService {
             entry = certificateService.createCertificateEntity(x509Cert);
         } catch (java.security.cert.CertificateException e) {
             logger.error("Unable to create certificate from discovery certificate with UUID {}.", discoveryCertificate.getUuid());
-            return;
+            return null;
         }
 
         // First, check the triggers that have action with action type set to ignore
@@ -590,7 +1014,7 @@ public class DiscoveryServiceImpl implements DiscoveryService {
 
         // If some trigger ignored this certificate, certificate is not saved and continue with next one
         if (ignored) {
-            return;
+            return null;
         }
 
         // Save certificate to database
@@ -616,24 +1040,6 @@ public class DiscoveryServiceImpl implements DiscoveryService {
             }
         }
 
-        // Set metadata attributes, create certificate event history entry and validate certificate
-        try {
-            attributeEngine.updateMetadataAttributes(discoveryCertificate.getMeta(), new ObjectAttributeContentInfo(discovery.getConnectorUuid(), Resource.CERTIFICATE, entry.getUuid(), Resource.DISCOVERY, discovery.getUuid(), discovery.getName()));
-        } catch (AttributeException e) {
-            logger.error("Could not update metadata for discovery certificate {}.", discoveryCertificate.getUuid());
-        }
-        Map<String, Object> additionalInfo = new HashMap<>();
-        additionalInfo.put("Discovery Name", discovery.getName());
-        additionalInfo.put("Discovery UUID", discovery.getUuid());
-        additionalInfo.put("Discovery Connector Name", discovery.getConnectorName());
-        additionalInfo.put("Discovery Kind", discovery.getKind());
-        certificateEventHistoryService.addEventHistory(
-                entry.getUuid(),
-                CertificateEvent.DISCOVERY,
-                CertificateEventStatus.SUCCESS,
-                "Discovered from Connector: " + discovery.getConnectorName() + " via discovery: " + discovery.getName(),
-                MetaDefinitions.serialize(additionalInfo)
-        );
-        certificateService.validate(entry);
+        return entry;
     }
 }
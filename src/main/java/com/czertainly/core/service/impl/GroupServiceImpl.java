@@ -11,6 +11,7 @@ import com.czertainly.core.aop.AuditLogged;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.dao.entity.Group;
 import com.czertainly.core.dao.repository.GroupRepository;
+import com.czertainly.core.messaging.listeners.NotificationDispatchCache;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
 import com.czertainly.core.security.authz.SecuredUUID;
@@ -38,6 +39,8 @@ public class GroupServiceImpl implements GroupService {
 
     private AttributeEngine attributeEngine;
 
+    private NotificationDispatchCache notificationDispatchCache;
+
     @Autowired
     public void setGroupRepository(GroupRepository groupRepository) {
         this.groupRepository = groupRepository;
@@ -53,6 +56,11 @@ public class GroupServiceImpl implements GroupService {
         this.attributeEngine = attributeEngine;
     }
 
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
     @Override
     @AuditLogged(originator = ObjectType.FE, affected = ObjectType.GROUP, operation = OperationType.REQUEST)
     @ExternalAuthorization(resource = Resource.GROUP, action = ResourceAction.LIST)
@@ -111,6 +119,7 @@ public class GroupServiceImpl implements GroupService {
 
         GroupDto dto = group.mapToDto();
         dto.setCustomAttributes(attributeEngine.updateObjectCustomAttributesContent(Resource.GROUP, group.getUuid(), request.getCustomAttributes()));
+        notificationDispatchCache.invalidate();
         return dto;
     }
 
@@ -123,6 +132,7 @@ public class GroupServiceImpl implements GroupService {
         objectAssociationService.removeGroupAssociations(group.getUuid());
         attributeEngine.deleteAllObjectAttributeContent(Resource.GROUP, group.getUuid());
         groupRepository.delete(group);
+        notificationDispatchCache.invalidate();
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.czertainly.api.model.core.auth.UserDetailDto;
 import com.czertainly.api.model.core.auth.UserRequestDto;
 import com.czertainly.api.model.core.auth.UserUpdateRequestDto;
 import com.czertainly.core.dao.entity.Certificate;
+import com.czertainly.core.security.authn.AuthenticationCache;
 import com.czertainly.core.security.authn.CzertainlyAuthenticationToken;
 import com.czertainly.core.security.authn.CzertainlyUserDetails;
 import com.czertainly.core.security.authn.client.AuthenticationInfo;
@@ -42,6 +43,7 @@ public class LocalAdminServiceImpl implements LocalAdminService {
     private UserManagementService userManagementService;
     private CertificateService certificateService;
     private CzertainlyAuthenticationClient czertainlyAuthenticationClient;
+    private AuthenticationCache authenticationCache;
 
     @Value("${server.ssl.certificate-header-name}")
     private String certificateHeaderName;
@@ -71,6 +73,11 @@ public class LocalAdminServiceImpl implements LocalAdminService {
         this.roleManagementApiClient = roleManagementApiClient;
     }
 
+    @Autowired
+    public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
     @Override
     public UserDetailDto createUser(AddUserRequestDto request) throws NotFoundException, CertificateException, NoSuchAlgorithmException, AlreadyExistException, AttributeException {
 
@@ -95,6 +102,7 @@ public class LocalAdminServiceImpl implements LocalAdminService {
         }
         UserDetailDto response = createUser(request, fingerPrint);
         userManagementApiClient.updateRole(response.getUuid(), superAdminUuid);
+        authenticationCache.invalidate();
 
         AuthenticationInfo authUserInfo = czertainlyAuthenticationClient.authenticate(getHeaders(request.getCertificateData()));
         SecurityContext securityContext = SecurityContextHolder.getContext();
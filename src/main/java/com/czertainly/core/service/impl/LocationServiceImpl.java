@@ -10,6 +10,7 @@ import com.czertainly.api.model.client.location.AddLocationRequestDto;
 import com.czertainly.api.model.client.location.EditLocationRequestDto;
 import com.czertainly.api.model.client.location.IssueToLocationRequestDto;
 import com.czertainly.api.model.client.location.PushToLocationRequestDto;
+import com.czertainly.api.model.client.metadata.MetadataResponseDto;
 import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.common.attribute.v2.AttributeType;
 import com.czertainly.api.model.common.attribute.v2.BaseAttribute;
@@ -204,7 +205,7 @@ public class LocationServiceImpl implements LocationService {
         locationDto.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.LOCATION, location.getUuid())));
         locationDto.setCustomAttributes(attributeEngine.updateObjectCustomAttributesContent(Resource.LOCATION, location.getUuid(), dto.getCustomAttributes()));
         locationDto.setAttributes(attributeEngine.updateObjectDataAttributesContent(entityInstanceRef.getConnectorUuid(), null, Resource.LOCATION, location.getUuid(), dto.getAttributes()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(entityInstanceRef.getConnectorUuid(), Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, entityInstanceRef.getConnectorUuid(), location.getUuid());
 
         return locationDto;
     }
@@ -219,7 +220,7 @@ public class LocationServiceImpl implements LocationService {
         dto.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.LOCATION, location.getUuid())));
         dto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
         dto.setAttributes(attributeEngine.getObjectDataAttributesContent(location.getEntityInstanceReference().getConnectorUuid(), null, Resource.LOCATION, location.getUuid()));
-        dto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(dto, null, location.getUuid());
         return dto;
     }
 
@@ -249,7 +250,7 @@ public class LocationServiceImpl implements LocationService {
         locationDto.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.LOCATION, location.getUuid())));
         locationDto.setCustomAttributes(attributeEngine.updateObjectCustomAttributesContent(Resource.LOCATION, location.getUuid(), dto.getCustomAttributes()));
         locationDto.setAttributes(attributeEngine.updateObjectDataAttributesContent(entityInstanceRef.getConnectorUuid(), null, Resource.LOCATION, location.getUuid(), dto.getAttributes()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(entityInstanceRef.getConnectorUuid(), Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, entityInstanceRef.getConnectorUuid(), location.getUuid());
         return locationDto;
     }
 
@@ -375,7 +376,7 @@ public class LocationServiceImpl implements LocationService {
         logger.info("Certificate {} removed from Location {}", certificateUuid, location.getName());
         LocationDto locationDto = location.mapToDto();
         locationDto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, null, location.getUuid());
         return locationDto;
     }
 
@@ -495,7 +496,7 @@ public class LocationServiceImpl implements LocationService {
 
         final LocationDto dto = location.mapToDto();
         dto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
-        dto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(dto, null, location.getUuid());
         return dto;
     }
 
@@ -615,7 +616,7 @@ public class LocationServiceImpl implements LocationService {
 
         LocationDto locationDto = location.mapToDto();
         locationDto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, null, location.getUuid());
         return locationDto;
     }
 
@@ -653,7 +654,7 @@ public class LocationServiceImpl implements LocationService {
 
         LocationDto locationDto = location.mapToDto();
         locationDto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(entityInstanceRef.getConnectorUuid(), Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, entityInstanceRef.getConnectorUuid(), location.getUuid());
 
         return locationDto;
     }
@@ -723,7 +724,7 @@ public class LocationServiceImpl implements LocationService {
 
         LocationDto locationDto = location.mapToDto();
         locationDto.setCustomAttributes(attributeEngine.getObjectCustomAttributesContent(Resource.LOCATION, location.getUuid()));
-        locationDto.getCertificates().forEach(e -> e.setMetadata(attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, UUID.fromString(e.getCertificateUuid()), Resource.LOCATION, location.getUuid()))));
+        loadCertificatesMetadata(locationDto, null, location.getUuid());
 
         return locationDto;
     }
@@ -1101,6 +1102,12 @@ public class LocationServiceImpl implements LocationService {
 
     }
 
+    private void loadCertificatesMetadata(LocationDto locationDto, UUID connectorUuid, UUID locationUuid) {
+        List<UUID> certificateUuids = locationDto.getCertificates().stream().map(e -> UUID.fromString(e.getCertificateUuid())).toList();
+        Map<UUID, List<MetadataResponseDto>> certificatesMetadata = attributeEngine.getObjectsMappedMetadataContent(connectorUuid, Resource.CERTIFICATE, certificateUuids, Resource.LOCATION, locationUuid);
+        locationDto.getCertificates().forEach(e -> e.setMetadata(certificatesMetadata.get(UUID.fromString(e.getCertificateUuid()))));
+    }
+
     private void removeStash(Location location, List<MetadataAttribute> metadata) throws ConnectorException {
         RemoveCertificateRequestDto removeCertificateRequestDto = new RemoveCertificateRequestDto();
         removeCertificateRequestDto.setLocationAttributes(attributeEngine.getRequestObjectDataAttributesContent(location.getEntityInstanceReference().getConnectorUuid(), null, Resource.LOCATION, location.getUuid()));
@@ -24,6 +24,7 @@ import com.czertainly.core.dao.entity.NotificationInstanceMappedAttributes;
 import com.czertainly.core.dao.entity.NotificationInstanceReference;
 import com.czertainly.core.dao.repository.NotificationInstanceMappedAttributeRepository;
 import com.czertainly.core.dao.repository.NotificationInstanceReferenceRepository;
+import com.czertainly.core.messaging.listeners.NotificationDispatchCache;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
 import com.czertainly.core.security.authz.SecuredUUID;
@@ -54,6 +55,7 @@ public class NotificationInstanceServiceImpl implements NotificationInstanceServ
     private NotificationInstanceApiClient notificationInstanceApiClient;
     private SettingService settingService;
     private AttributeEngine attributeEngine;
+    private NotificationDispatchCache notificationDispatchCache;
 
     @Autowired
     public void setAttributeEngine(AttributeEngine attributeEngine) {
@@ -90,6 +92,11 @@ public class NotificationInstanceServiceImpl implements NotificationInstanceServ
         this.settingService = settingService;
     }
 
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
     @Override
     @AuditLogged(originator = ObjectType.FE, affected = ObjectType.NOTIFICATION_INSTANCE, operation = OperationType.REQUEST)
     @ExternalAuthorization(resource = Resource.NOTIFICATION_INSTANCE, action = ResourceAction.LIST)
@@ -200,6 +207,7 @@ public class NotificationInstanceServiceImpl implements NotificationInstanceServ
 
         NotificationInstanceDto dto = notificationInstanceReferenceRepository.save(notificationInstanceRef).mapToDto();
         dto.setAttributes(attributeEngine.updateObjectDataAttributesContent(notificationInstanceRef.getConnectorUuid(), null, Resource.NOTIFICATION_INSTANCE, notificationInstanceRef.getUuid(), request.getAttributes()));
+        notificationDispatchCache.invalidate();
 
         return dto;
     }
@@ -210,6 +218,7 @@ public class NotificationInstanceServiceImpl implements NotificationInstanceServ
     public void deleteNotificationInstance(UUID uuid) throws ConnectorException {
         NotificationInstanceReference notificationInstanceRef = getNotificationInstanceReferenceEntity(uuid);
         removeNotificationInstance(notificationInstanceRef);
+        notificationDispatchCache.invalidate();
     }
 
     @Override
@@ -211,6 +211,23 @@ public class ResourceServiceImpl implements ResourceService {
     @Override
     public List<ResponseAttributeDto> updateAttributeContentForObject(Resource objectType, SecuredUUID objectUuid, UUID attributeUuid, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException {
         logger.info("Updating the attribute {} for resource {} ith value {}", attributeUuid, objectType, attributeUuid);
+        evaluateObjectPermissionChain(objectType, objectUuid);
+
+        attributeEngine.updateObjectCustomAttributeContent(objectType, objectUuid.getValue(), attributeUuid, null, attributeContentItems);
+        return attributeEngine.getObjectCustomAttributesContent(objectType, objectUuid.getValue());
+    }
+
+    @Override
+    public void updateAttributeContentForObjects(Resource objectType, List<SecuredUUID> objectUuids, UUID attributeUuid, List<BaseAttributeContent> attributeContentItems) throws NotFoundException, AttributeException {
+        logger.info("Updating the attribute {} for {} objects of resource {}", attributeUuid, objectUuids.size(), objectType);
+        for (SecuredUUID objectUuid : objectUuids) {
+            evaluateObjectPermissionChain(objectType, objectUuid);
+        }
+
+        attributeEngine.updateObjectsCustomAttributeContent(objectType, objectUuids.stream().map(SecuredUUID::getValue).toList(), attributeUuid, null, attributeContentItems);
+    }
+
+    private void evaluateObjectPermissionChain(Resource objectType, SecuredUUID objectUuid) throws NotFoundException {
         switch (objectType) {
             case ACME_PROFILE:
                 acmeProfileService.evaluatePermissionChain(objectUuid);
@@ -269,9 +286,6 @@ public class ResourceServiceImpl implements ResourceService {
             default:
                 throw new NotFoundException("Cannot update custom attribute for requested resource: " + objectType.getCode());
         }
-
-        attributeEngine.updateObjectCustomAttributeContent(objectType, objectUuid.getValue(), attributeUuid, null, attributeContentItems);
-        return attributeEngine.getObjectCustomAttributesContent(objectType, objectUuid.getValue());
     }
 
     @Override
@@ -8,10 +8,14 @@ import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.core.auth.*;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.model.auth.ResourceAction;
+import com.czertainly.core.security.authn.AuthenticationCache;
 import com.czertainly.core.security.authn.client.RoleManagementApiClient;
 import com.czertainly.core.security.authz.ExternalAuthorization;
+import com.czertainly.core.messaging.listeners.NotificationDispatchCache;
+import com.czertainly.core.security.authz.LocalPermissionEvaluator;
 import com.czertainly.core.security.authz.SecuredUUID;
 import com.czertainly.core.security.authz.SecurityFilter;
+import com.czertainly.core.security.authz.opa.OpaDecisionCache;
 import com.czertainly.core.service.RoleManagementService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
@@ -31,12 +35,36 @@ public class RoleManagementServiceImpl implements RoleManagementService {
     private RoleManagementApiClient roleManagementApiClient;
 
     private AttributeEngine attributeEngine;
+    private AuthenticationCache authenticationCache;
+    private OpaDecisionCache opaDecisionCache;
+    private LocalPermissionEvaluator localPermissionEvaluator;
+    private NotificationDispatchCache notificationDispatchCache;
 
     @Autowired
     public void setAttributeEngine(AttributeEngine attributeEngine) {
         this.attributeEngine = attributeEngine;
     }
 
+    @Autowired
+    public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @Autowired
+    public void setOpaDecisionCache(OpaDecisionCache opaDecisionCache) {
+        this.opaDecisionCache = opaDecisionCache;
+    }
+
+    @Autowired
+    public void setLocalPermissionEvaluator(LocalPermissionEvaluator localPermissionEvaluator) {
+        this.localPermissionEvaluator = localPermissionEvaluator;
+    }
+
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
     @Override
     @ExternalAuthorization(resource = Resource.ROLE, action = ResourceAction.LIST)
     public List<RoleDto> listRoles() {
@@ -75,7 +103,9 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         requestDto.setEmail(request.getEmail());
         requestDto.setSystemRole(false);
         RoleDetailDto dto = roleManagementApiClient.updateRole(roleUuid, requestDto);
+        authenticationCache.invalidate();
         dto.setCustomAttributes(attributeEngine.updateObjectCustomAttributesContent(Resource.ROLE, UUID.fromString(dto.getUuid()), request.getCustomAttributes()));
+        notificationDispatchCache.invalidate();
 
         return dto;
     }
@@ -84,6 +114,10 @@ public class RoleManagementServiceImpl implements RoleManagementService {
     @ExternalAuthorization(resource = Resource.ROLE, action = ResourceAction.DELETE)
     public void deleteRole(String roleUuid) {
         roleManagementApiClient.deleteRole(roleUuid);
+        authenticationCache.invalidate();
+        opaDecisionCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        notificationDispatchCache.invalidate();
         attributeEngine.deleteAllObjectAttributeContent(Resource.ROLE, UUID.fromString(roleUuid));
     }
 
@@ -98,7 +132,11 @@ public class RoleManagementServiceImpl implements RoleManagementService {
     public SubjectPermissionsDto addPermissions(String roleUuid, RolePermissionsRequestDto request) {
         checkSystemRole(roleUuid);
 
-        return roleManagementApiClient.savePermissions(roleUuid, request);
+        SubjectPermissionsDto permissions = roleManagementApiClient.savePermissions(roleUuid, request);
+        authenticationCache.invalidate();
+        opaDecisionCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        return permissions;
     }
 
     @Override
@@ -119,6 +157,9 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         checkSystemRole(roleUuid);
 
         roleManagementApiClient.addResourcePermissionObjects(roleUuid, resourceUuid, request);
+        authenticationCache.invalidate();
+        opaDecisionCache.invalidate();
+        localPermissionEvaluator.invalidate();
     }
 
     @Override
@@ -127,6 +168,9 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         checkSystemRole(roleUuid);
 
         roleManagementApiClient.updateResourcePermissionObjects(roleUuid, resourceUuid, objectUuid, request);
+        authenticationCache.invalidate();
+        opaDecisionCache.invalidate();
+        localPermissionEvaluator.invalidate();
     }
 
     @Override
@@ -135,6 +179,9 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         checkSystemRole(roleUuid);
 
         roleManagementApiClient.removeResourcePermissionObjects(roleUuid, resourceUuid, objectUuid);
+        authenticationCache.invalidate();
+        opaDecisionCache.invalidate();
+        localPermissionEvaluator.invalidate();
     }
 
     @Override
@@ -146,7 +193,10 @@ public class RoleManagementServiceImpl implements RoleManagementService {
     @Override
     @ExternalAuthorization(resource = Resource.ROLE, action = ResourceAction.UPDATE)
     public RoleDetailDto updateUsers(String roleUuid, List<String> userUuids) {
-        return roleManagementApiClient.updateUsers(roleUuid, userUuids);
+        RoleDetailDto dto = roleManagementApiClient.updateUsers(roleUuid, userUuids);
+        authenticationCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        return dto;
     }
 
     @Override
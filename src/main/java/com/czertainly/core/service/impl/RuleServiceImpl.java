@@ -12,6 +12,7 @@ import com.czertainly.core.dao.entity.workflows.Trigger;
 import com.czertainly.core.dao.repository.workflows.ConditionItemRepository;
 import com.czertainly.core.dao.repository.workflows.ConditionRepository;
 import com.czertainly.core.dao.repository.workflows.RuleRepository;
+import com.czertainly.core.evaluator.CompiledRuleCache;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
 import com.czertainly.core.security.authz.SecuredUUID;
@@ -31,6 +32,7 @@ public class RuleServiceImpl implements RuleService {
     private ConditionRepository conditionRepository;
     private ConditionItemRepository conditionItemRepository;
     private RuleRepository ruleRepository;
+    private CompiledRuleCache compiledRuleCache;
 
     @Autowired
     public void setConditionRepository(ConditionRepository conditionRepository) {
@@ -47,6 +49,11 @@ public class RuleServiceImpl implements RuleService {
         this.ruleRepository = ruleRepository;
     }
 
+    @Autowired
+    public void setCompiledRuleCache(CompiledRuleCache compiledRuleCache) {
+        this.compiledRuleCache = compiledRuleCache;
+    }
+
     //region Conditions
 
     @Override
@@ -98,6 +105,7 @@ public class RuleServiceImpl implements RuleService {
         }
 
         Condition condition = conditionRepository.findByUuid(SecuredUUID.fromString(conditionUuid)).orElseThrow(() -> new NotFoundException(Condition.class, conditionUuid));
+        compiledRuleCache.evictConditionItems(condition.getItems());
         conditionItemRepository.deleteAll(condition.getItems());
 
         condition.setDescription(request.getDescription());
@@ -117,6 +125,7 @@ public class RuleServiceImpl implements RuleService {
             throw new ValidationException(String.format("Cannot delete condition %s. It is associated to following rules: %s.", condition.getName(), String.join(", ", condition.getRules().stream().map(Rule::getName).toList())));
         }
 
+        compiledRuleCache.evictConditionItems(condition.getItems());
         conditionRepository.delete(condition);
     }
 
@@ -9,6 +9,7 @@ import com.czertainly.api.model.core.settings.SettingsSection;
 import com.czertainly.api.model.core.settings.UtilsSettingsDto;
 import com.czertainly.core.dao.entity.Setting;
 import com.czertainly.core.dao.repository.SettingRepository;
+import com.czertainly.core.messaging.listeners.NotificationDispatchCache;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.ExternalAuthorization;
 import com.czertainly.core.service.SettingService;
@@ -36,11 +37,18 @@ public class SettingServiceImpl implements SettingService {
 
     private SettingRepository settingRepository;
 
+    private NotificationDispatchCache notificationDispatchCache;
+
     @Autowired
     public void setSettingRepository(SettingRepository settingRepository) {
         this.settingRepository = settingRepository;
     }
 
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
     @Override
     public PlatformSettingsDto getPlatformSettings() {
         List<Setting> settings = settingRepository.findBySection(SettingsSection.PLATFORM);
@@ -132,6 +140,7 @@ public class SettingServiceImpl implements SettingService {
             throw new RuntimeException(e);
         }
         settingRepository.save(setting);
+        notificationDispatchCache.invalidate();
     }
 
     private Map<String, Map<String, Setting>> mapSettingsByCategory(List<Setting> settings) {
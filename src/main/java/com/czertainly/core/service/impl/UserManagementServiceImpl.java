@@ -14,8 +14,11 @@ import com.czertainly.api.model.core.certificate.group.GroupDto;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.dao.entity.Certificate;
 import com.czertainly.core.model.auth.ResourceAction;
+import com.czertainly.core.security.authn.AuthenticationCache;
 import com.czertainly.core.security.authn.client.UserManagementApiClient;
 import com.czertainly.core.security.authz.ExternalAuthorization;
+import com.czertainly.core.messaging.listeners.NotificationDispatchCache;
+import com.czertainly.core.security.authz.LocalPermissionEvaluator;
 import com.czertainly.core.security.authz.SecuredUUID;
 import com.czertainly.core.security.authz.SecurityFilter;
 import com.czertainly.core.service.CertificateService;
@@ -51,6 +54,9 @@ public class UserManagementServiceImpl implements UserManagementService {
     private ResourceObjectAssociationService objectAssociationService;
 
     private AttributeEngine attributeEngine;
+    private AuthenticationCache authenticationCache;
+    private LocalPermissionEvaluator localPermissionEvaluator;
+    private NotificationDispatchCache notificationDispatchCache;
 
     @Autowired
     public void setUserManagementApiClient(UserManagementApiClient userManagementApiClient) {
@@ -77,6 +83,21 @@ public class UserManagementServiceImpl implements UserManagementService {
         this.attributeEngine = attributeEngine;
     }
 
+    @Autowired
+    public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @Autowired
+    public void setLocalPermissionEvaluator(LocalPermissionEvaluator localPermissionEvaluator) {
+        this.localPermissionEvaluator = localPermissionEvaluator;
+    }
+
+    @Autowired
+    public void setNotificationDispatchCache(NotificationDispatchCache notificationDispatchCache) {
+        this.notificationDispatchCache = notificationDispatchCache;
+    }
+
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.LIST)
     public List<UserDto> listUsers() {
@@ -120,6 +141,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         requestDto.setGroups(groups);
 
         UserDetailDto response = userManagementApiClient.createUser(requestDto);
+        authenticationCache.invalidate();
         if (certificate != null) {
             certificateService.updateCertificateUser(certificate.getUuid(), response.getUuid());
         }
@@ -147,6 +169,9 @@ public class UserManagementServiceImpl implements UserManagementService {
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.DELETE)
     public void deleteUser(String userUuid) {
         userManagementApiClient.removeUser(userUuid);
+        authenticationCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        notificationDispatchCache.invalidate();
 
         UUID uuid = UUID.fromString(userUuid);
         certificateService.removeCertificateUser(uuid);
@@ -157,13 +182,19 @@ public class UserManagementServiceImpl implements UserManagementService {
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.UPDATE)
     public UserDetailDto updateRoles(String userUuid, List<String> roleUuids) {
-        return userManagementApiClient.updateRoles(userUuid, roleUuids);
+        UserDetailDto dto = userManagementApiClient.updateRoles(userUuid, roleUuids);
+        authenticationCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        return dto;
     }
 
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.UPDATE)
     public UserDetailDto updateRole(String userUuid, String roleUuid) {
-        return userManagementApiClient.updateRole(userUuid, roleUuid);
+        UserDetailDto dto = userManagementApiClient.updateRole(userUuid, roleUuid);
+        authenticationCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        return dto;
     }
 
     @Override
@@ -175,13 +206,17 @@ public class UserManagementServiceImpl implements UserManagementService {
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.ENABLE)
     public UserDetailDto enableUser(String userUuid) {
-        return userManagementApiClient.enableUser(userUuid);
+        UserDetailDto dto = userManagementApiClient.enableUser(userUuid);
+        authenticationCache.invalidate();
+        return dto;
     }
 
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.ENABLE)
     public UserDetailDto disableUser(String userUuid) {
-        return userManagementApiClient.disableUser(userUuid);
+        UserDetailDto dto = userManagementApiClient.disableUser(userUuid);
+        authenticationCache.invalidate();
+        return dto;
     }
 
     @Override
@@ -193,7 +228,10 @@ public class UserManagementServiceImpl implements UserManagementService {
     @Override
     @ExternalAuthorization(resource = Resource.USER, action = ResourceAction.UPDATE)
     public UserDetailDto removeRole(String userUuid, String roleUuid) {
-        return userManagementApiClient.removeRole(userUuid, roleUuid);
+        UserDetailDto dto = userManagementApiClient.removeRole(userUuid, roleUuid);
+        authenticationCache.invalidate();
+        localPermissionEvaluator.invalidate();
+        return dto;
     }
 
     @Override
@@ -269,6 +307,8 @@ public class UserManagementServiceImpl implements UserManagementService {
         }
 
         UserDetailDto response = userManagementApiClient.updateUser(userUuid, requestDto);
+        authenticationCache.invalidate();
+        notificationDispatchCache.invalidate();
 
         try {
             certificateService.removeCertificateUser(UUID.fromString(response.getUuid()));
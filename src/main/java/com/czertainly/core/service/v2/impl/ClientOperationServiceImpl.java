@@ -28,8 +28,10 @@ import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.dao.repository.CertificateRepository;
 import com.czertainly.core.dao.repository.RaProfileRepository;
 import com.czertainly.core.messaging.model.ActionMessage;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.producers.ActionProducer;
 import com.czertainly.core.messaging.producers.EventProducer;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.model.request.CertificateRequest;
@@ -226,6 +228,7 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         actionMessage.setResource(Resource.CERTIFICATE);
         actionMessage.setResourceAction(ResourceAction.ISSUE);
         actionMessage.setResourceUuid(UUID.fromString(certificate.getUuid()));
+        actionMessage.setLane(getOperationLane());
         actionProducer.produceMessage(actionMessage);
 
         final ClientCertificateDataResponseDto response = new ClientCertificateDataResponseDto();
@@ -322,6 +325,7 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         actionMessage.setResource(Resource.CERTIFICATE);
         actionMessage.setResourceAction(ResourceAction.ISSUE);
         actionMessage.setResourceUuid(UUID.fromString(certificateUuid));
+        actionMessage.setLane(getOperationLane());
         actionProducer.produceMessage(actionMessage);
 
         final ClientCertificateDataResponseDto response = new ClientCertificateDataResponseDto();
@@ -397,6 +401,7 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         actionMessage.setResourceAction(ResourceAction.RENEW);
         actionMessage.setResourceUuid(UUID.fromString(newCertificate.getUuid()));
 
+        actionMessage.setLane(getOperationLane());
         actionProducer.produceMessage(actionMessage);
 
         final ClientCertificateDataResponseDto response = new ClientCertificateDataResponseDto();
@@ -564,6 +569,7 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         actionMessage.setResourceAction(ResourceAction.REKEY);
         actionMessage.setResourceUuid(UUID.fromString(newCertificate.getUuid()));
 
+        actionMessage.setLane(getOperationLane());
         actionProducer.produceMessage(actionMessage);
 
         final ClientCertificateDataResponseDto response = new ClientCertificateDataResponseDto();
@@ -672,6 +678,7 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         actionMessage.setResourceAction(ResourceAction.REVOKE);
         actionMessage.setResourceUuid(UUID.fromString(certificateUuid));
 
+        actionMessage.setLane(getOperationLane());
         actionProducer.produceMessage(actionMessage);
     }
 
@@ -738,6 +745,16 @@ public class ClientOperationServiceImpl implements ClientOperationService {
         logger.debug("Certificate revoked: {}", certificate);
     }
 
+    /**
+     * Client operation with certificate is interactive unless it is performed by discovery, scheduled job or bulk operation
+     * that set the lane of its messages
+     *
+     * @return lane of messages of the operation
+     */
+    private static MessageLane getOperationLane() {
+        return Objects.requireNonNullElse(MessageLaneContext.explicitLane(), MessageLane.INTERACTIVE);
+    }
+
     private Certificate validateOldCertificateForOperation(String certificateUuid, String raProfileUuid, ResourceAction action) throws NotFoundException {
         Certificate oldCertificate = certificateRepository.findByUuid(UUID.fromString(certificateUuid)).orElseThrow(() -> new NotFoundException(Certificate.class, certificateUuid));
         if (!oldCertificate.getState().equals(CertificateState.ISSUED)) {
@@ -95,7 +95,10 @@ public class DiscoveryCertificateTask extends SchedulerJobProcessor {
             return new ScheduledTaskResult(SchedulerJobExecutionStatus.FAILED, errorMessage, discovery != null ? Resource.DISCOVERY : null, discovery != null ? discovery.getUuid() : null);
         }
 
-        if (discovery.getStatus() == DiscoveryStatus.COMPLETED) return new ScheduledTaskResult(SchedulerJobExecutionStatus.SUCCESS, null, Resource.DISCOVERY, discovery.getUuid());
+        // discovery still running in the provider is polled and finished in background
+        if (discovery.getStatus() == DiscoveryStatus.COMPLETED || discovery.getStatus() == DiscoveryStatus.IN_PROGRESS || discovery.getStatus() == DiscoveryStatus.PROCESSING) {
+            return new ScheduledTaskResult(SchedulerJobExecutionStatus.SUCCESS, null, Resource.DISCOVERY, discovery.getUuid());
+        }
         return new ScheduledTaskResult(SchedulerJobExecutionStatus.FAILED, discovery.getMessage(), Resource.DISCOVERY, discovery.getUuid());
     }
 
@@ -11,7 +11,9 @@ import com.czertainly.core.dao.entity.ScheduledJob;
 import com.czertainly.core.dao.entity.ScheduledJobHistory;
 import com.czertainly.core.dao.repository.ScheduledJobHistoryRepository;
 import com.czertainly.core.dao.repository.ScheduledJobsRepository;
+import com.czertainly.core.messaging.model.MessageLane;
 import com.czertainly.core.messaging.model.NotificationRecipient;
+import com.czertainly.core.messaging.producers.MessageLaneContext;
 import com.czertainly.core.messaging.producers.NotificationProducer;
 import com.czertainly.core.model.ScheduledTaskResult;
 import com.czertainly.core.security.authn.CzertainlyUserDetails;
@@ -84,9 +86,12 @@ public abstract class SchedulerJobProcessor {
 
     public void processTask(final String jobName) throws SchedulerException, NotFoundException {
         final ScheduledJobHistory scheduledJobHistory = registerJobHistory(jobName);
-        final ScheduledTaskResult result = performJob(jobName);
-        updateJobHistory(scheduledJobHistory, result);
-        checkOneTimeJob(jobName, result.getStatus());
+        // messages produced by scheduled jobs are processed in bulk lane
+        MessageLaneContext.runAs(MessageLane.BULK, () -> {
+            final ScheduledTaskResult result = performJob(jobName);
+            updateJobHistory(scheduledJobHistory, result);
+            checkOneTimeJob(jobName, result.getStatus());
+        });
     }
 
     private void checkOneTimeJob(final String jobName, final SchedulerJobExecutionStatus status) throws SchedulerException {
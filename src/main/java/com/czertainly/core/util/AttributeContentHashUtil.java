@@ -0,0 +1,60 @@
+package com.czertainly.core.util;
+
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes hash of attribute content item used for its deduplication.
+ * Hash is SHA-256 of canonical JSON form of the content (object properties ordered by name, no whitespaces),
+ * so it does not depend on the properties order and formatting of stored JSONB.
+ */
+public class AttributeContentHashUtil {
+
+    // same serialization of content as used by Hibernate when storing JSON columns
+    private static final ObjectMapper CONTENT_OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final ObjectMapper CANONICAL_OBJECT_MAPPER = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private AttributeContentHashUtil() {
+    }
+
+    public static String getContentHash(BaseAttributeContent<?> content) {
+        try {
+            return getJsonHash(CONTENT_OBJECT_MAPPER.writeValueAsString(content));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize attribute content: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Computes hash of any serializable object (e.g. list of attributes) the same way as hash of attribute content
+     *
+     * @param object object to be hashed
+     * @return SHA-256 hash of canonical JSON form of the object
+     */
+    public static String getObjectHash(Object object) {
+        try {
+            return getJsonHash(CONTENT_OBJECT_MAPPER.writeValueAsString(object));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize object: " + e.getMessage(), e);
+        }
+    }
+
+    public static String getJsonHash(String json) {
+        try {
+            String canonicalJson = CANONICAL_OBJECT_MAPPER.writeValueAsString(CANONICAL_OBJECT_MAPPER.readValue(json, Object.class));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonicalJson.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot canonicalize attribute content JSON: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.czertainly.api.exception.ValidationException;
 import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.auth.UserProfileDto;
+import com.czertainly.core.model.auth.AuthenticationRequestDto;
 import com.czertainly.core.model.auth.ResourceAction;
+import com.czertainly.core.security.authn.AuthenticationCache;
 import com.czertainly.core.security.authn.CzertainlyAuthenticationToken;
 import com.czertainly.core.security.authn.CzertainlyUserDetails;
 import com.czertainly.core.security.authn.client.AuthenticationInfo;
@@ -13,6 +15,7 @@ import com.czertainly.core.security.authn.client.CzertainlyAuthenticationClient;
 import com.czertainly.core.security.authz.OpaPolicy;
 import com.czertainly.core.security.authz.SecurityFilter;
 import com.czertainly.core.security.authz.SecurityResourceFilter;
+import com.czertainly.core.security.authz.SecurityResourceFilterMemo;
 import com.czertainly.core.security.authz.opa.OpaClient;
 import com.czertainly.core.security.authz.opa.dto.OpaObjectAccessResult;
 import com.czertainly.core.security.authz.opa.dto.OpaRequestDetails;
@@ -23,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,7 +34,10 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class AuthHelper {
@@ -45,6 +52,10 @@ public class AuthHelper {
 
     private OpaClient opaClient;
     private CzertainlyAuthenticationClient czertainlyAuthenticationClient;
+    private AuthenticationCache authenticationCache;
+
+    // system users used for internal impersonation, their principals are refreshed in the background
+    private final Set<String> systemUsernames = ConcurrentHashMap.newKeySet();
 
     @Autowired
     public void setOpaClient(OpaClient opaClient) {
@@ -56,24 +67,48 @@ public class AuthHelper {
         this.czertainlyAuthenticationClient = czertainlyAuthenticationClient;
     }
 
-    public void authenticateAsSystemUser(String username) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(SYSTEM_USER_HEADER_NAME, username);
+    @Autowired
+    public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
 
-        AuthenticationInfo authUserInfo = czertainlyAuthenticationClient.authenticate(headers);
-        SecurityContext securityContext = SecurityContextHolder.getContext();
-        securityContext.setAuthentication(new CzertainlyAuthenticationToken(new CzertainlyUserDetails(authUserInfo)));
+    public void authenticateAsSystemUser(String username) {
+        systemUsernames.add(username);
+        authenticate(getSystemUserHeaders(username));
     }
 
     public void authenticateAsUser(UUID userUuid) {
         HttpHeaders headers = new HttpHeaders();
         headers.add(USER_UUID_HEADER_NAME, userUuid.toString());
 
-        AuthenticationInfo authUserInfo = czertainlyAuthenticationClient.authenticate(headers);
+        authenticate(headers);
+    }
+
+    @Scheduled(initialDelayString = "${auth.system-users.refresh-interval:30}", fixedDelayString = "${auth.system-users.refresh-interval:30}", timeUnit = TimeUnit.SECONDS)
+    public void refreshSystemUsers() {
+        for (String username : systemUsernames) {
+            try {
+                AuthenticationRequestDto authPayload = czertainlyAuthenticationClient.getAuthPayload(getSystemUserHeaders(username));
+                authenticationCache.refreshAuthenticationInfo(authPayload, () -> czertainlyAuthenticationClient.authenticate(authPayload));
+            } catch (Exception e) {
+                logger.warn("Unable to refresh authentication of system user {}: {}", username, e.getMessage());
+            }
+        }
+    }
+
+    private void authenticate(HttpHeaders headers) {
+        AuthenticationRequestDto authPayload = czertainlyAuthenticationClient.getAuthPayload(headers);
+        AuthenticationInfo authUserInfo = authenticationCache.getAuthenticationInfo(authPayload, () -> czertainlyAuthenticationClient.authenticate(authPayload));
         SecurityContext securityContext = SecurityContextHolder.getContext();
         securityContext.setAuthentication(new CzertainlyAuthenticationToken(new CzertainlyUserDetails(authUserInfo)));
     }
 
+    private static HttpHeaders getSystemUserHeaders(String username) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(SYSTEM_USER_HEADER_NAME, username);
+        return headers;
+    }
+
     public static boolean isLoggedProtocolUser() {
         try {
             CzertainlyUserDetails userDetails = (CzertainlyUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -116,6 +151,11 @@ public class AuthHelper {
             return new SecurityResourceFilter(List.of(), List.of(), true);
         }
 
+        return SecurityResourceFilterMemo.resolve(czertainlyAuthenticationToken.getPrincipal().getUserUuid(), resource, resourceAction,
+                () -> obtainObjectPermissions(czertainlyAuthenticationToken, resource, resourceAction));
+    }
+
+    private SecurityResourceFilter obtainObjectPermissions(CzertainlyAuthenticationToken czertainlyAuthenticationToken, Resource resource, ResourceAction resourceAction) {
         Map<String, String> properties = Map.of("name", resource.getCode(), "action", resourceAction.getCode());
         OpaRequestedResource resourceProps = new OpaRequestedResource(properties);
         OpaObjectAccessResult result = opaClient.checkObjectAccess(OpaPolicy.OBJECTS.policyName, resourceProps, czertainlyAuthenticationToken.getPrincipal().getRawData(), new OpaRequestDetails(null));
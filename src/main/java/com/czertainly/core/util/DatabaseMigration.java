@@ -58,7 +58,9 @@ public class DatabaseMigration {
         V202311071500__IssuerAndSubjectDnMigration(-1352440028, true),
         V202402171510__UpdateAndOptimizeAttributesModelMigration(-1671016899, true),
         V202404021100__CreateCmpUserAndPermissions(-264892945),
-        V202404120915__AssignObjectsOwnerAndMultipleGroupsMigration(-305812276);
+        V202404120915__AssignObjectsOwnerAndMultipleGroupsMigration(-305812276),
+        V202405311200__AttributeContentItemHashMigration(-1182083818),
+        V202406031000__AttributeContentItemValuesMigration(-564362508);
 
       
         private final int checksum;
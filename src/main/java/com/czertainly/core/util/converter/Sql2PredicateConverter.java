@@ -9,6 +9,7 @@ import com.czertainly.api.model.core.search.FilterConditionOperator;
 import com.czertainly.api.model.core.search.FilterFieldSource;
 import com.czertainly.api.model.core.search.FilterFieldType;
 import com.czertainly.api.model.core.search.SearchableFields;
+import com.czertainly.core.attribute.engine.records.AttributeContentValues;
 import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.enums.ResourceToClass;
 import com.czertainly.core.enums.SearchFieldNameEnum;
@@ -17,8 +18,11 @@ import com.czertainly.core.model.SearchFieldObject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.*;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hibernate.query.sqm.tree.domain.SqmPluralValuedSimplePath;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 
 public class Sql2PredicateConverter {
@@ -335,25 +339,37 @@ public class Sql2PredicateConverter {
 
                     final SearchFieldObject searchField = searchFieldObject.get();
 
-                    final Subquery<String> jsonValueQuery = subquery.subquery(String.class);
-                    final Root subACIRoot = jsonValueQuery.from(AttributeContentItem.class);
-
-                    final Expression expressionFunctionToGetJsonValue = criteriaBuilder.function("jsonb_extract_path_text", String.class, subACIRoot.get("json"),
-                            criteriaBuilder.literal(searchField.getAttributeContentType().isFilterByData() ? "data" : "reference"));
-
-                    final Predicate predicateForContentType = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.contentType"), searchField.getAttributeContentType());
-                    final Predicate predicateToKeepRelationWithUpperQuery = criteriaBuilder.equal(subACIRoot.get("uuid"), joinAttributeContentItem.get("uuid"));
-                    final Predicate predicateGroup = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.type"), searchField.getAttributeType());
-                    final Predicate predicateAttributeName = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.name"), fieldIdentifierName);
-
-                    jsonValueQuery.select(expressionFunctionToGetJsonValue);
-                    jsonValueQuery.where(predicateForContentType, predicateToKeepRelationWithUpperQuery, predicateAttributeName, predicateGroup);
-
                     final List<Predicate> expressionPredicates = new ArrayList<>();
                     final List<Object> expressionValues = readAndCheckIncomingValues(dto);
-                    for (final Object expressionValue : expressionValues) {
-                        final Predicate expressionPredicate = buildPredicateByCondition(criteriaBuilder, dto.getCondition(), jsonValueQuery, null, null, expressionValue, searchField.isDateTimeFormat(), searchField.isBooleanFormat(), dto, searchField);
-                        expressionPredicates.add(expressionPredicate);
+                    if (isNegativeAttributeValueCondition(dto.getCondition(), searchField)) {
+                        // negative conditions are evaluated against value of the content item selected only if it belongs to filtered attribute,
+                        // so objects are matched also by content items of other attributes
+                        final Subquery<String> textValueQuery = subquery.subquery(String.class);
+                        final Root subACIRoot = textValueQuery.from(AttributeContentItem.class);
+
+                        final Predicate predicateForContentType = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.contentType"), searchField.getAttributeContentType());
+                        final Predicate predicateToKeepRelationWithUpperQuery = criteriaBuilder.equal(subACIRoot.get("uuid"), joinAttributeContentItem.get("uuid"));
+                        final Predicate predicateGroup = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.type"), searchField.getAttributeType());
+                        final Predicate predicateAttributeName = criteriaBuilder.equal(prepareExpression(subACIRoot, "attributeDefinition.name"), fieldIdentifierName);
+
+                        textValueQuery.select(subACIRoot.get("textValue"));
+                        textValueQuery.where(predicateForContentType, predicateToKeepRelationWithUpperQuery, predicateAttributeName, predicateGroup);
+
+                        for (final Object expressionValue : expressionValues) {
+                            final Predicate expressionPredicate = buildPredicateByCondition(criteriaBuilder, dto.getCondition(), textValueQuery, null, null, expressionValue, false, false, dto, searchField);
+                            expressionPredicates.add(expressionPredicate);
+                        }
+                    } else {
+                        // positive conditions are evaluated directly against typed value columns of content item to be able to use their indexes
+                        final Join<AttributeContentItem, AttributeDefinition> joinAttributeDefinition = joinAttributeContentItem.join("attributeDefinition");
+                        subPredicates.add(criteriaBuilder.equal(joinAttributeDefinition.get("contentType"), searchField.getAttributeContentType()));
+                        subPredicates.add(criteriaBuilder.equal(joinAttributeDefinition.get("type"), searchField.getAttributeType()));
+                        subPredicates.add(criteriaBuilder.equal(joinAttributeDefinition.get("name"), fieldIdentifierName));
+
+                        for (final Object expressionValue : expressionValues) {
+                            final Predicate expressionPredicate = buildAttributeValuePredicate(criteriaBuilder, dto.getCondition(), joinAttributeContentItem, expressionValue, dto, searchField);
+                            expressionPredicates.add(expressionPredicate);
+                        }
                     }
                     subPredicates.add(expressionPredicates.size() > 1 ? criteriaBuilder.or(expressionPredicates.toArray(new Predicate[]{})) : expressionPredicates.get(0));
 
@@ -370,6 +386,55 @@ public class Sql2PredicateConverter {
         return cqdo;
     }
 
+    private static boolean isNegativeAttributeValueCondition(final FilterConditionOperator filterConditionOperator, final SearchFieldObject searchFieldObject) {
+        if (searchFieldObject.isDateTimeFormat() || searchFieldObject.isBooleanFormat()) {
+            return false;
+        }
+        return filterConditionOperator == FilterConditionOperator.NOT_EQUALS || filterConditionOperator == FilterConditionOperator.NOT_CONTAINS || filterConditionOperator == FilterConditionOperator.EMPTY;
+    }
+
+    private static Predicate buildAttributeValuePredicate(final CriteriaBuilder criteriaBuilder, final FilterConditionOperator filterConditionOperator, final From<?, AttributeContentItem> contentItem, Object expressionValue, final SearchFilterRequestDto dto, final SearchFieldObject searchFieldObject) {
+        if (expressionValue == null && dto.getValue() != null) {
+            expressionValue = dto.getValue().toString();
+        }
+        final String value = expressionValue == null ? null : expressionValue.toString();
+
+        if (searchFieldObject.isDateTimeFormat()) {
+            final Expression<LocalDateTime> timestampValue = contentItem.get("timestampValue");
+            final LocalDateTime timestamp = AttributeContentValues.toTimestamp(searchFieldObject.getAttributeContentType(), searchFieldObject.getLocalDateFormat(value), searchFieldObject.getLocalTimeFormat(value), searchFieldObject.getLocalDateTimeFormat(value));
+            return switch (filterConditionOperator) {
+                case EQUALS -> criteriaBuilder.equal(timestampValue, timestamp);
+                case NOT_EQUALS -> criteriaBuilder.notEqual(timestampValue, timestamp);
+                case GREATER -> criteriaBuilder.greaterThan(timestampValue, timestamp);
+                case LESSER -> criteriaBuilder.lessThan(timestampValue, timestamp);
+                default -> null;
+            };
+        }
+
+        if (searchFieldObject.isBooleanFormat()) {
+            final Expression<Boolean> booleanValue = contentItem.get("booleanValue");
+            return switch (filterConditionOperator) {
+                case EQUALS -> criteriaBuilder.equal(booleanValue, Boolean.parseBoolean(value));
+                case NOT_EQUALS -> criteriaBuilder.notEqual(booleanValue, Boolean.parseBoolean(value));
+                default -> null;
+            };
+        }
+
+        final Expression<String> textValue = contentItem.get("textValue");
+        final Expression<BigDecimal> numericValue = contentItem.get("numericValue");
+        final boolean isNumeric = searchFieldObject.getAttributeContentType() == AttributeContentType.INTEGER || searchFieldObject.getAttributeContentType() == AttributeContentType.FLOAT;
+        return switch (filterConditionOperator) {
+            case EQUALS -> isNumeric && NumberUtils.isCreatable(value) ? criteriaBuilder.equal(numericValue, new BigDecimal(value)) : criteriaBuilder.equal(textValue, value);
+            case STARTS_WITH -> criteriaBuilder.like(textValue, value + "%");
+            case ENDS_WITH -> criteriaBuilder.like(textValue, "%" + value);
+            case CONTAINS -> criteriaBuilder.like(textValue, "%" + value + "%");
+            case NOT_EMPTY -> criteriaBuilder.isNotNull(textValue);
+            case GREATER -> isNumeric ? criteriaBuilder.greaterThan(numericValue, new BigDecimal(value)) : criteriaBuilder.greaterThan(textValue.as(Integer.class), Integer.valueOf(value));
+            case LESSER -> isNumeric ? criteriaBuilder.lessThan(numericValue, new BigDecimal(value)) : criteriaBuilder.lessThan(textValue.as(Integer.class), Integer.valueOf(value));
+            default -> null;
+        };
+    }
+
     public static Predicate constructFilterForJobHistory(final CriteriaBuilder cb, final Root<ScheduledJobHistory> root, final UUID scheduledJobUuid) {
         final Expression<?> expressionPath = prepareExpression(root, "scheduledJobUuid");
         return cb.equal(expressionPath, scheduledJobUuid);
@@ -0,0 +1,134 @@
+package db.migration;
+
+import com.czertainly.core.util.AttributeContentHashUtil;
+import com.czertainly.core.util.DatabaseMigration;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Migration script adding content hash to attribute content items, merging items with same content of attribute definition
+ * and creating unique index on attribute definition and content hash used for content items deduplication
+ */
+public class V202405311200__AttributeContentItemHashMigration extends BaseJavaMigration {
+    private static final Logger logger = LoggerFactory.getLogger(V202405311200__AttributeContentItemHashMigration.class);
+
+    @Override
+    public Integer getChecksum() {
+        return DatabaseMigration.JavaMigrationChecksums.V202405311200__AttributeContentItemHashMigration.getChecksum();
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (final Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE attribute_content_item ADD COLUMN hash TEXT NULL");
+        }
+        computeContentItemsHashes(context);
+        createHashIndex(context);
+    }
+
+    private void computeContentItemsHashes(Context context) throws SQLException {
+        try (final Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE merged_attribute_content_item (duplicate_uuid UUID NOT NULL, merged_uuid UUID NOT NULL) ON COMMIT DROP");
+        }
+
+        try (final Statement statement = context.getConnection().createStatement();
+             final PreparedStatement updateHashStatement = context.getConnection().prepareStatement("UPDATE attribute_content_item SET hash = ? WHERE uuid = ?");
+             final PreparedStatement mergeStatement = context.getConnection().prepareStatement("INSERT INTO merged_attribute_content_item (duplicate_uuid, merged_uuid) VALUES (?, ?)")) {
+            int updatesCount = 0;
+            int duplicatesCount = 0;
+            try (ResultSet rows = statement.executeQuery("SELECT uuid, attribute_definition_uuid, json FROM attribute_content_item ORDER BY attribute_definition_uuid, uuid")) {
+                UUID definitionUuid = null;
+                Map<String, UUID> mappingHashToItem = new HashMap<>();
+                while (rows.next()) {
+                    final UUID contentItemUuid = rows.getObject("uuid", UUID.class);
+                    final UUID currentDefinitionUuid = rows.getObject("attribute_definition_uuid", UUID.class);
+                    final String hash = AttributeContentHashUtil.getJsonHash(rows.getString("json"));
+
+                    if (!currentDefinitionUuid.equals(definitionUuid)) {
+                        mappingHashToItem = new HashMap<>();
+                        definitionUuid = currentDefinitionUuid;
+                    }
+
+                    UUID mappedContentItemUuid = mappingHashToItem.putIfAbsent(hash, contentItemUuid);
+                    if (mappedContentItemUuid == null) {
+                        ++updatesCount;
+                        updateHashStatement.setString(1, hash);
+                        updateHashStatement.setObject(2, contentItemUuid);
+                        updateHashStatement.addBatch();
+                    } else {
+                        // duplicate content item, its objects are reassigned to first item with same content
+                        ++duplicatesCount;
+                        mergeStatement.setObject(1, contentItemUuid);
+                        mergeStatement.setObject(2, mappedContentItemUuid);
+                        mergeStatement.addBatch();
+                    }
+                }
+            }
+
+            logger.debug("Updating hash of {} attribute content items.", updatesCount);
+            updateHashStatement.executeBatch();
+
+            if (duplicatesCount > 0) {
+                logger.debug("Merging {} duplicate attribute content items.", duplicatesCount);
+                mergeStatement.executeBatch();
+                mergeDuplicateContentItems(statement);
+            }
+        }
+    }
+
+    /**
+     * Reassigns objects of duplicate content items to merged items and deletes duplicate items. Only assignments of duplicate items
+     * that would become same as other assignment of the object to merged item are removed, other assignments are kept untouched.
+     */
+    private void mergeDuplicateContentItems(Statement statement) throws SQLException {
+        // assignments of duplicate item when same object is already assigned to merged item
+        int deleted = statement.executeUpdate("""
+                DELETE FROM attribute_content_2_object aco USING merged_attribute_content_item m
+                WHERE aco.attribute_content_item_uuid = m.duplicate_uuid
+                    AND EXISTS (SELECT 1 FROM attribute_content_2_object aco2
+                        WHERE aco2.attribute_content_item_uuid = m.merged_uuid
+                            AND aco2.object_type = aco.object_type AND aco2.object_uuid = aco.object_uuid
+                            AND aco2.connector_uuid IS NOT DISTINCT FROM aco.connector_uuid
+                            AND aco2.source_object_type IS NOT DISTINCT FROM aco.source_object_type
+                            AND aco2.source_object_uuid IS NOT DISTINCT FROM aco.source_object_uuid)
+                """);
+        // assignments of same object to multiple duplicates of same merged item, first of them is kept
+        deleted += statement.executeUpdate("""
+                DELETE FROM attribute_content_2_object aco USING merged_attribute_content_item m, attribute_content_2_object aco2, merged_attribute_content_item m2
+                WHERE aco.attribute_content_item_uuid = m.duplicate_uuid
+                    AND aco2.attribute_content_item_uuid = m2.duplicate_uuid AND m2.merged_uuid = m.merged_uuid AND m2.duplicate_uuid <> m.duplicate_uuid
+                    AND aco2.uuid < aco.uuid
+                    AND aco2.object_type = aco.object_type AND aco2.object_uuid = aco.object_uuid
+                    AND aco2.connector_uuid IS NOT DISTINCT FROM aco.connector_uuid
+                    AND aco2.source_object_type IS NOT DISTINCT FROM aco.source_object_type
+                    AND aco2.source_object_uuid IS NOT DISTINCT FROM aco.source_object_uuid
+                """);
+        logger.debug("Removed {} resource objects attribute content item assignments duplicated by merging.", deleted);
+
+        statement.executeUpdate("""
+                UPDATE attribute_content_2_object aco SET attribute_content_item_uuid = m.merged_uuid
+                FROM merged_attribute_content_item m WHERE aco.attribute_content_item_uuid = m.duplicate_uuid
+                """);
+        statement.executeUpdate("DELETE FROM attribute_content_item aci USING merged_attribute_content_item m WHERE aci.uuid = m.duplicate_uuid");
+    }
+
+    private void createHashIndex(Context context) throws SQLException {
+        String sqlCommands = """
+                ALTER TABLE attribute_content_item ALTER COLUMN hash SET NOT NULL;
+                CREATE UNIQUE INDEX attribute_content_item_definition_hash_uindex ON attribute_content_item(attribute_definition_uuid, hash);
+                """;
+        try (final Statement statement = context.getConnection().createStatement()) {
+            statement.execute(sqlCommands);
+        }
+    }
+}
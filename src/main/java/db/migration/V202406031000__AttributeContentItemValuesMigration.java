@@ -0,0 +1,74 @@
+package db.migration;
+
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.core.attribute.engine.records.AttributeContentValues;
+import com.czertainly.core.util.DatabaseMigration;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+
+/**
+ * Migration script adding typed projection of filtered value of attribute content items with indexes used by attribute filters
+ */
+public class V202406031000__AttributeContentItemValuesMigration extends BaseJavaMigration {
+    private static final Logger logger = LoggerFactory.getLogger(V202406031000__AttributeContentItemValuesMigration.class);
+
+    @Override
+    public Integer getChecksum() {
+        return DatabaseMigration.JavaMigrationChecksums.V202406031000__AttributeContentItemValuesMigration.getChecksum();
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (final Statement statement = context.getConnection().createStatement()) {
+            statement.execute("""
+                    ALTER TABLE attribute_content_item
+                        ADD COLUMN text_value TEXT NULL,
+                        ADD COLUMN numeric_value NUMERIC NULL,
+                        ADD COLUMN timestamp_value TIMESTAMP NULL,
+                        ADD COLUMN boolean_value BOOLEAN NULL
+                    """);
+        }
+        updateContentItemsValues(context);
+        createValueIndexes(context);
+    }
+
+    private void updateContentItemsValues(Context context) throws SQLException {
+        try (final Statement statement = context.getConnection().createStatement();
+             final PreparedStatement updateStatement = context.getConnection().prepareStatement("UPDATE attribute_content_item SET text_value = ?, numeric_value = ?, timestamp_value = ?, boolean_value = ? WHERE uuid = ?")) {
+            int updatesCount = 0;
+            try (ResultSet rows = statement.executeQuery("SELECT aci.uuid, aci.json, ad.content_type FROM attribute_content_item aci JOIN attribute_definition ad ON ad.uuid = aci.attribute_definition_uuid")) {
+                while (rows.next()) {
+                    final AttributeContentType contentType = AttributeContentType.valueOf(rows.getString("content_type"));
+                    final AttributeContentValues values = AttributeContentValues.fromJson(contentType, rows.getString("json"));
+
+                    ++updatesCount;
+                    updateStatement.setString(1, values.textValue());
+                    updateStatement.setBigDecimal(2, values.numericValue());
+                    updateStatement.setTimestamp(3, values.timestampValue() == null ? null : Timestamp.valueOf(values.timestampValue()));
+                    updateStatement.setObject(4, values.booleanValue(), Types.BOOLEAN);
+                    updateStatement.setObject(5, rows.getObject("uuid"));
+                    updateStatement.addBatch();
+                }
+            }
+
+            logger.debug("Updating values of {} attribute content items.", updatesCount);
+            updateStatement.executeBatch();
+        }
+    }
+
+    private void createValueIndexes(Context context) throws SQLException {
+        String sqlCommands = """
+                CREATE INDEX attribute_content_item_text_value_index ON attribute_content_item USING hash (text_value);
+                CREATE INDEX attribute_content_item_numeric_value_index ON attribute_content_item(attribute_definition_uuid, numeric_value) WHERE numeric_value IS NOT NULL;
+                CREATE INDEX attribute_content_item_timestamp_value_index ON attribute_content_item(attribute_definition_uuid, timestamp_value) WHERE timestamp_value IS NOT NULL;
+                CREATE INDEX attribute_content_item_boolean_value_index ON attribute_content_item(attribute_definition_uuid, boolean_value) WHERE boolean_value IS NOT NULL;
+                """;
+        try (final Statement statement = context.getConnection().createStatement()) {
+            statement.execute(sqlCommands);
+        }
+    }
+}
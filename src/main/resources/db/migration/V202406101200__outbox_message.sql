@@ -0,0 +1,15 @@
+CREATE TABLE outbox_message (
+	uuid UUID NOT NULL,
+	exchange VARCHAR NOT NULL,
+	routing_key VARCHAR NOT NULL,
+	content_type VARCHAR,
+	type_id VARCHAR,
+	payload TEXT NOT NULL,
+	created_at TIMESTAMP NOT NULL,
+	attempts INTEGER NOT NULL DEFAULT 0,
+	next_attempt_at TIMESTAMP NOT NULL,
+	last_error VARCHAR,
+	PRIMARY KEY (uuid)
+);
+
+CREATE INDEX outbox_message_next_attempt_at_idx ON outbox_message (next_attempt_at, created_at);
@@ -0,0 +1,14 @@
+ALTER TABLE discovery_history ADD COLUMN source_key VARCHAR;
+
+CREATE TABLE discovery_source_certificate (
+	uuid UUID NOT NULL,
+	source_key VARCHAR NOT NULL,
+	fingerprint VARCHAR NOT NULL,
+	meta_hash VARCHAR,
+	first_seen_at TIMESTAMP NOT NULL,
+	last_seen_at TIMESTAMP NOT NULL,
+	last_discovery_uuid UUID NOT NULL,
+	PRIMARY KEY (uuid)
+);
+
+CREATE UNIQUE INDEX discovery_source_certificate_source_key_fingerprint_uindex ON discovery_source_certificate (source_key, fingerprint);
@@ -0,0 +1,128 @@
+package com.czertainly.core.attribute;
+
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.CustomAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.properties.CustomAttributeProperties;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.attribute.engine.AttributeDefinitionCache;
+import com.czertainly.core.attribute.engine.records.AttributeDefinitionKey;
+import com.czertainly.core.attribute.engine.records.AttributeRelationKey;
+import com.czertainly.core.dao.entity.AttributeDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AttributeDefinitionCacheTest {
+
+    private AttributeDefinitionCache cache;
+    private AttributeDefinition definition;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AttributeDefinitionCache();
+        ReflectionTestUtils.setField(cache, "maxAgeSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "missingMaxAgeSeconds", 5L);
+
+        CustomAttribute attribute = new CustomAttribute();
+        attribute.setUuid(UUID.randomUUID().toString());
+        attribute.setName("department");
+        attribute.setType(AttributeType.CUSTOM);
+        attribute.setContentType(AttributeContentType.STRING);
+        CustomAttributeProperties properties = new CustomAttributeProperties();
+        properties.setLabel("Department");
+        attribute.setProperties(properties);
+
+        definition = new AttributeDefinition();
+        definition.setUuid(attribute.getUuid());
+        definition.setAttributeUuid(UUID.fromString(attribute.getUuid()));
+        definition.setName(attribute.getName());
+        definition.setType(AttributeType.CUSTOM);
+        definition.setContentType(AttributeContentType.STRING);
+        definition.setLabel("Department");
+        definition.setEnabled(true);
+        definition.setDefinition(attribute);
+    }
+
+    @Test
+    void testDefinitionLoadedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        AttributeDefinitionKey key = AttributeDefinitionKey.byTypeAndName(AttributeType.CUSTOM, "department");
+
+        Optional<AttributeDefinition> first = cache.getDefinition(key, () -> {
+            loads.incrementAndGet();
+            return Optional.of(definition);
+        });
+        Optional<AttributeDefinition> second = cache.getDefinition(key, () -> {
+            loads.incrementAndGet();
+            return Optional.of(definition);
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(first.isPresent() && second.isPresent());
+        Assertions.assertEquals(definition.getUuid(), second.get().getUuid());
+        Assertions.assertNotSame(first.get(), second.get());
+        Assertions.assertNotSame(first.get().getDefinition(), second.get().getDefinition());
+    }
+
+    @Test
+    void testMissingDefinitionCached() {
+        AtomicInteger loads = new AtomicInteger();
+        AttributeDefinitionKey key = AttributeDefinitionKey.byUuid(UUID.randomUUID());
+
+        cache.getDefinition(key, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<AttributeDefinition> result = cache.getDefinition(key, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testMissingDefinitionExpired() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "missingMaxAgeSeconds", 0L);
+        AttributeDefinitionKey key = AttributeDefinitionKey.byTypeAndName(AttributeType.CUSTOM, "department");
+
+        Optional<AttributeDefinition> missing = cache.getDefinition(key, Optional::empty);
+        Thread.sleep(10);
+        Optional<AttributeDefinition> created = cache.getDefinition(key, () -> Optional.of(definition));
+        Optional<AttributeDefinition> cached = cache.getDefinition(key, Optional::empty);
+
+        Assertions.assertTrue(missing.isEmpty());
+        Assertions.assertTrue(created.isPresent());
+        Assertions.assertTrue(cached.isPresent());
+        Assertions.assertEquals(definition.getUuid(), cached.get().getUuid());
+    }
+
+    @Test
+    void testInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        AttributeRelationKey key = new AttributeRelationKey(Resource.CERTIFICATE, AttributeType.CUSTOM, true);
+
+        long version = cache.getVersion();
+        cache.getRelatedDefinitions(key, () -> {
+            loads.incrementAndGet();
+            return List.of(definition);
+        });
+        cache.invalidate();
+        List<AttributeDefinition> definitions = cache.getRelatedDefinitions(key, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertTrue(definitions.isEmpty());
+        Assertions.assertTrue(cache.getVersion() > version);
+    }
+}
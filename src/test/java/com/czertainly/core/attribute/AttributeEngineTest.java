@@ -21,6 +21,7 @@ import com.czertainly.api.model.core.certificate.CertificateState;
 import com.czertainly.api.model.core.certificate.CertificateValidationStatus;
 import com.czertainly.api.model.core.connector.ConnectorStatus;
 import com.czertainly.core.attribute.engine.AttributeEngine;
+import com.czertainly.core.attribute.engine.records.AttributeContentValues;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentInfo;
 import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.dao.repository.*;
@@ -36,7 +37,9 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.cert.CertificateException;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -56,6 +59,8 @@ public class AttributeEngineTest extends BaseSpringBootTest {
     private ConnectorRepository connectorRepository;
     @Autowired
     private AuthorityInstanceReferenceRepository authorityInstanceReferenceRepository;
+    @Autowired
+    private AttributeContentItemRepository attributeContentItemRepository;
     private Connector connectorAuthority;
     private Connector connectorDiscovery;
     private Certificate certificate;
@@ -123,6 +128,87 @@ public class AttributeEngineTest extends BaseSpringBootTest {
         Assertions.assertEquals(3, mappedMetadata.size());
     }
 
+    @Test
+    public void testObjectsContents() throws NotFoundException, AttributeException {
+        UUID otherObjectUuid = UUID.randomUUID();
+        UUID emptyObjectUuid = UUID.randomUUID();
+        Map<UUID, List<MetadataResponseDto>> objectsMetadata = attributeEngine.getObjectsMappedMetadataContent(null, Resource.CERTIFICATE, List.of(certificate.getUuid(), emptyObjectUuid), null, null);
+        Assertions.assertEquals(2, objectsMetadata.size());
+        Assertions.assertEquals(3, objectsMetadata.get(certificate.getUuid()).size());
+        Assertions.assertTrue(objectsMetadata.get(emptyObjectUuid).isEmpty());
+
+        objectsMetadata = attributeEngine.getObjectsMappedMetadataContent(connectorDiscovery.getUuid(), Resource.CERTIFICATE, List.of(certificate.getUuid()), Resource.DISCOVERY, networkDiscoveryUuid);
+        Assertions.assertEquals(1, objectsMetadata.get(certificate.getUuid()).size());
+        Assertions.assertEquals(connectorDiscovery.getUuid().toString(), objectsMetadata.get(certificate.getUuid()).get(0).getConnectorUuid());
+        Assertions.assertEquals(networkDiscoveryMeta.getName(), objectsMetadata.get(certificate.getUuid()).get(0).getItems().get(0).getName());
+        Assertions.assertEquals("localhost:0443", objectsMetadata.get(certificate.getUuid()).get(0).getItems().get(0).getContent().get(0).getData());
+
+        RequestAttributeDto departmentAttributeDto = new RequestAttributeDto();
+        departmentAttributeDto.setUuid(departmentCustomAttribute.getUuid());
+        departmentAttributeDto.setName(departmentCustomAttribute.getName());
+        departmentAttributeDto.setContent(List.of(new StringAttributeContent("Marketing")));
+        attributeEngine.updateObjectCustomAttributesContent(Resource.CERTIFICATE, otherObjectUuid, List.of(departmentAttributeDto));
+
+        Map<UUID, List<ResponseAttributeDto>> objectsCustomAttributes = attributeEngine.getObjectsCustomAttributesContent(Resource.CERTIFICATE, List.of(certificate.getUuid(), otherObjectUuid, emptyObjectUuid));
+        Assertions.assertEquals(3, objectsCustomAttributes.size());
+        Assertions.assertTrue(objectsCustomAttributes.get(emptyObjectUuid).isEmpty());
+        Map<UUID, String> expectedDepartments = Map.of(certificate.getUuid(), "Sales", otherObjectUuid, "Marketing");
+        for (Map.Entry<UUID, String> expectedDepartment : expectedDepartments.entrySet()) {
+            List<ResponseAttributeDto> customAttributes = objectsCustomAttributes.get(expectedDepartment.getKey());
+            Assertions.assertEquals(1, customAttributes.size());
+            Assertions.assertEquals(departmentCustomAttribute.getUuid(), customAttributes.get(0).getUuid());
+            Assertions.assertEquals(departmentCustomAttribute.getName(), customAttributes.get(0).getName());
+            Assertions.assertEquals(1, customAttributes.get(0).getContent().size());
+            Assertions.assertEquals(expectedDepartment.getValue(), customAttributes.get(0).getContent().get(0).getData());
+        }
+    }
+
+    @Test
+    public void testContentItemCreatedConcurrently() throws NotFoundException, AttributeException {
+        UUID departmentDefinitionUuid = UUID.fromString(departmentCustomAttribute.getUuid());
+        StringAttributeContent content = new StringAttributeContent("Support");
+
+        // item with same content created by other transaction in the meantime
+        AttributeContentItem concurrentContentItem = new AttributeContentItem();
+        concurrentContentItem.setAttributeDefinitionUuid(departmentDefinitionUuid);
+        concurrentContentItem.setJson(content);
+        concurrentContentItem.setValues(AttributeContentValues.fromContent(AttributeContentType.STRING, content));
+        Assertions.assertEquals(1, attributeContentItemRepository.insertIfAbsent(List.of(concurrentContentItem)));
+
+        AttributeContentItem duplicateContentItem = new AttributeContentItem();
+        duplicateContentItem.setAttributeDefinitionUuid(departmentDefinitionUuid);
+        duplicateContentItem.setJson(content);
+        duplicateContentItem.setValues(AttributeContentValues.fromContent(AttributeContentType.STRING, content));
+        Assertions.assertEquals(0, attributeContentItemRepository.insertIfAbsent(List.of(duplicateContentItem)));
+
+        attributeEngine.updateObjectCustomAttributeContent(Resource.CERTIFICATE, certificate.getUuid(), departmentDefinitionUuid, null, List.of(content));
+
+        List<AttributeContentItem> contentItems = attributeContentItemRepository.findByAttributeDefinitionUuidAndHashIn(departmentDefinitionUuid, List.of(concurrentContentItem.getHash()));
+        Assertions.assertEquals(1, contentItems.size());
+        Assertions.assertEquals(concurrentContentItem.getUuid(), contentItems.get(0).getUuid());
+        List<ResponseAttributeDto> customAttributes = attributeEngine.getObjectCustomAttributesContent(Resource.CERTIFICATE, certificate.getUuid());
+        Assertions.assertEquals("Support", customAttributes.get(0).getContent().get(0).getData());
+    }
+
+    @Test
+    public void testUpdateObjectsCustomAttributeContent() throws NotFoundException, AttributeException {
+        UUID otherObjectUuid = UUID.randomUUID();
+        UUID departmentDefinitionUuid = UUID.fromString(departmentCustomAttribute.getUuid());
+        attributeEngine.updateObjectsCustomAttributeContent(Resource.CERTIFICATE, List.of(certificate.getUuid(), otherObjectUuid), departmentDefinitionUuid, null, List.of(new StringAttributeContent("Marketing"), new StringAttributeContent("Marketing")));
+
+        Map<UUID, List<ResponseAttributeDto>> objectsCustomAttributes = attributeEngine.getObjectsCustomAttributesContent(Resource.CERTIFICATE, List.of(certificate.getUuid(), otherObjectUuid));
+        for (UUID objectUuid : List.of(certificate.getUuid(), otherObjectUuid)) {
+            Assertions.assertEquals(1, objectsCustomAttributes.get(objectUuid).size());
+            Assertions.assertEquals(1, objectsCustomAttributes.get(objectUuid).get(0).getContent().size());
+            Assertions.assertEquals("Marketing", objectsCustomAttributes.get(objectUuid).get(0).getContent().get(0).getData());
+        }
+
+        attributeEngine.updateObjectsCustomAttributeContent(Resource.CERTIFICATE, List.of(certificate.getUuid(), otherObjectUuid), departmentDefinitionUuid, null, null);
+        objectsCustomAttributes = attributeEngine.getObjectsCustomAttributesContent(Resource.CERTIFICATE, List.of(certificate.getUuid(), otherObjectUuid));
+        Assertions.assertTrue(objectsCustomAttributes.get(certificate.getUuid()).isEmpty());
+        Assertions.assertTrue(objectsCustomAttributes.get(otherObjectUuid).isEmpty());
+    }
+
     @Test
     public void testMetadataContentReplacement() throws AttributeException {
         networkDiscoveryMeta.setContent(List.of(new StringAttributeContent("localhost:1443"), new StringAttributeContent("localhost:2443"), new StringAttributeContent("localhost:3443")));
@@ -143,6 +229,27 @@ public class AttributeEngineTest extends BaseSpringBootTest {
         Assertions.assertEquals("TEST", metadataResponseDto.get().getItems().get(0).getContent().get(0).getReference());
     }
 
+    @Test
+    public void testAddObjectsMetadataAttributes() throws AttributeException {
+        UUID otherObjectUuid = UUID.randomUUID();
+        UUID discoveryUuid = UUID.randomUUID();
+        Map<ObjectAttributeContentInfo, List<MetadataAttribute>> objectsMetadata = new LinkedHashMap<>();
+        objectsMetadata.put(new ObjectAttributeContentInfo(connectorDiscovery.getUuid(), Resource.CERTIFICATE, certificate.getUuid(), Resource.DISCOVERY, discoveryUuid),
+                List.of(createNetworkDiscoveryMeta(new StringAttributeContent("localhost:4443"), new StringAttributeContent("localhost:4443"))));
+        objectsMetadata.put(new ObjectAttributeContentInfo(connectorDiscovery.getUuid(), Resource.CERTIFICATE, otherObjectUuid, Resource.DISCOVERY, discoveryUuid),
+                List.of(createNetworkDiscoveryMeta(new StringAttributeContent("localhost:4443"), new StringAttributeContent("localhost:5443"))));
+        attributeEngine.addObjectsMetadataAttributes(objectsMetadata);
+
+        var mappedMetadata = attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, certificate.getUuid()));
+        Optional<MetadataResponseDto> metadataResponseDto = mappedMetadata.stream().filter(m -> m.getConnectorUuid().equals(connectorDiscovery.getUuid().toString())).findFirst();
+        Assertions.assertTrue(metadataResponseDto.isPresent());
+        Assertions.assertEquals(1, metadataResponseDto.get().getItems().stream().flatMap(item -> item.getContent().stream()).filter(content -> "localhost:4443".equals(content.getData())).count());
+
+        mappedMetadata = attributeEngine.getMappedMetadataContent(new ObjectAttributeContentInfo(Resource.CERTIFICATE, otherObjectUuid));
+        Assertions.assertEquals(1, mappedMetadata.size());
+        Assertions.assertEquals(2, mappedMetadata.get(0).getItems().get(0).getContent().size());
+    }
+
     @Test
     public void testAttributeContentValidation() throws NotFoundException, AttributeException {
         RequestAttributeDto departmentAttributeDto = new RequestAttributeDto();
@@ -230,6 +337,18 @@ public class AttributeEngineTest extends BaseSpringBootTest {
         attributeEngine.updateObjectCustomAttributesContent(Resource.CERTIFICATE, certificate.getUuid(), List.of(departmentAttributeDto));
     }
 
+    private MetadataAttribute createNetworkDiscoveryMeta(StringAttributeContent... content) {
+        MetadataAttribute metadataAttribute = new MetadataAttribute();
+        metadataAttribute.setName(networkDiscoveryMeta.getName());
+        metadataAttribute.setUuid(networkDiscoveryMeta.getUuid());
+        metadataAttribute.setContentType(networkDiscoveryMeta.getContentType());
+        metadataAttribute.setType(AttributeType.META);
+        metadataAttribute.setDescription(networkDiscoveryMeta.getDescription());
+        metadataAttribute.setProperties(networkDiscoveryMeta.getProperties());
+        metadataAttribute.setContent(List.of(content));
+        return metadataAttribute;
+    }
+
     private void loadMetadata() throws AttributeException {
         networkDiscoveryMeta = new MetadataAttribute();
         networkDiscoveryMeta.setName("discoverySource");
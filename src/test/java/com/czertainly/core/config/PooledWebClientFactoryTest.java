@@ -0,0 +1,81 @@
+package com.czertainly.core.config;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+class PooledWebClientFactoryTest {
+
+    private MockWebServer serviceMock;
+    private PooledWebClientFactory webClientFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serviceMock = new MockWebServer();
+        serviceMock.start();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("test.client.max-connections", "5")
+                .withProperty("test.client.response-timeout", "1000");
+        webClientFactory = new PooledWebClientFactory(environment);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        webClientFactory.destroy();
+        serviceMock.shutdown();
+    }
+
+    @Test
+    void testConnectionProviderSharedByService() {
+        ConnectionProvider connectionProvider = webClientFactory.getConnectionProvider("test");
+        webClientFactory.createWebClientBuilder("test", "http://localhost").build();
+        webClientFactory.createWebClientBuilder("test", "http://localhost").build();
+
+        Assertions.assertSame(connectionProvider, webClientFactory.getConnectionProvider("test"));
+        Assertions.assertEquals(5, connectionProvider.maxConnections());
+        Assertions.assertNotSame(connectionProvider, webClientFactory.getConnectionProvider("other"));
+    }
+
+    @Test
+    void testConnectionProvidersDisposed() {
+        ConnectionProvider connectionProvider = webClientFactory.getConnectionProvider("test");
+        webClientFactory.destroy();
+
+        Assertions.assertTrue(connectionProvider.isDisposed());
+        Assertions.assertNotSame(connectionProvider, webClientFactory.getConnectionProvider("test"));
+    }
+
+    @Test
+    void testRequestThroughPooledClient() throws InterruptedException {
+        serviceMock.enqueue(new MockResponse().setBody("pong"));
+        String baseUrl = String.format("http://%s:%d", serviceMock.getHostName(), serviceMock.getPort());
+        WebClient client = webClientFactory.createWebClientBuilder("test", baseUrl).build();
+
+        String response = client.get().uri("/ping").retrieve().bodyToMono(String.class).block();
+
+        Assertions.assertEquals("pong", response);
+        RecordedRequest request = serviceMock.takeRequest(1, TimeUnit.SECONDS);
+        Assertions.assertNotNull(request);
+        Assertions.assertEquals("/ping", request.getPath());
+    }
+
+    @Test
+    void testResponseTimeout() {
+        serviceMock.enqueue(new MockResponse().setBody("late").setHeadersDelay(3, TimeUnit.SECONDS));
+        String baseUrl = String.format("http://%s:%d", serviceMock.getHostName(), serviceMock.getPort());
+        WebClient client = webClientFactory.createWebClientBuilder("test", baseUrl).build();
+
+        Assertions.assertThrows(Exception.class, () -> client.get().uri("/slow").retrieve().bodyToMono(String.class).block());
+    }
+}
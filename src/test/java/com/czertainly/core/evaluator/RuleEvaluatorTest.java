@@ -193,6 +193,26 @@ public class RuleEvaluatorTest extends BaseSpringBootTest {
     }
 
 
+    @Test
+    public void testCompiledConditionItem() throws RuleException, ParseException {
+        // stored condition item is compiled once and recompiled when its definition changes
+        condition.setUuid(UUID.randomUUID());
+        condition.setFieldSource(FilterFieldSource.PROPERTY);
+        condition.setFieldIdentifier(SearchableFields.NOT_AFTER.toString());
+        condition.setOperator(FilterConditionOperator.GREATER);
+        condition.setValue("2020-01-01");
+        certificate.setNotAfter(new SimpleDateFormat(("yyyy-MM-dd")).parse("2021-06-01"));
+        Assertions.assertTrue(certificateRuleEvaluator.evaluateConditionItem(condition, certificate, Resource.CERTIFICATE));
+        certificate.setNotAfter(new SimpleDateFormat(("yyyy-MM-dd")).parse("2019-06-01"));
+        Assertions.assertFalse(certificateRuleEvaluator.evaluateConditionItem(condition, certificate, Resource.CERTIFICATE));
+
+        condition.setValue("2019-01-01");
+        Assertions.assertTrue(certificateRuleEvaluator.evaluateConditionItem(condition, certificate, Resource.CERTIFICATE));
+
+        condition.setValue("invalid");
+        Assertions.assertThrows(RuleException.class, () -> certificateRuleEvaluator.evaluateConditionItem(condition, certificate, Resource.CERTIFICATE));
+    }
+
     @Test
     public void testEvaluatorDate() throws RuleException, ParseException {
         certificate.setNotBefore(new SimpleDateFormat(("yyyy-MM-dd HH:mm:ss")).parse("2019-12-01 22:10:15"));
@@ -0,0 +1,39 @@
+package com.czertainly.core.messaging.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.List;
+
+class RabbitMQMetricsTest {
+
+    @Test
+    void testListenerMetrics() throws Throwable {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RabbitMQMetrics rabbitMQMetrics = new RabbitMQMetrics();
+        rabbitMQMetrics.setMeterRegistry(meterRegistry);
+        MethodInterceptor interceptor = rabbitMQMetrics.createListenerInterceptor(RabbitMQConstants.QUEUE_EVENTS_NAME);
+
+        MessageProperties redeliveredProperties = new MessageProperties();
+        redeliveredProperties.setRedelivered(true);
+        List<Message> messages = List.of(new Message(new byte[0], new MessageProperties()), new Message(new byte[0], redeliveredProperties));
+
+        MethodInvocation invocation = Mockito.mock(MethodInvocation.class);
+        Mockito.when(invocation.getArguments()).thenReturn(new Object[]{null, messages});
+        Mockito.when(invocation.proceed()).thenAnswer(i -> {
+            Assertions.assertEquals(2, meterRegistry.get("messaging.listener.in-flight").tag("queue", RabbitMQConstants.QUEUE_EVENTS_NAME).gauge().value());
+            return null;
+        });
+        interceptor.invoke(invocation);
+
+        Assertions.assertEquals(0, meterRegistry.get("messaging.listener.in-flight").gauge().value());
+        Assertions.assertEquals(1, meterRegistry.get("messaging.listener.redeliveries").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("messaging.listener.processing").timer().count());
+    }
+}
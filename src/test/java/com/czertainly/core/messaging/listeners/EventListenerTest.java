@@ -0,0 +1,92 @@
+package com.czertainly.core.messaging.listeners;
+
+import com.czertainly.api.exception.RuleException;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.model.core.certificate.CertificateEvent;
+import com.czertainly.api.model.core.certificate.CertificateEventStatus;
+import com.czertainly.api.model.core.other.ResourceEvent;
+import com.czertainly.core.dao.entity.CertificateEventHistory;
+import com.czertainly.core.messaging.model.EventMessage;
+import com.czertainly.core.service.CertificateEventHistoryService;
+import com.czertainly.core.service.DiscoveryService;
+import com.czertainly.core.util.AuthHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+class EventListenerTest {
+
+    private EventListener eventListener;
+    private CertificateEventHistoryService certificateEventHistoryService;
+    private DiscoveryService discoveryService;
+
+    @BeforeEach
+    void setUp() {
+        certificateEventHistoryService = Mockito.mock(CertificateEventHistoryService.class);
+        Mockito.when(certificateEventHistoryService.getEventHistory(Mockito.any(UUID.class), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            CertificateEventHistory history = new CertificateEventHistory();
+            history.setCertificateUuid((UUID) invocation.getArgument(0));
+            history.setEvent(invocation.getArgument(1));
+            return history;
+        });
+        discoveryService = Mockito.mock(DiscoveryService.class);
+        AuthHelper authHelper = Mockito.mock(AuthHelper.class);
+        Mockito.doAnswer(invocation -> {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(invocation.getArgument(0).toString(), null));
+            return null;
+        }).when(authHelper).authenticateAsUser(Mockito.any());
+
+        eventListener = new EventListener();
+        eventListener.setCertificateEventHistoryService(certificateEventHistoryService);
+        eventListener.setDiscoveryService(discoveryService);
+        eventListener.setAuthHelper(authHelper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testFailingDiscoveryEventDoesNotDropCertificateEvents() throws RuleException {
+        UUID failingDiscoveryUuid = UUID.randomUUID();
+        UUID discoveryUuid = UUID.randomUUID();
+        Mockito.doThrow(new IllegalStateException("Trigger evaluation failed")).when(discoveryService).evaluateDiscoveryTriggers(Mockito.eq(failingDiscoveryUuid), Mockito.any());
+
+        UUID certificateUuid = UUID.randomUUID();
+        UUID otherCertificateUuid = UUID.randomUUID();
+        List<EventMessage> eventMessages = List.of(
+                createCertificateEvent(certificateUuid),
+                createDiscoveryFinishedEvent(failingDiscoveryUuid),
+                createCertificateEvent(otherCertificateUuid),
+                createDiscoveryFinishedEvent(discoveryUuid));
+
+        Assertions.assertDoesNotThrow(() -> eventListener.processMessages(eventMessages));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CertificateEventHistory>> historiesCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(certificateEventHistoryService).saveAllInBatch(historiesCaptor.capture());
+        Assertions.assertEquals(List.of(certificateUuid, otherCertificateUuid), historiesCaptor.getValue().stream().map(CertificateEventHistory::getCertificateUuid).toList());
+
+        // discovery events are processed independently of each other
+        Mockito.verify(discoveryService).evaluateDiscoveryTriggers(Mockito.eq(discoveryUuid), Mockito.any());
+        // authentication of event user is not kept after the event is processed
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static EventMessage createCertificateEvent(UUID certificateUuid) {
+        return new EventMessage(Resource.CERTIFICATE, certificateUuid, CertificateEvent.DELETE.getCode(), CertificateEventStatus.FAILED.name(), "Certificate is used by an User", null, UUID.randomUUID());
+    }
+
+    private static EventMessage createDiscoveryFinishedEvent(UUID discoveryUuid) {
+        return new EventMessage(Resource.DISCOVERY, discoveryUuid, ResourceEvent.DISCOVERY_FINISHED.getCode(), null, null, null, UUID.randomUUID());
+    }
+}
@@ -0,0 +1,57 @@
+package com.czertainly.core.messaging.listeners;
+
+import com.czertainly.core.enums.RecipientTypeEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NotificationDispatchCacheTest {
+
+    @Test
+    void testRecipientCached() {
+        NotificationDispatchCache cache = new NotificationDispatchCache(60, 100);
+        UUID userUuid = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        NotificationDispatchCache.Loader<NotificationDispatchCache.Recipient, RuntimeException> loader = () -> {
+            loads.incrementAndGet();
+            return new NotificationDispatchCache.Recipient("user", "user@example.com", List.of());
+        };
+
+        Assertions.assertFalse(cache.containsRecipient(RecipientTypeEnum.USER, userUuid));
+        Assertions.assertEquals("user@example.com", cache.getRecipient(RecipientTypeEnum.USER, userUuid, loader).email());
+        Assertions.assertEquals("user@example.com", cache.getRecipient(RecipientTypeEnum.USER, userUuid, loader).email());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(cache.containsRecipient(RecipientTypeEnum.USER, userUuid));
+        Assertions.assertFalse(cache.containsRecipient(RecipientTypeEnum.GROUP, userUuid));
+
+        cache.invalidate();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertFalse(cache.containsRecipient(RecipientTypeEnum.USER, userUuid));
+        cache.getRecipient(RecipientTypeEnum.USER, userUuid, loader);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testValueLoadedDuringInvalidationNotCached() {
+        NotificationDispatchCache cache = new NotificationDispatchCache(60, 100);
+        cache.getRecipient(RecipientTypeEnum.ROLE, UUID.randomUUID(), () -> {
+            cache.invalidate();
+            return new NotificationDispatchCache.Recipient("role", "role@example.com", List.of());
+        });
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testNullAndDisabledNotCached() {
+        NotificationDispatchCache cache = new NotificationDispatchCache(60, 100);
+        Assertions.assertNull(cache.getRecipient(RecipientTypeEnum.GROUP, UUID.randomUUID(), () -> null));
+        Assertions.assertEquals(0, cache.size());
+
+        NotificationDispatchCache disabledCache = new NotificationDispatchCache(0, 100);
+        disabledCache.getRecipient(RecipientTypeEnum.USER, UUID.randomUUID(), () -> new NotificationDispatchCache.Recipient("user", "user@example.com", List.of()));
+        Assertions.assertEquals(0, disabledCache.size());
+    }
+}
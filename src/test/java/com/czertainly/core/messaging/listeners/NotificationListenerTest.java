@@ -0,0 +1,170 @@
+package com.czertainly.core.messaging.listeners;
+
+import com.czertainly.api.clients.NotificationInstanceApiClient;
+import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.model.connector.notification.NotificationProviderNotifyRequestDto;
+import com.czertainly.api.model.connector.notification.NotificationType;
+import com.czertainly.api.model.connector.notification.data.NotificationDataCertificateStatusChanged;
+import com.czertainly.api.model.connector.notification.data.NotificationDataText;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.model.core.auth.UserDetailDto;
+import com.czertainly.api.model.core.connector.ConnectorStatus;
+import com.czertainly.api.model.core.settings.NotificationSettingsDto;
+import com.czertainly.core.dao.entity.Connector;
+import com.czertainly.core.dao.entity.Notification;
+import com.czertainly.core.dao.entity.NotificationInstanceReference;
+import com.czertainly.core.dao.repository.ConnectorRepository;
+import com.czertainly.core.dao.repository.NotificationInstanceReferenceRepository;
+import com.czertainly.core.dao.repository.NotificationRepository;
+import com.czertainly.core.messaging.model.NotificationDataDigest;
+import com.czertainly.core.messaging.model.NotificationMessage;
+import com.czertainly.core.messaging.model.NotificationRecipient;
+import com.czertainly.core.security.authn.client.UserManagementApiClient;
+import com.czertainly.core.service.SettingService;
+import com.czertainly.core.util.BaseSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class NotificationListenerTest extends BaseSpringBootTest {
+
+    @Autowired
+    private NotificationListener notificationListener;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ConnectorRepository connectorRepository;
+
+    @Autowired
+    private NotificationInstanceReferenceRepository notificationInstanceReferenceRepository;
+
+    @Autowired
+    private SettingService settingService;
+
+    @MockBean
+    private NotificationInstanceApiClient notificationInstanceApiClient;
+
+    @MockBean
+    private UserManagementApiClient userManagementApiClient;
+
+    @Test
+    void testBulkNotificationsCoalesced() {
+        UUID userUuid = UUID.randomUUID();
+        UUID otherUserUuid = UUID.randomUUID();
+        List<NotificationMessage> messages = List.of(
+                createTextMessage(userUuid, "first"),
+                createTextMessage(otherUserUuid, "other"),
+                createTextMessage(userUuid, "second"),
+                createTextMessage(userUuid, "third"));
+
+        notificationListener.processMessages(messages);
+
+        List<Notification> notifications = notificationRepository.findAll().stream().sorted(Comparator.comparing(Notification::getMessage)).toList();
+        Assertions.assertEquals(2, notifications.size());
+        Assertions.assertEquals("3 notifications of type " + NotificationType.OTHER, notifications.get(0).getMessage());
+        Assertions.assertEquals(String.format("first (%2$s %1$s)\nsecond (%2$s %3$s)\nthird (%2$s %4$s)",
+                        messages.get(0).getResourceUUID(), Resource.CERTIFICATE.getLabel(), messages.get(2).getResourceUUID(), messages.get(3).getResourceUUID()),
+                notifications.get(0).getDetail());
+        Assertions.assertEquals("other", notifications.get(1).getMessage());
+    }
+
+    @Test
+    void testDigestMessage() throws ValidationException {
+        UUID userUuid = UUID.randomUUID();
+        List<NotificationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 102; i++) {
+            messages.add(createTextMessage(userUuid, "text " + i));
+        }
+
+        NotificationMessage digestMessage = notificationListener.createDigestMessage(messages);
+        Assertions.assertEquals(NotificationType.OTHER, digestMessage.getType());
+        Assertions.assertEquals(Resource.CERTIFICATE, digestMessage.getResource());
+        Assertions.assertNull(digestMessage.getResourceUUID());
+
+        NotificationDataDigest digest = (NotificationDataDigest) digestMessage.getData();
+        Assertions.assertEquals(NotificationType.OTHER, digest.getType());
+        Assertions.assertEquals("102 notifications of type " + NotificationType.OTHER + ", 2 of them not listed", digest.getText());
+        Assertions.assertEquals(102, digest.getCount());
+        Assertions.assertEquals(2, digest.getNotListedCount());
+        Assertions.assertEquals(100, digest.getItems().size());
+        Assertions.assertEquals(messages.get(99).getResourceUUID(), digest.getItems().get(99).getResourceUuid());
+        Assertions.assertEquals("text 99", digest.getItems().get(99).getText());
+
+        notificationListener.processMessages(messages);
+        Notification notification = notificationRepository.findAll().get(0);
+        Assertions.assertEquals(digest.getText(), notification.getMessage());
+        Assertions.assertTrue(notification.getDetail().endsWith("text 99 (" + Resource.CERTIFICATE.getLabel() + " " + messages.get(99).getResourceUUID() + ")\n2 more notifications are not listed"));
+    }
+
+    @Test
+    void testExternalDigestMessage() throws Exception {
+        Connector connector = new Connector();
+        connector.setName("notificationConnector");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+        connector = connectorRepository.save(connector);
+
+        NotificationInstanceReference notificationInstance = new NotificationInstanceReference();
+        notificationInstance.setName("notificationInstance");
+        notificationInstance.setKind("EMAIL");
+        notificationInstance.setNotificationInstanceUuid(UUID.randomUUID());
+        notificationInstance.setConnector(connector);
+        notificationInstance.setConnectorName(connector.getName());
+        notificationInstance.setMappedAttributes(new ArrayList<>());
+        notificationInstance = notificationInstanceReferenceRepository.save(notificationInstance);
+
+        NotificationSettingsDto notificationSettings = new NotificationSettingsDto();
+        notificationSettings.setNotificationsMapping(Map.of(NotificationType.CERTIFICATE_STATUS_CHANGED, notificationInstance.getUuid().toString()));
+        settingService.updateNotificationSettings(notificationSettings);
+
+        UUID userUuid = UUID.randomUUID();
+        UserDetailDto userDetail = new UserDetailDto();
+        userDetail.setUuid(userUuid.toString());
+        userDetail.setUsername("digest-user");
+        userDetail.setEmail("digest-user@example.com");
+        Mockito.when(userManagementApiClient.getUserDetail(userUuid.toString())).thenReturn(userDetail);
+        Mockito.when(notificationInstanceApiClient.listMappingAttributes(Mockito.any(), Mockito.eq("EMAIL"))).thenReturn(List.of());
+
+        List<NotificationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String certificateUuid = UUID.randomUUID().toString();
+            messages.add(new NotificationMessage(NotificationType.CERTIFICATE_STATUS_CHANGED, Resource.CERTIFICATE, UUID.fromString(certificateUuid), NotificationRecipient.buildUserNotificationRecipient(userUuid),
+                    new NotificationDataCertificateStatusChanged("Valid", "Expired", certificateUuid, "fingerprint" + i, "0" + i, "CN=digest-" + i, "CN=issuer")));
+        }
+
+        notificationListener.processMessages(messages);
+
+        // connector receives digest of notifications of bound type as text notification
+        ArgumentCaptor<NotificationProviderNotifyRequestDto> requestCaptor = ArgumentCaptor.forClass(NotificationProviderNotifyRequestDto.class);
+        Mockito.verify(notificationInstanceApiClient).sendNotification(Mockito.any(), Mockito.eq(notificationInstance.getNotificationInstanceUuid().toString()), requestCaptor.capture());
+        NotificationProviderNotifyRequestDto request = requestCaptor.getValue();
+        Assertions.assertEquals(NotificationType.OTHER, request.getEventType());
+        Assertions.assertEquals(Resource.CERTIFICATE, request.getResource());
+        Assertions.assertEquals(1, request.getRecipients().size());
+        Assertions.assertEquals("digest-user@example.com", request.getRecipients().get(0).getEmail());
+
+        NotificationDataText data = Assertions.assertInstanceOf(NotificationDataText.class, request.getNotificationData());
+        Assertions.assertEquals("3 notifications of type " + NotificationType.CERTIFICATE_STATUS_CHANGED, data.getText());
+        Assertions.assertTrue(data.getDetail().startsWith("Certificate validation status changed from Valid to Expired for certificate identified as 'CN=digest-0'"));
+        Assertions.assertTrue(data.getDetail().contains("(" + Resource.CERTIFICATE.getLabel() + " " + messages.get(2).getResourceUUID() + ")"));
+
+        // internal notification keeps digest of the original type
+        Notification notification = notificationRepository.findAll().get(0);
+        Assertions.assertEquals(data.getText(), notification.getMessage());
+    }
+
+    private static NotificationMessage createTextMessage(UUID userUuid, String text) {
+        return new NotificationMessage(NotificationType.OTHER, Resource.CERTIFICATE, UUID.randomUUID(), NotificationRecipient.buildUserNotificationRecipient(userUuid), new NotificationDataText(text, null));
+    }
+}
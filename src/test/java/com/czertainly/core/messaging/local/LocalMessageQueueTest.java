@@ -0,0 +1,87 @@
+package com.czertainly.core.messaging.local;
+
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.messaging.model.EventMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class LocalMessageQueueTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    void testBatchesDelivered() throws Exception {
+        List<List<Object>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch processed = new CountDownLatch(3);
+        LocalMessageQueue queue = new LocalMessageQueue("test", 10, 1, 2, 100, messages -> {
+            batches.add(messages);
+            messages.forEach(m -> processed.countDown());
+        }, null, null);
+
+        queue.enqueue("first", 100);
+        queue.enqueue("second", 100);
+        queue.enqueue("third", 100);
+        queue.start();
+        try {
+            Assertions.assertTrue(processed.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(List.of("first", "second"), batches.get(0));
+            Assertions.assertEquals(List.of("third"), batches.get(1));
+        } finally {
+            queue.stop(1000);
+        }
+    }
+
+    @Test
+    void testFullQueueDropsMessage() {
+        LocalMessageQueue queue = new LocalMessageQueue("test", 1, 1, 1, 0, messages -> {
+        }, null, null);
+
+        queue.enqueue("first", 0);
+        queue.enqueue("second", 0);
+        Assertions.assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testJournaledMessagesDeliveredAfterRestart() throws Exception {
+        Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+        UUID certificateUuid = UUID.randomUUID();
+
+        // messages enqueued to queue that was never started are kept in journal
+        LocalMessageQueue queue = new LocalMessageQueue("test", 10, 1, 1, 0, messages -> {
+        }, new LocalMessageJournal(journalDirectory, messageConverter), null);
+        queue.enqueue(new EventMessage(Resource.CERTIFICATE, certificateUuid, "event", "SUCCESS", "message", null, null), 100);
+        try (var files = Files.list(journalDirectory)) {
+            Assertions.assertEquals(1, files.count());
+        }
+
+        List<Object> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch processed = new CountDownLatch(1);
+        LocalMessageQueue restartedQueue = new LocalMessageQueue("test", 10, 1, 1, 0, messages -> {
+            delivered.addAll(messages);
+            processed.countDown();
+        }, new LocalMessageJournal(journalDirectory, messageConverter), null);
+        restartedQueue.start();
+        try {
+            Assertions.assertTrue(processed.await(5, TimeUnit.SECONDS));
+            EventMessage eventMessage = Assertions.assertInstanceOf(EventMessage.class, delivered.get(0));
+            Assertions.assertEquals(certificateUuid, eventMessage.getResourceUUID());
+        } finally {
+            restartedQueue.stop(1000);
+        }
+
+        try (var files = Files.list(journalDirectory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.czertainly.core.messaging.outbox;
+
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.dao.entity.OutboxMessage;
+import com.czertainly.core.dao.repository.OutboxMessageRepository;
+import com.czertainly.core.messaging.configuration.RabbitMQConstants;
+import com.czertainly.core.messaging.model.EventMessage;
+import com.czertainly.core.util.BaseSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class OutboxRelayTest extends BaseSpringBootTest {
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RabbitTemplate rabbitTemplate;
+    private OutboxRelay outboxRelay;
+    private OutboxPublisher outboxPublisher;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+
+        outboxRelay = new OutboxRelay(true, 2, 100, 300);
+        outboxRelay.setOutboxMessageRepository(outboxMessageRepository);
+        outboxRelay.setRabbitTemplate(rabbitTemplate);
+        outboxRelay.setTransactionManager(transactionManager);
+
+        outboxPublisher = new OutboxPublisher(true);
+        outboxPublisher.setOutboxMessageRepository(outboxMessageRepository);
+        outboxPublisher.setOutboxRelay(outboxRelay);
+        outboxPublisher.setRabbitTemplate(rabbitTemplate);
+        outboxPublisher.setMessageConverter(new Jackson2JsonMessageConverter());
+    }
+
+    @Test
+    void testPublishInBatches() {
+        for (int i = 0; i < 3; i++) {
+            outboxPublisher.publish(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.EVENT_ROUTING_KEY, new EventMessage(Resource.CERTIFICATE, UUID.randomUUID(), "event", "SUCCESS", "message", null, null));
+        }
+        Assertions.assertEquals(3, outboxMessageRepository.count());
+        Mockito.verify(rabbitTemplate, Mockito.never()).convertAndSend(Mockito.anyString(), Mockito.anyString(), Mockito.any(Object.class));
+
+        outboxRelay.publishPendingMessages();
+        Mockito.verify(rabbitTemplate, Mockito.times(3)).send(Mockito.eq(RabbitMQConstants.EXCHANGE_NAME), Mockito.eq(RabbitMQConstants.EVENT_ROUTING_KEY), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+        Assertions.assertEquals(0, outboxMessageRepository.count());
+    }
+
+    @Test
+    void testRetryFailedPublishing() {
+        Mockito.doThrow(new AmqpConnectException(new RuntimeException("Connection refused"))).when(rabbitTemplate).send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+        outboxPublisher.publish(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.EVENT_ROUTING_KEY, new EventMessage(Resource.CERTIFICATE, UUID.randomUUID(), "event", "SUCCESS", "message", null, null));
+
+        outboxRelay.publishPendingMessages();
+        List<OutboxMessage> messages = outboxMessageRepository.findAll();
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertEquals(1, messages.get(0).getAttempts());
+        Assertions.assertTrue(messages.get(0).getNextAttemptAt().isAfter(OffsetDateTime.now()));
+        Assertions.assertNotNull(messages.get(0).getLastError());
+    }
+}
@@ -0,0 +1,90 @@
+package com.czertainly.core.messaging.producers;
+
+import com.czertainly.core.config.ContextAwareCallable;
+import com.czertainly.core.messaging.configuration.RabbitMQConstants;
+import com.czertainly.core.messaging.model.ActionMessage;
+import com.czertainly.core.messaging.model.MessageLane;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class MessageLaneContextTest {
+
+    @Test
+    void testLaneResolvedFromThread() {
+        Assertions.assertEquals(MessageLane.BULK, MessageLaneContext.current());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            Assertions.assertEquals(MessageLane.INTERACTIVE, MessageLaneContext.current());
+
+            MessageLane previousLane = MessageLaneContext.enter(MessageLane.BULK);
+            Assertions.assertEquals(MessageLane.BULK, MessageLaneContext.current());
+            MessageLaneContext.restore(previousLane);
+            Assertions.assertEquals(MessageLane.INTERACTIVE, MessageLaneContext.current());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testLaneSetExplicitly() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            Assertions.assertNull(MessageLaneContext.explicitLane());
+            MessageLaneContext.runAs(MessageLane.BULK, () -> {
+                Assertions.assertEquals(MessageLane.BULK, MessageLaneContext.current());
+                Assertions.assertEquals(MessageLane.BULK, MessageLaneContext.explicitLane());
+            });
+            Assertions.assertNull(MessageLaneContext.explicitLane());
+            Assertions.assertEquals(MessageLane.INTERACTIVE, MessageLaneContext.current());
+
+            Assertions.assertThrows(IllegalStateException.class, () -> MessageLaneContext.runAs(MessageLane.BULK, () -> {
+                throw new IllegalStateException("failed");
+            }));
+            Assertions.assertNull(MessageLaneContext.explicitLane());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testAsyncTaskLane() throws Exception {
+        RequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+
+        // async task submitted while handling request is bulk even with copied request attributes
+        ContextAwareCallable<MessageLane> bulkTask = new ContextAwareCallable<>(MessageLaneContext::current, requestAttributes);
+        Assertions.assertEquals(MessageLane.BULK, bulkTask.call());
+
+        // async task submitted with explicit lane keeps the lane
+        ContextAwareCallable<MessageLane> interactiveTask = MessageLaneContext.callAs(MessageLane.INTERACTIVE,
+                () -> new ContextAwareCallable<MessageLane>(MessageLaneContext::current, requestAttributes));
+        Assertions.assertEquals(MessageLane.INTERACTIVE, interactiveTask.call());
+        Assertions.assertNull(MessageLaneContext.explicitLane());
+    }
+
+    @Test
+    void testActionRoutedByLane() {
+        MessagingTransport messagingTransport = Mockito.mock(MessagingTransport.class);
+        ActionProducer actionProducer = new ActionProducer();
+        actionProducer.setMessagingTransport(messagingTransport);
+
+        ActionMessage bulkMessage = new ActionMessage();
+        actionProducer.produceMessage(bulkMessage);
+        Assertions.assertEquals(MessageLane.BULK, bulkMessage.getLane());
+        Mockito.verify(messagingTransport).publish(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.ACTION_BULK_ROUTING_KEY, bulkMessage);
+
+        ActionMessage interactiveMessage = new ActionMessage();
+        MessageLane previousLane = MessageLaneContext.enter(MessageLane.INTERACTIVE);
+        try {
+            actionProducer.produceMessage(interactiveMessage);
+        } finally {
+            MessageLaneContext.restore(previousLane);
+        }
+        Mockito.verify(messagingTransport).publish(RabbitMQConstants.EXCHANGE_NAME, RabbitMQConstants.ACTION_ROUTING_KEY, interactiveMessage);
+    }
+}
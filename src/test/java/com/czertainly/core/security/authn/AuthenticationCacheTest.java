@@ -0,0 +1,89 @@
+package com.czertainly.core.security.authn;
+
+import com.czertainly.core.model.auth.AuthenticationRequestDto;
+import com.czertainly.core.security.authn.client.AuthenticationInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AuthenticationCacheTest {
+
+    @Test
+    public void testCachedByCredentials() {
+        AuthenticationCache cache = new AuthenticationCache(60, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        AuthenticationInfo info = cache.getAuthenticationInfo(getCredentials("token1", null), () -> authenticate(calls));
+        Assertions.assertSame(info, cache.getAuthenticationInfo(getCredentials("token1", null), () -> authenticate(calls)));
+        Assertions.assertEquals(1, calls.get());
+
+        cache.getAuthenticationInfo(getCredentials("token2", null), () -> authenticate(calls));
+        cache.getAuthenticationInfo(getCredentials(null, "token1"), () -> authenticate(calls));
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        AuthenticationCache cache = new AuthenticationCache(60, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.getAuthenticationInfo(getCredentials("token", null), () -> authenticate(calls));
+        cache.invalidate();
+        cache.getAuthenticationInfo(getCredentials("token", null), () -> authenticate(calls));
+        Assertions.assertEquals(2, calls.get());
+
+        // result loaded concurrently with invalidation is not cached
+        cache.invalidate();
+        cache.getAuthenticationInfo(getCredentials("token", null), () -> {
+            cache.invalidate();
+            return authenticate(calls);
+        });
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testRefresh() {
+        AuthenticationCache cache = new AuthenticationCache(60, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        AuthenticationInfo info = cache.getAuthenticationInfo(getCredentials(null, "acme"), () -> authenticate(calls));
+        cache.refreshAuthenticationInfo(getCredentials(null, "acme"), () -> authenticate(calls));
+        AuthenticationInfo refreshedInfo = cache.getAuthenticationInfo(getCredentials(null, "acme"), () -> authenticate(calls));
+        Assertions.assertNotSame(info, refreshedInfo);
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testBoundedAndDisabled() {
+        AuthenticationCache cache = new AuthenticationCache(60, 2);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            cache.getAuthenticationInfo(getCredentials("token" + i, null), () -> authenticate(calls));
+        }
+        Assertions.assertEquals(2, cache.size());
+
+        AuthenticationCache disabledCache = new AuthenticationCache(0, 100);
+        disabledCache.getAuthenticationInfo(getCredentials("token", null), () -> authenticate(calls));
+        disabledCache.getAuthenticationInfo(getCredentials("token", null), () -> authenticate(calls));
+        Assertions.assertEquals(7, calls.get());
+        Assertions.assertEquals(0, disabledCache.size());
+    }
+
+    private static AuthenticationRequestDto getCredentials(String token, String systemUsername) {
+        AuthenticationRequestDto credentials = new AuthenticationRequestDto();
+        credentials.setAuthenticationToken(token);
+        credentials.setSystemUsername(systemUsername);
+        return credentials;
+    }
+
+    private static AuthenticationInfo authenticate(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new AuthenticationInfo(UUID.randomUUID().toString(), "user", List.of(new SimpleGrantedAuthority("role")), "{}");
+    }
+}
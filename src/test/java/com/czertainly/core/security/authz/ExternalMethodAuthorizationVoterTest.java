@@ -1,5 +1,10 @@
 package com.czertainly.core.security.authz;
 
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.dao.entity.GroupAssociation;
+import com.czertainly.core.dao.repository.GroupAssociationRepository;
+import com.czertainly.core.dao.repository.OwnerAssociationRepository;
+import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authn.CzertainlyAuthenticationToken;
 import com.czertainly.core.security.authn.CzertainlyUserDetails;
 import com.czertainly.core.security.authn.client.AuthenticationInfo;
@@ -28,6 +33,10 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.access.AccessDecisionVoter.ACCESS_DENIED;
 import static org.springframework.security.access.AccessDecisionVoter.ACCESS_GRANTED;
@@ -41,6 +50,15 @@ class ExternalMethodAuthorizationVoterTest {
     @Spy
     ObjectMapper om = new ObjectMapper();
 
+    @Mock
+    GroupAssociationRepository groupAssociationRepository;
+
+    @Mock
+    OwnerAssociationRepository ownerAssociationRepository;
+
+    @Mock
+    LocalPermissionEvaluator localPermissionEvaluator;
+
     @InjectMocks
     ExternalMethodAuthorizationVoter voter;
 
@@ -59,6 +77,20 @@ class ExternalMethodAuthorizationVoterTest {
         assertEquals(ACCESS_GRANTED, result);
     }
 
+    @Test
+    void accessIsGrantedByLocalPermissionsWithoutOpa() throws NoSuchMethodException {
+        // given
+        when(localPermissionEvaluator.isGranted(any(), any()))
+                .thenReturn(true);
+
+        // when
+        int result = voter.vote(createCzertainlyUserAuthentication(), methodInvocationWithSecuredUUID("abfbc322-29e1-11ed-a261-0242ac120002"), certificateDetailAttributes());
+
+        // then
+        assertEquals(ACCESS_GRANTED, result);
+        verify(opaClient, never()).checkResourceAccess(any(), any(), any(), any());
+    }
+
     @Test
     void accessIsDeniedWhenOpaDeniesIt() throws NoSuchMethodException {
         // given
@@ -221,6 +253,76 @@ class ExternalMethodAuthorizationVoterTest {
         assertEquals(principal, om.writeValueAsString(new AnonymousPrincipal("anonymousUser")));
     }
 
+    @Test
+    void groupMembersPermissionsAreEvaluatedForAllObjectsAtOnce() throws NoSuchMethodException {
+        // setup
+        ArgumentCaptor<OpaRequestedResource> resourceCaptor = ArgumentCaptor.forClass(OpaRequestedResource.class);
+        when(opaClient.checkResourceAccess(any(), resourceCaptor.capture(), any(), any()))
+                .thenReturn(OpaResourceAccessResult.unauthorized(), accessGranted());
+
+        // given
+        UUID objectUuid1 = UUID.fromString("abfbc322-29e1-11ed-a261-0242ac120002");
+        UUID objectUuid2 = UUID.fromString("abfbc322-29e1-11ed-a261-0242ac120003");
+        UUID groupUuid1 = UUID.fromString("f258cb3c-17b5-11ed-861d-0242ac120002");
+        UUID groupUuid2 = UUID.fromString("f258cb3c-17b5-11ed-861d-0242ac120003");
+        when(groupAssociationRepository.findByResourceAndObjectUuidIn(eq(Resource.CERTIFICATE), any()))
+                .thenReturn(List.of(groupAssociation(objectUuid1, groupUuid1), groupAssociation(objectUuid1, groupUuid2), groupAssociation(objectUuid2, groupUuid1)));
+
+        // when
+        int result = voter.vote(createCzertainlyUserAuthentication(), methodInvocationWithListOfSecuredUUIDs(objectUuid1.toString(), objectUuid2.toString()), certificateDetailAttributes());
+
+        // then
+        assertEquals(ACCESS_GRANTED, result);
+        verify(groupAssociationRepository, times(1)).findByResourceAndObjectUuidIn(eq(Resource.CERTIFICATE), any());
+        verify(opaClient, times(2)).checkResourceAccess(any(), any(), any(), any());
+        OpaRequestedResource resource = resourceCaptor.getValue();
+        assertEquals(Resource.GROUP.getCode(), resource.getProperties().get("name"));
+        assertEquals(List.of(groupUuid1.toString(), groupUuid2.toString()), resource.getObjectUUIDs());
+    }
+
+    @Test
+    void accessIsDeniedWhenSomeObjectHasNoGroup() throws NoSuchMethodException {
+        // setup
+        when(opaClient.checkResourceAccess(any(), any(), any(), any()))
+                .thenReturn(OpaResourceAccessResult.unauthorized());
+
+        // given
+        UUID objectUuid1 = UUID.fromString("abfbc322-29e1-11ed-a261-0242ac120002");
+        UUID objectUuid2 = UUID.fromString("abfbc322-29e1-11ed-a261-0242ac120003");
+        when(groupAssociationRepository.findByResourceAndObjectUuidIn(eq(Resource.CERTIFICATE), any()))
+                .thenReturn(List.of(groupAssociation(objectUuid1, UUID.fromString("f258cb3c-17b5-11ed-861d-0242ac120002"))));
+
+        // when
+        int result = voter.vote(createCzertainlyUserAuthentication(), methodInvocationWithListOfSecuredUUIDs(objectUuid1.toString(), objectUuid2.toString()), certificateDetailAttributes());
+
+        // then
+        assertEquals(ACCESS_DENIED, result);
+        verify(opaClient, times(1)).checkResourceAccess(any(), any(), any(), any());
+    }
+
+    CzertainlyAuthenticationToken createCzertainlyUserAuthentication() {
+        return new CzertainlyAuthenticationToken(
+                new CzertainlyUserDetails(
+                        new AuthenticationInfo(UUID.randomUUID().toString(), "FrantisekJednicka", List.of())
+                )
+        );
+    }
+
+    Collection<ConfigAttribute> certificateDetailAttributes() {
+        Collection<ConfigAttribute> attributes = new ArrayList<>();
+        attributes.add(new ExternalAuthorizationConfigAttribute("name", Resource.CERTIFICATE.getCode()));
+        attributes.add(new ExternalAuthorizationConfigAttribute("action", ResourceAction.DETAIL.getCode()));
+        return attributes;
+    }
+
+    GroupAssociation groupAssociation(UUID objectUuid, UUID groupUuid) {
+        GroupAssociation groupAssociation = new GroupAssociation();
+        groupAssociation.setResource(Resource.CERTIFICATE);
+        groupAssociation.setObjectUuid(objectUuid);
+        groupAssociation.setGroupUuid(groupUuid);
+        return groupAssociation;
+    }
+
     CzertainlyAuthenticationToken createCzertainlyAuthentication() {
         return new CzertainlyAuthenticationToken(
                 new CzertainlyUserDetails(
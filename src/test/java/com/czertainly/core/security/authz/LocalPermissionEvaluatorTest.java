@@ -0,0 +1,92 @@
+package com.czertainly.core.security.authz;
+
+import com.czertainly.api.model.core.auth.ObjectPermissionsDto;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.model.core.auth.ResourcePermissionsDto;
+import com.czertainly.api.model.core.auth.SubjectPermissionsDto;
+import com.czertainly.core.model.auth.ResourceAction;
+import com.czertainly.core.security.authn.client.UserManagementApiClient;
+import com.czertainly.core.security.authz.opa.dto.OpaRequestedResource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class LocalPermissionEvaluatorTest {
+
+    private static final String USER_UUID = "5c0a9ec2-1d2a-4d5e-8d41-6a2f8f5b1a01";
+    private static final String ALLOWED_OBJECT_UUID = "abfbc322-29e1-11ed-a261-0242ac120002";
+    private static final String DENIED_OBJECT_UUID = "abfbc322-29e1-11ed-a261-0242ac120003";
+    private static final String OTHER_OBJECT_UUID = "abfbc322-29e1-11ed-a261-0242ac120004";
+
+    private UserManagementApiClient userManagementApiClient;
+    private LocalPermissionEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        ObjectPermissionsDto allowedObject = new ObjectPermissionsDto();
+        allowedObject.setUuid(ALLOWED_OBJECT_UUID);
+        allowedObject.setAllow(List.of(ResourceAction.UPDATE.getCode()));
+        allowedObject.setDeny(List.of());
+        ObjectPermissionsDto deniedObject = new ObjectPermissionsDto();
+        deniedObject.setUuid(DENIED_OBJECT_UUID);
+        deniedObject.setAllow(List.of());
+        deniedObject.setDeny(List.of(ResourceAction.DETAIL.getCode()));
+
+        ResourcePermissionsDto certificatePermissions = new ResourcePermissionsDto();
+        certificatePermissions.setName(Resource.CERTIFICATE.getCode());
+        certificatePermissions.setAllowAllActions(false);
+        certificatePermissions.setActions(List.of(ResourceAction.LIST.getCode(), ResourceAction.DETAIL.getCode()));
+        certificatePermissions.setObjects(List.of(allowedObject, deniedObject));
+
+        SubjectPermissionsDto permissions = new SubjectPermissionsDto();
+        permissions.setAllowAllResources(false);
+        permissions.setResources(List.of(certificatePermissions));
+
+        userManagementApiClient = Mockito.mock(UserManagementApiClient.class);
+        Mockito.when(userManagementApiClient.getPermissions(USER_UUID)).thenReturn(permissions);
+        evaluator = new LocalPermissionEvaluator(userManagementApiClient, true, 60);
+    }
+
+    @Test
+    void testResourceActions() {
+        Assertions.assertTrue(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+        Assertions.assertTrue(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.UPDATE, ALLOWED_OBJECT_UUID)));
+        Assertions.assertFalse(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.UPDATE, OTHER_OBJECT_UUID)));
+        Assertions.assertFalse(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, DENIED_OBJECT_UUID)));
+        Assertions.assertFalse(evaluator.isGranted(USER_UUID, getResource(Resource.RA_PROFILE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+
+        // listing of resource with denied objects is left to OPA
+        Assertions.assertFalse(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.LIST)));
+        Assertions.assertFalse(evaluator.isGranted(null, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+
+        // snapshot is loaded once
+        Mockito.verify(userManagementApiClient, Mockito.times(1)).getPermissions(USER_UUID);
+    }
+
+    @Test
+    void testInvalidateAndDisabled() {
+        Assertions.assertTrue(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+        evaluator.invalidate();
+        Assertions.assertTrue(evaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+        Mockito.verify(userManagementApiClient, Mockito.times(2)).getPermissions(USER_UUID);
+
+        LocalPermissionEvaluator disabledEvaluator = new LocalPermissionEvaluator(userManagementApiClient, false, 60);
+        Assertions.assertFalse(disabledEvaluator.isGranted(USER_UUID, getResource(Resource.CERTIFICATE, ResourceAction.DETAIL, OTHER_OBJECT_UUID)));
+    }
+
+    private static OpaRequestedResource getResource(Resource resource, ResourceAction action, String... objectUuids) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("name", resource.getCode());
+        properties.put("action", action.getCode());
+        OpaRequestedResource requestedResource = new OpaRequestedResource(properties);
+        if (objectUuids.length > 0) {
+            requestedResource.setObjectUUIDs(List.of(objectUuids));
+        }
+        return requestedResource;
+    }
+}
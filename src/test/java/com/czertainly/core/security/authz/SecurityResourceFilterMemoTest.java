@@ -0,0 +1,59 @@
+package com.czertainly.core.security.authz;
+
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.core.model.auth.ResourceAction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SecurityResourceFilterMemoTest {
+
+    private static final String USER_UUID = "5c0a9ec2-1d2a-4d5e-8d41-6a2f8f5b1a01";
+    private static final String OTHER_USER_UUID = "5c0a9ec2-1d2a-4d5e-8d41-6a2f8f5b1a02";
+
+    @Test
+    void testMemoizedWithinRequest() {
+        AtomicInteger calls = new AtomicInteger();
+        ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            SecurityResourceFilter filter = SecurityResourceFilterMemo.resolve(USER_UUID, Resource.CERTIFICATE, ResourceAction.LIST, () -> resolve(calls));
+            Assertions.assertSame(filter, SecurityResourceFilterMemo.resolve(USER_UUID, Resource.CERTIFICATE, ResourceAction.LIST, () -> resolve(calls)));
+            SecurityResourceFilterMemo.resolve(USER_UUID, Resource.CERTIFICATE, ResourceAction.DETAIL, () -> resolve(calls));
+            SecurityResourceFilterMemo.resolve(OTHER_USER_UUID, Resource.CERTIFICATE, ResourceAction.LIST, () -> resolve(calls));
+            Assertions.assertEquals(3, calls.get());
+
+            // completed request is not used anymore
+            requestAttributes.requestCompleted();
+            SecurityResourceFilterMemo.resolve(USER_UUID, Resource.CERTIFICATE, ResourceAction.LIST, () -> resolve(calls));
+            Assertions.assertEquals(4, calls.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testMemoizedWithinTask() {
+        AtomicInteger calls = new AtomicInteger();
+        SecurityResourceFilterMemo.decorate(() -> {
+            SecurityResourceFilterMemo.resolve(USER_UUID, Resource.RA_PROFILE, ResourceAction.LIST, () -> resolve(calls));
+            SecurityResourceFilterMemo.resolve(USER_UUID, Resource.RA_PROFILE, ResourceAction.LIST, () -> resolve(calls));
+        }).run();
+        Assertions.assertEquals(1, calls.get());
+
+        // outside of any scope filters are always resolved
+        SecurityResourceFilterMemo.resolve(USER_UUID, Resource.RA_PROFILE, ResourceAction.LIST, () -> resolve(calls));
+        SecurityResourceFilterMemo.resolve(USER_UUID, Resource.RA_PROFILE, ResourceAction.LIST, () -> resolve(calls));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    private static SecurityResourceFilter resolve(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new SecurityResourceFilter(List.of(), List.of(), false);
+    }
+}
@@ -25,6 +25,9 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -33,6 +36,10 @@ class OpaClientTest {
 
     private static OpaClient opaClient;
 
+    private static OpaClient cachingOpaClient;
+
+    private static OpaDecisionCache decisionCache;
+
     @BeforeAll
     static void setup() throws IOException {
         opaMock = new MockWebServer();
@@ -41,7 +48,10 @@ class OpaClientTest {
         String opaBaseUrl = String.format("http://%s:%d", opaMock.getHostName(), opaMock.getPort());
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        opaClient = new OpaClient(objectMapper, opaBaseUrl);
+        opaClient = new OpaClient(objectMapper, opaBaseUrl, new OpaDecisionCache(0, 0));
+
+        decisionCache = new OpaDecisionCache(60, 100);
+        cachingOpaClient = new OpaClient(objectMapper, opaBaseUrl, decisionCache);
     }
 
     @AfterAll
@@ -123,6 +133,28 @@ class OpaClientTest {
         //@formatter:on
     }
 
+    @Test
+    void cachesDecisionsOfSameRequest() throws InterruptedException {
+        // given
+        decisionCache.invalidate();
+        setUpSuccessfulResourceAccessResponse();
+        setUpSuccessfulObjectAccessResponse();
+
+        // when
+        OpaResourceAccessResult result = cachingOpaClient.checkResourceAccess(OpaPolicy.METHOD.policyName, getResource(), getPrincipal(), null);
+        OpaResourceAccessResult cachedResult = cachingOpaClient.checkResourceAccess(OpaPolicy.METHOD.policyName, getResource(), getPrincipal(), null);
+        OpaObjectAccessResult objectResult = cachingOpaClient.checkObjectAccess(OpaPolicy.OBJECTS.policyName, getResource(), getPrincipal(), null);
+
+        // then
+        assertSame(result, cachedResult);
+        assertTrue(objectResult.isActionAllowedForGroupOfObjects());
+        assertEquals(1, decisionCache.getHitCount());
+        assertEquals(2, decisionCache.getMissCount());
+        assertNotNull(getLastRequest());
+        assertNotNull(getLastRequest());
+        assertNull(getLastRequest());
+    }
+
     @Test
     void throwsExceptionWhenResponseIsEmpty() {
         // given
@@ -7,21 +7,29 @@ import com.czertainly.api.exception.NotFoundException;
 import com.czertainly.api.model.client.certificate.*;
 import com.czertainly.api.model.common.NameAndUuidDto;
 import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.CustomAttribute;
 import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
 import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
 import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import com.czertainly.api.model.common.attribute.v2.properties.CustomAttributeProperties;
 import com.czertainly.api.model.common.attribute.v2.properties.MetadataAttributeProperties;
 import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.model.core.certificate.*;
 import com.czertainly.api.model.core.connector.ConnectorStatus;
 import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import com.czertainly.api.model.core.search.FilterConditionOperator;
+import com.czertainly.api.model.core.search.FilterFieldSource;
 import com.czertainly.api.model.core.search.SearchFieldDataByGroupDto;
+import com.czertainly.api.model.core.search.SearchableFields;
 import com.czertainly.core.attribute.engine.AttributeEngine;
 import com.czertainly.core.attribute.engine.records.ObjectAttributeContentInfo;
 import com.czertainly.core.dao.entity.*;
 import com.czertainly.core.dao.repository.*;
+import com.czertainly.core.model.auth.ResourceAction;
 import com.czertainly.core.security.authz.SecuredUUID;
 import com.czertainly.core.security.authz.SecurityFilter;
+import com.czertainly.core.security.authz.opa.OpaClient;
+import com.czertainly.core.security.authz.opa.dto.OpaResourceAccessResult;
 import com.czertainly.core.util.BaseSpringBootTest;
 import com.czertainly.core.util.MetaDefinitions;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -30,7 +38,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -66,6 +76,10 @@ public class CertificateServiceTest extends BaseSpringBootTest {
     private GroupRepository groupRepository;
     @Autowired
     private ResourceObjectAssociationService associationService;
+    @Autowired
+    private AttributeContent2ObjectRepository attributeContent2ObjectRepository;
+    @Autowired
+    private OpaClient opaClient;
 
     private AttributeEngine attributeEngine;
 
@@ -391,6 +405,104 @@ public class CertificateServiceTest extends BaseSpringBootTest {
         testDownloadInternal(CertificateFormat.PKCS7, CertificateFormatEncoding.DER);
     }
 
+    @Test
+    public void testBulkUpdateCertificatesCustomAttributeContent() throws NotFoundException, AttributeException {
+        Certificate otherCertificate = createCertificate("987654321");
+        UUID definitionUuid = createCustomAttributeDefinition();
+
+        certificateService.bulkUpdateCertificatesCustomAttributeContent(SecurityFilter.create(), List.of(certificate.getUuid().toString(), otherCertificate.getUuid().toString()), null,
+                definitionUuid, List.of(new StringAttributeContent("Marketing")));
+
+        for (Certificate updatedCertificate : List.of(certificate, otherCertificate)) {
+            List<AttributeContent2Object> contentObjects = getCustomAttributeContentObjects(updatedCertificate.getUuid(), definitionUuid);
+            Assertions.assertEquals(1, contentObjects.size());
+            Assertions.assertEquals("Marketing", contentObjects.get(0).getAttributeContentItem().getJson().getData());
+        }
+
+        // null content removes the attribute from all listed certificates
+        certificateService.bulkUpdateCertificatesCustomAttributeContent(SecurityFilter.create(), List.of(certificate.getUuid().toString(), otherCertificate.getUuid().toString()), null,
+                definitionUuid, null);
+        Assertions.assertTrue(getCustomAttributeContentObjects(certificate.getUuid(), definitionUuid).isEmpty());
+        Assertions.assertTrue(getCustomAttributeContentObjects(otherCertificate.getUuid(), definitionUuid).isEmpty());
+    }
+
+    @Test
+    public void testBulkUpdateCertificatesCustomAttributeContent_forbidden() throws AttributeException {
+        Certificate forbiddenCertificate = createCertificate("987654321");
+        UUID definitionUuid = createCustomAttributeDefinition();
+        mockForbiddenUpdate(forbiddenCertificate.getUuid());
+
+        Assertions.assertThrows(AccessDeniedException.class, () -> certificateService.bulkUpdateCertificatesCustomAttributeContent(SecurityFilter.create(),
+                List.of(certificate.getUuid().toString(), forbiddenCertificate.getUuid().toString()), null, definitionUuid, List.of(new StringAttributeContent("Marketing"))));
+
+        // permissions are evaluated for all certificates before any content is updated
+        Assertions.assertTrue(getCustomAttributeContentObjects(certificate.getUuid(), definitionUuid).isEmpty());
+        Assertions.assertTrue(getCustomAttributeContentObjects(forbiddenCertificate.getUuid(), definitionUuid).isEmpty());
+    }
+
+    @Test
+    public void testBulkUpdateCertificatesCustomAttributeContent_filters() throws NotFoundException, AttributeException {
+        Certificate selectedCertificate = createCertificate("987654321");
+        UUID definitionUuid = createCustomAttributeDefinition();
+
+        SearchFilterRequestDto filter = new SearchFilterRequestDto();
+        filter.setFieldSource(FilterFieldSource.PROPERTY);
+        filter.setFieldIdentifier(SearchableFields.SERIAL_NUMBER.name());
+        filter.setCondition(FilterConditionOperator.EQUALS);
+        filter.setValue(selectedCertificate.getSerialNumber());
+
+        certificateService.bulkUpdateCertificatesCustomAttributeContent(SecurityFilter.create(), List.of(), List.of(filter), definitionUuid, List.of(new StringAttributeContent("Marketing")));
+
+        List<AttributeContent2Object> contentObjects = getCustomAttributeContentObjects(selectedCertificate.getUuid(), definitionUuid);
+        Assertions.assertEquals(1, contentObjects.size());
+        Assertions.assertEquals("Marketing", contentObjects.get(0).getAttributeContentItem().getJson().getData());
+        Assertions.assertTrue(getCustomAttributeContentObjects(certificate.getUuid(), definitionUuid).isEmpty());
+    }
+
+    private Certificate createCertificate(String serialNumber) {
+        Certificate newCertificate = new Certificate();
+        newCertificate.setSubjectDn("testCertificate" + serialNumber);
+        newCertificate.setIssuerDn("testCercertificatetificate");
+        newCertificate.setSerialNumber(serialNumber);
+        newCertificate.setState(CertificateState.ISSUED);
+        newCertificate.setValidationStatus(CertificateValidationStatus.VALID);
+        newCertificate.setCertificateContent(certificateContent);
+        newCertificate.setCertificateContentId(certificateContent.getId());
+        newCertificate.setRaProfile(raProfileOld);
+        return certificateRepository.save(newCertificate);
+    }
+
+    private UUID createCustomAttributeDefinition() throws AttributeException {
+        CustomAttributeProperties properties = new CustomAttributeProperties();
+        properties.setLabel("Department");
+
+        CustomAttribute customAttribute = new CustomAttribute();
+        customAttribute.setUuid(UUID.randomUUID().toString());
+        customAttribute.setName("department");
+        customAttribute.setType(AttributeType.CUSTOM);
+        customAttribute.setContentType(AttributeContentType.STRING);
+        customAttribute.setProperties(properties);
+        attributeEngine.updateCustomAttributeDefinition(customAttribute, List.of(Resource.CERTIFICATE));
+        return UUID.fromString(customAttribute.getUuid());
+    }
+
+    private List<AttributeContent2Object> getCustomAttributeContentObjects(UUID certificateUuid, UUID definitionUuid) {
+        return attributeContent2ObjectRepository.findAll().stream()
+                .filter(contentObject -> contentObject.getObjectType() == Resource.CERTIFICATE && contentObject.getObjectUuid().equals(certificateUuid)
+                        && contentObject.getAttributeContentItem().getAttributeDefinitionUuid().equals(definitionUuid))
+                .toList();
+    }
+
+    private void mockForbiddenUpdate(UUID certificateUuid) {
+        OpaResourceAccessResult accessDenied = new OpaResourceAccessResult();
+        accessDenied.setAuthorized(false);
+        accessDenied.setAllow(List.of());
+
+        Mockito.when(opaClient.checkResourceAccess(Mockito.any(), Mockito.argThat(resource -> resource != null
+                && ResourceAction.UPDATE.getCode().equals(resource.getProperties().get("action"))
+                && resource.getObjectUUIDs() != null && resource.getObjectUUIDs().contains(certificateUuid.toString())), Mockito.any(), Mockito.any())).thenReturn(accessDenied);
+    }
+
     private void testDownloadInternal(CertificateFormat format, CertificateFormatEncoding encoding) throws NotFoundException, CertificateException, IOException {
         CertificateDownloadResponseDto certificateDownloadResponseDto = certificateService.downloadCertificate(certificate.getUuid().toString(), format, encoding);
         Assertions.assertDoesNotThrow(() -> (certificateService.createCertificate(certificateDownloadResponseDto.getContent(), CertificateType.X509)));
@@ -1,38 +1,78 @@
 package com.czertainly.core.service;
 
 import com.czertainly.api.exception.*;
+import com.czertainly.api.model.client.attribute.RequestAttributeDto;
 import com.czertainly.api.model.client.certificate.DiscoveryResponseDto;
 import com.czertainly.api.model.client.certificate.SearchRequestDto;
 import com.czertainly.api.model.client.discovery.DiscoveryDto;
 import com.czertainly.api.model.client.discovery.DiscoveryHistoryDetailDto;
 import com.czertainly.api.model.client.discovery.DiscoveryHistoryDto;
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import com.czertainly.api.model.common.attribute.v2.properties.MetadataAttributeProperties;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
 import com.czertainly.api.model.core.connector.ConnectorStatus;
 import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import com.czertainly.api.model.core.discovery.DiscoveryStatus;
 import com.czertainly.core.dao.entity.Connector;
 import com.czertainly.core.dao.entity.Connector2FunctionGroup;
+import com.czertainly.core.dao.entity.DiscoveryCertificate;
 import com.czertainly.core.dao.entity.DiscoveryHistory;
+import com.czertainly.core.dao.entity.DiscoverySourceCertificate;
 import com.czertainly.core.dao.entity.FunctionGroup;
+import com.czertainly.core.dao.repository.CertificateRepository;
 import com.czertainly.core.dao.repository.Connector2FunctionGroupRepository;
 import com.czertainly.core.dao.repository.ConnectorRepository;
+import com.czertainly.core.dao.repository.DiscoveryCertificateRepository;
 import com.czertainly.core.dao.repository.DiscoveryRepository;
+import com.czertainly.core.dao.repository.DiscoverySourceCertificateRepository;
 import com.czertainly.core.dao.repository.FunctionGroupRepository;
+import com.czertainly.core.messaging.producers.MessagingTransport;
 import com.czertainly.core.security.authz.SecuredUUID;
 import com.czertainly.core.security.authz.SecurityFilter;
 import com.czertainly.core.util.BaseSpringBootTest;
+import com.czertainly.core.util.CertificateUtil;
 import com.czertainly.core.util.MetaDefinitions;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import jakarta.persistence.EntityManager;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.hibernate.Session;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
-
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public class DiscoveryServiceTest extends BaseSpringBootTest {
 
     private static final String DISCOVERY_NAME = "testDiscovery1";
 
+    private static final String DISCOVERY_KIND = "IpAndPort";
+
     @Autowired
     private DiscoveryService discoveryService;
+    @Autowired
+    private CertificateService certificateService;
 
     @Autowired
     private DiscoveryRepository discoveryRepository;
@@ -42,6 +82,18 @@ public class DiscoveryServiceTest extends BaseSpringBootTest {
     private FunctionGroupRepository functionGroupRepository;
     @Autowired
     private Connector2FunctionGroupRepository connector2FunctionGroupRepository;
+    @Autowired
+    private DiscoveryCertificateRepository discoveryCertificateRepository;
+    @Autowired
+    private DiscoverySourceCertificateRepository discoverySourceCertificateRepository;
+    @Autowired
+    private CertificateRepository certificateRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    // messages of finished discoveries are not sent to broker
+    @MockBean
+    private MessagingTransport messagingTransport;
 
     private DiscoveryHistory discovery;
     private Connector connector;
@@ -75,11 +127,18 @@ public class DiscoveryServiceTest extends BaseSpringBootTest {
         connector.getFunctionGroups().add(c2fg);
         connectorRepository.save(connector);
 
-        discovery = new DiscoveryHistory();
-        discovery.setName(DISCOVERY_NAME);
-        discovery.setConnectorUuid(connector.getUuid());
-        discovery.setConnectorName(connector.getName());
-        discovery = discoveryRepository.save(discovery);
+        discovery = createDiscovery(DISCOVERY_NAME);
+    }
+
+    private DiscoveryHistory createDiscovery(String name) {
+        DiscoveryHistory discoveryHistory = new DiscoveryHistory();
+        discoveryHistory.setName(name);
+        discoveryHistory.setConnectorUuid(connector.getUuid());
+        discoveryHistory.setConnectorName(connector.getName());
+        discoveryHistory.setKind(DISCOVERY_KIND);
+        discoveryHistory.setStartTime(new Date());
+        discoveryHistory.setStatus(DiscoveryStatus.IN_PROGRESS);
+        return discoveryRepository.save(discoveryHistory);
     }
 
     @AfterEach
@@ -191,4 +250,183 @@ public class DiscoveryServiceTest extends BaseSpringBootTest {
         discoveryService.bulkRemoveDiscovery(List.of(discovery.getSecuredUuid()));
         Assertions.assertThrows(NotFoundException.class, () -> discoveryService.getDiscovery(discovery.getSecuredUuid()));
     }
+
+    @Test
+    public void testSourceKey() {
+        Object discoveryServiceTarget = AopTestUtils.getUltimateTargetObject(discoveryService);
+        UUID connectorUuid = connector.getUuid();
+        String sourceKey = ReflectionTestUtils.invokeMethod(discoveryServiceTarget, "getSourceKey", connectorUuid, DISCOVERY_KIND, List.of(createRequestAttribute("10.0.0.0/24")));
+
+        Assertions.assertNotNull(sourceKey);
+        Assertions.assertEquals(sourceKey, ReflectionTestUtils.invokeMethod(discoveryServiceTarget, "getSourceKey", connectorUuid, DISCOVERY_KIND, List.of(createRequestAttribute("10.0.0.0/24"))));
+        Assertions.assertNotEquals(sourceKey, ReflectionTestUtils.invokeMethod(discoveryServiceTarget, "getSourceKey", connectorUuid, "ApiKey", List.of(createRequestAttribute("10.0.0.0/24"))));
+        Assertions.assertNotEquals(sourceKey, ReflectionTestUtils.invokeMethod(discoveryServiceTarget, "getSourceKey", connectorUuid, DISCOVERY_KIND, List.of(createRequestAttribute("10.0.1.0/24"))));
+        Assertions.assertNotEquals(sourceKey, ReflectionTestUtils.invokeMethod(discoveryServiceTarget, "getSourceKey", UUID.randomUUID(), DISCOVERY_KIND, List.of(createRequestAttribute("10.0.0.0/24"))));
+    }
+
+    @Test
+    public void testIncrementalDiscovery() throws Exception {
+        List<X509Certificate> certificates = createCertificates(3);
+        addToInventory(certificates.get(0));
+        addToInventory(certificates.get(1));
+
+        // first discovery of the source stores all certificates, certificates in inventory are not newly discovered
+        stubDiscoveredCertificates(List.of(createCertificateData(certificates.get(0), "endpoint-a"), createCertificateData(certificates.get(1), "endpoint-a"), createCertificateData(certificates.get(2), "endpoint-a")));
+        discoveryService.runDiscovery(discovery.getUuid());
+
+        // pages ingested in transaction of the caller are flushed and detached, the discovery stays managed
+        Assertions.assertTrue(entityManager.unwrap(Session.class).getStatistics().getEntityKeys().stream()
+                .noneMatch(key -> key.getEntityName().equals(DiscoveryCertificate.class.getName())));
+        Assertions.assertTrue(entityManager.contains(discovery));
+
+        Assertions.assertEquals(DiscoveryStatus.PROCESSING, discovery.getStatus(), discovery.getMessage());
+        String sourceKey = discovery.getSourceKey();
+        Assertions.assertNotNull(sourceKey);
+        Map<String, Boolean> newlyDiscovered = getNewlyDiscovered(discovery);
+        Assertions.assertEquals(3, newlyDiscovered.size());
+        Assertions.assertFalse(newlyDiscovered.get(getFingerprint(certificates.get(0))));
+        Assertions.assertFalse(newlyDiscovered.get(getFingerprint(certificates.get(1))));
+        Assertions.assertTrue(newlyDiscovered.get(getFingerprint(certificates.get(2))));
+        Assertions.assertEquals(3, discoverySourceCertificateRepository.findBySourceKeyAndFingerprintIn(sourceKey, getFingerprints(certificates)).size());
+        Assertions.assertNull(discovery.getMessage());
+
+        // newly discovered certificate is added to inventory by triggers evaluation
+        addToInventory(certificates.get(2));
+
+        // next discovery of the same source, metadata of second certificate changed
+        DiscoveryHistory nextDiscovery = createDiscovery("testDiscovery2");
+        stubDiscoveredCertificates(List.of(createCertificateData(certificates.get(0), "endpoint-a"), createCertificateData(certificates.get(1), "endpoint-b"), createCertificateData(certificates.get(2), "endpoint-a")));
+        discoveryService.runDiscovery(nextDiscovery.getUuid());
+
+        Assertions.assertEquals(sourceKey, nextDiscovery.getSourceKey());
+        newlyDiscovered = getNewlyDiscovered(nextDiscovery);
+        Assertions.assertEquals(3, newlyDiscovered.size());
+        Assertions.assertFalse(newlyDiscovered.get(getFingerprint(certificates.get(0))));
+        Assertions.assertTrue(newlyDiscovered.get(getFingerprint(certificates.get(1))));
+        Assertions.assertFalse(newlyDiscovered.get(getFingerprint(certificates.get(2))));
+        Assertions.assertEquals("2 certificates were not changed since previous discovery of the same source and were not processed again.", nextDiscovery.getMessage());
+
+        // last seen of unchanged certificates is updated in bulk, so source certificates are loaded again
+        entityManager.flush();
+        entityManager.clear();
+        List<DiscoverySourceCertificate> sourceCertificates = discoverySourceCertificateRepository.findBySourceKeyAndFingerprintIn(sourceKey, getFingerprints(certificates));
+        Assertions.assertEquals(3, sourceCertificates.size());
+        sourceCertificates.forEach(sourceCertificate -> Assertions.assertEquals(nextDiscovery.getUuid(), sourceCertificate.getLastDiscoveryUuid()));
+    }
+
+    @Test
+    public void testIncrementalDiscoveryDisabled() throws Exception {
+        Object discoveryServiceTarget = AopTestUtils.getUltimateTargetObject(discoveryService);
+        ReflectionTestUtils.setField(discoveryServiceTarget, "incrementalDiscovery", false);
+        try {
+            List<X509Certificate> certificates = createCertificates(2);
+            addToInventory(certificates.get(0));
+            stubDiscoveredCertificates(List.of(createCertificateData(certificates.get(0), "endpoint-a"), createCertificateData(certificates.get(1), "endpoint-a")));
+
+            discoveryService.runDiscovery(discovery.getUuid());
+            DiscoveryHistory nextDiscovery = createDiscovery("testDiscovery2");
+            discoveryService.runDiscovery(nextDiscovery.getUuid());
+
+            // source is not tracked, so all certificates are processed by every discovery
+            Assertions.assertNull(discovery.getSourceKey());
+            Assertions.assertNull(nextDiscovery.getSourceKey());
+            Assertions.assertEquals(0, discoverySourceCertificateRepository.count());
+            Map<String, Boolean> newlyDiscovered = getNewlyDiscovered(nextDiscovery);
+            Assertions.assertEquals(2, newlyDiscovered.size());
+            Assertions.assertFalse(newlyDiscovered.get(getFingerprint(certificates.get(0))));
+            Assertions.assertTrue(newlyDiscovered.get(getFingerprint(certificates.get(1))));
+            Assertions.assertNull(nextDiscovery.getMessage());
+        } finally {
+            ReflectionTestUtils.setField(discoveryServiceTarget, "incrementalDiscovery", true);
+        }
+    }
+
+    private void stubDiscoveredCertificates(List<DiscoveryProviderCertificateDataDto> certificateData) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        // provider completes discovery immediately, certificates are retrieved by pages
+        mockServer.stubFor(WireMock
+                .post(WireMock.urlPathMatching("/v1/discoveryProvider/discover"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(createProviderResponse(certificateData.size(), List.of())))));
+        mockServer.stubFor(WireMock
+                .post(WireMock.urlPathMatching("/v1/discoveryProvider/discover/[^/]+"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(createProviderResponse(certificateData.size(), certificateData)))));
+    }
+
+    private static DiscoveryProviderDto createProviderResponse(int total, List<DiscoveryProviderCertificateDataDto> certificateData) {
+        DiscoveryProviderDto response = new DiscoveryProviderDto();
+        response.setUuid("2f8e8b4e-4f8a-4c5e-9a31-6b3d1f0c7e55");
+        response.setName("providerDiscovery");
+        response.setStatus(DiscoveryStatus.COMPLETED);
+        response.setTotalCertificatesDiscovered(total);
+        response.setCertificateData(certificateData);
+        response.setMeta(List.of());
+        return response;
+    }
+
+    private static DiscoveryProviderCertificateDataDto createCertificateData(X509Certificate certificate, String endpoint) throws Exception {
+        MetadataAttributeProperties properties = new MetadataAttributeProperties();
+        properties.setLabel("Endpoint");
+
+        MetadataAttribute metadataAttribute = new MetadataAttribute();
+        metadataAttribute.setUuid("7d1c2f4a-3b5e-4c6d-8e9f-0a1b2c3d4e5f");
+        metadataAttribute.setName("endpoint");
+        metadataAttribute.setType(AttributeType.META);
+        metadataAttribute.setContentType(AttributeContentType.STRING);
+        metadataAttribute.setProperties(properties);
+        metadataAttribute.setContent(List.of(new StringAttributeContent(endpoint, endpoint)));
+
+        DiscoveryProviderCertificateDataDto data = new DiscoveryProviderCertificateDataDto();
+        data.setUuid(UUID.randomUUID().toString());
+        data.setBase64Content(Base64.getEncoder().encodeToString(certificate.getEncoded()));
+        data.setMeta(List.of(metadataAttribute));
+        return data;
+    }
+
+    private static RequestAttributeDto createRequestAttribute(String value) {
+        RequestAttributeDto requestAttributeDto = new RequestAttributeDto();
+        requestAttributeDto.setUuid("1b6e7c4c-8f0e-4c1b-9d39-1d5c8e0f7a20");
+        requestAttributeDto.setName("ipAddress");
+        requestAttributeDto.setContent(List.of(new StringAttributeContent(value, value)));
+        return requestAttributeDto;
+    }
+
+    private static List<X509Certificate> createCertificates(int count) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            X500Name subject = new X500Name("CN=incremental-discovered-" + i);
+            JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, BigInteger.valueOf(i), new Date(),
+                    new Date(System.currentTimeMillis() + 86400000L), subject, keyPair.getPublic());
+            certificates.add(new JcaX509CertificateConverter()
+                    .getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()))));
+        }
+        return certificates;
+    }
+
+    private void addToInventory(X509Certificate certificate) {
+        certificateRepository.save(certificateService.createCertificateEntity(certificate));
+    }
+
+    private Map<String, Boolean> getNewlyDiscovered(DiscoveryHistory discoveryHistory) {
+        Map<String, Boolean> newlyDiscovered = new HashMap<>();
+        for (DiscoveryCertificate discoveryCertificate : discoveryCertificateRepository.findByDiscovery(discoveryHistory)) {
+            Assertions.assertNull(newlyDiscovered.put(discoveryCertificate.getCertificateContent().getFingerprint(), discoveryCertificate.isNewlyDiscovered()));
+        }
+        return newlyDiscovered;
+    }
+
+    private static List<String> getFingerprints(List<X509Certificate> certificates) throws Exception {
+        List<String> fingerprints = new ArrayList<>();
+        for (X509Certificate certificate : certificates) {
+            fingerprints.add(getFingerprint(certificate));
+        }
+        return fingerprints;
+    }
+
+    private static String getFingerprint(X509Certificate certificate) throws Exception {
+        return CertificateUtil.getThumbprint(certificate);
+    }
 }
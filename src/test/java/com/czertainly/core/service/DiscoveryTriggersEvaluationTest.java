@@ -0,0 +1,197 @@
+package com.czertainly.core.service;
+
+import com.czertainly.api.exception.NotFoundException;
+import com.czertainly.api.exception.RuleException;
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import com.czertainly.api.model.common.attribute.v2.properties.MetadataAttributeProperties;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.model.core.connector.ConnectorStatus;
+import com.czertainly.api.model.core.discovery.DiscoveryStatus;
+import com.czertainly.core.attribute.engine.AttributeEngine;
+import com.czertainly.core.attribute.engine.records.ObjectAttributeContentInfo;
+import com.czertainly.core.dao.entity.AttributeDefinition;
+import com.czertainly.core.dao.entity.Certificate;
+import com.czertainly.core.dao.entity.CertificateContent;
+import com.czertainly.core.dao.entity.Connector;
+import com.czertainly.core.dao.entity.DiscoveryCertificate;
+import com.czertainly.core.dao.entity.DiscoveryHistory;
+import com.czertainly.core.dao.repository.AttributeDefinitionRepository;
+import com.czertainly.core.dao.repository.CertificateContentRepository;
+import com.czertainly.core.dao.repository.CertificateRepository;
+import com.czertainly.core.dao.repository.ConnectorRepository;
+import com.czertainly.core.dao.repository.DiscoveryCertificateRepository;
+import com.czertainly.core.dao.repository.DiscoveryRepository;
+import com.czertainly.core.util.BaseSpringBootTest;
+import com.czertainly.core.util.CertificateUtil;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Triggers of newly discovered certificates are evaluated in partitions processed in parallel, each in its own transaction,
+ * so discovered data is committed before the evaluation and removed afterwards.
+ */
+class DiscoveryTriggersEvaluationTest extends BaseSpringBootTest {
+
+    private static final int CERTIFICATES_COUNT = 8;
+    private static final String META_UUID = "0b6e7c4c-8f0e-4c1b-9d39-1d5c8e0f7a21";
+    private static final String META_NAME = "discoveryEndpoint";
+
+    @Autowired
+    private DiscoveryService discoveryService;
+    @Autowired
+    private CertificateService certificateService;
+    @Autowired
+    private AttributeEngine attributeEngine;
+    @Autowired
+    private DiscoveryRepository discoveryRepository;
+    @Autowired
+    private DiscoveryCertificateRepository discoveryCertificateRepository;
+    @Autowired
+    private CertificateContentRepository certificateContentRepository;
+    @Autowired
+    private CertificateRepository certificateRepository;
+    @Autowired
+    private ConnectorRepository connectorRepository;
+    @Autowired
+    private AttributeDefinitionRepository attributeDefinitionRepository;
+
+    private Connector connector;
+    private DiscoveryHistory discovery;
+    private final List<String> fingerprints = new ArrayList<>();
+    private Object triggersPartitionSize;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connector = new Connector();
+        connector.setName("discoveryTriggersConnector");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+        connector = connectorRepository.save(connector);
+
+        discovery = new DiscoveryHistory();
+        discovery.setName("discoveryTriggersTest");
+        discovery.setConnectorUuid(connector.getUuid());
+        discovery.setConnectorName(connector.getName());
+        discovery.setStatus(DiscoveryStatus.PROCESSING);
+        discovery = discoveryRepository.save(discovery);
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        for (int i = 1; i <= CERTIFICATES_COUNT; i++) {
+            X500Name subject = new X500Name("CN=triggers-discovered-" + i);
+            JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, BigInteger.valueOf(i), new Date(),
+                    new Date(System.currentTimeMillis() + 86400000L), subject, keyPair.getPublic());
+            X509Certificate x509Certificate = new JcaX509CertificateConverter()
+                    .getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+
+            CertificateContent certificateContent = new CertificateContent();
+            certificateContent.setFingerprint(CertificateUtil.getThumbprint(x509Certificate));
+            certificateContent.setContent(Base64.getEncoder().encodeToString(x509Certificate.getEncoded()));
+            certificateContent = certificateContentRepository.save(certificateContent);
+            fingerprints.add(certificateContent.getFingerprint());
+
+            DiscoveryCertificate discoveryCertificate = new DiscoveryCertificate();
+            discoveryCertificate.setCommonName("triggers-discovered-" + i);
+            discoveryCertificate.setSerialNumber(x509Certificate.getSerialNumber().toString(16));
+            discoveryCertificate.setIssuerCommonName("triggers-discovered-" + i);
+            discoveryCertificate.setNotBefore(x509Certificate.getNotBefore());
+            discoveryCertificate.setNotAfter(x509Certificate.getNotAfter());
+            discoveryCertificate.setCertificateContent(certificateContent);
+            discoveryCertificate.setDiscovery(discovery);
+            discoveryCertificate.setNewlyDiscovered(true);
+            // all certificates share the same metadata definition and one content value, so partitions create them concurrently
+            discoveryCertificate.setMeta(List.of(createMetadataAttribute("shared-endpoint", "endpoint-" + i)));
+            discoveryCertificateRepository.save(discoveryCertificate);
+        }
+
+        // partitions read discovered certificates in their own transactions
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+
+        // every certificate is processed in separate partition
+        Object discoveryServiceTarget = AopTestUtils.getUltimateTargetObject(discoveryService);
+        triggersPartitionSize = ReflectionTestUtils.getField(discoveryServiceTarget, "triggersPartitionSize");
+        ReflectionTestUtils.setField(discoveryServiceTarget, "triggersPartitionSize", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws NotFoundException {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(discoveryService), "triggersPartitionSize", triggersPartitionSize);
+
+        for (String fingerprint : fingerprints) {
+            Optional<Certificate> certificate = certificateRepository.findByFingerprint(fingerprint);
+            if (certificate.isPresent()) {
+                certificateService.deleteCertificate(certificate.get().getSecuredUuid());
+            }
+        }
+        discoveryService.deleteDiscovery(discovery.getSecuredUuid());
+        for (AttributeDefinition attributeDefinition : attributeDefinitionRepository.findByConnectorUuidAndTypeAndGlobal(connector.getUuid(), AttributeType.META, false)) {
+            attributeEngine.deleteAttributeDefinition(AttributeType.META, attributeDefinition.getUuid());
+        }
+        connectorRepository.delete(connector);
+
+        TestTransaction.flagForCommit();
+    }
+
+    @Test
+    void testEvaluateTriggersInParallelPartitions() throws RuleException {
+        discoveryService.evaluateDiscoveryTriggers(discovery.getUuid(), null);
+
+        DiscoveryHistory evaluatedDiscovery = discoveryRepository.findByUuid(discovery.getUuid()).orElseThrow();
+        Assertions.assertEquals(DiscoveryStatus.COMPLETED, evaluatedDiscovery.getStatus());
+
+        // metadata definition is created once by concurrent partitions
+        List<AttributeDefinition> metadataDefinitions = attributeDefinitionRepository.findByConnectorUuidAndTypeAndGlobal(connector.getUuid(), AttributeType.META, false);
+        Assertions.assertEquals(1, metadataDefinitions.size());
+        Assertions.assertEquals(META_NAME, metadataDefinitions.get(0).getName());
+
+        for (String fingerprint : fingerprints) {
+            Certificate certificate = certificateRepository.findByFingerprint(fingerprint).orElse(null);
+            Assertions.assertNotNull(certificate);
+
+            List<MetadataAttribute> metadata = attributeEngine.getMetadataAttributesDefinitionContent(new ObjectAttributeContentInfo(connector.getUuid(), Resource.CERTIFICATE, certificate.getUuid(), Resource.DISCOVERY, discovery.getUuid()));
+            Assertions.assertEquals(1, metadata.size());
+            Assertions.assertEquals(2, metadata.get(0).getContent().size());
+        }
+    }
+
+    private static MetadataAttribute createMetadataAttribute(String... endpoints) {
+        MetadataAttributeProperties properties = new MetadataAttributeProperties();
+        properties.setLabel("Discovery endpoint");
+
+        MetadataAttribute metadataAttribute = new MetadataAttribute();
+        metadataAttribute.setUuid(META_UUID);
+        metadataAttribute.setName(META_NAME);
+        metadataAttribute.setType(AttributeType.META);
+        metadataAttribute.setContentType(AttributeContentType.STRING);
+        metadataAttribute.setProperties(properties);
+        metadataAttribute.setContent(new ArrayList<>(Arrays.stream(endpoints).map(endpoint -> new StringAttributeContent(endpoint, endpoint)).toList()));
+        return metadataAttribute;
+    }
+}
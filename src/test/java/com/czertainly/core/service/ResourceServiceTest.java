@@ -0,0 +1,139 @@
+package com.czertainly.core.service;
+
+import com.czertainly.api.exception.AttributeException;
+import com.czertainly.api.exception.NotFoundException;
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.CustomAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import com.czertainly.api.model.common.attribute.v2.properties.CustomAttributeProperties;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.model.core.certificate.CertificateState;
+import com.czertainly.api.model.core.certificate.CertificateValidationStatus;
+import com.czertainly.core.attribute.engine.AttributeEngine;
+import com.czertainly.core.dao.entity.AttributeContent2Object;
+import com.czertainly.core.dao.entity.Certificate;
+import com.czertainly.core.dao.entity.CertificateContent;
+import com.czertainly.core.dao.repository.AttributeContent2ObjectRepository;
+import com.czertainly.core.dao.repository.CertificateContentRepository;
+import com.czertainly.core.dao.repository.CertificateRepository;
+import com.czertainly.core.model.auth.ResourceAction;
+import com.czertainly.core.security.authz.SecuredUUID;
+import com.czertainly.core.security.authz.opa.OpaClient;
+import com.czertainly.core.security.authz.opa.dto.OpaResourceAccessResult;
+import com.czertainly.core.util.BaseSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.UUID;
+
+class ResourceServiceTest extends BaseSpringBootTest {
+
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private AttributeEngine attributeEngine;
+    @Autowired
+    private CertificateRepository certificateRepository;
+    @Autowired
+    private CertificateContentRepository certificateContentRepository;
+    @Autowired
+    private AttributeContent2ObjectRepository attributeContent2ObjectRepository;
+    @Autowired
+    private OpaClient opaClient;
+
+    private Certificate certificate;
+    private Certificate otherCertificate;
+    private UUID definitionUuid;
+
+    @BeforeEach
+    void setUp() throws AttributeException {
+        CertificateContent certificateContent = new CertificateContent();
+        certificateContent.setContent("123456");
+        certificateContent = certificateContentRepository.save(certificateContent);
+
+        certificate = createCertificate(certificateContent, "123456789");
+        otherCertificate = createCertificate(certificateContent, "987654321");
+
+        CustomAttributeProperties properties = new CustomAttributeProperties();
+        properties.setLabel("Department");
+
+        CustomAttribute customAttribute = new CustomAttribute();
+        customAttribute.setUuid(UUID.randomUUID().toString());
+        customAttribute.setName("department");
+        customAttribute.setType(AttributeType.CUSTOM);
+        customAttribute.setContentType(AttributeContentType.STRING);
+        customAttribute.setProperties(properties);
+        attributeEngine.updateCustomAttributeDefinition(customAttribute, List.of(Resource.CERTIFICATE));
+        definitionUuid = UUID.fromString(customAttribute.getUuid());
+    }
+
+    @Test
+    void testUpdateAttributeContentForObjects() throws NotFoundException, AttributeException {
+        resourceService.updateAttributeContentForObjects(Resource.CERTIFICATE, List.of(certificate.getSecuredUuid(), otherCertificate.getSecuredUuid()), definitionUuid,
+                List.of(new StringAttributeContent("Marketing")));
+
+        for (Certificate updatedCertificate : List.of(certificate, otherCertificate)) {
+            List<AttributeContent2Object> contentObjects = getCustomAttributeContentObjects(updatedCertificate.getUuid());
+            Assertions.assertEquals(1, contentObjects.size());
+            Assertions.assertEquals("Marketing", contentObjects.get(0).getAttributeContentItem().getJson().getData());
+        }
+
+        // content of the attribute is replaced on all objects
+        resourceService.updateAttributeContentForObjects(Resource.CERTIFICATE, List.of(certificate.getSecuredUuid(), otherCertificate.getSecuredUuid()), definitionUuid,
+                List.of(new StringAttributeContent("Sales")));
+        for (Certificate updatedCertificate : List.of(certificate, otherCertificate)) {
+            List<AttributeContent2Object> contentObjects = getCustomAttributeContentObjects(updatedCertificate.getUuid());
+            Assertions.assertEquals(1, contentObjects.size());
+            Assertions.assertEquals("Sales", contentObjects.get(0).getAttributeContentItem().getJson().getData());
+        }
+    }
+
+    @Test
+    void testUpdateAttributeContentForObjects_forbidden() {
+        OpaResourceAccessResult accessDenied = new OpaResourceAccessResult();
+        accessDenied.setAuthorized(false);
+        accessDenied.setAllow(List.of());
+        Mockito.when(opaClient.checkResourceAccess(Mockito.any(), Mockito.argThat(resource -> resource != null
+                && ResourceAction.UPDATE.getCode().equals(resource.getProperties().get("action"))
+                && resource.getObjectUUIDs() != null && resource.getObjectUUIDs().contains(otherCertificate.getUuid().toString())), Mockito.any(), Mockito.any())).thenReturn(accessDenied);
+
+        Assertions.assertThrows(AccessDeniedException.class, () -> resourceService.updateAttributeContentForObjects(Resource.CERTIFICATE,
+                List.of(certificate.getSecuredUuid(), otherCertificate.getSecuredUuid()), definitionUuid, List.of(new StringAttributeContent("Marketing"))));
+
+        // permissions are evaluated for all objects before any content is updated
+        Assertions.assertTrue(getCustomAttributeContentObjects(certificate.getUuid()).isEmpty());
+        Assertions.assertTrue(getCustomAttributeContentObjects(otherCertificate.getUuid()).isEmpty());
+    }
+
+    @Test
+    void testUpdateAttributeContentForObjects_objectNotFound() {
+        Assertions.assertThrows(NotFoundException.class, () -> resourceService.updateAttributeContentForObjects(Resource.CERTIFICATE,
+                List.of(certificate.getSecuredUuid(), SecuredUUID.fromUUID(UUID.randomUUID())), definitionUuid, List.of(new StringAttributeContent("Marketing"))));
+        Assertions.assertTrue(getCustomAttributeContentObjects(certificate.getUuid()).isEmpty());
+    }
+
+    private Certificate createCertificate(CertificateContent certificateContent, String serialNumber) {
+        Certificate newCertificate = new Certificate();
+        newCertificate.setSubjectDn("testCertificate" + serialNumber);
+        newCertificate.setIssuerDn("testIssuer");
+        newCertificate.setSerialNumber(serialNumber);
+        newCertificate.setState(CertificateState.ISSUED);
+        newCertificate.setValidationStatus(CertificateValidationStatus.VALID);
+        newCertificate.setCertificateContent(certificateContent);
+        newCertificate.setCertificateContentId(certificateContent.getId());
+        return certificateRepository.save(newCertificate);
+    }
+
+    private List<AttributeContent2Object> getCustomAttributeContentObjects(UUID certificateUuid) {
+        return attributeContent2ObjectRepository.findAll().stream()
+                .filter(contentObject -> contentObject.getObjectType() == Resource.CERTIFICATE && contentObject.getObjectUuid().equals(certificateUuid)
+                        && contentObject.getAttributeContentItem().getAttributeDefinitionUuid().equals(definitionUuid))
+                .toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.czertainly.core.service.impl;
+
+import com.czertainly.api.model.common.attribute.v2.AttributeType;
+import com.czertainly.api.model.common.attribute.v2.MetadataAttribute;
+import com.czertainly.api.model.common.attribute.v2.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
+import com.czertainly.api.model.core.discovery.DiscoveryStatus;
+import com.czertainly.core.util.AttributeContentHashUtil;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+class DiscoveryIngestionPipelineTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static List<String> certificates;
+
+    @BeforeAll
+    static void generateCertificates() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        certificates = new ArrayList<>();
+        for (int i = 1; i <= 35; i++) {
+            X500Name subject = new X500Name("CN=discovered-" + i);
+            JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, BigInteger.valueOf(i), new Date(),
+                    new Date(System.currentTimeMillis() + 86400000L), subject, keyPair.getPublic());
+            byte[] encoded = new JcaX509CertificateConverter()
+                    .getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())))
+                    .getEncoded();
+            certificates.add(Base64.getEncoder().encodeToString(encoded));
+        }
+    }
+
+    @Test
+    void testIngestAllPages() throws Exception {
+        List<String> discovered = new ArrayList<>(certificates);
+        // duplicates across pages and invalid content are skipped
+        discovered.add(certificates.get(0));
+        discovered.add(certificates.get(20));
+        discovered.add(Base64.getEncoder().encodeToString("invalid".getBytes()));
+
+        Set<String> persistedFingerprints = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger maxChunkSize = new AtomicInteger();
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline("test", PAGE_SIZE, 1, 3);
+        DiscoveryIngestionPipeline.Result result = pipeline.run(createResponse(discovered.size(), List.of()), pageNumber -> createPage(discovered, discovered.size(), pageNumber), chunk -> {
+            maxChunkSize.accumulateAndGet(chunk.size(), Math::max);
+            chunk.forEach(certificate -> {
+                Assertions.assertTrue(persistedFingerprints.add(certificate.fingerprint()));
+                Assertions.assertTrue(certificate.modal().getCommonName().startsWith("discovered-"));
+                Assertions.assertTrue(certificates.contains(certificate.content()));
+            });
+            return chunk.size();
+        });
+
+        Assertions.assertNull(result.message());
+        Assertions.assertEquals(discovered.size(), result.fetched());
+        Assertions.assertEquals(2, result.duplicates());
+        Assertions.assertEquals(1, result.invalid());
+        Assertions.assertEquals(certificates.size(), result.persisted());
+        Assertions.assertEquals(certificates.size(), persistedFingerprints.size());
+        Assertions.assertTrue(maxChunkSize.get() <= PAGE_SIZE);
+    }
+
+    @Test
+    void testCertificateAtMoreEndpoints() throws Exception {
+        // first certificate is discovered at two endpoints in the same page, second in different pages and again at the same endpoint
+        List<DiscoveryProviderCertificateDataDto> discovered = new ArrayList<>();
+        discovered.add(createCertificateData(certificates.get(0), "endpoint-a"));
+        discovered.add(createCertificateData(certificates.get(0), "endpoint-b"));
+        discovered.add(createCertificateData(certificates.get(1), "endpoint-a"));
+        discovered.addAll(toCertificateData(certificates.subList(2, 9)));
+        discovered.add(createCertificateData(certificates.get(1), "endpoint-b"));
+        discovered.add(createCertificateData(certificates.get(1), "endpoint-a"));
+        discovered.addAll(toCertificateData(certificates.subList(9, 17)));
+
+        Map<String, DiscoveryIngestionPipeline.ParsedCertificate> persistedCertificates = new HashMap<>();
+        List<DiscoveryIngestionPipeline.ParsedCertificate> additionalOccurrences = new ArrayList<>();
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline("test", PAGE_SIZE, 1, 1);
+        DiscoveryIngestionPipeline.Result result = pipeline.run(createResponse(discovered.size(), List.of()), pageNumber -> {
+            int from = (pageNumber - 1) * PAGE_SIZE;
+            return createResponse(discovered.size(), discovered.subList(from, Math.min(from + PAGE_SIZE, discovered.size())));
+        }, chunk -> {
+            int persisted = 0;
+            for (DiscoveryIngestionPipeline.ParsedCertificate certificate : chunk) {
+                if (certificate.additionalOccurrence()) {
+                    additionalOccurrences.add(certificate);
+                } else {
+                    Assertions.assertNull(persistedCertificates.put(certificate.fingerprint(), certificate));
+                    ++persisted;
+                }
+            }
+            return persisted;
+        });
+
+        Assertions.assertEquals(20, result.fetched());
+        Assertions.assertEquals(3, result.duplicates());
+        Assertions.assertEquals(17, result.persisted());
+
+        DiscoveryIngestionPipeline.ParsedCertificate firstCertificate = persistedCertificates.values().stream()
+                .filter(certificate -> certificates.get(0).equals(certificate.content())).findFirst().orElseThrow();
+        Assertions.assertEquals(List.of("endpoint-a", "endpoint-b"), getEndpoints(firstCertificate.meta()));
+        Assertions.assertEquals(AttributeContentHashUtil.getObjectHash(firstCertificate.meta()), firstCertificate.metaHash());
+
+        Assertions.assertEquals(1, additionalOccurrences.size());
+        DiscoveryIngestionPipeline.ParsedCertificate additionalOccurrence = additionalOccurrences.get(0);
+        DiscoveryIngestionPipeline.ParsedCertificate secondCertificate = persistedCertificates.get(additionalOccurrence.fingerprint());
+        Assertions.assertEquals(certificates.get(1), secondCertificate.content());
+        Assertions.assertEquals(List.of("endpoint-a"), getEndpoints(secondCertificate.meta()));
+        Assertions.assertEquals(List.of("endpoint-b"), getEndpoints(additionalOccurrence.meta()));
+        Assertions.assertEquals(List.of("endpoint-a", "endpoint-b"), getEndpoints(DiscoveryIngestionPipeline.mergeMeta(secondCertificate.meta(), additionalOccurrence.meta())));
+    }
+
+    @Test
+    void testIncompleteRetrieval() throws Exception {
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline("test", PAGE_SIZE, 2, 2);
+        DiscoveryIngestionPipeline.Result result = pipeline.run(createResponse(50, List.of()), pageNumber -> createPage(certificates.subList(0, 15), 50, pageNumber), List::size);
+
+        Assertions.assertEquals(15, result.persisted());
+        Assertions.assertEquals("Retrieved only 15 certificates but provider discovered 50 certificates in total.", result.message());
+    }
+
+    @Test
+    void testTooManyCertificatesInPage() {
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline("test", PAGE_SIZE, 2, 2);
+        DiscoveryProviderDto oversizedPage = createResponse(certificates.size(), toCertificateData(certificates));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.run(createResponse(certificates.size(), List.of()), pageNumber -> oversizedPage, List::size));
+    }
+
+    @Test
+    void testPersisterFailureStopsPipeline() {
+        AtomicInteger fetchedPages = new AtomicInteger();
+        DiscoveryIngestionPipeline pipeline = new DiscoveryIngestionPipeline("test", 1, 1, 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pipeline.run(createResponse(certificates.size(), List.of()), pageNumber -> {
+            fetchedPages.incrementAndGet();
+            return createPage(certificates.subList(0, 1), certificates.size(), 1);
+        }, chunk -> {
+            throw new IllegalArgumentException("Persisting failed");
+        }));
+        // fetching is throttled by bounded queues and stopped after the failure
+        Assertions.assertTrue(fetchedPages.get() < certificates.size());
+    }
+
+    private static DiscoveryProviderDto createPage(List<String> discovered, int total, int pageNumber) {
+        int from = Math.min((pageNumber - 1) * PAGE_SIZE, discovered.size());
+        int to = Math.min(from + PAGE_SIZE, discovered.size());
+        return createResponse(total, toCertificateData(discovered.subList(from, to)));
+    }
+
+    private static List<DiscoveryProviderCertificateDataDto> toCertificateData(List<String> contents) {
+        List<DiscoveryProviderCertificateDataDto> certificateData = new ArrayList<>();
+        for (String content : contents) {
+            DiscoveryProviderCertificateDataDto data = new DiscoveryProviderCertificateDataDto();
+            data.setBase64Content(content);
+            certificateData.add(data);
+        }
+        return certificateData;
+    }
+
+    private static DiscoveryProviderCertificateDataDto createCertificateData(String content, String endpoint) {
+        MetadataAttribute metadataAttribute = new MetadataAttribute();
+        metadataAttribute.setUuid("5b3c52b4-2b6b-4b6e-8f0a-6c1f0e6f9d11");
+        metadataAttribute.setName("endpoint");
+        metadataAttribute.setType(AttributeType.META);
+        metadataAttribute.setContentType(AttributeContentType.STRING);
+        metadataAttribute.setContent(List.of(new StringAttributeContent(endpoint, endpoint)));
+
+        DiscoveryProviderCertificateDataDto data = new DiscoveryProviderCertificateDataDto();
+        data.setBase64Content(content);
+        data.setMeta(List.of(metadataAttribute));
+        return data;
+    }
+
+    private static List<String> getEndpoints(List<MetadataAttribute> meta) {
+        Assertions.assertEquals(1, meta.size());
+        return meta.get(0).getContent().stream().map(content -> ((StringAttributeContent) content).getData()).toList();
+    }
+
+    private static DiscoveryProviderDto createResponse(int total, List<DiscoveryProviderCertificateDataDto> certificateData) {
+        DiscoveryProviderDto response = new DiscoveryProviderDto();
+        response.setUuid("provider-discovery");
+        response.setName("test");
+        response.setStatus(DiscoveryStatus.COMPLETED);
+        response.setTotalCertificatesDiscovered(total);
+        response.setCertificateData(certificateData);
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.czertainly.core.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+class DiscoveryPollerTest {
+
+    private DiscoveryPoller discoveryPoller;
+
+    @AfterEach
+    void shutdown() {
+        discoveryPoller.shutdown();
+    }
+
+    @Test
+    void testAdaptiveBackoff() {
+        discoveryPoller = new DiscoveryPoller(1, 100, 1000, 1);
+
+        Assertions.assertEquals(200, discoveryPoller.nextDelay(100, DiscoveryPoller.PollResult.WAITING));
+        Assertions.assertEquals(1000, discoveryPoller.nextDelay(800, DiscoveryPoller.PollResult.WAITING));
+        Assertions.assertEquals(100, discoveryPoller.nextDelay(800, DiscoveryPoller.PollResult.PROGRESSED));
+    }
+
+    @Test
+    void testPollUntilFinished() throws InterruptedException {
+        discoveryPoller = new DiscoveryPoller(1, 1, 5, 1);
+        UUID discoveryUuid = UUID.randomUUID();
+        AtomicInteger polls = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        discoveryPoller.schedule(discoveryUuid, UUID.randomUUID(), () -> {
+            if (polls.incrementAndGet() < 5) {
+                return polls.get() % 2 == 0 ? DiscoveryPoller.PollResult.PROGRESSED : DiscoveryPoller.PollResult.WAITING;
+            }
+            finished.countDown();
+            return DiscoveryPoller.PollResult.FINISHED;
+        });
+
+        Assertions.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        waitUntilNotPolled(discoveryUuid);
+        Thread.sleep(50);
+        Assertions.assertEquals(5, polls.get());
+    }
+
+    @Test
+    void testFailedPollStopsPolling() throws InterruptedException {
+        discoveryPoller = new DiscoveryPoller(1, 1, 5, 1);
+        UUID discoveryUuid = UUID.randomUUID();
+        AtomicInteger polls = new AtomicInteger();
+
+        discoveryPoller.schedule(discoveryUuid, UUID.randomUUID(), () -> {
+            polls.incrementAndGet();
+            throw new IllegalStateException("Connector is not available");
+        });
+
+        waitUntilNotPolled(discoveryUuid);
+        Thread.sleep(50);
+        Assertions.assertEquals(1, polls.get());
+    }
+
+    @Test
+    void testConcurrencyPerConnector() throws InterruptedException {
+        discoveryPoller = new DiscoveryPoller(4, 1, 5, 2);
+        UUID connectorUuid = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            discoveryPoller.schedule(UUID.randomUUID(), connectorUuid, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+                finished.countDown();
+                return DiscoveryPoller.PollResult.FINISHED;
+            });
+        }
+
+        Assertions.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testIngestionHoldsConnectorPermit() throws InterruptedException {
+        discoveryPoller = new DiscoveryPoller(2, 1, 5, 1);
+        UUID connectorUuid = UUID.randomUUID();
+        UUID ingestedDiscoveryUuid = UUID.randomUUID();
+        CountDownLatch handedOff = new CountDownLatch(1);
+        AtomicInteger otherPolls = new AtomicInteger();
+
+        discoveryPoller.schedule(ingestedDiscoveryUuid, connectorUuid, () -> {
+            handedOff.countDown();
+            return DiscoveryPoller.PollResult.INGESTING;
+        });
+        Assertions.assertTrue(handedOff.await(10, TimeUnit.SECONDS));
+
+        UUID otherDiscoveryUuid = UUID.randomUUID();
+        discoveryPoller.schedule(otherDiscoveryUuid, connectorUuid, () -> {
+            otherPolls.incrementAndGet();
+            return DiscoveryPoller.PollResult.FINISHED;
+        });
+
+        // other discovery of the connector is not polled while the ingestion holds the only permit
+        Thread.sleep(50);
+        Assertions.assertEquals(0, otherPolls.get());
+        Assertions.assertTrue(discoveryPoller.isPolled(ingestedDiscoveryUuid));
+
+        discoveryPoller.ingestionCompleted(ingestedDiscoveryUuid, connectorUuid);
+        Assertions.assertFalse(discoveryPoller.isPolled(ingestedDiscoveryUuid));
+        waitUntilNotPolled(otherDiscoveryUuid);
+        Assertions.assertEquals(1, otherPolls.get());
+    }
+
+    private void waitUntilNotPolled(UUID discoveryUuid) throws InterruptedException {
+        while (discoveryPoller.isPolled(discoveryUuid)) {
+            Thread.sleep(5);
+        }
+    }
+}
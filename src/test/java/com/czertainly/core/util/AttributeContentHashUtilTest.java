@@ -0,0 +1,23 @@
+package com.czertainly.core.util;
+
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AttributeContentHashUtilTest {
+
+    @Test
+    public void testJsonHashIsCanonical() {
+        String hash = AttributeContentHashUtil.getJsonHash("{\"reference\": \"ref\", \"data\": \"value\"}");
+        Assertions.assertEquals(hash, AttributeContentHashUtil.getJsonHash("{\"data\":\"value\",\"reference\":\"ref\"}"));
+        Assertions.assertNotEquals(hash, AttributeContentHashUtil.getJsonHash("{\"data\":\"value2\",\"reference\":\"ref\"}"));
+        Assertions.assertEquals(64, hash.length());
+    }
+
+    @Test
+    public void testContentHashMatchesJsonHash() {
+        StringAttributeContent content = new StringAttributeContent("ref", "value");
+        Assertions.assertEquals(AttributeContentHashUtil.getContentHash(content), AttributeContentHashUtil.getJsonHash(SerializationUtil.serialize(content)));
+        Assertions.assertEquals(AttributeContentHashUtil.getContentHash(content), AttributeContentHashUtil.getContentHash(new StringAttributeContent("ref", "value")));
+    }
+}
@@ -222,6 +222,23 @@ public class Sql2PredicateConverterTest extends BaseSpringBootTest {
 
     }
 
+    @Test
+    public void testFilterAttrByTypedValues() {
+        final List<SearchFieldObject> testSearchableFieldsList = new ArrayList<>();
+        testSearchableFieldsList.add(new SearchFieldObject(SearchableFields.NOT_AFTER.name(), AttributeContentType.DATE, AttributeType.META));
+        testSearchableFieldsList.add(new SearchFieldObject(SearchableFields.CKI_LENGTH.name(), AttributeContentType.INTEGER, AttributeType.CUSTOM));
+        testSearchableFieldsList.add(new SearchFieldObject(SearchableFields.SERIAL_NUMBER.name(), AttributeContentType.STRING, AttributeType.CUSTOM));
+
+        List<SearchFilterRequestDto> testFilters = new ArrayList<>();
+        testFilters.add(new SearchFilterRequestDTODummy(FilterFieldSource.META, SearchableFields.NOT_AFTER, AttributeContentType.DATE, FilterConditionOperator.LESSER, "2024-06-01"));
+        testFilters.add(new SearchFilterRequestDTODummy(FilterFieldSource.CUSTOM, SearchableFields.CKI_LENGTH, AttributeContentType.INTEGER, FilterConditionOperator.GREATER, 2048));
+        testFilters.add(new SearchFilterRequestDTODummy(FilterFieldSource.CUSTOM, SearchableFields.SERIAL_NUMBER, AttributeContentType.STRING, FilterConditionOperator.NOT_EQUALS, "test"));
+
+        final Sql2PredicateConverter.CriteriaQueryDataObject criteriaQueryDataObject
+                = Sql2PredicateConverter.prepareQueryToSearchIntoAttributes(testSearchableFieldsList, testFilters,  criteriaBuilder, Resource.CERTIFICATE);
+        Assertions.assertEquals(3, criteriaQueryDataObject.getPredicate().getExpressions().size());
+    }
+
     @Test
     public void testFilterNoMetaOrCustomAttr() {
 